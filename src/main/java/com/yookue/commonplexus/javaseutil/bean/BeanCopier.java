@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.bean;
+
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.apache.commons.beanutils2.ConvertUtils;
+import org.apache.commons.beanutils2.Converter;
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
+import com.yookue.commonplexus.javaseutil.annotation.BeanCopyIgnore;
+import com.yookue.commonplexus.javaseutil.annotation.ViewSubmitIgnore;
+import com.yookue.commonplexus.javaseutil.constant.JavaKeywordConst;
+import com.yookue.commonplexus.javaseutil.exception.BeanInvocationException;
+import com.yookue.commonplexus.javaseutil.structure.BooleanDataStruct;
+import lombok.Getter;
+
+
+/**
+ * Copier for copying properties from the beans of a source class to the beans of a target class
+ * <p>
+ * The copy plan of each class pair is resolved on the first use, with the getters and setters from the cached {@link com.yookue.commonplexus.javaseutil.bean.BeanSchema},
+ * and the converters of the target types looked up ahead of time, so that the later copies cost no reflective lookups
+ * <p>
+ * Note that the converters are resolved when the plan is built, please register the custom converters before copying
+ *
+ * @author David Hsing
+ * @see com.yookue.commonplexus.javaseutil.util.BeanUtilsWraps#copyProperties
+ * @see org.apache.commons.beanutils2.BeanUtilsBean#setProperty
+ */
+@SuppressWarnings({"unused", "JavadocReference"})
+public class BeanCopier {
+    private static final ClassValue<Map<Class<?>, BeanCopier>> COPIERS = new ClassValue<>() {
+        @Override
+        protected Map<Class<?>, BeanCopier> computeValue(@Nonnull Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    @Getter
+    private final Class<?> sourceClass;
+
+    @Getter
+    private final Class<?> targetClass;
+
+    private final PropertyCopy[] properties;
+
+    private BeanCopier(@Nonnull Class<?> sourceClass, @Nonnull Class<?> targetClass) {
+        this.sourceClass = sourceClass;
+        this.targetClass = targetClass;
+        this.properties = resolveProperties(sourceClass, targetClass);
+    }
+
+    /**
+     * Returns the cached copier of the given class pair, resolves the copy plan if absent
+     *
+     * @param sourceClass the class of the source beans
+     * @param targetClass the class of the target beans
+     *
+     * @return the cached copier of the given class pair
+     */
+    @Nonnull
+    public static BeanCopier of(@Nonnull Class<?> sourceClass, @Nonnull Class<?> targetClass) {
+        return COPIERS.get(sourceClass).computeIfAbsent(targetClass, clazz -> new BeanCopier(sourceClass, clazz));
+    }
+
+    /**
+     * Returns the names of the properties that could be copied
+     *
+     * @return the names of the properties that could be copied
+     */
+    @Nonnull
+    public List<String> getPropertyNames() {
+        List<String> result = new ArrayList<>(properties.length);
+        for (PropertyCopy property : properties) {
+            result.add(property.name());
+        }
+        return result;
+    }
+
+    /**
+     * Copies the non-empty properties, excepts the fields that annotated with {@link BeanCopyIgnore} or {@link ViewSubmitIgnore} of the target class
+     *
+     * @param target the target bean
+     * @param source the source bean
+     */
+    public void copy(@Nonnull Object target, @Nonnull Object source) throws BeanInvocationException {
+        for (PropertyCopy property : properties) {
+            if (property.ignored()) {
+                continue;
+            }
+            Object value = property.read(source);
+            if (!ObjectUtils.isEmpty(value)) {
+                property.write(target, value);
+            }
+        }
+    }
+
+    public void copy(@Nonnull Object target, @Nonnull Object source, @Nonnull BiPredicate<String, Object> filter) throws BeanInvocationException {
+        for (PropertyCopy property : properties) {
+            Object value = property.read(source);
+            if (filter.test(property.name(), value)) {
+                property.write(target, value);
+            }
+        }
+    }
+
+    public void copy(@Nonnull Object target, @Nonnull Object source, @Nonnull BiFunction<String, Object, BooleanDataStruct<Object>> action) throws BeanInvocationException {
+        for (PropertyCopy property : properties) {
+            BooleanDataStruct<Object> result = action.apply(property.name(), property.read(source));
+            if (result != null && result.isSuccess()) {
+                property.write(target, result.getData());
+            }
+        }
+    }
+
+    public void copyExclusive(@Nonnull Object target, @Nonnull Object source, @Nullable Collection<String> fields, boolean allowEmptyValue) throws BeanInvocationException {
+        for (PropertyCopy property : properties) {
+            if (fields != null && fields.contains(property.name())) {
+                continue;
+            }
+            Object value = property.read(source);
+            if (allowEmptyValue || !ObjectUtils.isEmpty(value)) {
+                property.write(target, value);
+            }
+        }
+    }
+
+    public void copyInclusive(@Nonnull Object target, @Nonnull Object source, @Nullable Collection<String> fields, boolean allowEmptyValue) throws BeanInvocationException {
+        if (fields == null || fields.isEmpty()) {
+            return;
+        }
+        for (PropertyCopy property : properties) {
+            if (!fields.contains(property.name())) {
+                continue;
+            }
+            Object value = property.read(source);
+            if (allowEmptyValue || !ObjectUtils.isEmpty(value)) {
+                property.write(target, value);
+            }
+        }
+    }
+
+    @Nonnull
+    private static PropertyCopy[] resolveProperties(@Nonnull Class<?> sourceClass, @Nonnull Class<?> targetClass) {
+        BeanSchema targetSchema = BeanSchema.of(targetClass);
+        List<PropertyCopy> result = new ArrayList<>();
+        for (BeanProperty source : BeanSchema.of(sourceClass).getReadableProperties()) {
+            if (StringUtils.equals(source.getName(), JavaKeywordConst.CLASS)) {
+                continue;
+            }
+            BeanProperty target = targetSchema.getProperty(source.getName());
+            if (target == null || !target.isWritable()) {
+                continue;
+            }
+            boolean assignable = ClassUtils.isAssignable(source.getReadType(), target.getWriteType(), true);
+            result.add(new PropertyCopy(source, target, assignable, ConvertUtils.lookup(target.getWriteType())));
+        }
+        return result.toArray(new PropertyCopy[0]);
+    }
+
+    /**
+     * Resolved plan of copying a single property
+     *
+     * @param assignable whether the read type of the source is assignable to the write type of the target, with autoboxing
+     * @param converter the converter that registered for the write type of the target, may be null
+     */
+    private record PropertyCopy(@Nonnull BeanProperty source, @Nonnull BeanProperty target, boolean assignable, @Nullable Converter<?> converter) {
+        @Nonnull
+        private String name() {
+            return source.getName();
+        }
+
+        /**
+         * Returns whether the field of the target class is annotated with {@link BeanCopyIgnore} or {@link ViewSubmitIgnore}
+         */
+        private boolean ignored() {
+            return target.isAnyIgnored();
+        }
+
+        @Nullable
+        private Object read(@Nonnull Object bean) {
+            return source.read(bean);
+        }
+
+        private void write(@Nonnull Object bean, @Nullable Object value) throws BeanInvocationException {
+            Object converted;
+            try {
+                converted = (value != null && assignable) || converter == null ? value : converter.convert(target.getWriteType(), value);
+            } catch (RuntimeException ex) {
+                throw new BeanInvocationException(String.format("Could not set property '%s' value of bean '%s'", target.getName(), target.getBeanClass().getName()), ex);
+            }
+            target.write(bean, converted);
+        }
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.bean;
+
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.StringUtils;
+import com.yookue.commonplexus.javaseutil.constant.JavaKeywordConst;
+import lombok.Getter;
+
+
+/**
+ * Read-only {@link java.util.Map} view of a bean, which reads the property values lazily only when they are asked
+ * <p>
+ * The properties are resolved by the cached {@link com.yookue.commonplexus.javaseutil.bean.BeanSchema} of the bean class,
+ * so that creating a view costs neither introspection nor copying the values.
+ * The keys are the same as {@link org.apache.commons.beanutils2.BeanMap}, see {@link com.yookue.commonplexus.javaseutil.bean.BeanSchema#getMapProperties()}.
+ * The key and value options are applied as decorators, each of them returns a new view over the same bean
+ * <p>
+ * If the renamed keys collide, the view keeps one property for each key, so that the size, the entries and the lookups always agree.
+ * A renamed key takes precedence over an original key, otherwise the first property in order wins
+ *
+ * @author David Hsing
+ * @see com.yookue.commonplexus.javaseutil.bean.BeanSchema
+ * @see org.apache.commons.beanutils2.BeanMap
+ */
+@SuppressWarnings("unused")
+public class BeanMapView extends AbstractMap<String, Object> {
+    @Getter
+    private final Object bean;
+
+    private final List<BeanProperty> properties;
+    private final List<String> keys;
+    private final Map<String, BeanProperty> keyIndex;
+    private final UnaryOperator<Object> valueMapper;
+    private Set<Map.Entry<String, Object>> entrySet;
+
+    public BeanMapView(@Nonnull Object bean) {
+        BeanSchema schema = BeanSchema.of(bean.getClass());
+        this.bean = bean;
+        this.properties = schema.getMapProperties();
+        this.keys = null;
+        this.keyIndex = schema.getMapPropertyMap();
+        this.valueMapper = null;
+    }
+
+    private BeanMapView(@Nonnull Object bean, @Nonnull List<BeanProperty> properties, @Nullable List<String> keys, @Nullable UnaryOperator<Object> valueMapper) {
+        this.bean = bean;
+        this.properties = properties;
+        this.keys = keys;
+        this.keyIndex = new HashMap<>(properties.size() * 2);
+        for (int i = 0; i < properties.size(); i++) {
+            keyIndex.put(keyAt(i), properties.get(i));
+        }
+        this.valueMapper = valueMapper;
+    }
+
+    /**
+     * Returns a view that joins the given prefix and suffix to the keys, excepts the {@code class} key
+     *
+     * @param keyPrefix the prefix of the keys
+     * @param keySuffix the suffix of the keys
+     *
+     * @return a view that joins the given prefix and suffix to the keys
+     */
+    @Nonnull
+    public BeanMapView withKeyAffixes(@Nullable CharSequence keyPrefix, @Nullable CharSequence keySuffix) {
+        if (StringUtils.isAllEmpty(keyPrefix, keySuffix)) {
+            return this;
+        }
+        return mapKeys(key -> StringUtils.equals(key, JavaKeywordConst.CLASS) ? key : StringUtils.join(keyPrefix, key, keySuffix));
+    }
+
+    /**
+     * Returns a view that renames the keys by the given mapping, the keys that absent in the mapping are kept
+     *
+     * @param keyMapping the mapping of the original keys and the new keys
+     *
+     * @return a view that renames the keys by the given mapping
+     */
+    @Nonnull
+    public BeanMapView withKeyMapping(@Nullable Map<String, String> keyMapping) {
+        if (MapUtils.isEmpty(keyMapping)) {
+            return this;
+        }
+        return mapKeys(key -> MapUtils.getString(keyMapping, key, key));
+    }
+
+    /**
+     * Returns a view that replaces the values by the given mapping, the values that absent in the mapping are kept
+     *
+     * @param valueMapping the mapping of the original values and the new values
+     *
+     * @return a view that replaces the values by the given mapping
+     */
+    @Nonnull
+    public BeanMapView withValueMapping(@Nullable Map<Object, Object> valueMapping) {
+        if (MapUtils.isEmpty(valueMapping)) {
+            return this;
+        }
+        UnaryOperator<Object> mapper = value -> MapUtils.getObject(valueMapping, value, value);
+        return new BeanMapView(bean, properties, keys, (valueMapper == null) ? mapper : value -> mapper.apply(valueMapper.apply(value)));
+    }
+
+    @Nonnull
+    public BeanMapView withoutClassKey() {
+        return filterProperties(property -> !StringUtils.equals(property.getName(), JavaKeywordConst.CLASS));
+    }
+
+    /**
+     * Returns a view that excludes the properties of the given names
+     *
+     * @param fields the property names to exclude
+     *
+     * @return a view that excludes the properties of the given names
+     */
+    @Nonnull
+    public BeanMapView exclusive(@Nullable Collection<String> fields) {
+        return (fields == null || fields.isEmpty()) ? this : filterProperties(property -> !fields.contains(property.getName()));
+    }
+
+    /**
+     * Returns a view that includes the properties of the given names only
+     *
+     * @param fields the property names to include
+     *
+     * @return a view that includes the properties of the given names only
+     */
+    @Nonnull
+    public BeanMapView inclusive(@Nullable Collection<String> fields) {
+        return filterProperties(property -> fields != null && fields.contains(property.getName()));
+    }
+
+    @Override
+    public int size() {
+        return properties.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return properties.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(@Nullable Object key) {
+        return key instanceof String && keyIndex.containsKey(key);
+    }
+
+    @Override
+    @Nullable
+    public Object get(@Nullable Object key) {
+        BeanProperty property = (key instanceof String) ? keyIndex.get(key) : null;
+        return (property == null) ? null : readValue(property);
+    }
+
+    @Override
+    @Nonnull
+    public Set<Map.Entry<String, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    @Nonnull
+    private String keyAt(int index) {
+        return (keys == null) ? properties.get(index).getName() : keys.get(index);
+    }
+
+    @Nullable
+    private Object readValue(@Nonnull BeanProperty property) {
+        Object value = property.read(bean);
+        return (valueMapper == null) ? value : valueMapper.apply(value);
+    }
+
+    @Nonnull
+    private BeanMapView mapKeys(@Nonnull UnaryOperator<String> mapper) {
+        String[] mapped = new String[properties.size()];
+        boolean[] renamed = new boolean[mapped.length];
+        Map<String, Integer> owners = new HashMap<>(mapped.length * 2);
+        for (int i = 0; i < mapped.length; i++) {
+            String original = keyAt(i);
+            mapped[i] = Objects.requireNonNullElse(mapper.apply(original), original);
+            renamed[i] = !mapped[i].equals(original);
+            Integer owner = owners.get(mapped[i]);
+            if (owner == null || (renamed[i] && !renamed[owner])) {
+                owners.put(mapped[i], i);
+            }
+        }
+        if (owners.size() == mapped.length) {
+            return new BeanMapView(bean, properties, List.of(mapped), valueMapper);
+        }
+        List<BeanProperty> kept = new ArrayList<>(owners.size());
+        List<String> keptKeys = new ArrayList<>(owners.size());
+        for (int i = 0; i < mapped.length; i++) {
+            if (owners.get(mapped[i]) == i) {
+                kept.add(properties.get(i));
+                keptKeys.add(mapped[i]);
+            }
+        }
+        return new BeanMapView(bean, kept, keptKeys, valueMapper);
+    }
+
+    @Nonnull
+    private BeanMapView filterProperties(@Nonnull Predicate<BeanProperty> filter) {
+        List<BeanProperty> filtered = new ArrayList<>(properties.size());
+        List<String> filteredKeys = (keys == null) ? null : new ArrayList<>(properties.size());
+        for (int i = 0; i < properties.size(); i++) {
+            if (filter.test(properties.get(i))) {
+                filtered.add(properties.get(i));
+                if (filteredKeys != null) {
+                    filteredKeys.add(keys.get(i));
+                }
+            }
+        }
+        return new BeanMapView(bean, filtered, filteredKeys, valueMapper);
+    }
+
+    private class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+        @Override
+        public int size() {
+            return properties.size();
+        }
+
+        @Override
+        @Nonnull
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            return new Iterator<>() {
+                private int index = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return index < properties.size();
+                }
+
+                @Override
+                public Map.Entry<String, Object> next() {
+                    if (index >= properties.size()) {
+                        throw new NoSuchElementException();
+                    }
+                    BeanProperty property = properties.get(index);
+                    return new LazyEntry(keyAt(index++), property);
+                }
+            };
+        }
+    }
+
+    /**
+     * Entry that reads the value on each {@link #getValue()}
+     */
+    private class LazyEntry implements Map.Entry<String, Object> {
+        private final String key;
+        private final BeanProperty property;
+
+        private LazyEntry(@Nonnull String key, @Nonnull BeanProperty property) {
+            this.key = key;
+            this.property = property;
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return readValue(property);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Map.Entry<?, ?> entry && Objects.equals(key, entry.getKey()) && Objects.equals(getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+}
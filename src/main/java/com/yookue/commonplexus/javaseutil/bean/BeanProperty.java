@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.bean;
+
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import com.yookue.commonplexus.javaseutil.exception.BeanInvocationException;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+
+/**
+ * Property of a {@link com.yookue.commonplexus.javaseutil.bean.BeanSchema}, with the getter and setter unreflected to method handles
+ * <p>
+ * The indexed getter and setter of an {@link java.beans.IndexedPropertyDescriptor}, such as {@code getItems(int)} and {@code setItems(int, T)}, are also unreflected if present
+ *
+ * @author David Hsing
+ * @see com.yookue.commonplexus.javaseutil.bean.BeanSchema
+ */
+@Getter
+@SuppressWarnings({"unused", "BooleanMethodIsAlwaysInverted"})
+public class BeanProperty {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType INDEXED_GETTER_TYPE = MethodType.methodType(Object.class, Object.class, int.class);
+    private static final MethodType INDEXED_SETTER_TYPE = MethodType.methodType(void.class, Object.class, int.class, Object.class);
+
+    private final Class<?> beanClass;
+    private final String name;
+    private final Class<?> readType;
+    private final Class<?> writeType;
+    private final Class<?> indexedType;
+    private final boolean copyIgnored;
+    private final boolean submitIgnored;
+
+    @Getter(value = AccessLevel.NONE)
+    private final MethodHandle getter;
+
+    @Getter(value = AccessLevel.NONE)
+    private final MethodHandle setter;
+
+    @Getter(value = AccessLevel.NONE)
+    private final MethodHandle indexedGetter;
+
+    @Getter(value = AccessLevel.NONE)
+    private final MethodHandle indexedSetter;
+
+    BeanProperty(@Nonnull Class<?> beanClass, @Nonnull String name, @Nullable Method readMethod, @Nullable Method writeMethod, boolean copyIgnored, boolean submitIgnored) {
+        this(beanClass, name, readMethod, writeMethod, null, null, copyIgnored, submitIgnored);
+    }
+
+    BeanProperty(@Nonnull Class<?> beanClass, @Nonnull String name, @Nullable Method readMethod, @Nullable Method writeMethod, @Nullable Method indexedReadMethod, @Nullable Method indexedWriteMethod, boolean copyIgnored, boolean submitIgnored) {
+        this.beanClass = beanClass;
+        this.name = name;
+        this.getter = (readMethod == null || readMethod.getParameterCount() != 0) ? null : unreflect(readMethod, GETTER_TYPE);
+        this.setter = (writeMethod == null || writeMethod.getParameterCount() != 1) ? null : unreflect(writeMethod, SETTER_TYPE);
+        this.readType = (getter == null) ? null : readMethod.getReturnType();
+        this.writeType = (setter == null) ? null : writeMethod.getParameterTypes()[0];
+        this.indexedGetter = (indexedReadMethod == null || indexedReadMethod.getParameterCount() != 1) ? null : unreflect(indexedReadMethod, INDEXED_GETTER_TYPE);
+        this.indexedSetter = (indexedWriteMethod == null || indexedWriteMethod.getParameterCount() != 2) ? null : unreflect(indexedWriteMethod, INDEXED_SETTER_TYPE);
+        this.indexedType = (indexedGetter != null) ? indexedReadMethod.getReturnType() : ((indexedSetter != null) ? indexedWriteMethod.getParameterTypes()[1] : null);
+        this.copyIgnored = copyIgnored;
+        this.submitIgnored = submitIgnored;
+    }
+
+    public boolean isReadable() {
+        return getter != null;
+    }
+
+    public boolean isWritable() {
+        return setter != null;
+    }
+
+    public boolean isIndexedReadable() {
+        return indexedGetter != null;
+    }
+
+    public boolean isIndexedWritable() {
+        return indexedSetter != null;
+    }
+
+    /**
+     * Returns whether the field of this property is annotated with {@link com.yookue.commonplexus.javaseutil.annotation.BeanCopyIgnore} or {@link com.yookue.commonplexus.javaseutil.annotation.ViewSubmitIgnore}
+     *
+     * @return whether the field of this property is annotated with {@link com.yookue.commonplexus.javaseutil.annotation.BeanCopyIgnore} or {@link com.yookue.commonplexus.javaseutil.annotation.ViewSubmitIgnore}
+     */
+    public boolean isAnyIgnored() {
+        return copyIgnored || submitIgnored;
+    }
+
+    /**
+     * Returns the property value of the given bean, or null if the property is not readable or the getter fails, as {@link org.apache.commons.beanutils2.BeanMap#get} does
+     *
+     * @param bean the bean to read
+     *
+     * @return the property value of the given bean
+     */
+    @Nullable
+    public Object read(@Nonnull Object bean) {
+        if (getter == null) {
+            return null;
+        }
+        try {
+            return (Object) getter.invokeExact(bean);
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ignored) {
+        }
+        return null;
+    }
+
+    /**
+     * Sets the property value of the given bean, without any conversions
+     *
+     * @param bean the bean to write
+     * @param value the property value
+     */
+    public void write(@Nonnull Object bean, @Nullable Object value) throws BeanInvocationException {
+        if (setter == null) {
+            throw new BeanInvocationException(String.format("Property '%s' of bean '%s' is not writable", name, beanClass.getName()));
+        }
+        try {
+            setter.invokeExact(bean, value);
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new BeanInvocationException(String.format("Could not set property '%s' value of bean '%s'", name, beanClass.getName()), ex);
+        }
+    }
+
+    /**
+     * Returns the element value of the given bean by the indexed getter, or null if the property is not indexed readable or the getter fails
+     *
+     * @param bean the bean to read
+     * @param index the index of the element
+     *
+     * @return the element value of the given bean by the indexed getter
+     */
+    @Nullable
+    public Object readIndexed(@Nonnull Object bean, int index) {
+        if (indexedGetter == null) {
+            return null;
+        }
+        try {
+            return (Object) indexedGetter.invokeExact(bean, index);
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ignored) {
+        }
+        return null;
+    }
+
+    /**
+     * Sets the element value of the given bean by the indexed setter, without any conversions
+     *
+     * @param bean the bean to write
+     * @param index the index of the element
+     * @param value the element value
+     */
+    public void writeIndexed(@Nonnull Object bean, int index, @Nullable Object value) throws BeanInvocationException {
+        if (indexedSetter == null) {
+            throw new BeanInvocationException(String.format("Property '%s' of bean '%s' is not indexed writable", name, beanClass.getName()));
+        }
+        try {
+            indexedSetter.invokeExact(bean, index, value);
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new BeanInvocationException(String.format("Could not set property '%s[%d]' value of bean '%s'", name, index, beanClass.getName()), ex);
+        }
+    }
+
+    @Nullable
+    private static MethodHandle unreflect(@Nonnull Method method, @Nonnull MethodType type) {
+        try {
+            return MethodHandles.publicLookup().unreflect(method).asType(type);
+        } catch (IllegalAccessException ignored) {
+        }
+        try {
+            return method.trySetAccessible() ? MethodHandles.lookup().unreflect(method).asType(type) : null;
+        } catch (IllegalAccessException ignored) {
+        }
+        return null;
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.bean;
+
+
+import java.beans.IndexedPropertyDescriptor;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.apache.commons.beanutils2.PropertyUtils;
+import org.apache.commons.lang3.StringUtils;
+import com.yookue.commonplexus.javaseutil.annotation.BeanCopyIgnore;
+import com.yookue.commonplexus.javaseutil.annotation.ViewSubmitIgnore;
+import com.yookue.commonplexus.javaseutil.constant.JavaKeywordConst;
+import com.yookue.commonplexus.javaseutil.util.BeanIntrospectorWraps;
+import com.yookue.commonplexus.javaseutil.util.FieldUtilsWraps;
+import com.yookue.commonplexus.javaseutil.util.MethodUtilsWraps;
+import lombok.Getter;
+
+
+/**
+ * Schema of a bean class, which caches the properties that introspected by {@link org.apache.commons.beanutils2.PropertyUtils}
+ * <p>
+ * The schema of each class is resolved once on the first use, and kept in a {@link java.lang.ClassValue}, so that the classes could be unloaded
+ * <p>
+ * The {@code class} property is always present, even if it is suppressed by the introspectors, as {@link org.apache.commons.beanutils2.BeanMap} does
+ * <p>
+ * The map properties are the ones that {@link org.apache.commons.beanutils2.BeanMap} exposes, which are introspected by {@link java.beans.Introspector} only,
+ * without the fluent accessors that registered to {@link org.apache.commons.beanutils2.PropertyUtils}
+ *
+ * @author David Hsing
+ * @see org.apache.commons.beanutils2.PropertyUtils#getPropertyDescriptors(java.lang.Class)
+ */
+@SuppressWarnings("unused")
+public class BeanSchema {
+    private static final ClassValue<BeanSchema> SCHEMAS = new ClassValue<>() {
+        @Override
+        protected BeanSchema computeValue(@Nonnull Class<?> type) {
+            return new BeanSchema(type);
+        }
+    };
+
+    static {
+        BeanIntrospectorWraps.initPropertyIntrospectors();
+    }
+
+    @Getter
+    private final Class<?> beanClass;
+
+    @Getter
+    private final List<BeanProperty> properties;
+
+    @Getter
+    private final List<BeanProperty> readableProperties;
+
+    @Getter
+    private final List<BeanProperty> mapProperties;
+
+    private final Map<String, BeanProperty> propertyMap;
+    private final Map<String, BeanProperty> readableMap;
+    private final Map<String, BeanProperty> mapPropertyMap;
+
+    private BeanSchema(@Nonnull Class<?> beanClass) {
+        this.beanClass = beanClass;
+        Set<String> copyIgnores = FieldUtilsWraps.getNestedFieldNamesToSet(beanClass, field -> field.isAnnotationPresent(BeanCopyIgnore.class));
+        Set<String> submitIgnores = FieldUtilsWraps.getNestedFieldNamesToSet(beanClass, field -> field.isAnnotationPresent(ViewSubmitIgnore.class));
+        List<BeanProperty> list = new ArrayList<>();
+        Map<String, BeanProperty> map = new HashMap<>();
+        for (PropertyDescriptor descriptor : PropertyUtils.getPropertyDescriptors(beanClass)) {
+            String name = descriptor.getName();
+            if (StringUtils.isBlank(name) || map.containsKey(name)) {
+                continue;
+            }
+            Method indexedReadMethod = null, indexedWriteMethod = null;
+            if (descriptor instanceof IndexedPropertyDescriptor indexed) {
+                indexedReadMethod = indexed.getIndexedReadMethod();
+                indexedWriteMethod = indexed.getIndexedWriteMethod();
+            }
+            BeanProperty property = new BeanProperty(beanClass, name, PropertyUtils.getReadMethod(descriptor), PropertyUtils.getWriteMethod(descriptor), indexedReadMethod, indexedWriteMethod, copyIgnores != null && copyIgnores.contains(name), submitIgnores != null && submitIgnores.contains(name));
+            if (property.isReadable() || property.isWritable() || property.isIndexedReadable() || property.isIndexedWritable()) {
+                list.add(property);
+                map.put(name, property);
+            }
+        }
+        if (!map.containsKey(JavaKeywordConst.CLASS)) {
+            Method method = MethodUtilsWraps.findMethod(Object.class, "getClass");    // $NON-NLS-1$
+            BeanProperty property = new BeanProperty(beanClass, JavaKeywordConst.CLASS, method, null, false, false);
+            list.add(property);
+            map.put(JavaKeywordConst.CLASS, property);
+        }
+        this.properties = Collections.unmodifiableList(list);
+        this.propertyMap = map;
+        this.readableProperties = list.stream().filter(BeanProperty::isReadable).toList();
+        this.readableMap = new HashMap<>(readableProperties.size());
+        readableProperties.forEach(property -> readableMap.put(property.getName(), property));
+        this.mapProperties = resolveMapProperties(beanClass, copyIgnores, submitIgnores);
+        this.mapPropertyMap = new HashMap<>(mapProperties.size());
+        mapProperties.forEach(property -> mapPropertyMap.put(property.getName(), property));
+    }
+
+    /**
+     * Returns the cached schema of the given class, resolves it if absent
+     *
+     * @param beanClass the bean class
+     *
+     * @return the cached schema of the given class
+     */
+    @Nonnull
+    public static BeanSchema of(@Nonnull Class<?> beanClass) {
+        return SCHEMAS.get(beanClass);
+    }
+
+    @Nullable
+    public BeanProperty getProperty(@Nullable String name) {
+        return (name == null) ? null : propertyMap.get(name);
+    }
+
+    @Nullable
+    public BeanProperty getReadableProperty(@Nullable String name) {
+        return (name == null) ? null : readableMap.get(name);
+    }
+
+    /**
+     * Returns an unmodifiable map of the readable properties, keyed by the property names
+     *
+     * @return an unmodifiable map of the readable properties, keyed by the property names
+     */
+    @Nonnull
+    public Map<String, BeanProperty> getReadableMap() {
+        return Collections.unmodifiableMap(readableMap);
+    }
+
+    /**
+     * Returns an unmodifiable map of the map properties, keyed by the property names
+     *
+     * @return an unmodifiable map of the map properties, keyed by the property names
+     *
+     * @see org.apache.commons.beanutils2.BeanMap#keySet()
+     */
+    @Nonnull
+    public Map<String, BeanProperty> getMapPropertyMap() {
+        return Collections.unmodifiableMap(mapPropertyMap);
+    }
+
+    public boolean hasProperty(@Nullable String name) {
+        return name != null && propertyMap.containsKey(name);
+    }
+
+    public int size() {
+        return properties.size();
+    }
+
+    /**
+     * Returns the properties that have read methods by {@link java.beans.Introspector}, as {@link org.apache.commons.beanutils2.BeanMap} does
+     * <p>
+     * The properties whose read methods could not be unreflected are kept, and read as null values, as {@link org.apache.commons.beanutils2.BeanMap#get} does
+     */
+    @Nonnull
+    private static List<BeanProperty> resolveMapProperties(@Nonnull Class<?> beanClass, @Nullable Set<String> copyIgnores, @Nullable Set<String> submitIgnores) {
+        PropertyDescriptor[] descriptors;
+        try {
+            descriptors = Introspector.getBeanInfo(beanClass).getPropertyDescriptors();
+        } catch (IntrospectionException ignored) {
+            return List.of();
+        }
+        List<BeanProperty> result = new ArrayList<>(descriptors.length);
+        for (PropertyDescriptor descriptor : descriptors) {
+            Method readMethod = descriptor.getReadMethod();
+            if (readMethod == null) {
+                continue;
+            }
+            String name = descriptor.getName();
+            result.add(new BeanProperty(beanClass, name, readMethod, descriptor.getWriteMethod(), copyIgnores != null && copyIgnores.contains(name), submitIgnores != null && submitIgnores.contains(name)));
+        }
+        return Collections.unmodifiableList(result);
+    }
+}
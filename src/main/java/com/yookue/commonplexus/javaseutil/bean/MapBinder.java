@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.bean;
+
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.apache.commons.beanutils2.ConvertUtils;
+import org.apache.commons.beanutils2.Converter;
+import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
+import com.yookue.commonplexus.javaseutil.constant.JavaKeywordConst;
+import com.yookue.commonplexus.javaseutil.exception.BeanInvocationException;
+import com.yookue.commonplexus.javaseutil.util.BeanUtilsWraps;
+import lombok.Getter;
+
+
+/**
+ * Binder for binding maps to the beans of a target class
+ * <p>
+ * A binder is built once from the target class, the exclusive or inclusive fields, and whether to allow empty values.
+ * It holds a hashed field filter, the setters from the cached {@link com.yookue.commonplexus.javaseutil.bean.BeanSchema},
+ * and the converters of the setter types looked up ahead of time, so that binding costs no reflective lookups after built.
+ * The keys of nested, indexed or mapped properties, such as {@code a.b[2].c}, are delegated to {@link com.yookue.commonplexus.javaseutil.util.BeanUtilsWraps#setProperty}
+ *
+ * @param <T> the type of the target beans
+ *
+ * @author David Hsing
+ * @see com.yookue.commonplexus.javaseutil.util.BeanUtilsWraps#mapToBeanExclusive
+ * @see com.yookue.commonplexus.javaseutil.util.BeanUtilsWraps#mapToBeanInclusive
+ */
+@SuppressWarnings({"unused", "JavadocReference"})
+public class MapBinder<T> {
+    private static final ClassValue<MapBinder<?>> BINDERS = new ClassValue<>() {
+        @Override
+        protected MapBinder<?> computeValue(@Nonnull Class<?> type) {
+            return new MapBinder<>(type, null, false, false, true);
+        }
+    };
+
+    /**
+     * The maximum number of filtered binders that cached for each class, the binders beyond it are built on demand
+     */
+    public static final int FILTERED_CAPACITY = 64;
+
+    private static final ClassValue<ConcurrentMap<FilterKey, MapBinder<?>>> FILTERED_BINDERS = new ClassValue<>() {
+        @Override
+        protected ConcurrentMap<FilterKey, MapBinder<?>> computeValue(@Nonnull Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    @Getter
+    private final Class<T> beanClass;
+
+    @Getter
+    private final boolean allowEmptyValue;
+
+    private final Set<String> fields;
+    private final boolean inclusive;
+    private final Map<String, Binding> bindings;
+
+    private MapBinder(@Nonnull Class<T> beanClass, @Nullable Collection<String> fields, boolean inclusive, boolean allowEmptyValue, boolean excludeIgnored) {
+        this.beanClass = beanClass;
+        this.fields = (fields == null) ? Set.of() : new HashSet<>(fields);
+        this.inclusive = inclusive;
+        this.allowEmptyValue = allowEmptyValue;
+        this.bindings = new HashMap<>();
+        for (BeanProperty property : BeanSchema.of(beanClass).getProperties()) {
+            if (property.isWritable() && !(excludeIgnored && property.isAnyIgnored()) && isAcceptable(property.getName())) {
+                bindings.put(property.getName(), new Binding(property, ClassUtils.primitiveToWrapper(property.getWriteType()), ConvertUtils.lookup(property.getWriteType())));
+            }
+        }
+    }
+
+    /**
+     * Returns the cached binder of the given class, which excludes the fields that annotated with
+     * {@link com.yookue.commonplexus.javaseutil.annotation.BeanCopyIgnore} or {@link com.yookue.commonplexus.javaseutil.annotation.ViewSubmitIgnore}
+     *
+     * @param beanClass the class of the target beans
+     *
+     * @return the cached binder of the given class
+     *
+     * @see com.yookue.commonplexus.javaseutil.util.BeanUtilsWraps#mapToBean(Object, Map)
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public static <T> MapBinder<T> of(@Nonnull Class<T> beanClass) {
+        return (MapBinder<T>) BINDERS.get(beanClass);
+    }
+
+    @Nonnull
+    public static <T> MapBinder<T> exclusive(@Nonnull Class<T> beanClass, @Nullable Collection<String> fields) {
+        return exclusive(beanClass, fields, false);
+    }
+
+    /**
+     * Returns the binder of the given class, which excludes the given fields
+     * <p>
+     * The binders are cached per class and filter, up to {@link #FILTERED_CAPACITY} binders for each class
+     *
+     * @param beanClass the class of the target beans
+     * @param fields the property names to exclude
+     * @param allowEmptyValue whether to bind the empty values or not
+     *
+     * @return the binder of the given class, which excludes the given fields
+     *
+     * @see com.yookue.commonplexus.javaseutil.util.BeanUtilsWraps#mapToBeanExclusive(Object, Map, Collection, boolean)
+     */
+    @Nonnull
+    public static <T> MapBinder<T> exclusive(@Nonnull Class<T> beanClass, @Nullable Collection<String> fields, boolean allowEmptyValue) {
+        return filtered(beanClass, fields, false, allowEmptyValue);
+    }
+
+    @Nonnull
+    public static <T> MapBinder<T> inclusive(@Nonnull Class<T> beanClass, @Nullable Collection<String> fields) {
+        return inclusive(beanClass, fields, false);
+    }
+
+    /**
+     * Returns the binder of the given class, which includes the given fields only
+     * <p>
+     * The binders are cached per class and filter, up to {@link #FILTERED_CAPACITY} binders for each class
+     *
+     * @param beanClass the class of the target beans
+     * @param fields the property names to include
+     * @param allowEmptyValue whether to bind the empty values or not
+     *
+     * @return the binder of the given class, which includes the given fields only
+     *
+     * @see com.yookue.commonplexus.javaseutil.util.BeanUtilsWraps#mapToBeanInclusive(Object, Map, Collection, boolean)
+     */
+    @Nonnull
+    public static <T> MapBinder<T> inclusive(@Nonnull Class<T> beanClass, @Nullable Collection<String> fields, boolean allowEmptyValue) {
+        return filtered(beanClass, fields, true, allowEmptyValue);
+    }
+
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    private static <T> MapBinder<T> filtered(@Nonnull Class<T> beanClass, @Nullable Collection<String> fields, boolean inclusive, boolean allowEmptyValue) {
+        Set<String> names = (fields == null) ? Set.of() : fields.stream().filter(Objects::nonNull).collect(Collectors.toUnmodifiableSet());
+        FilterKey key = new FilterKey(names, inclusive, allowEmptyValue);
+        ConcurrentMap<FilterKey, MapBinder<?>> binders = FILTERED_BINDERS.get(beanClass);
+        MapBinder<?> binder = binders.get(key);
+        if (binder == null) {
+            binder = new MapBinder<>(beanClass, names, inclusive, allowEmptyValue, false);
+            if (binders.size() < FILTERED_CAPACITY) {
+                MapBinder<?> existing = binders.putIfAbsent(key, binder);
+                binder = (existing == null) ? binder : existing;
+            }
+        }
+        return (MapBinder<T>) binder;
+    }
+
+    /**
+     * Sets the values of the given map to the properties of the given bean
+     *
+     * @param bean the target bean
+     * @param map the map that contains the property names and values
+     */
+    public void bind(@Nullable T bean, @Nullable Map<String, ?> map) throws BeanInvocationException {
+        if (bean == null || MapUtils.isEmpty(map)) {
+            return;
+        }
+        for (Map.Entry<String, ?> entry : map.entrySet()) {
+            String key = entry.getKey();
+            Object value = entry.getValue();
+            if (key == null || (!allowEmptyValue && ObjectUtils.isEmpty(value))) {
+                continue;
+            }
+            Binding binding = bindings.get(key);
+            if (binding != null) {
+                binding.write(bean, value);
+            } else if (StringUtils.containsAny(key, '.', '[', '(') && !StringUtils.isBlank(key) && isAcceptable(key)) {
+                BeanUtilsWraps.setProperty(bean, key, value);
+            }
+        }
+    }
+
+    /**
+     * Returns whether the given key would be bound to a property
+     *
+     * @param key the property name
+     *
+     * @return whether the given key would be bound to a property
+     */
+    public boolean isBindable(@Nullable String key) {
+        return key != null && (bindings.containsKey(key) || (StringUtils.containsAny(key, '.', '[', '(') && isAcceptable(key)));
+    }
+
+    private boolean isAcceptable(@Nonnull String key) {
+        return !StringUtils.equals(key, JavaKeywordConst.CLASS) && (inclusive == fields.contains(key));
+    }
+
+    /**
+     * Cache key of a filtered binder
+     *
+     * @param fields the property names of the filter
+     * @param inclusive whether the filter includes or excludes the property names
+     * @param allowEmptyValue whether to bind the empty values or not
+     */
+    private record FilterKey(@Nonnull Set<String> fields, boolean inclusive, boolean allowEmptyValue) {
+    }
+
+    /**
+     * Resolved binding of a single property
+     *
+     * @param wrapperType the write type of the property, with primitive type converted to wrapper type
+     * @param converter the converter that registered for the write type of the property, may be null
+     */
+    private record Binding(@Nonnull BeanProperty property, @Nonnull Class<?> wrapperType, @Nullable Converter<?> converter) {
+        private void write(@Nonnull Object bean, @Nullable Object value) throws BeanInvocationException {
+            Object actual = value;
+            if (actual instanceof String[] array && !wrapperType.isArray()) {
+                actual = (array.length == 0) ? null : array[0];
+            }
+            if (converter != null && !wrapperType.isInstance(actual)) {
+                try {
+                    actual = converter.convert(property.getWriteType(), actual);
+                } catch (RuntimeException ex) {
+                    throw new BeanInvocationException(String.format("Could not set property '%s' value of bean '%s'", property.getName(), bean.getClass().getName()), ex);
+                }
+            }
+            property.write(bean, actual);
+        }
+    }
+}
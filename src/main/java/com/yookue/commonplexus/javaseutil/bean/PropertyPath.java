@@ -0,0 +1,470 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.bean;
+
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.apache.commons.beanutils2.ConvertUtils;
+import org.apache.commons.beanutils2.Converter;
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.commons.lang3.StringUtils;
+import com.yookue.commonplexus.javaseutil.exception.BeanInvocationException;
+import com.yookue.commonplexus.javaseutil.reflect.InstanceFactory;
+import com.yookue.commonplexus.javaseutil.support.ClockCache;
+import lombok.Getter;
+
+
+/**
+ * Compiled property path of the nested, indexed or mapped properties, such as {@code a.b[2].c} or {@code a.b(key).c}
+ * <p>
+ * A path is parsed once, and each node of the path caches the {@link com.yookue.commonplexus.javaseutil.bean.BeanProperty} resolved for the last bean class it met,
+ * so that evaluating the same path on the beans of the same classes costs no parsing and no reflective lookups.
+ * The values of {@link java.util.Map} are accessed by the property names as keys, as {@link org.apache.commons.beanutils2.PropertyUtils} does.
+ * The first index of a property is accessed by its indexed getter or setter if present, such as {@code getItems(int)} and {@code setItems(int, T)},
+ * otherwise by the element of the array or list that the plain getter returns
+ * <p>
+ * The compiled paths are cached by the expressions, the least recently used ones are evicted in the second-chance (CLOCK) order beyond the capacity
+ * <p>
+ * Reading a path is null-safe, a null intermediate value results in null.
+ * Writing a path skips the null intermediate values as {@link org.apache.commons.beanutils2.BeanUtils#setProperty} does,
+ * or creates them if required, for the named properties whose types are objects, maps, collections or classes with a public no-argument constructor
+ *
+ * @author David Hsing
+ * @see org.apache.commons.beanutils2.expression.DefaultResolver
+ * @see org.apache.commons.beanutils2.BeanUtilsBean#setProperty
+ * @see com.yookue.commonplexus.javaseutil.support.ClockCache
+ */
+@SuppressWarnings({"unused", "JavadocReference"})
+public class PropertyPath {
+    /**
+     * The maximum count of the cached paths
+     */
+    public static final int CACHE_CAPACITY = 4096;
+
+    private static final ClockCache<String, PropertyPath> PATHS = new ClockCache<>(CACHE_CAPACITY);
+
+    @Getter
+    private final String expression;
+
+    private final Node[] nodes;
+
+    private PropertyPath(@Nonnull String expression, @Nonnull List<Node> nodes) {
+        this.expression = expression;
+        this.nodes = nodes.toArray(new Node[0]);
+    }
+
+    /**
+     * Returns the compiled path of the given expression, from the cache if possible
+     *
+     * @param expression the property expression, such as {@code a.b[2].c} or {@code a.b(key).c}
+     *
+     * @return the compiled path of the given expression
+     *
+     * @throws IllegalArgumentException if the expression is blank or malformed
+     */
+    @Nonnull
+    public static PropertyPath compile(@Nullable String expression) {
+        if (StringUtils.isBlank(expression)) {
+            throw new IllegalArgumentException("Property expression must not be blank");
+        }
+        PropertyPath cached = PATHS.get(expression);
+        if (cached != null) {
+            return cached;
+        }
+        PropertyPath result = new PropertyPath(expression, parse(expression));
+        PropertyPath existing = PATHS.putIfAbsent(expression, result);
+        return (existing != null) ? existing : result;
+    }
+
+    public static int getCacheSize() {
+        return PATHS.size();
+    }
+
+    /**
+     * Returns the property names of the nodes, without the indexes or keys
+     *
+     * @return the property names of the nodes, without the indexes or keys
+     */
+    @Nonnull
+    public List<String> getNames() {
+        List<String> result = new ArrayList<>(nodes.length);
+        for (Node node : nodes) {
+            result.add(node.name);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    public int depth() {
+        return nodes.length;
+    }
+
+    /**
+     * Returns the value of this path in the given bean, null-safe for the intermediate values
+     *
+     * @param bean the root bean
+     *
+     * @return the value of this path in the given bean, or null if any intermediate value is null, or any index is out of bounds
+     *
+     * @throws BeanInvocationException if any property is not readable
+     */
+    @Nullable
+    public Object get(@Nullable Object bean) throws BeanInvocationException {
+        Object current = bean;
+        for (Node node : nodes) {
+            if (current == null) {
+                return null;
+            }
+            current = node.read(current, node.accessors.length, false, true);
+        }
+        return current;
+    }
+
+    @Nullable
+    public Object getQuietly(@Nullable Object bean) {
+        try {
+            return get(bean);
+        } catch (Exception ignored) {
+        }
+        return null;
+    }
+
+    public boolean set(@Nullable Object bean, @Nullable Object value) throws BeanInvocationException {
+        return set(bean, value, false);
+    }
+
+    /**
+     * Sets the value of this path in the given bean, converts the value to the property type if necessary
+     *
+     * @param bean the root bean
+     * @param value the value to set
+     * @param createIntermediate whether to create the null intermediate values of the named properties
+     *
+     * @return whether the value is set, false if the path could not be resolved, as {@link org.apache.commons.beanutils2.BeanUtils#setProperty} skips it
+     *
+     * @throws BeanInvocationException if the value could not be converted or set
+     */
+    public boolean set(@Nullable Object bean, @Nullable Object value, boolean createIntermediate) throws BeanInvocationException {
+        if (bean == null) {
+            return false;
+        }
+        Object current = bean;
+        for (int i = 0; i < nodes.length - 1; i++) {
+            Node node = nodes[i];
+            current = node.read(current, node.accessors.length, createIntermediate, false);
+            if (current == null) {
+                return false;
+            }
+        }
+        Node last = nodes[nodes.length - 1];
+        if (last.accessors.length == 0) {
+            return last.writeProperty(current, value);
+        }
+        if (last.accessors.length == 1 && last.accessors[0] instanceof Integer index && last.isIndexedWritable(current)) {
+            return last.writeIndexed(current, index, value);
+        }
+        current = last.read(current, last.accessors.length - 1, createIntermediate, false);
+        return current != null && assign(current, last.accessors[last.accessors.length - 1], value, createIntermediate);
+    }
+
+    public boolean setQuietly(@Nullable Object bean, @Nullable Object value) {
+        try {
+            return set(bean, value);
+        } catch (Exception ignored) {
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    @Nonnull
+    private static List<Node> parse(@Nonnull String expression) {
+        List<Node> result = new ArrayList<>();
+        int length = expression.length(), start = 0;
+        while (start <= length) {
+            int index = start;
+            while (index < length && expression.charAt(index) != '.' && expression.charAt(index) != '[' && expression.charAt(index) != '(') {
+                index++;
+            }
+            String name = expression.substring(start, index);
+            if (StringUtils.isBlank(name)) {
+                throw new IllegalArgumentException(String.format("Property expression '%s' is malformed at %d", expression, start));
+            }
+            List<Object> accessors = new ArrayList<>();
+            while (index < length && (expression.charAt(index) == '[' || expression.charAt(index) == '(')) {
+                char closing = (expression.charAt(index) == '[') ? ']' : ')';
+                int end = expression.indexOf(closing, index + 1);
+                if (end < 0) {
+                    throw new IllegalArgumentException(String.format("Property expression '%s' is malformed at %d", expression, index));
+                }
+                String content = expression.substring(index + 1, end);
+                if (closing == ']') {
+                    try {
+                        accessors.add(Integer.parseInt(content.trim()));
+                    } catch (NumberFormatException ex) {
+                        throw new IllegalArgumentException(String.format("Property expression '%s' has an invalid index '%s'", expression, content), ex);
+                    }
+                } else {
+                    accessors.add(content);
+                }
+                index = end + 1;
+            }
+            result.add(new Node(name, accessors.toArray()));
+            if (index >= length) {
+                break;
+            }
+            if (expression.charAt(index) != '.') {
+                throw new IllegalArgumentException(String.format("Property expression '%s' is malformed at %d", expression, index));
+            }
+            start = index + 1;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the element of the given container, or null if the index is out of bounds
+     */
+    @Nullable
+    private static Object access(@Nonnull Object container, @Nonnull Object accessor) throws BeanInvocationException {
+        if (accessor instanceof String key) {
+            if (container instanceof Map<?, ?> map) {
+                return map.get(key);
+            }
+        } else {
+            int index = (Integer) accessor;
+            if (container instanceof List<?> list) {
+                return (index >= 0 && index < list.size()) ? list.get(index) : null;
+            }
+            if (container.getClass().isArray()) {
+                return (index >= 0 && index < Array.getLength(container)) ? Array.get(container, index) : null;
+            }
+        }
+        throw new BeanInvocationException(String.format("Could not access '%s' of '%s'", accessor, container.getClass().getName()));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static boolean assign(@Nonnull Object container, @Nonnull Object accessor, @Nullable Object value, boolean createIntermediate) throws BeanInvocationException {
+        if (accessor instanceof String key) {
+            if (container instanceof Map map) {
+                map.put(key, value);
+                return true;
+            }
+        } else {
+            int index = (Integer) accessor;
+            if (container instanceof List list) {
+                if (index < 0 || (index >= list.size() && !createIntermediate)) {
+                    return false;
+                }
+                while (list.size() <= index) {
+                    list.add(null);
+                }
+                list.set(index, value);
+                return true;
+            }
+            if (container.getClass().isArray()) {
+                if (index < 0 || index >= Array.getLength(container)) {
+                    return false;
+                }
+                Class<?> componentType = container.getClass().getComponentType();
+                Array.set(container, index, convert(value, componentType, ClassUtils.primitiveToWrapper(componentType), ConvertUtils.lookup(componentType)));
+                return true;
+            }
+        }
+        throw new BeanInvocationException(String.format("Could not assign '%s' of '%s'", accessor, container.getClass().getName()));
+    }
+
+    /**
+     * @see com.yookue.commonplexus.javaseutil.bean.MapBinder
+     */
+    @Nullable
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object convert(@Nullable Object value, @Nonnull Class<?> type, @Nonnull Class<?> wrapperType, @Nullable Converter converter) {
+        Object actual = value;
+        if (actual instanceof String[] array && !wrapperType.isArray()) {
+            actual = (array.length == 0) ? null : array[0];
+        }
+        return (converter != null && !wrapperType.isInstance(actual)) ? converter.convert(type, actual) : actual;
+    }
+
+    @Nullable
+    private static Object instantiate(@Nonnull Class<?> type) {
+        if (type.isArray() || type.isPrimitive()) {
+            return null;
+        }
+        if (type == Object.class || type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            if (type.isAssignableFrom(LinkedHashMap.class)) {
+                return new LinkedHashMap<>();
+            }
+            if (type.isAssignableFrom(ArrayList.class)) {
+                return new ArrayList<>();
+            }
+            if (type.isAssignableFrom(LinkedHashSet.class)) {
+                return new LinkedHashSet<>();
+            }
+            return null;
+        }
+        InstanceFactory<?> factory = InstanceFactory.of(type);
+        return (factory == null) ? null : factory.newInstanceQuietly();
+    }
+
+    /**
+     * Node of a path, with a property name and the following indexes or keys
+     */
+    private static class Node {
+        private final String name;
+        private final Object[] accessors;
+        private volatile Resolution resolution;
+
+        private Node(@Nonnull String name, @Nonnull Object[] accessors) {
+            this.name = name;
+            this.accessors = accessors;
+        }
+
+        /**
+         * Returns the property of the given bean class, from the cached resolution if the class is the same as the last one
+         */
+        @Nullable
+        private Resolution resolve(@Nonnull Class<?> beanClass) {
+            Resolution current = resolution;
+            if (current != null && current.beanClass == beanClass) {
+                return current;
+            }
+            BeanProperty property = BeanSchema.of(beanClass).getProperty(name);
+            if (property == null) {
+                return null;
+            }
+            Class<?> writeType = property.getWriteType(), indexedType = property.getIndexedType();
+            current = new Resolution(beanClass, property, (writeType == null) ? null : ClassUtils.primitiveToWrapper(writeType), (writeType == null) ? null : ConvertUtils.lookup(writeType),
+                (indexedType == null) ? null : ClassUtils.primitiveToWrapper(indexedType), (indexedType == null) ? null : ConvertUtils.lookup(indexedType));
+            resolution = current;
+            return current;
+        }
+
+        /**
+         * Returns the value of the property followed by the given count of accessors, the first index is read by the indexed getter if present
+         */
+        @Nullable
+        private Object read(@Nonnull Object bean, int accessorCount, boolean createIntermediate, boolean strict) throws BeanInvocationException {
+            Object current;
+            int start = 0;
+            Resolution resolution = (accessorCount == 0 || !(accessors[0] instanceof Integer) || bean instanceof Map) ? null : resolve(bean.getClass());
+            if (resolution != null && resolution.property.isIndexedReadable()) {
+                current = resolution.property.readIndexed(bean, (Integer) accessors[0]);
+                start = 1;
+            } else {
+                current = readProperty(bean, createIntermediate, strict);
+            }
+            for (int i = start; current != null && i < accessorCount; i++) {
+                current = access(current, accessors[i]);
+            }
+            return current;
+        }
+
+        private boolean isIndexedWritable(@Nonnull Object bean) {
+            if (bean instanceof Map) {
+                return false;
+            }
+            Resolution current = resolve(bean.getClass());
+            return current != null && current.property.isIndexedWritable();
+        }
+
+        private boolean writeIndexed(@Nonnull Object bean, int index, @Nullable Object value) throws BeanInvocationException {
+            Resolution current = resolve(bean.getClass());
+            if (current == null || current.indexedWrapperType == null) {
+                return false;
+            }
+            Object actual;
+            try {
+                actual = convert(value, current.property.getIndexedType(), current.indexedWrapperType, current.indexedConverter);
+            } catch (RuntimeException ex) {
+                throw new BeanInvocationException(String.format("Could not set property '%s[%d]' value of bean '%s'", name, index, bean.getClass().getName()), ex);
+            }
+            current.property.writeIndexed(bean, index, actual);
+            return true;
+        }
+
+        @Nullable
+        @SuppressWarnings("unchecked")
+        private Object readProperty(@Nonnull Object bean, boolean createIntermediate, boolean strict) throws BeanInvocationException {
+            if (bean instanceof Map<?, ?> map) {
+                Object result = map.get(name);
+                if (result == null && createIntermediate && accessors.length == 0) {
+                    result = new LinkedHashMap<>();
+                    ((Map<String, Object>) map).put(name, result);
+                }
+                return result;
+            }
+            Resolution current = resolve(bean.getClass());
+            if (current == null || !current.property.isReadable()) {
+                if (strict) {
+                    throw new BeanInvocationException(String.format("Property '%s' of bean '%s' is not readable", name, bean.getClass().getName()));
+                }
+                return null;
+            }
+            Object result = current.property.read(bean);
+            if (result == null && createIntermediate && current.property.isWritable()) {
+                result = instantiate(current.property.getWriteType());
+                if (result != null) {
+                    current.property.write(bean, result);
+                }
+            }
+            return result;
+        }
+
+        @SuppressWarnings("unchecked")
+        private boolean writeProperty(@Nonnull Object bean, @Nullable Object value) throws BeanInvocationException {
+            if (bean instanceof Map<?, ?> map) {
+                ((Map<String, Object>) map).put(name, value);
+                return true;
+            }
+            Resolution current = resolve(bean.getClass());
+            if (current == null || !current.property.isWritable()) {
+                return false;
+            }
+            Object actual;
+            try {
+                actual = convert(value, current.property.getWriteType(), current.wrapperType, current.converter);
+            } catch (RuntimeException ex) {
+                throw new BeanInvocationException(String.format("Could not set property '%s' value of bean '%s'", name, bean.getClass().getName()), ex);
+            }
+            current.property.write(bean, actual);
+            return true;
+        }
+    }
+
+    /**
+     * Resolved property of a node for a bean class
+     *
+     * @param wrapperType the write type of the property, with primitive type converted to wrapper type, may be null
+     * @param converter the converter that registered for the write type of the property, may be null
+     * @param indexedWrapperType the indexed type of the property, with primitive type converted to wrapper type, may be null
+     * @param indexedConverter the converter that registered for the indexed type of the property, may be null
+     */
+    private record Resolution(@Nonnull Class<?> beanClass, @Nonnull BeanProperty property, @Nullable Class<?> wrapperType, @Nullable Converter<?> converter, @Nullable Class<?> indexedWrapperType, @Nullable Converter<?> indexedConverter) {
+    }
+}
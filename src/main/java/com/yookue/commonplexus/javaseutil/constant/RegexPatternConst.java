@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.constant;
+
+
+import java.util.regex.Pattern;
+
+
+/**
+ * Constants for compiled regular expressions, compiled eagerly from {@link com.yookue.commonplexus.javaseutil.constant.RegexVariantConst}
+ *
+ * @author David Hsing
+ * @see com.yookue.commonplexus.javaseutil.constant.RegexVariantConst
+ */
+@SuppressWarnings("unused")
+public abstract class RegexPatternConst {
+    public static final Pattern APPLICATION_JSON = Pattern.compile(RegexVariantConst.APPLICATION_JSON);
+    public static final Pattern APPLICATION_XML = Pattern.compile(RegexVariantConst.APPLICATION_XML);
+
+    public static final Pattern ANGLE_BRACKETS = Pattern.compile(RegexVariantConst.ANGLE_BRACKETS);
+    public static final Pattern ARRAY_INDEX = Pattern.compile(RegexVariantConst.ARRAY_INDEX);
+    public static final Pattern BASE64 = Pattern.compile(RegexVariantConst.BASE64);
+    public static final Pattern BASE64_IMAGE = Pattern.compile(RegexVariantConst.BASE64_IMAGE);
+    public static final Pattern CURLY_BRACKETS = Pattern.compile(RegexVariantConst.CURLY_BRACKETS);
+    public static final Pattern LINE_SEPARATOR = Pattern.compile(RegexVariantConst.LINE_SEPARATOR);
+    public static final Pattern LANGUAGE_TAG = Pattern.compile(RegexVariantConst.LANGUAGE_TAG);
+
+    public static final Pattern LAN_ADDRESS_IPV4 = Pattern.compile(RegexVariantConst.LAN_ADDRESS_IPV4);
+}
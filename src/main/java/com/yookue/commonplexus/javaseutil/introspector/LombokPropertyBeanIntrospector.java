@@ -22,14 +22,17 @@ import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Stream;
 import jakarta.annotation.Nonnull;
 import org.apache.commons.beanutils2.BeanIntrospector;
 import org.apache.commons.beanutils2.IntrospectionContext;
 import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.CharUtils;
 import org.apache.commons.lang3.StringUtils;
 import lombok.extern.slf4j.Slf4j;
 
@@ -43,6 +46,8 @@ import lombok.extern.slf4j.Slf4j;
  *     PropertyUtils.addBeanIntrospector(new FluentPropertyBeanIntrospector());
  *     PropertyUtils.addBeanIntrospector(new LombokPropertyBeanIntrospector());
  * </code></pre>
+ * <p>
+ * The fluent accessors of each class are scanned once, and cached in a {@link java.lang.ClassValue}, so that the classes could be unloaded
  *
  * @author izilotti
  * @reference "https://stackoverflow.com/questions/22743765/beanutils-not-works-for-chain-setter"
@@ -50,6 +55,17 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 @SuppressWarnings({"unused", "JavadocDeclaration", "JavadocLinkAsPlainText"})
 public class LombokPropertyBeanIntrospector implements BeanIntrospector {
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    private final ClassValue<Map<String, Method[]>> lombokMethods = new ClassValue<>() {
+        @Override
+        protected Map<String, Method[]> computeValue(@Nonnull Class<?> type) {
+            missCount.increment();
+            return Collections.unmodifiableMap(getLombokMethods(type));
+        }
+    };
+
     /**
      * Performs introspection
      * This method scans the current class's methods for property write and read methods which have been
@@ -60,7 +76,8 @@ public class LombokPropertyBeanIntrospector implements BeanIntrospector {
     @Override
     @SuppressWarnings("StringConcatenationArgumentToLogCall")
     public void introspect(@Nonnull IntrospectionContext context) {
-        getLombokMethods(context).forEach((property, methods) -> {
+        hitCount.increment();
+        lombokMethods.get(context.getTargetClass()).forEach((property, methods) -> {
             if (ArrayUtils.getLength(methods) < 2) {
                 return;
             }
@@ -79,12 +96,30 @@ public class LombokPropertyBeanIntrospector implements BeanIntrospector {
         });
     }
 
+    /**
+     * Returns the number of introspections that found the fluent accessors in the cache
+     *
+     * @return the number of introspections that found the fluent accessors in the cache
+     */
+    public long getCacheHitCount() {
+        return Math.max(hitCount.sum() - missCount.sum(), 0L);
+    }
+
+    /**
+     * Returns the number of introspections that scanned the methods of the target class
+     *
+     * @return the number of introspections that scanned the methods of the target class
+     */
+    public long getCacheMissCount() {
+        return missCount.sum();
+    }
+
     @Nonnull
-    private Map<String, Method[]> getLombokMethods(@Nonnull IntrospectionContext context) {
+    private Map<String, Method[]> getLombokMethods(@Nonnull Class<?> targetClass) {
         Map<String, Method[]> propertyMethods = new HashMap<>();    // property name, write, read
-        Stream.of(context.getTargetClass().getMethods()).filter(this::isNotJavaBeanMethod).forEach(method -> {
+        Stream.of(targetClass.getMethods()).filter(this::isNotJavaBeanMethod).forEach(method -> {
             String property = getPropertyName(method);
-            if (method.getReturnType().isAssignableFrom(context.getTargetClass()) && method.getParameterCount() == 1) {
+            if (method.getReturnType().isAssignableFrom(targetClass) && method.getParameterCount() == 1) {
                 if (log.isDebugEnabled()) {
                     log.debug("Found mutator '{}' with parameter '{}'", method.getName(), method.getParameters()[0].getName());
                 }
@@ -134,13 +169,20 @@ public class LombokPropertyBeanIntrospector implements BeanIntrospector {
         if (!Modifier.isPublic(method.getModifiers()) || method.getParameterTypes().length != 0) {
             return false;
         }
-        if (method.getName().matches("^get[A-Z].*") && method.getReturnType() != Void.TYPE) {    //$NON-NLS-1$
+        if (isPrefixedName(method.getName(), "get") && method.getReturnType() != Void.TYPE) {    //$NON-NLS-1$
             return true;
         }
-        return method.getName().matches("^is[A-Z].*") && method.getReturnType() == Boolean.TYPE;    //$NON-NLS-1$
+        return isPrefixedName(method.getName(), "is") && method.getReturnType() == Boolean.TYPE;    //$NON-NLS-1$
     }
 
     private boolean isSetterMethod(@Nonnull Method method) {
-        return Modifier.isPublic(method.getModifiers()) && method.getReturnType().equals(Void.TYPE) && method.getParameterTypes().length == 1 && method.getName().matches("^set[A-Z].*");
+        return Modifier.isPublic(method.getModifiers()) && method.getReturnType().equals(Void.TYPE) && method.getParameterTypes().length == 1 && isPrefixedName(method.getName(), "set");    //$NON-NLS-1$
+    }
+
+    /**
+     * Returns whether the given name starts with the given prefix and then an ascii upper case letter, equivalent to regex {@code ^prefix[A-Z].*}
+     */
+    private boolean isPrefixedName(@Nonnull String name, @Nonnull String prefix) {
+        return name.length() > prefix.length() && name.startsWith(prefix) && CharUtils.isAsciiAlphaUpper(name.charAt(prefix.length()));
     }
 }
@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.io;
+
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import jakarta.annotation.Nonnull;
+import org.apache.commons.io.IOUtils;
+
+
+/**
+ * Copier that transfers bytes between the endpoints by the cheapest path available
+ * <p>
+ * When either endpoint is a regular file, the bytes are moved by {@link java.nio.channels.FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}
+ * or {@link java.nio.channels.FileChannel#transferFrom(java.nio.channels.ReadableByteChannel, long, long)},
+ * which the operating system may fulfill without copying into the user space (e.g. {@code sendfile} or {@code copy_file_range} on Linux).
+ * Other channels are pumped through pooled direct buffers, and other streams through the heap buffers of {@link org.apache.commons.io.IOUtils}
+ * <p>
+ * The positions of the file endpoints are honored and advanced, as the streams do. The channels are expected to be in blocking mode.
+ * The files that are not seekable or report no size, such as the pipes and the pseudo files under {@code /proc}, are copied through buffers
+ *
+ * @author David Hsing
+ * @see java.nio.channels.FileChannel
+ */
+@SuppressWarnings("unused")
+public final class ChannelCopier {
+    /**
+     * The size of the pooled direct buffers
+     */
+    public static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The maximum count of the pooled direct buffers
+     */
+    public static final int POOL_CAPACITY = 16;
+
+    private static final long TRANSFER_CHUNK_SIZE = 8L * 1024 * 1024;
+    private static final BlockingQueue<ByteBuffer> BUFFER_POOL = new ArrayBlockingQueue<>(POOL_CAPACITY);
+
+    private ChannelCopier() {
+    }
+
+    /**
+     * Copies the bytes from the input stream to the output stream
+     * <p>
+     * The file streams are copied through their channels, neither stream is closed
+     *
+     * @param input the stream to read from
+     * @param output the stream to write to
+     *
+     * @return the count of the copied bytes and the path taken
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Nonnull
+    public static Result copy(@Nonnull InputStream input, @Nonnull OutputStream output) throws IOException {
+        if (input instanceof FileInputStream fileInput && output instanceof FileOutputStream fileOutput && isTransferable(fileInput.getChannel())) {
+            return copy(fileInput.getChannel(), fileOutput.getChannel());
+        }
+        return new Result(IOUtils.copyLarge(input, output), Mode.STREAM);
+    }
+
+    /**
+     * Copies the bytes from the file to the output stream
+     *
+     * @param input the file to read from
+     * @param output the stream to write to, which is not closed
+     *
+     * @return the count of the copied bytes and the path taken
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Nonnull
+    public static Result copy(@Nonnull Path input, @Nonnull OutputStream output) throws IOException {
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            if (output instanceof FileOutputStream fileOutput) {
+                return copy(channel, fileOutput.getChannel());
+            }
+            return new Result(IOUtils.copyLarge(Channels.newInputStream(channel), output), Mode.STREAM);
+        }
+    }
+
+    /**
+     * Copies the bytes from the input stream to the file, which is created or truncated, with the parent directories created
+     *
+     * @param input the stream to read from, which is not closed
+     * @param output the file to write to
+     *
+     * @return the count of the copied bytes and the path taken
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Nonnull
+    public static Result copy(@Nonnull InputStream input, @Nonnull Path output) throws IOException {
+        Path parent = output.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            if (input instanceof FileInputStream fileInput && isTransferable(fileInput.getChannel())) {
+                return copy(fileInput.getChannel(), channel);
+            }
+            return new Result(IOUtils.copyLarge(input, Channels.newOutputStream(channel)), Mode.STREAM);
+        }
+    }
+
+    /**
+     * Copies the bytes from the input channel to the output channel
+     * <p>
+     * Neither channel is closed
+     *
+     * @param input the channel to read from
+     * @param output the channel to write to
+     *
+     * @return the count of the copied bytes and the path taken
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Nonnull
+    public static Result copy(@Nonnull ReadableByteChannel input, @Nonnull WritableByteChannel output) throws IOException {
+        boolean fileInput = input instanceof FileChannel;
+        if (fileInput && !isTransferable((FileChannel) input)) {
+            return new Result(pump(input, output), Mode.DIRECT_BUFFER);
+        }
+        if (fileInput && (output instanceof FileChannel || output instanceof SelectableChannel)) {
+            return new Result(transferTo((FileChannel) input, output), Mode.TRANSFER_TO);
+        }
+        if (output instanceof FileChannel fileOutput && isSeekable(fileOutput) && !(input instanceof SelectableChannel selectable && !selectable.isBlocking())) {
+            return new Result(transferFrom(input, fileOutput), Mode.TRANSFER_FROM);
+        }
+        return new Result(pump(input, output), Mode.DIRECT_BUFFER);
+    }
+
+    /**
+     * Returns whether the given channel is a seekable file that reports its size, which could be the source of {@link java.nio.channels.FileChannel#transferTo}
+     * <p>
+     * The pipes throw on {@link java.nio.channels.FileChannel#position()}, and the pseudo files report zero size, even though they have contents
+     */
+    private static boolean isTransferable(@Nonnull FileChannel channel) {
+        try {
+            return isSeekable(channel) && channel.size() > 0L;
+        } catch (IOException ignored) {
+        }
+        return false;
+    }
+
+    private static boolean isSeekable(@Nonnull FileChannel channel) {
+        try {
+            channel.position();
+            return true;
+        } catch (IOException ignored) {
+        }
+        return false;
+    }
+
+    private static long transferTo(@Nonnull FileChannel input, @Nonnull WritableByteChannel output) throws IOException {
+        long position = input.position(), count = 0L;
+        while (true) {
+            // Zero means the end of the file, the size is not trusted as the file may grow while copying
+            long transferred = input.transferTo(position, TRANSFER_CHUNK_SIZE, output);
+            if (transferred <= 0L) {
+                break;
+            }
+            position += transferred;
+            count += transferred;
+        }
+        input.position(position);
+        return count;
+    }
+
+    private static long transferFrom(@Nonnull ReadableByteChannel input, @Nonnull FileChannel output) throws IOException {
+        long position = output.position(), count = 0L;
+        while (true) {
+            // Zero means the end of a blocking source, as the position never exceeds the size of the file
+            long transferred = output.transferFrom(input, position, TRANSFER_CHUNK_SIZE);
+            if (transferred <= 0L) {
+                break;
+            }
+            position += transferred;
+            count += transferred;
+        }
+        output.position(position);
+        return count;
+    }
+
+    private static long pump(@Nonnull ReadableByteChannel input, @Nonnull WritableByteChannel output) throws IOException {
+        ByteBuffer buffer = BUFFER_POOL.poll();
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+        long count = 0L;
+        try {
+            while (input.read(buffer) >= 0) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    count += output.write(buffer);
+                }
+                buffer.clear();
+            }
+        } finally {
+            buffer.clear();
+            BUFFER_POOL.offer(buffer);
+        }
+        return count;
+    }
+
+    /**
+     * Paths of copying bytes
+     */
+    public enum Mode {
+        /**
+         * By {@link java.nio.channels.FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)} from a file
+         */
+        TRANSFER_TO,
+
+        /**
+         * By {@link java.nio.channels.FileChannel#transferFrom(java.nio.channels.ReadableByteChannel, long, long)} into a file
+         */
+        TRANSFER_FROM,
+
+        /**
+         * Through the pooled direct buffers between channels
+         */
+        DIRECT_BUFFER,
+
+        /**
+         * Through the heap buffers between streams
+         */
+        STREAM
+    }
+
+    /**
+     * Result of a copy
+     *
+     * @param bytes the count of the copied bytes
+     * @param mode the path taken to copy
+     */
+    public record Result(long bytes, @Nonnull Mode mode) {
+    }
+}
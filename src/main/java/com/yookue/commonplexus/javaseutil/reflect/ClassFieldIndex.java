@@ -0,0 +1,364 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.reflect;
+
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+
+/**
+ * Index of the fields of a class, with the declared fields, the nested fields and the annotated fields
+ * <p>
+ * The index of each class is resolved once on the first use, and kept in a {@link java.lang.ClassValue}, so that the classes could be unloaded.
+ * The nested fields are composed by the declared fields of the class and the nested fields of its superclass,
+ * in the same order of {@link com.yookue.commonplexus.javaseutil.util.FieldUtilsWraps#doWithNestedFields}
+ * <p>
+ * The {@link java.lang.reflect.Field} instances of the index are kept internally, the returned ones are copies as {@link java.lang.Class#getDeclaredFields()} does,
+ * so that changing their accessibility does not affect the other callers.
+ * The filters and the name lookups run on the internal instances, and only the matching fields are copied
+ *
+ * @author David Hsing
+ * @see com.yookue.commonplexus.javaseutil.util.FieldUtilsWraps
+ */
+@Getter
+@SuppressWarnings("unused")
+public class ClassFieldIndex {
+    private static final ClassValue<ClassFieldIndex> INDEXES = new ClassValue<>() {
+        @Override
+        protected ClassFieldIndex computeValue(@Nonnull Class<?> type) {
+            return new ClassFieldIndex(type);
+        }
+    };
+
+    private final Class<?> targetClass;
+
+    @Getter(value = AccessLevel.NONE)
+    private final List<Field> declaredFields;
+
+    @Getter(value = AccessLevel.NONE)
+    private final List<Field> nestedFields;
+
+    @Getter(value = AccessLevel.NONE)
+    private final Map<Class<? extends Annotation>, List<Field>> annotatedFields;
+
+    @Getter(value = AccessLevel.NONE)
+    private final Map<String, Field> declaredFieldMap;
+
+    @Getter(value = AccessLevel.NONE)
+    private final Map<String, Field> nestedFieldMap;
+
+    @Getter(value = AccessLevel.NONE)
+    private final Map<String, Integer> declaredOrdinals;
+
+    private ClassFieldIndex(@Nonnull Class<?> targetClass) {
+        this.targetClass = targetClass;
+        this.declaredFields = List.of(targetClass.getDeclaredFields());
+        ClassFieldIndex superIndex = (targetClass.getSuperclass() == null) ? null : of(targetClass.getSuperclass());
+        if (superIndex == null || superIndex.nestedFields.isEmpty()) {
+            this.nestedFields = declaredFields;
+        } else {
+            List<Field> fields = new ArrayList<>(declaredFields.size() + superIndex.nestedFields.size());
+            fields.addAll(declaredFields);
+            fields.addAll(superIndex.nestedFields);
+            this.nestedFields = Collections.unmodifiableList(fields);
+        }
+        Map<Class<? extends Annotation>, List<Field>> annotationMap = new LinkedHashMap<>();
+        Map<String, Field> nestedMap = new HashMap<>(nestedFields.size() * 2);
+        for (Field field : nestedFields) {
+            nestedMap.putIfAbsent(field.getName(), field);
+            for (Annotation annotation : field.getDeclaredAnnotations()) {
+                annotationMap.computeIfAbsent(annotation.annotationType(), type -> new ArrayList<>()).add(field);
+            }
+        }
+        annotationMap.replaceAll((type, fields) -> Collections.unmodifiableList(fields));
+        this.annotatedFields = annotationMap;
+        this.nestedFieldMap = nestedMap;
+        this.declaredFieldMap = new HashMap<>(declaredFields.size() * 2);
+        this.declaredOrdinals = new HashMap<>(declaredFields.size() * 2);
+        for (int i = 0; i < declaredFields.size(); i++) {
+            declaredFieldMap.put(declaredFields.get(i).getName(), declaredFields.get(i));
+            declaredOrdinals.put(declaredFields.get(i).getName(), i);
+        }
+    }
+
+    /**
+     * Returns the cached index of the given class, resolves it if absent
+     *
+     * @param targetClass the class to index
+     *
+     * @return the cached index of the given class
+     */
+    @Nonnull
+    public static ClassFieldIndex of(@Nonnull Class<?> targetClass) {
+        return INDEXES.get(targetClass);
+    }
+
+    /**
+     * Returns the copies of the fields declared by the class
+     *
+     * @return the copies of the fields declared by the class
+     */
+    @Nonnull
+    public List<Field> getDeclaredFields() {
+        return copyFields(declaredFields);
+    }
+
+    /**
+     * Returns the copies of the fields declared by the class, which match the given filter
+     * <p>
+     * The filter is tested against the internal instances, which must not be changed or kept
+     *
+     * @param filter the filter of the fields, or null for all the fields
+     *
+     * @return the copies of the fields declared by the class, which match the given filter
+     */
+    @Nonnull
+    public List<Field> getDeclaredFields(@Nullable Predicate<Field> filter) {
+        return copyFields(filterFields(declaredFields, filter));
+    }
+
+    /**
+     * Returns the names of the fields declared by the class, which match the given filter, without copying any field
+     *
+     * @param filter the filter of the fields, or null for all the fields
+     *
+     * @return the names of the fields declared by the class, which match the given filter
+     */
+    @Nonnull
+    public List<String> getDeclaredFieldNames(@Nullable Predicate<Field> filter) {
+        return mapNames(filterFields(declaredFields, filter));
+    }
+
+    /**
+     * Returns the copies of the fields declared by the class and its superclasses
+     *
+     * @return the copies of the fields declared by the class and its superclasses
+     */
+    @Nonnull
+    public List<Field> getNestedFields() {
+        return copyFields(nestedFields);
+    }
+
+    /**
+     * Returns the copies of the fields declared by the class and its superclasses, which match the given filter
+     * <p>
+     * The filter is tested against the internal instances, which must not be changed or kept
+     *
+     * @param filter the filter of the fields, or null for all the fields
+     *
+     * @return the copies of the fields declared by the class and its superclasses, which match the given filter
+     */
+    @Nonnull
+    public List<Field> getNestedFields(@Nullable Predicate<Field> filter) {
+        return copyFields(filterFields(nestedFields, filter));
+    }
+
+    /**
+     * Returns the names of the fields declared by the class and its superclasses, which match the given filter, without copying any field
+     *
+     * @param filter the filter of the fields, or null for all the fields
+     *
+     * @return the names of the fields declared by the class and its superclasses, which match the given filter
+     */
+    @Nonnull
+    public List<String> getNestedFieldNames(@Nullable Predicate<Field> filter) {
+        return mapNames(filterFields(nestedFields, filter));
+    }
+
+    public boolean hasNestedFields() {
+        return !nestedFields.isEmpty();
+    }
+
+    @Nullable
+    public Field getDeclaredField(@Nullable String name) {
+        return copyField(findDeclaredField(name));
+    }
+
+    /**
+     * Returns the shared field of the given name declared by the class, which must not be changed or exposed
+     *
+     * @param name the field name
+     *
+     * @return the shared field of the given name declared by the class
+     */
+    @Nullable
+    Field findDeclaredField(@Nullable String name) {
+        return (name == null) ? null : declaredFieldMap.get(name);
+    }
+
+    /**
+     * Returns the first field of the given name, searching from the class to its superclasses
+     *
+     * @param name the field name
+     *
+     * @return the first field of the given name, searching from the class to its superclasses
+     */
+    @Nullable
+    public Field getNestedField(@Nullable String name) {
+        return (name == null) ? null : copyField(nestedFieldMap.get(name));
+    }
+
+    /**
+     * Returns the nested fields that annotated with the given annotation
+     *
+     * @param annotation the annotation type
+     *
+     * @return the nested fields that annotated with the given annotation, or an empty list if none
+     */
+    @Nonnull
+    public List<Field> getFieldsWithAnnotation(@Nullable Class<? extends Annotation> annotation) {
+        return (annotation == null) ? List.of() : copyFields(annotatedFields.getOrDefault(annotation, List.of()));
+    }
+
+    /**
+     * Returns the nested fields that annotated with all the given annotations
+     *
+     * @param annotations the annotation types
+     *
+     * @return the nested fields that annotated with all the given annotations, or an empty list if none
+     */
+    @Nonnull
+    public List<Field> getFieldsWithAllAnnotations(@Nullable Collection<Class<? extends Annotation>> annotations) {
+        if (annotations == null || annotations.isEmpty()) {
+            return List.of();
+        }
+        List<Field> candidates = null;
+        for (Class<? extends Annotation> annotation : annotations) {
+            List<Field> fields = (annotation == null) ? List.of() : annotatedFields.getOrDefault(annotation, List.of());
+            if (candidates == null || fields.size() < candidates.size()) {
+                candidates = fields;
+            }
+        }
+        if (candidates.isEmpty() || annotations.size() == 1) {
+            return copyFields(candidates);
+        }
+        List<Field> result = new ArrayList<>(candidates.size());
+        for (Field field : candidates) {
+            if (annotations.stream().allMatch(annotation -> annotation != null && field.isAnnotationPresent(annotation))) {
+                result.add(field);
+            }
+        }
+        return copyFields(result);
+    }
+
+    /**
+     * Returns the nested fields that annotated with any of the given annotations
+     *
+     * @param annotations the annotation types
+     *
+     * @return the nested fields that annotated with any of the given annotations, or an empty list if none
+     */
+    @Nonnull
+    public List<Field> getFieldsWithAnyAnnotations(@Nullable Collection<Class<? extends Annotation>> annotations) {
+        if (annotations == null || annotations.isEmpty() || annotatedFields.isEmpty()) {
+            return List.of();
+        }
+        if (annotations.size() == 1) {
+            return getFieldsWithAnnotation(annotations.iterator().next());
+        }
+        List<Field> result = new ArrayList<>();
+        for (Field field : nestedFields) {
+            if (annotations.stream().anyMatch(annotation -> annotation != null && field.isAnnotationPresent(annotation))) {
+                result.add(field);
+            }
+        }
+        return copyFields(result);
+    }
+
+    @Nullable
+    private static Field copyField(@Nullable Field field) {
+        if (field == null) {
+            return null;
+        }
+        try {
+            return field.getDeclaringClass().getDeclaredField(field.getName());
+        } catch (NoSuchFieldException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Returns the copies of the given fields, with the fields of each declaring class copied by one call to {@link java.lang.Class#getDeclaredFields()}
+     * <p>
+     * The copies are picked by the ordinals of the index of the declaring class, as the declared fields are returned in the same order on each call
+     */
+    @Nonnull
+    private static List<Field> copyFields(@Nonnull List<Field> fields) {
+        if (fields.isEmpty()) {
+            return List.of();
+        }
+        Field[] result = new Field[fields.size()];
+        int start = 0;
+        while (start < result.length) {
+            Class<?> type = fields.get(start).getDeclaringClass();
+            int end = start + 1;
+            while (end < result.length && fields.get(end).getDeclaringClass() == type) {
+                end++;
+            }
+            if (end - start == 1) {
+                result[start] = copyField(fields.get(start));
+            } else {
+                ClassFieldIndex index = of(type);
+                Field[] copies = type.getDeclaredFields();
+                for (int i = start; i < end; i++) {
+                    String name = fields.get(i).getName();
+                    Integer ordinal = index.declaredOrdinals.get(name);
+                    boolean aligned = ordinal != null && ordinal < copies.length && copies[ordinal].getName().equals(name);
+                    result[i] = aligned ? copies[ordinal] : copyField(fields.get(i));
+                }
+            }
+            start = end;
+        }
+        return List.of(result);
+    }
+
+    @Nonnull
+    private static List<Field> filterFields(@Nonnull List<Field> fields, @Nullable Predicate<Field> filter) {
+        if (filter == null || fields.isEmpty()) {
+            return fields;
+        }
+        List<Field> result = new ArrayList<>(fields.size());
+        for (Field field : fields) {
+            if (filter.test(field)) {
+                result.add(field);
+            }
+        }
+        return result;
+    }
+
+    @Nonnull
+    private static List<String> mapNames(@Nonnull List<Field> fields) {
+        String[] result = new String[fields.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = fields.get(i).getName();
+        }
+        return List.of(result);
+    }
+}
@@ -0,0 +1,346 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.reflect;
+
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.commons.lang3.StringUtils;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+
+/**
+ * Accessor of a field, with the reader and writer unreflected to method handles
+ * <p>
+ * The accessors are resolved once per (class, field name, force access), and kept in a {@link java.lang.ClassValue}, so that the classes could be unloaded.
+ * The fields are resolved in the same way of {@link org.apache.commons.lang3.reflect.FieldUtils#getField(Class, String, boolean)}
+ * and {@link org.apache.commons.lang3.reflect.FieldUtils#getDeclaredField(Class, String, boolean)},
+ * but {@link java.lang.reflect.AccessibleObject#setAccessible(boolean)} is called only on the resolution, not on every access
+ * <p>
+ * The readers of the fields that could be widened to {@code int} or {@code long} are also specialized, so that {@link #getInt(Object)} and {@link #getLong(Object)} do not box the values
+ *
+ * @author David Hsing
+ * @see org.apache.commons.lang3.reflect.FieldUtils
+ * @see com.yookue.commonplexus.javaseutil.util.FieldUtilsWraps
+ */
+@Getter
+@SuppressWarnings("unused")
+public class FieldAccessor {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType INT_GETTER_TYPE = MethodType.methodType(int.class, Object.class);
+    private static final MethodType LONG_GETTER_TYPE = MethodType.methodType(long.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final ClassValue<Map<AccessorKey, Optional<FieldAccessor>>> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Map<AccessorKey, Optional<FieldAccessor>> computeValue(@Nonnull Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    @Getter(value = AccessLevel.NONE)
+    private final Field field;
+
+    private final Class<?> fieldType;
+    private final boolean staticField;
+
+    @Getter(value = AccessLevel.NONE)
+    private final MethodHandle getter;
+
+    @Getter(value = AccessLevel.NONE)
+    private final MethodHandle intGetter;
+
+    @Getter(value = AccessLevel.NONE)
+    private final MethodHandle longGetter;
+
+    @Getter(value = AccessLevel.NONE)
+    private final MethodHandle setter;
+
+    private FieldAccessor(@Nonnull Field field, @Nullable MethodHandle getter, @Nullable MethodHandle setter) {
+        this.field = field;
+        this.fieldType = field.getType();
+        this.staticField = Modifier.isStatic(field.getModifiers());
+        this.getter = (getter == null) ? null : getter.asType(GETTER_TYPE);
+        this.intGetter = (getter == null || !ClassUtils.isAssignable(fieldType, int.class, false)) ? null : getter.asType(INT_GETTER_TYPE);
+        this.longGetter = (getter == null || !ClassUtils.isAssignable(fieldType, long.class, false)) ? null : getter.asType(LONG_GETTER_TYPE);
+        this.setter = (setter == null) ? null : setter.asType(SETTER_TYPE);
+    }
+
+    /**
+     * Returns the cached accessor of the field, superclasses and interfaces will be considered
+     *
+     * @param clazz on which {@link java.lang.Class} the field is to be found
+     * @param fieldName the field name to obtain
+     * @param forceAccess whether to break scope restrictions using the {@link java.lang.reflect.AccessibleObject#setAccessible(boolean)} method
+     *
+     * @return the cached accessor of the field, or null if the field is not found or not accessible
+     */
+    @Nullable
+    public static FieldAccessor of(@Nullable Class<?> clazz, @Nullable String fieldName, boolean forceAccess) {
+        if (clazz == null || StringUtils.isBlank(fieldName)) {
+            return null;
+        }
+        return ACCESSORS.get(clazz).computeIfAbsent(new AccessorKey(fieldName, false, forceAccess, false), key -> Optional.ofNullable(resolveField(clazz, fieldName, forceAccess)).map(field -> create(field, forceAccess))).orElse(null);
+    }
+
+    /**
+     * Returns the cached accessor of the field, only the specified class will be considered
+     *
+     * @param clazz on which {@link java.lang.Class} the field is to be found
+     * @param fieldName the field name to obtain
+     * @param forceAccess whether to break scope restrictions using the {@link java.lang.reflect.AccessibleObject#setAccessible(boolean)} method
+     *
+     * @return the cached accessor of the field, or null if the field is not found or not accessible
+     */
+    @Nullable
+    public static FieldAccessor ofDeclared(@Nullable Class<?> clazz, @Nullable String fieldName, boolean forceAccess) {
+        if (clazz == null || StringUtils.isBlank(fieldName)) {
+            return null;
+        }
+        return ACCESSORS.get(clazz).computeIfAbsent(new AccessorKey(fieldName, true, forceAccess, false), key -> Optional.ofNullable(resolveDeclaredField(clazz, fieldName, forceAccess)).map(field -> create(field, forceAccess))).orElse(null);
+    }
+
+    /**
+     * Returns the cached accessor of the given field
+     * <p>
+     * A field that has been made accessible by the caller is accessible without forcing, as {@link java.lang.reflect.Field#get(Object)} does
+     *
+     * @param field the field to access
+     * @param forceAccess whether to break scope restrictions using the {@link java.lang.reflect.AccessibleObject#setAccessible(boolean)} method
+     *
+     * @return the cached accessor of the given field, or null if the field is not accessible
+     */
+    @Nullable
+    @SuppressWarnings("deprecation")
+    public static FieldAccessor of(@Nullable Field field, boolean forceAccess) {
+        if (field == null) {
+            return null;
+        }
+        FieldAccessor result = ofDeclared(field.getDeclaringClass(), field.getName(), forceAccess);
+        if (result != null || forceAccess || !field.isAccessible()) {
+            return result;
+        }
+        // The accessible flag of the given field bypasses the access checks on unreflecting
+        return ACCESSORS.get(field.getDeclaringClass()).computeIfAbsent(new AccessorKey(field.getName(), true, false, true), key -> Optional.of(create(field, false))).orElse(null);
+    }
+
+    /**
+     * Returns a copy of the field, so that changing its accessibility does not affect the accessor
+     *
+     * @return a copy of the field
+     */
+    @Nonnull
+    public Field getField() {
+        try {
+            return field.getDeclaringClass().getDeclaredField(field.getName());
+        } catch (NoSuchFieldException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    public boolean isReadable() {
+        return getter != null;
+    }
+
+    public boolean isWritable() {
+        return setter != null;
+    }
+
+    public boolean isIntReadable() {
+        return intGetter != null;
+    }
+
+    public boolean isLongReadable() {
+        return longGetter != null;
+    }
+
+    /**
+     * Returns the field value of the given target
+     *
+     * @param target the object to call on, may be {@code null} for {@code static} fields
+     *
+     * @return the field value of the given target
+     *
+     * @throws IllegalStateException if the field is not readable or the target is not applicable
+     */
+    @Nullable
+    public Object get(@Nullable Object target) {
+        if (getter == null) {
+            throw new IllegalStateException(String.format("Field '%s' of class '%s' is not readable", field.getName(), field.getDeclaringClass().getName()));
+        }
+        try {
+            return (Object) getter.invokeExact(target);
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException(String.format("Could not get field '%s' value of class '%s'", field.getName(), field.getDeclaringClass().getName()), ex);
+        }
+    }
+
+    /**
+     * Returns the field value of the given target as an {@code int}, without boxing
+     *
+     * @param target the object to call on, may be {@code null} for {@code static} fields
+     *
+     * @return the field value of the given target as an {@code int}
+     *
+     * @throws IllegalStateException if the field could not be widened to {@code int}, or the target is not applicable
+     */
+    public int getInt(@Nullable Object target) {
+        if (intGetter == null) {
+            throw new IllegalStateException(String.format("Field '%s' of class '%s' is not readable as int", field.getName(), field.getDeclaringClass().getName()));
+        }
+        try {
+            return (int) intGetter.invokeExact(target);
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException(String.format("Could not get field '%s' value of class '%s'", field.getName(), field.getDeclaringClass().getName()), ex);
+        }
+    }
+
+    /**
+     * Returns the field value of the given target as a {@code long}, without boxing
+     *
+     * @param target the object to call on, may be {@code null} for {@code static} fields
+     *
+     * @return the field value of the given target as a {@code long}
+     *
+     * @throws IllegalStateException if the field could not be widened to {@code long}, or the target is not applicable
+     */
+    public long getLong(@Nullable Object target) {
+        if (longGetter == null) {
+            throw new IllegalStateException(String.format("Field '%s' of class '%s' is not readable as long", field.getName(), field.getDeclaringClass().getName()));
+        }
+        try {
+            return (long) longGetter.invokeExact(target);
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException(String.format("Could not get field '%s' value of class '%s'", field.getName(), field.getDeclaringClass().getName()), ex);
+        }
+    }
+
+    /**
+     * Sets the field value of the given target, the value of a primitive field must be its exact wrapper type
+     *
+     * @param target the object to call on, may be {@code null} for {@code static} fields
+     * @param value the value to set
+     *
+     * @throws IllegalStateException if the field is not writable, or the target or value is not applicable
+     */
+    public void set(@Nullable Object target, @Nullable Object value) {
+        if (setter == null) {
+            throw new IllegalStateException(String.format("Field '%s' of class '%s' is not writable", field.getName(), field.getDeclaringClass().getName()));
+        }
+        try {
+            setter.invokeExact(target, value);
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException(String.format("Could not set field '%s' value of class '%s'", field.getName(), field.getDeclaringClass().getName()), ex);
+        }
+    }
+
+    /**
+     * @see org.apache.commons.lang3.reflect.FieldUtils#getField(Class, String, boolean)
+     */
+    @Nullable
+    private static Field resolveField(@Nonnull Class<?> clazz, @Nonnull String fieldName, boolean forceAccess) {
+        for (Class<?> current = clazz; current != null; current = current.getSuperclass()) {
+            Field field = ClassFieldIndex.of(current).findDeclaredField(fieldName);
+            if (field != null && (forceAccess || Modifier.isPublic(field.getModifiers()))) {
+                return field;
+            }
+        }
+        for (Class<?> type : ClassUtils.getAllInterfaces(clazz)) {
+            Field field = ClassFieldIndex.of(type).findDeclaredField(fieldName);
+            if (field != null) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @see org.apache.commons.lang3.reflect.FieldUtils#getDeclaredField(Class, String, boolean)
+     */
+    @Nullable
+    private static Field resolveDeclaredField(@Nonnull Class<?> clazz, @Nonnull String fieldName, boolean forceAccess) {
+        Field field = ClassFieldIndex.of(clazz).findDeclaredField(fieldName);
+        if (field == null || (!forceAccess && (!Modifier.isPublic(field.getModifiers()) || field.isSynthetic()))) {
+            return null;
+        }
+        return field;
+    }
+
+    @Nonnull
+    private static FieldAccessor create(@Nonnull Field field, boolean forceAccess) {
+        MethodHandle getter = null, setter = null;
+        try {
+            getter = MethodHandles.publicLookup().unreflectGetter(field);
+            setter = MethodHandles.publicLookup().unreflectSetter(field);
+        } catch (IllegalAccessException ignored) {
+        }
+        if (getter == null || (setter == null && (forceAccess || !Modifier.isFinal(field.getModifiers())))) {
+            // The fields of the index are shared, so the accessibility is broken on a copy of the field
+            Field accessible = copyAccessible(field, forceAccess);
+            if (accessible != null) {
+                try {
+                    getter = (getter != null) ? getter : MethodHandles.lookup().unreflectGetter(accessible);
+                    setter = (setter != null) ? setter : MethodHandles.lookup().unreflectSetter(accessible);
+                } catch (IllegalAccessException ignored) {
+                }
+            }
+        }
+        if (Modifier.isStatic(field.getModifiers())) {
+            getter = (getter == null) ? null : MethodHandles.dropArguments(getter, 0, Object.class);
+            setter = (setter == null) ? null : MethodHandles.dropArguments(setter, 0, Object.class);
+        }
+        return new FieldAccessor(field, getter, setter);
+    }
+
+    /**
+     * @see org.apache.commons.lang3.reflect.MemberUtils#setAccessibleWorkaround
+     */
+    @Nullable
+    @SuppressWarnings("JavadocReference")
+    private static Field copyAccessible(@Nonnull Field field, boolean forceAccess) {
+        if (!forceAccess && (!Modifier.isPublic(field.getModifiers()) || field.isSynthetic())) {
+            return null;
+        }
+        try {
+            Field result = field.getDeclaringClass().getDeclaredField(field.getName());
+            return result.trySetAccessible() ? result : null;
+        } catch (NoSuchFieldException | SecurityException ignored) {
+        }
+        return null;
+    }
+
+    private record AccessorKey(@Nonnull String fieldName, boolean declared, boolean forceAccess, boolean preaccessed) {
+    }
+}
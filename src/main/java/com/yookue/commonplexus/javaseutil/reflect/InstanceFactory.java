@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.reflect;
+
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.commons.lang3.reflect.ConstructorUtils;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+
+/**
+ * Factory of the instances of a class, resolved by (class, parameter types), with the constructor unreflected to a method handle
+ * <p>
+ * The factories are resolved once in the same way of {@link org.apache.commons.lang3.reflect.ConstructorUtils#invokeConstructor(Class, Object[], Class[])},
+ * and kept in a {@link java.lang.ClassValue}, so that the classes could be unloaded.
+ * The factory of a public constructor with no more than two parameters is generated by {@link java.lang.invoke.LambdaMetafactory} as a
+ * {@link java.util.function.Supplier}, {@link java.util.function.Function} or {@link java.util.function.BiFunction}, so that the construction costs close to a direct {@code new}.
+ * The argument types that are not accessible to the generated class are replaced with the declared parameter types,
+ * and the method handle is kept as a fallback if the generation or the first generated construction fails
+ *
+ * @param <T> the type of the instances
+ *
+ * @author David Hsing
+ * @see org.apache.commons.lang3.reflect.ConstructorUtils
+ * @see com.yookue.commonplexus.javaseutil.util.ConstructorUtilsWraps
+ */
+@Getter
+@SuppressWarnings("unused")
+public class InstanceFactory<T> {
+    private static final ClassValue<Map<List<Class<?>>, Optional<InstanceFactory<?>>>> FACTORIES = new ClassValue<>() {
+        @Override
+        protected Map<List<Class<?>>, Optional<InstanceFactory<?>>> computeValue(@Nonnull Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final Constructor<T> constructor;
+    private volatile boolean generated;
+
+    @Getter(value = AccessLevel.NONE)
+    private final Construction fallback;
+
+    @Getter(value = AccessLevel.NONE)
+    private volatile Construction construction;
+
+    @Getter(value = AccessLevel.NONE)
+    private volatile boolean verified;
+
+    private InstanceFactory(@Nonnull Constructor<T> constructor, @Nonnull MethodHandle handle, boolean publicAccessible, @Nonnull Class<?>[] argTypes) {
+        this.constructor = constructor;
+        Class<?>[] paramTypes = constructor.getParameterTypes();
+        Class<?>[] instantiatedTypes = new Class<?>[paramTypes.length];
+        for (int i = 0; i < paramTypes.length; i++) {
+            // The argument types are more specific, which make the primitive widening conversions available
+            Class<?> argType = (constructor.isVarArgs() || i >= argTypes.length || argTypes[i] == null) ? paramTypes[i] : argTypes[i];
+            instantiatedTypes[i] = ClassUtils.primitiveToWrapper(argType);
+        }
+        MethodType instantiated = MethodType.methodType(constructor.getDeclaringClass(), instantiatedTypes);
+        MethodHandle adapted = handle.asFixedArity().asType(instantiated);
+        MethodHandle spreader = adapted.asType(MethodType.genericMethodType(paramTypes.length)).asSpreader(Object[].class, paramTypes.length);
+        this.fallback = args -> (Object) spreader.invokeExact(args);
+        Construction generatedConstruction = null;
+        if (publicAccessible && paramTypes.length <= 2 && isVisible(constructor)) {
+            try {
+                MethodType generatedType = generatedType(constructor, instantiatedTypes);
+                generatedConstruction = (generatedType == null) ? null : generateConstruction(constructor, generatedType);
+            } catch (Throwable ignored) {
+            }
+        }
+        this.construction = (generatedConstruction != null) ? generatedConstruction : fallback;
+        this.generated = generatedConstruction != null;
+    }
+
+    /**
+     * Returns the cached factory of the constructor that matches the parameter types
+     *
+     * @param clazz the class to be constructed
+     * @param paramTypes the parameter types, may contain nulls for the null arguments
+     *
+     * @return the cached factory of the constructor that matches the parameter types, or null if the constructor is not found or not accessible
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public static <T> InstanceFactory<T> of(@Nullable Class<T> clazz, @Nullable Class<?>... paramTypes) {
+        if (clazz == null) {
+            return null;
+        }
+        Class<?>[] types = ArrayUtils.nullToEmpty(paramTypes);
+        return (InstanceFactory<T>) FACTORIES.get(clazz).computeIfAbsent(Arrays.asList(types.clone()), key -> Optional.ofNullable(create(clazz, types))).orElse(null);
+    }
+
+    /**
+     * Returns the cached factory of the constructor that matches the arguments
+     *
+     * @param clazz the class to be constructed
+     * @param args the arguments to match
+     *
+     * @return the cached factory of the constructor that matches the arguments, or null if the constructor is not found or not accessible
+     */
+    @Nullable
+    public static <T> InstanceFactory<T> forArguments(@Nullable Class<T> clazz, @Nullable Object... args) {
+        return of(clazz, ClassUtils.toClass(ArrayUtils.nullToEmpty(args)));
+    }
+
+    /**
+     * Returns a new instance with the arguments
+     *
+     * @param args the arguments of the constructor, the variable arguments will be packed into an array if necessary
+     *
+     * @return a new instance with the arguments
+     *
+     * @throws InvocationTargetException if the constructor or the argument conversions throw an exception
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public T newInstance(@Nullable Object... args) throws InvocationTargetException {
+        Object[] arguments = ArrayUtils.nullToEmpty(args);
+        if (constructor.isVarArgs()) {
+            arguments = MethodInvoker.packVarArgs(arguments, constructor.getParameterTypes());
+        }
+        Construction current = construction;
+        try {
+            Object result = current.construct(arguments);
+            if (!verified && current != fallback) {
+                verified = true;
+            }
+            return (T) result;
+        } catch (LinkageError ex) {
+            if (verified || current == fallback) {
+                throw ex;
+            }
+            // The generated class could not link against the types, falls back to the method handle permanently
+            construction = fallback;
+            generated = false;
+            return newInstanceFallback(arguments);
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new InvocationTargetException(ex);
+        }
+    }
+
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    private T newInstanceFallback(@Nonnull Object[] arguments) throws InvocationTargetException {
+        try {
+            return (T) fallback.construct(arguments);
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new InvocationTargetException(ex);
+        }
+    }
+
+    @Nullable
+    public T newInstanceQuietly(@Nullable Object... args) {
+        try {
+            return newInstance(args);
+        } catch (Exception ignored) {
+        }
+        return null;
+    }
+
+    /**
+     * Returns a list of new instances with the same arguments, for pre-warming the pools
+     *
+     * @param count the count of the instances
+     * @param args the arguments of the constructor, the variable arguments will be packed into an array if necessary
+     *
+     * @return a list of new instances with the same arguments
+     *
+     * @throws InvocationTargetException if the constructor or the argument conversions throw an exception
+     */
+    @Nonnull
+    public List<T> newInstances(int count, @Nullable Object... args) throws InvocationTargetException {
+        List<T> result = new ArrayList<>(Math.max(count, 0));
+        for (int i = 0; i < count; i++) {
+            result.add(newInstance(args));
+        }
+        return result;
+    }
+
+    @Nullable
+    private static <T> InstanceFactory<T> create(@Nonnull Class<T> clazz, @Nonnull Class<?>[] paramTypes) {
+        Constructor<T> constructor;
+        try {
+            constructor = ConstructorUtils.getMatchingAccessibleConstructor(clazz, paramTypes);
+        } catch (Exception ignored) {
+            return null;
+        }
+        if (constructor == null || Modifier.isAbstract(clazz.getModifiers())) {
+            return null;
+        }
+        MethodHandle handle = null;
+        boolean publicAccessible = false;
+        try {
+            handle = MethodHandles.publicLookup().unreflectConstructor(constructor);
+            publicAccessible = true;
+        } catch (IllegalAccessException ignored) {
+        }
+        if (handle == null) {
+            try {
+                // The constructor is a copy from the matching, so breaking the accessibility does not affect the others
+                handle = constructor.trySetAccessible() ? MethodHandles.lookup().unreflectConstructor(constructor) : null;
+            } catch (IllegalAccessException ignored) {
+            }
+        }
+        return (handle == null) ? null : new InstanceFactory<>(constructor, handle, publicAccessible, paramTypes);
+    }
+
+    private static boolean isVisible(@Nonnull Constructor<?> constructor) {
+        return MethodInvoker.isVisible(constructor.getDeclaringClass()) && Arrays.stream(constructor.getParameterTypes()).allMatch(MethodInvoker::isVisible);
+    }
+
+    /**
+     * Returns the instantiated type for the generated class, or null if any type in the signature is not accessible to it
+     * <p>
+     * The argument types that are not accessible, such as the non-public or anonymous classes, are replaced with the declared parameter types
+     */
+    @Nullable
+    private static MethodType generatedType(@Nonnull Constructor<?> constructor, @Nonnull Class<?>[] instantiatedTypes) {
+        if (!MethodInvoker.isAccessible(constructor.getDeclaringClass())) {
+            return null;
+        }
+        Class<?>[] paramTypes = constructor.getParameterTypes();
+        Class<?>[] generatedTypes = new Class<?>[instantiatedTypes.length];
+        for (int i = 0; i < instantiatedTypes.length; i++) {
+            generatedTypes[i] = MethodInvoker.isAccessible(instantiatedTypes[i]) ? instantiatedTypes[i] : ClassUtils.primitiveToWrapper(paramTypes[i]);
+            if (!MethodInvoker.isAccessible(generatedTypes[i])) {
+                return null;
+            }
+        }
+        return MethodType.methodType(constructor.getDeclaringClass(), generatedTypes);
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private static Construction generateConstruction(@Nonnull Constructor<?> constructor, @Nonnull MethodType instantiated) throws Throwable {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle implementation = lookup.unreflectConstructor(constructor);
+        switch (instantiated.parameterCount()) {
+            case 0:
+                Supplier<Object> supplier = (Supplier<Object>) metafactory(lookup, implementation, instantiated, Supplier.class, "get").invoke();    // $NON-NLS-1$
+                return args -> supplier.get();
+            case 1:
+                Function<Object, Object> function = (Function<Object, Object>) metafactory(lookup, implementation, instantiated, Function.class, "apply").invoke();    // $NON-NLS-1$
+                return args -> function.apply(args[0]);
+            case 2:
+                BiFunction<Object, Object, Object> biFunction = (BiFunction<Object, Object, Object>) metafactory(lookup, implementation, instantiated, BiFunction.class, "apply").invoke();    // $NON-NLS-1$
+                return args -> biFunction.apply(args[0], args[1]);
+            default:
+                return null;
+        }
+    }
+
+    @Nonnull
+    private static MethodHandle metafactory(@Nonnull MethodHandles.Lookup lookup, @Nonnull MethodHandle implementation, @Nonnull MethodType instantiated, @Nonnull Class<?> functionType, @Nonnull String functionName) throws Throwable {
+        MethodType generic = MethodType.genericMethodType(instantiated.parameterCount());
+        return LambdaMetafactory.metafactory(lookup, functionName, MethodType.methodType(functionType), generic, implementation, instantiated).getTarget();
+    }
+
+    @FunctionalInterface
+    private interface Construction {
+        Object construct(@Nonnull Object[] args) throws Throwable;
+    }
+}
@@ -0,0 +1,467 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.reflect;
+
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.reflect.MethodUtils;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+
+/**
+ * Invoker of a method, resolved by (class, method name, argument types, force access), with the method unreflected to a method handle
+ * <p>
+ * The invokers are resolved once in the same way of {@link org.apache.commons.lang3.reflect.MethodUtils#invokeMethod(Object, boolean, String, Object[], Class[])},
+ * and kept in a {@link java.lang.ClassValue}, so that the classes could be unloaded.
+ * Each invoker counts its invocations, after {@link #UPGRADE_THRESHOLD} invocations,
+ * the invoker of a public method with no more than two parameters (including the target) is upgraded to a functional interface generated by {@link java.lang.invoke.LambdaMetafactory}.
+ * The argument types that are not accessible to the generated class are replaced with the declared parameter types,
+ * and the method handle is kept as a fallback if the generation or the first generated invocation fails
+ *
+ * @author David Hsing
+ * @see org.apache.commons.lang3.reflect.MethodUtils
+ * @see com.yookue.commonplexus.javaseutil.util.MethodUtilsWraps
+ */
+@Getter
+@SuppressWarnings("unused")
+public class MethodInvoker {
+    /**
+     * The invocation count to upgrade an invoker to a functional interface
+     */
+    public static final int UPGRADE_THRESHOLD = 1000;
+
+    private static final ClassValue<Map<InvokerKey, Optional<MethodInvoker>>> INVOKERS = new ClassValue<>() {
+        @Override
+        protected Map<InvokerKey, Optional<MethodInvoker>> computeValue(@Nonnull Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private static final Set<MethodInvoker> REGISTRY = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private final Method method;
+    private final boolean staticMethod;
+
+    @Getter(value = AccessLevel.NONE)
+    private final Class<?>[] instantiatedTypes;
+
+    @Getter(value = AccessLevel.NONE)
+    private final boolean publicAccessible;
+
+    @Getter(value = AccessLevel.NONE)
+    private final LongAdder invocations = new LongAdder();
+
+    @Getter(value = AccessLevel.NONE)
+    private final Invocation fallback;
+
+    @Getter(value = AccessLevel.NONE)
+    private volatile Invocation invocation;
+
+    @Getter(value = AccessLevel.NONE)
+    private volatile boolean verified;
+
+    @Getter(value = AccessLevel.NONE)
+    private volatile boolean upgradeAttempted;
+
+    private volatile boolean upgraded;
+
+    private MethodInvoker(@Nonnull Method method, @Nonnull MethodHandle handle, boolean publicAccessible, @Nonnull Class<?>[] argTypes) {
+        this.method = method;
+        this.staticMethod = Modifier.isStatic(method.getModifiers());
+        this.publicAccessible = publicAccessible;
+        Class<?>[] paramTypes = method.getParameterTypes();
+        this.instantiatedTypes = new Class<?>[paramTypes.length];
+        for (int i = 0; i < paramTypes.length; i++) {
+            // The argument types are more specific, which make the primitive widening conversions available
+            Class<?> argType = (method.isVarArgs() || i >= argTypes.length || argTypes[i] == null) ? paramTypes[i] : argTypes[i];
+            instantiatedTypes[i] = ClassUtils.primitiveToWrapper(argType);
+        }
+        MethodHandle adapted = handle.asFixedArity().asType(instantiatedType());
+        adapted = adapted.asType(MethodType.genericMethodType(adapted.type().parameterCount()));
+        if (staticMethod) {
+            adapted = MethodHandles.dropArguments(adapted, 0, Object.class);
+        }
+        MethodHandle spreader = adapted.asSpreader(Object[].class, paramTypes.length);
+        this.fallback = (target, args) -> (Object) spreader.invokeExact(target, args);
+        this.invocation = fallback;
+        this.upgradeAttempted = !publicAccessible || instantiatedType().parameterCount() > 2;
+    }
+
+    /**
+     * Returns the cached invoker of the method that matches the argument types
+     *
+     * @param clazz on which {@link java.lang.Class} the method is to be found
+     * @param forceAccess whether to break scope restrictions using the {@link java.lang.reflect.AccessibleObject#setAccessible(boolean)} method
+     * @param methodName the method name to invoke
+     * @param argTypes the argument types, may contain nulls for the null arguments
+     *
+     * @return the cached invoker of the method that matches the argument types, or null if the method is not found or not accessible
+     */
+    @Nullable
+    public static MethodInvoker of(@Nullable Class<?> clazz, boolean forceAccess, @Nullable String methodName, @Nullable Class<?>... argTypes) {
+        if (clazz == null || StringUtils.isBlank(methodName)) {
+            return null;
+        }
+        Class<?>[] types = ArrayUtils.nullToEmpty(argTypes);
+        InvokerKey key = new InvokerKey(methodName, Arrays.asList(types.clone()), forceAccess);
+        return INVOKERS.get(clazz).computeIfAbsent(key, alias -> Optional.ofNullable(create(clazz, forceAccess, methodName, types))).orElse(null);
+    }
+
+    /**
+     * Returns the cached invoker of the method that matches the arguments
+     *
+     * @param clazz on which {@link java.lang.Class} the method is to be found
+     * @param forceAccess whether to break scope restrictions using the {@link java.lang.reflect.AccessibleObject#setAccessible(boolean)} method
+     * @param methodName the method name to invoke
+     * @param args the arguments to match
+     *
+     * @return the cached invoker of the method that matches the arguments, or null if the method is not found or not accessible
+     */
+    @Nullable
+    public static MethodInvoker forArguments(@Nullable Class<?> clazz, boolean forceAccess, @Nullable String methodName, @Nullable Object... args) {
+        return of(clazz, forceAccess, methodName, ClassUtils.toClass(ArrayUtils.nullToEmpty(args)));
+    }
+
+    /**
+     * Returns the invocation counts of all the live invokers, grouped by the methods
+     *
+     * @return the invocation counts of all the live invokers, grouped by the methods
+     */
+    @Nonnull
+    public static Map<Method, Long> getInvocationCounts() {
+        Map<Method, Long> result = new HashMap<>();
+        synchronized (REGISTRY) {
+            for (MethodInvoker invoker : REGISTRY) {
+                result.merge(invoker.method, invoker.getInvocationCount(), Long::sum);
+            }
+        }
+        return result;
+    }
+
+    public long getInvocationCount() {
+        return invocations.sum();
+    }
+
+    /**
+     * Invokes the method on the given target
+     *
+     * @param target the object to call on, may be {@code null} for {@code static} methods
+     * @param args the arguments of the method, the variable arguments will be packed into an array if necessary
+     *
+     * @return the result of the method, or null if the method returns {@code void}
+     *
+     * @throws InvocationTargetException if the method or the argument conversions throw an exception
+     */
+    @Nullable
+    public Object invoke(@Nullable Object target, @Nullable Object... args) throws InvocationTargetException {
+        invocations.increment();
+        if (!upgradeAttempted && invocations.sum() >= UPGRADE_THRESHOLD) {
+            upgrade();
+        }
+        Object[] arguments = ArrayUtils.nullToEmpty(args);
+        if (method.isVarArgs()) {
+            arguments = packVarArgs(arguments, method.getParameterTypes());
+        }
+        Invocation current = invocation;
+        try {
+            Object result = current.invoke(target, arguments);
+            if (!verified && current != fallback) {
+                verified = true;
+            }
+            return result;
+        } catch (LinkageError ex) {
+            if (verified || current == fallback) {
+                throw ex;
+            }
+            // The generated class could not link against the types, falls back to the method handle permanently
+            downgrade();
+            return invokeFallback(target, arguments);
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new InvocationTargetException(ex);
+        }
+    }
+
+    /**
+     * Upgrades the invoker to a functional interface generated by {@link java.lang.invoke.LambdaMetafactory} immediately
+     *
+     * @return whether the invoker is upgraded
+     */
+    public synchronized boolean upgrade() {
+        if (upgradeAttempted) {
+            return upgraded;
+        }
+        upgradeAttempted = true;
+        if (!publicAccessible || !isVisible()) {
+            return false;
+        }
+        try {
+            Invocation generated = generateInvocation();
+            if (generated != null) {
+                invocation = generated;
+                upgraded = true;
+            }
+        } catch (Throwable ignored) {
+        }
+        return upgraded;
+    }
+
+    private synchronized void downgrade() {
+        invocation = fallback;
+        upgraded = false;
+    }
+
+    @Nullable
+    private Object invokeFallback(@Nullable Object target, @Nonnull Object[] arguments) throws InvocationTargetException {
+        try {
+            return fallback.invoke(target, arguments);
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new InvocationTargetException(ex);
+        }
+    }
+
+    @Nullable
+    private static MethodInvoker create(@Nonnull Class<?> clazz, boolean forceAccess, @Nonnull String methodName, @Nonnull Class<?>[] argTypes) {
+        Method method;
+        try {
+            method = forceAccess ? MethodUtils.getMatchingMethod(clazz, methodName, argTypes) : MethodUtils.getMatchingAccessibleMethod(clazz, methodName, argTypes);
+        } catch (Exception ignored) {
+            return null;
+        }
+        if (method == null) {
+            return null;
+        }
+        MethodHandle handle = null;
+        boolean publicAccessible = false;
+        try {
+            handle = MethodHandles.publicLookup().unreflect(method);
+            publicAccessible = true;
+        } catch (IllegalAccessException ignored) {
+        }
+        if (handle == null && (forceAccess || Modifier.isPublic(method.getModifiers()))) {
+            try {
+                // The method is a copy from the matching, so breaking the accessibility does not affect the others
+                handle = method.trySetAccessible() ? MethodHandles.lookup().unreflect(method) : null;
+            } catch (IllegalAccessException ignored) {
+            }
+        }
+        if (handle == null) {
+            return null;
+        }
+        MethodInvoker invoker = new MethodInvoker(method, handle, publicAccessible, argTypes);
+        REGISTRY.add(invoker);
+        return invoker;
+    }
+
+    /**
+     * @see org.apache.commons.lang3.reflect.MethodUtils#getVarArgs
+     */
+    @Nonnull
+    @SuppressWarnings("JavadocReference")
+    static Object[] packVarArgs(@Nonnull Object[] args, @Nonnull Class<?>[] paramTypes) {
+        int lastIndex = paramTypes.length - 1;
+        if (args.length == paramTypes.length && (args[lastIndex] == null || paramTypes[lastIndex].isInstance(args[lastIndex]))) {
+            return args;
+        }
+        Object[] result = Arrays.copyOf(args, paramTypes.length);
+        int count = Math.max(args.length - lastIndex, 0);
+        Object varArgs = Array.newInstance(paramTypes[lastIndex].getComponentType(), count);
+        for (int i = 0; i < count; i++) {
+            Array.set(varArgs, i, args[lastIndex + i]);
+        }
+        result[lastIndex] = varArgs;
+        return result;
+    }
+
+    @Nonnull
+    private MethodType instantiatedType() {
+        Class<?> returnType = ClassUtils.primitiveToWrapper(method.getReturnType());
+        MethodType result = MethodType.methodType(returnType, instantiatedTypes);
+        return staticMethod ? result : result.insertParameterTypes(0, method.getDeclaringClass());
+    }
+
+    /**
+     * Returns the instantiated type for the generated class, or null if any type in the signature is not accessible to it
+     * <p>
+     * The argument types that are not accessible, such as the non-public or anonymous classes, are replaced with the declared parameter types
+     */
+    @Nullable
+    private MethodType generatedType() {
+        Class<?> returnType = ClassUtils.primitiveToWrapper(method.getReturnType());
+        Class<?>[] paramTypes = method.getParameterTypes();
+        Class<?>[] generatedTypes = new Class<?>[instantiatedTypes.length];
+        for (int i = 0; i < instantiatedTypes.length; i++) {
+            generatedTypes[i] = isAccessible(instantiatedTypes[i]) ? instantiatedTypes[i] : ClassUtils.primitiveToWrapper(paramTypes[i]);
+            if (!isAccessible(generatedTypes[i])) {
+                return null;
+            }
+        }
+        MethodType result = MethodType.methodType(isAccessible(returnType) ? returnType : Object.class, generatedTypes);
+        if (staticMethod) {
+            return result;
+        }
+        return isAccessible(method.getDeclaringClass()) ? result.insertParameterTypes(0, method.getDeclaringClass()) : null;
+    }
+
+    /**
+     * Returns whether the types in the method signature are visible to the class loader of this class, as the generated class is defined with it
+     */
+    private boolean isVisible() {
+        if (!isVisible(method.getDeclaringClass()) || !isVisible(method.getReturnType())) {
+            return false;
+        }
+        return Arrays.stream(method.getParameterTypes()).allMatch(MethodInvoker::isVisible);
+    }
+
+    static boolean isVisible(@Nonnull Class<?> type) {
+        Class<?> component = type;
+        while (component.isArray()) {
+            component = component.getComponentType();
+        }
+        if (component.isPrimitive()) {
+            return true;
+        }
+        try {
+            return Class.forName(component.getName(), false, MethodInvoker.class.getClassLoader()) == component;
+        } catch (ClassNotFoundException | LinkageError ignored) {
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether the given type is visible and accessible to the classes generated with the lookup of this class
+     */
+    static boolean isAccessible(@Nonnull Class<?> type) {
+        Class<?> component = type;
+        while (component.isArray()) {
+            component = component.getComponentType();
+        }
+        if (component.isPrimitive()) {
+            return true;
+        }
+        if (!isVisible(component)) {
+            return false;
+        }
+        try {
+            MethodHandles.lookup().accessClass(component);
+            return true;
+        } catch (IllegalAccessException ignored) {
+        }
+        return false;
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private Invocation generateInvocation() throws Throwable {
+        MethodType instantiated = generatedType();
+        if (instantiated == null) {
+            return null;
+        }
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle implementation = lookup.unreflect(method);
+        boolean returnVoid = method.getReturnType() == void.class;
+        switch (instantiated.parameterCount()) {
+            case 0:
+                if (returnVoid) {
+                    Runnable function = (Runnable) metafactory(lookup, implementation, instantiated, Runnable.class, "run").invoke();    // $NON-NLS-1$
+                    return (target, args) -> {
+                        function.run();
+                        return null;
+                    };
+                } else {
+                    Supplier<Object> function = (Supplier<Object>) metafactory(lookup, implementation, instantiated, Supplier.class, "get").invoke();    // $NON-NLS-1$
+                    return (target, args) -> function.get();
+                }
+            case 1:
+                if (returnVoid) {
+                    Consumer<Object> function = (Consumer<Object>) metafactory(lookup, implementation, instantiated, Consumer.class, "accept").invoke();    // $NON-NLS-1$
+                    return staticMethod ? (target, args) -> {
+                        function.accept(args[0]);
+                        return null;
+                    } : (target, args) -> {
+                        function.accept(target);
+                        return null;
+                    };
+                } else {
+                    Function<Object, Object> function = (Function<Object, Object>) metafactory(lookup, implementation, instantiated, Function.class, "apply").invoke();    // $NON-NLS-1$
+                    return staticMethod ? (target, args) -> function.apply(args[0]) : (target, args) -> function.apply(target);
+                }
+            case 2:
+                if (returnVoid) {
+                    BiConsumer<Object, Object> function = (BiConsumer<Object, Object>) metafactory(lookup, implementation, instantiated, BiConsumer.class, "accept").invoke();    // $NON-NLS-1$
+                    return staticMethod ? (target, args) -> {
+                        function.accept(args[0], args[1]);
+                        return null;
+                    } : (target, args) -> {
+                        function.accept(target, args[0]);
+                        return null;
+                    };
+                } else {
+                    BiFunction<Object, Object, Object> function = (BiFunction<Object, Object, Object>) metafactory(lookup, implementation, instantiated, BiFunction.class, "apply").invoke();    // $NON-NLS-1$
+                    return staticMethod ? (target, args) -> function.apply(args[0], args[1]) : (target, args) -> function.apply(target, args[0]);
+                }
+            default:
+                return null;
+        }
+    }
+
+    @Nonnull
+    private static MethodHandle metafactory(@Nonnull MethodHandles.Lookup lookup, @Nonnull MethodHandle implementation, @Nonnull MethodType instantiated, @Nonnull Class<?> functionType, @Nonnull String functionName) throws Throwable {
+        MethodType generic = MethodType.genericMethodType(instantiated.parameterCount());
+        generic = (instantiated.returnType() == void.class) ? generic.changeReturnType(void.class) : generic;
+        return LambdaMetafactory.metafactory(lookup, functionName, MethodType.methodType(functionType), generic, implementation, instantiated).getTarget();
+    }
+
+    @FunctionalInterface
+    private interface Invocation {
+        Object invoke(@Nullable Object target, @Nonnull Object[] args) throws Throwable;
+    }
+
+    private record InvokerKey(@Nonnull String methodName, @Nonnull List<Class<?>> argTypes, boolean forceAccess) {
+    }
+}
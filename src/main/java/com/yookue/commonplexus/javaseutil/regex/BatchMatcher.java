@@ -0,0 +1,326 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.regex;
+
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+
+/**
+ * Matcher that evaluates a {@link java.util.regex.Pattern} or a {@link com.yookue.commonplexus.javaseutil.regex.PatternSet} over large batches of sequences
+ * <p>
+ * The batches are split into ranges and evaluated by a {@link java.util.concurrent.ForkJoinPool}, each range reuses one {@link java.util.regex.Matcher}
+ * by {@link java.util.regex.Matcher#reset(CharSequence)}. The ranges of the indexed batches are aligned to 64 elements,
+ * so the tasks write the disjoint words of the result {@link java.util.BitSet}s without any synchronization.
+ * The small batches are evaluated in the calling thread
+ * <p>
+ * The null elements never match
+ *
+ * @author David Hsing
+ * @see com.yookue.commonplexus.javaseutil.util.RegexUtilsWraps
+ */
+@SuppressWarnings("unused")
+public final class BatchMatcher {
+    /**
+     * The minimum count of the elements that evaluated by a task
+     */
+    public static final int DEFAULT_MINIMUM_RANGE_SIZE = 1024;
+
+    private final Supplier<Predicate<CharSequence>> testers;
+    private final ForkJoinPool pool;
+    private final int minimumRangeSize;
+
+    private BatchMatcher(@Nonnull Supplier<Predicate<CharSequence>> testers, @Nonnull ForkJoinPool pool, int minimumRangeSize) {
+        this.testers = testers;
+        this.pool = pool;
+        this.minimumRangeSize = minimumRangeSize;
+    }
+
+    /**
+     * Returns a matcher that tests whether the entire sequences match the given pattern
+     *
+     * @param pattern the compiled pattern
+     *
+     * @return a matcher that tests whether the entire sequences match the given pattern
+     */
+    @Nonnull
+    public static BatchMatcher matching(@Nonnull Pattern pattern) {
+        return of(pattern, true);
+    }
+
+    /**
+     * Returns a matcher that tests whether the given pattern could be found in the sequences
+     *
+     * @param pattern the compiled pattern
+     *
+     * @return a matcher that tests whether the given pattern could be found in the sequences
+     */
+    @Nonnull
+    public static BatchMatcher finding(@Nonnull Pattern pattern) {
+        return of(pattern, false);
+    }
+
+    /**
+     * Returns a matcher that tests whether the entire sequences match any pattern in the given set
+     *
+     * @param patterns the compiled set of patterns
+     *
+     * @return a matcher that tests whether the entire sequences match any pattern in the given set
+     */
+    @Nonnull
+    public static BatchMatcher matching(@Nonnull PatternSet patterns) {
+        return of(patterns, true);
+    }
+
+    /**
+     * Returns a matcher that tests whether any pattern in the given set could be found in the sequences
+     *
+     * @param patterns the compiled set of patterns
+     *
+     * @return a matcher that tests whether any pattern in the given set could be found in the sequences
+     */
+    @Nonnull
+    public static BatchMatcher finding(@Nonnull PatternSet patterns) {
+        return of(patterns, false);
+    }
+
+    @Nonnull
+    private static BatchMatcher of(@Nonnull Pattern pattern, boolean entire) {
+        return new BatchMatcher(() -> {
+            Matcher matcher = pattern.matcher("");    // $NON-NLS-1$
+            return element -> entire ? matcher.reset(element).matches() : matcher.reset(element).find();
+        }, ForkJoinPool.commonPool(), DEFAULT_MINIMUM_RANGE_SIZE);
+    }
+
+    @Nonnull
+    private static BatchMatcher of(@Nonnull PatternSet patterns, boolean entire) {
+        return new BatchMatcher(() -> {
+            PatternSet.Evaluator evaluator = new PatternSet.Evaluator(entire);
+            return element -> patterns.evaluateAny(element, evaluator);
+        }, ForkJoinPool.commonPool(), DEFAULT_MINIMUM_RANGE_SIZE);
+    }
+
+    /**
+     * Returns a copy of this matcher that runs in the given pool
+     *
+     * @param pool the pool to run the tasks
+     *
+     * @return a copy of this matcher that runs in the given pool
+     */
+    @Nonnull
+    public BatchMatcher withPool(@Nonnull ForkJoinPool pool) {
+        return new BatchMatcher(testers, pool, minimumRangeSize);
+    }
+
+    /**
+     * Returns a copy of this matcher that splits the batches into ranges no smaller than the given size
+     *
+     * @param minimumRangeSize the minimum count of the elements that evaluated by a task, rounded up to a multiple of 64
+     *
+     * @return a copy of this matcher that splits the batches into ranges no smaller than the given size
+     */
+    @Nonnull
+    public BatchMatcher withMinimumRangeSize(int minimumRangeSize) {
+        return new BatchMatcher(testers, pool, Math.max((minimumRangeSize + Long.SIZE - 1) & -Long.SIZE, Long.SIZE));
+    }
+
+    /**
+     * Returns the indexes of the matched sequences, in the iteration order of the collection
+     *
+     * @param sequences the sequences to evaluate
+     *
+     * @return the indexes of the matched sequences
+     */
+    @Nonnull
+    public BitSet matchIndices(@Nullable Collection<? extends CharSequence> sequences) {
+        if (sequences == null || sequences.isEmpty()) {
+            return new BitSet();
+        }
+        List<? extends CharSequence> elements = asRandomAccess(sequences);
+        long[] words = new long[(elements.size() + Long.SIZE - 1) / Long.SIZE];
+        invoke(new IndexTask(elements, 0, elements.size(), words, null, false), elements.size());
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * Returns the count of the matched sequences
+     *
+     * @param sequences the sequences to evaluate
+     *
+     * @return the count of the matched sequences
+     */
+    public long countMatches(@Nullable Collection<? extends CharSequence> sequences) {
+        return (sequences == null || sequences.isEmpty()) ? 0L : countMatches(sequences.spliterator());
+    }
+
+    /**
+     * Returns the count of the matched sequences, the spliterator is split as far as it supports
+     *
+     * @param sequences the sequences to evaluate
+     *
+     * @return the count of the matched sequences
+     */
+    public long countMatches(@Nullable Spliterator<? extends CharSequence> sequences) {
+        return (sequences == null) ? 0L : invoke(new CountTask(sequences), sequences.estimateSize());
+    }
+
+    /**
+     * Returns whether all the sequences are matched, false if the collection is empty, stops on the first unmatched sequence
+     *
+     * @param sequences the sequences to evaluate
+     *
+     * @return whether all the sequences are matched
+     */
+    public boolean allMatch(@Nullable Collection<? extends CharSequence> sequences) {
+        return sequences != null && !sequences.isEmpty() && !shortCircuit(sequences, false);
+    }
+
+    /**
+     * Returns whether any sequence is matched, stops on the first matched sequence
+     *
+     * @param sequences the sequences to evaluate
+     *
+     * @return whether any sequence is matched
+     */
+    public boolean anyMatch(@Nullable Collection<? extends CharSequence> sequences) {
+        return sequences != null && !sequences.isEmpty() && shortCircuit(sequences, true);
+    }
+
+    /**
+     * Returns whether any sequence is evaluated to the given expectation
+     */
+    private boolean shortCircuit(@Nonnull Collection<? extends CharSequence> sequences, boolean expectation) {
+        List<? extends CharSequence> elements = asRandomAccess(sequences);
+        AtomicBoolean reached = new AtomicBoolean();
+        invoke(new IndexTask(elements, 0, elements.size(), null, reached, expectation), elements.size());
+        return reached.get();
+    }
+
+    /**
+     * Invokes the task in the calling thread if the batch is small or in a pool already, otherwise in the pool
+     */
+    private <T> T invoke(@Nonnull ForkJoinTask<T> task, long size) {
+        return (size <= minimumRangeSize || ForkJoinTask.inForkJoinPool()) ? task.invoke() : pool.invoke(task);
+    }
+
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    private static List<? extends CharSequence> asRandomAccess(@Nonnull Collection<? extends CharSequence> sequences) {
+        if (sequences instanceof List<?> && sequences instanceof RandomAccess) {
+            return (List<? extends CharSequence>) sequences;
+        }
+        return Arrays.asList(sequences.toArray(new CharSequence[0]));
+    }
+
+    /**
+     * Task over a range of the indexed sequences, which either sets the words of the matches, or stops on the first expected result
+     */
+    private final class IndexTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<? extends CharSequence> sequences;
+        private final int from;
+        private final int to;
+        private final long[] words;
+        private final AtomicBoolean reached;
+        private final boolean expectation;
+
+        private IndexTask(@Nonnull List<? extends CharSequence> sequences, int from, int to, @Nullable long[] words, @Nullable AtomicBoolean reached, boolean expectation) {
+            this.sequences = sequences;
+            this.from = from;
+            this.to = to;
+            this.words = words;
+            this.reached = reached;
+            this.expectation = expectation;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > minimumRangeSize && (to - from) > sequences.size() / (pool.getParallelism() * 4)) {
+                // Split on the word boundaries, so that the tasks never write the same word
+                int middle = ((from + (to - from) / 2) + Long.SIZE - 1) & -Long.SIZE;
+                invokeAll(new IndexTask(sequences, from, middle, words, reached, expectation), new IndexTask(sequences, middle, to, words, reached, expectation));
+                return;
+            }
+            Predicate<CharSequence> tester = testers.get();
+            for (int i = from; i < to; i++) {
+                if (reached != null && reached.get()) {
+                    return;
+                }
+                CharSequence sequence = sequences.get(i);
+                boolean matched = sequence != null && tester.test(sequence);
+                if (words != null && matched) {
+                    words[i >>> 6] |= 1L << i;
+                }
+                if (reached != null && matched == expectation) {
+                    reached.set(true);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Task over a spliterator, which counts the matches
+     */
+    private final class CountTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final Spliterator<? extends CharSequence> sequences;
+
+        private CountTask(@Nonnull Spliterator<? extends CharSequence> sequences) {
+            this.sequences = sequences;
+        }
+
+        @Override
+        protected Long compute() {
+            if (sequences.estimateSize() > minimumRangeSize) {
+                Spliterator<? extends CharSequence> prefix = sequences.trySplit();
+                if (prefix != null) {
+                    CountTask left = new CountTask(prefix);
+                    left.fork();
+                    long right = new CountTask(sequences).compute();
+                    return left.join() + right;
+                }
+            }
+            Predicate<CharSequence> tester = testers.get();
+            long[] count = new long[1];
+            sequences.forEachRemaining(element -> {
+                if (element != null && tester.test(element)) {
+                    count[0]++;
+                }
+            });
+            return count[0];
+        }
+    }
+}
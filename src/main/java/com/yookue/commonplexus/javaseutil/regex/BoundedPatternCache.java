@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.regex;
+
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import jakarta.annotation.Nonnull;
+import com.yookue.commonplexus.javaseutil.support.ClockCache;
+
+
+/**
+ * Size bounded and concurrent {@link com.yookue.commonplexus.javaseutil.regex.PatternCache}
+ * <p>
+ * The lookups are lock-free, and mark the entries as referenced.
+ * When the size exceeds the maximum, the entries are evicted in the second-chance (CLOCK) order, an approximation of LRU,
+ * the referenced entries are given another round, and the others are evicted
+ *
+ * @author David Hsing
+ * @see com.yookue.commonplexus.javaseutil.support.ClockCache
+ */
+@SuppressWarnings("unused")
+public class BoundedPatternCache implements PatternCache {
+    private final ClockCache<PatternKey, Pattern> patterns;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructs a new cache with the given maximum size
+     *
+     * @param maximumSize the maximum count of the cached patterns, zero or negative to cache nothing
+     */
+    public BoundedPatternCache(int maximumSize) {
+        this.patterns = new ClockCache<>(maximumSize);
+    }
+
+    public int getMaximumSize() {
+        return patterns.getMaximumSize();
+    }
+
+    @Nonnull
+    @Override
+    @SuppressWarnings("MagicConstant")
+    public Pattern compile(@Nonnull String regex, int flags) {
+        PatternKey key = new PatternKey(regex, flags);
+        Pattern pattern = patterns.get(key);
+        if (pattern != null) {
+            hits.increment();
+            return pattern;
+        }
+        misses.increment();
+        Pattern created = Pattern.compile(regex, flags);
+        Pattern existing = patterns.putIfAbsent(key, created);
+        return (existing != null) ? existing : created;
+    }
+
+    @Override
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return patterns.getEvictionCount();
+    }
+
+    @Override
+    public int size() {
+        return patterns.size();
+    }
+
+    @Override
+    public void clear() {
+        patterns.clear();
+    }
+
+    private record PatternKey(@Nonnull String regex, int flags) {
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.regex;
+
+
+import java.util.function.IntPredicate;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+
+/**
+ * Class of characters, which is tested by the bitsets over ASCII, with a fallback predicate for the non-ASCII characters
+ * <p>
+ * The predefined classes are ASCII only, the same as the equivalent regular expressions without {@link java.util.regex.Pattern#UNICODE_CHARACTER_CLASS}.
+ * All the tests are allocation-free scans over the sequences, without any overhead of {@link java.util.regex}
+ *
+ * @author David Hsing
+ * @see com.yookue.commonplexus.javaseutil.util.RegexUtilsWraps
+ */
+@SuppressWarnings("unused")
+public final class CharClass {
+    /**
+     * Equivalent to {@code [A-Za-z]}
+     */
+    public static final CharClass ALPHABETIC = ofRange('A', 'Z').union(ofRange('a', 'z'));
+
+    /**
+     * Equivalent to {@code \d}
+     */
+    public static final CharClass NUMERIC = ofRange('0', '9');
+
+    /**
+     * Equivalent to {@code [A-Za-z\d]}
+     */
+    public static final CharClass ALPHANUMERIC = ALPHABETIC.union(NUMERIC);
+
+    /**
+     * Equivalent to {@code \w}
+     */
+    public static final CharClass WORD = ALPHANUMERIC.union(of("_"));    // $NON-NLS-1$
+
+    /**
+     * Equivalent to {@code [\w\-]}
+     */
+    public static final CharClass WORD_HYPHEN = WORD.union(of("-"));    // $NON-NLS-1$
+
+    /**
+     * Equivalent to {@code [0-9\-]}
+     */
+    public static final CharClass NUMERIC_HYPHEN = NUMERIC.union(of("-"));    // $NON-NLS-1$
+
+    private final long lowBits;
+    private final long highBits;
+    private final IntPredicate fallback;
+
+    private CharClass(long lowBits, long highBits, @Nullable IntPredicate fallback) {
+        this.lowBits = lowBits;
+        this.highBits = highBits;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Returns a class of the ASCII characters in the given string
+     *
+     * @param chars the ASCII characters
+     *
+     * @return a class of the ASCII characters in the given string
+     *
+     * @throws IllegalArgumentException if any character is not ASCII
+     */
+    @Nonnull
+    public static CharClass of(@Nonnull String chars) {
+        long low = 0L, high = 0L;
+        for (int i = 0; i < chars.length(); i++) {
+            char ch = chars.charAt(i);
+            if (ch >= 128) {
+                throw new IllegalArgumentException(String.format("Character '%s' is not ASCII", ch));
+            }
+            if (ch < 64) {
+                low |= 1L << ch;
+            } else {
+                high |= 1L << (ch - 64);
+            }
+        }
+        return new CharClass(low, high, null);
+    }
+
+    /**
+     * Returns a class of the ASCII characters between the given characters, inclusive
+     *
+     * @param from the first character
+     * @param to the last character
+     *
+     * @return a class of the ASCII characters between the given characters, inclusive
+     *
+     * @throws IllegalArgumentException if any character is not ASCII
+     */
+    @Nonnull
+    public static CharClass ofRange(char from, char to) {
+        if (from >= 128 || to >= 128) {
+            throw new IllegalArgumentException(String.format("Range '%s-%s' is not ASCII", from, to));
+        }
+        long low = 0L, high = 0L;
+        for (char ch = from; ch <= to; ch++) {
+            if (ch < 64) {
+                low |= 1L << ch;
+            } else {
+                high |= 1L << (ch - 64);
+            }
+        }
+        return new CharClass(low, high, null);
+    }
+
+    /**
+     * Returns a class of the characters that accepted by the given predicate, such as {@link java.lang.Character#isLetter(int)}
+     * <p>
+     * The predicate is evaluated once for the ASCII characters, and on each test for the others
+     *
+     * @param predicate the predicate of the characters
+     *
+     * @return a class of the characters that accepted by the given predicate
+     */
+    @Nonnull
+    public static CharClass of(@Nonnull IntPredicate predicate) {
+        long low = 0L, high = 0L;
+        for (int ch = 0; ch < 128; ch++) {
+            if (!predicate.test(ch)) {
+                continue;
+            }
+            if (ch < 64) {
+                low |= 1L << ch;
+            } else {
+                high |= 1L << (ch - 64);
+            }
+        }
+        return new CharClass(low, high, predicate);
+    }
+
+    /**
+     * Returns a class of the characters in this class or the given class
+     *
+     * @param other the other class
+     *
+     * @return a class of the characters in this class or the given class
+     */
+    @Nonnull
+    public CharClass union(@Nonnull CharClass other) {
+        IntPredicate combined = (fallback == null) ? other.fallback : ((other.fallback == null) ? fallback : fallback.or(other.fallback));
+        return new CharClass(lowBits | other.lowBits, highBits | other.highBits, combined);
+    }
+
+    public boolean contains(int ch) {
+        if (ch < 64) {
+            return ch >= 0 && (lowBits & (1L << ch)) != 0L;
+        }
+        if (ch < 128) {
+            return (highBits & (1L << (ch - 64))) != 0L;
+        }
+        return fallback != null && fallback.test(ch);
+    }
+
+    /**
+     * Returns whether the given sequence is not empty, and all the characters are in this class
+     *
+     * @param sequence the sequence to check
+     *
+     * @return whether the given sequence is not empty, and all the characters are in this class
+     */
+    public boolean matchesAll(@Nullable CharSequence sequence) {
+        return sequence != null && sequence.length() > 0 && matchesRange(sequence, 0, sequence.length());
+    }
+
+    /**
+     * Returns whether the characters of the given range are all in this class
+     *
+     * @param sequence the sequence to check
+     * @param start the start index, inclusive
+     * @param end the end index, exclusive
+     *
+     * @return whether the characters of the given range are all in this class
+     */
+    public boolean matchesRange(@Nonnull CharSequence sequence, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!contains(sequence.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the index of the first character that is in this class, or {@code -1} if none
+     *
+     * @param sequence the sequence to search
+     *
+     * @return the index of the first character that is in this class, or {@code -1} if none
+     */
+    public int indexIn(@Nullable CharSequence sequence) {
+        if (sequence != null) {
+            for (int i = 0; i < sequence.length(); i++) {
+                if (contains(sequence.charAt(i))) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the first character that is not in this class, or {@code -1} if none
+     *
+     * @param sequence the sequence to search
+     *
+     * @return the index of the first character that is not in this class, or {@code -1} if none
+     */
+    public int indexNotIn(@Nullable CharSequence sequence) {
+        if (sequence != null) {
+            for (int i = 0; i < sequence.length(); i++) {
+                if (!contains(sequence.charAt(i))) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the text that only retains the characters in this class, or the text itself if all the characters are in this class
+     *
+     * @param text the text to process
+     *
+     * @return the text that only retains the characters in this class
+     */
+    @Nullable
+    public String retain(@Nullable String text) {
+        int index = indexNotIn(text);
+        if (index < 0) {
+            return text;
+        }
+        StringBuilder builder = new StringBuilder(text.length() - 1);
+        builder.append(text, 0, index);
+        for (int i = index + 1; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (contains(ch)) {
+                builder.append(ch);
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.regex;
+
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import jakarta.annotation.Nonnull;
+
+
+/**
+ * Aho-Corasick automaton over the literals, which reports all the occurrences of the literals in a single pass
+ *
+ * @author David Hsing
+ * @reference "https://en.wikipedia.org/wiki/Aho%E2%80%93Corasick_algorithm"
+ */
+@SuppressWarnings("unused")
+final class LiteralAutomaton {
+    private final boolean foldCase;
+    private final int[] lengths;
+    private final char[][] labels;
+    private final int[][] targets;
+    private final int[] failures;
+    private final int[][] outputs;
+
+    /**
+     * Constructs a new automaton over the given literals
+     *
+     * @param literals the non-empty literals, the indexes of which are reported on the occurrences
+     * @param foldCase whether to compare the characters case-insensitively, by {@link #fold(char)}
+     */
+    LiteralAutomaton(@Nonnull List<String> literals, boolean foldCase) {
+        this.foldCase = foldCase;
+        this.lengths = new int[literals.size()];
+        List<TreeMap<Character, Integer>> gotos = new ArrayList<>();
+        List<List<Integer>> outs = new ArrayList<>();
+        gotos.add(new TreeMap<>());
+        outs.add(new ArrayList<>());
+        for (int i = 0; i < literals.size(); i++) {
+            String literal = literals.get(i);
+            int state = 0;
+            for (int j = 0; j < literal.length(); j++) {
+                char ch = foldCase ? fold(literal.charAt(j)) : literal.charAt(j);
+                Integer next = gotos.get(state).get(ch);
+                if (next == null) {
+                    next = gotos.size();
+                    gotos.get(state).put(ch, next);
+                    gotos.add(new TreeMap<>());
+                    outs.add(new ArrayList<>());
+                }
+                state = next;
+            }
+            outs.get(state).add(i);
+            lengths[i] = literal.length();
+        }
+        int count = gotos.size();
+        labels = new char[count][];
+        targets = new int[count][];
+        for (int state = 0; state < count; state++) {
+            Map<Character, Integer> transitions = gotos.get(state);
+            labels[state] = new char[transitions.size()];
+            targets[state] = new int[transitions.size()];
+            int index = 0;
+            for (Map.Entry<Character, Integer> entry : transitions.entrySet()) {
+                labels[state][index] = entry.getKey();
+                targets[state][index++] = entry.getValue();
+            }
+        }
+        failures = new int[count];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int target : targets[0]) {
+            queue.add(target);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int i = 0; i < labels[state].length; i++) {
+                int target = targets[state][i];
+                queue.add(target);
+                int failure = failures[state];
+                int next = step(failure, labels[state][i]);
+                while (next < 0 && failure != 0) {
+                    failure = failures[failure];
+                    next = step(failure, labels[state][i]);
+                }
+                failures[target] = (next < 0) ? 0 : next;
+                // The failure states are shallower, so their outputs are complete already
+                outs.get(target).addAll(outs.get(failures[target]));
+            }
+        }
+        outputs = new int[count][];
+        for (int state = 0; state < count; state++) {
+            outputs[state] = outs.get(state).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * Folds the case of the given character
+     * <p>
+     * The characters that regarded as equal by {@link java.util.regex.Pattern#CASE_INSENSITIVE}, with or without {@link java.util.regex.Pattern#UNICODE_CASE},
+     * have the same folded character
+     *
+     * @param ch the character to fold
+     *
+     * @return the folded character
+     */
+    static char fold(char ch) {
+        return Character.toLowerCase(Character.toUpperCase(ch));
+    }
+
+    /**
+     * Reports the occurrences of the literals in the given sequence, in the order of the end positions
+     *
+     * @param sequence the sequence to scan
+     * @param visitor the visitor of the occurrences
+     */
+    void scan(@Nonnull CharSequence sequence, @Nonnull Visitor visitor) {
+        scan(sequence, 0, visitor);
+    }
+
+    /**
+     * Reports the occurrences of the literals that start at or after the given index in the given sequence, in the order of the end positions
+     *
+     * @param sequence the sequence to scan
+     * @param from the index to start scanning
+     * @param visitor the visitor of the occurrences
+     */
+    void scan(@Nonnull CharSequence sequence, int from, @Nonnull Visitor visitor) {
+        int state = 0;
+        for (int i = from; i < sequence.length(); i++) {
+            char ch = foldCase ? fold(sequence.charAt(i)) : sequence.charAt(i);
+            int next = step(state, ch);
+            while (next < 0 && state != 0) {
+                state = failures[state];
+                next = step(state, ch);
+            }
+            state = (next < 0) ? 0 : next;
+            for (int literal : outputs[state]) {
+                if (!visitor.visit(literal, i + 1 - lengths[literal], i + 1)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    int getLength(int literal) {
+        return lengths[literal];
+    }
+
+    int getStateCount() {
+        return labels.length;
+    }
+
+    private int step(int state, char ch) {
+        char[] chars = labels[state];
+        int low = 0, high = chars.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (chars[middle] < ch) {
+                low = middle + 1;
+            } else if (chars[middle] > ch) {
+                high = middle - 1;
+            } else {
+                return targets[state][middle];
+            }
+        }
+        return -1;
+    }
+
+    @FunctionalInterface
+    interface Visitor {
+        /**
+         * Visits an occurrence of a literal
+         *
+         * @param literal the index of the literal
+         * @param start the start index of the occurrence, inclusive
+         * @param end the end index of the occurrence, exclusive
+         *
+         * @return true to continue the scanning, false to stop it
+         */
+        boolean visit(int literal, int start, int end);
+    }
+}
@@ -0,0 +1,344 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.regex;
+
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntFunction;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.apache.commons.lang3.StringUtils;
+
+
+/**
+ * Matcher of multiple literal needles, which searches all the needles in a single pass by an Aho-Corasick automaton
+ * <p>
+ * The automaton is built once on constructing, with the characters case-folded if ignoring case, so that the matcher could be reused across calls.
+ * The sets of a few needles skip the automaton and search the needles one by one, as building the automaton costs more than the searching of a one-off matcher
+ * The matches are selected as leftmost-longest and non-overlapping, that is, the match that starts first wins, and the longest needle wins on the same start
+ * <p>
+ * The indexes of the needles are the orders of the non-empty needles on constructing
+ *
+ * @author David Hsing
+ * @see com.yookue.commonplexus.javaseutil.util.StringUtilsWraps
+ */
+@SuppressWarnings("unused")
+public final class MultiNeedle {
+    /**
+     * The max count of the needles that searched one by one, larger sets are searched by the automaton
+     */
+    static final int LINEAR_THRESHOLD = 4;
+
+    private static final MultiNeedle EMPTY = new MultiNeedle(Collections.emptyList(), false);
+
+    private final String[] needles;
+    private final boolean ignoreCase;
+    private final int maxLength;
+    private final LiteralAutomaton automaton;
+
+    private MultiNeedle(@Nonnull List<String> needles, boolean ignoreCase) {
+        this.needles = needles.toArray(new String[0]);
+        this.ignoreCase = ignoreCase;
+        this.maxLength = needles.stream().mapToInt(String::length).max().orElse(0);
+        this.automaton = (needles.size() <= LINEAR_THRESHOLD) ? null : new LiteralAutomaton(needles, ignoreCase);
+    }
+
+    @Nonnull
+    public static MultiNeedle of(@Nullable CharSequence... needles) {
+        return of(false, needles);
+    }
+
+    @Nonnull
+    public static MultiNeedle of(@Nullable Collection<? extends CharSequence> needles) {
+        return of(false, needles);
+    }
+
+    @Nonnull
+    public static MultiNeedle ofIgnoreCase(@Nullable CharSequence... needles) {
+        return of(true, needles);
+    }
+
+    @Nonnull
+    public static MultiNeedle ofIgnoreCase(@Nullable Collection<? extends CharSequence> needles) {
+        return of(true, needles);
+    }
+
+    @Nonnull
+    public static MultiNeedle of(boolean ignoreCase, @Nullable CharSequence... needles) {
+        return of(ignoreCase, (needles == null) ? null : Arrays.asList(needles));
+    }
+
+    /**
+     * Returns a matcher of the given needles, the empty needles are ignored
+     *
+     * @param ignoreCase whether to match the needles case-insensitively
+     * @param needles the needles to search
+     *
+     * @return a matcher of the given needles
+     */
+    @Nonnull
+    public static MultiNeedle of(boolean ignoreCase, @Nullable Collection<? extends CharSequence> needles) {
+        if (needles == null || needles.isEmpty()) {
+            return ignoreCase ? new MultiNeedle(Collections.emptyList(), true) : EMPTY;
+        }
+        return new MultiNeedle(needles.stream().filter(StringUtils::isNotEmpty).map(CharSequence::toString).toList(), ignoreCase);
+    }
+
+    public boolean isIgnoreCase() {
+        return ignoreCase;
+    }
+
+    public int size() {
+        return needles.length;
+    }
+
+    public boolean isEmpty() {
+        return needles.length == 0;
+    }
+
+    @Nonnull
+    public String getNeedle(int index) {
+        return needles[index];
+    }
+
+    @Nonnull
+    public List<String> getNeedles() {
+        return List.of(needles);
+    }
+
+    /**
+     * Returns whether any needle occurs in the given sequence
+     *
+     * @param sequence the sequence to search
+     *
+     * @return whether any needle occurs in the given sequence
+     */
+    public boolean containsAny(@Nullable CharSequence sequence) {
+        if (needles.length == 0 || StringUtils.isEmpty(sequence)) {
+            return false;
+        }
+        if (automaton == null) {
+            return find(sequence, 0, new int[3], null);
+        }
+        boolean[] found = new boolean[1];
+        automaton.scan(sequence, (literal, start, end) -> {
+            found[0] = true;
+            return false;
+        });
+        return found[0];
+    }
+
+    /**
+     * Returns the first index of any needle in the given sequence
+     *
+     * @param sequence the sequence to search
+     *
+     * @return the first index of any needle in the given sequence, or {@code -1} if none occurs
+     *
+     * @see org.apache.commons.lang3.StringUtils#indexOfAny(CharSequence, CharSequence...)
+     */
+    public int indexOfAny(@Nullable CharSequence sequence) {
+        if (needles.length == 0 || StringUtils.isEmpty(sequence)) {
+            return -1;
+        }
+        int[] match = new int[3];
+        return find(sequence, 0, match, null) ? match[0] : -1;
+    }
+
+    /**
+     * Performs the given action for each leftmost-longest non-overlapping match in the given sequence
+     *
+     * @param sequence the sequence to search
+     * @param action the action that accepts the index of the needle, the start index (inclusive) and end index (exclusive) of each match
+     *
+     * @return the count of the matches
+     */
+    public int forEachMatch(@Nullable CharSequence sequence, @Nonnull MatchConsumer action) {
+        if (needles.length == 0 || StringUtils.isEmpty(sequence)) {
+            return 0;
+        }
+        int count = 0;
+        int[] match = new int[3], nexts = newNexts();
+        for (int position = 0; find(sequence, position, match, nexts); position = match[1]) {
+            action.accept(match[2], match[0], match[1]);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns a string that replaces all the matches in the given sequence with the given replacement
+     *
+     * @param sequence the sequence to replace
+     * @param replacement the replacement of each match, null means not to replace
+     *
+     * @return a string that replaces all the matches in the given sequence with the given replacement
+     */
+    public String replaceAll(@Nullable CharSequence sequence, @Nullable CharSequence replacement) {
+        return (replacement == null) ? Objects.toString(sequence, null) : replaceAll(sequence, index -> replacement);
+    }
+
+    /**
+     * Returns a string that replaces all the matches in the given sequence with the replacements of the matched needles
+     *
+     * @param sequence the sequence to replace
+     * @param replacer the function that returns the replacement by the index of the needle, null means to keep the match
+     *
+     * @return a string that replaces all the matches in the given sequence with the replacements of the matched needles
+     */
+    public String replaceAll(@Nullable CharSequence sequence, @Nonnull IntFunction<? extends CharSequence> replacer) {
+        if (sequence == null) {
+            return null;
+        }
+        if (needles.length == 0 || sequence.length() == 0) {
+            return sequence.toString();
+        }
+        int[] match = new int[3], nexts = newNexts();
+        if (!find(sequence, 0, match, nexts)) {
+            return sequence.toString();
+        }
+        StringBuilder builder = new StringBuilder(sequence.length() + 16);
+        int position = 0;
+        do {
+            CharSequence replacement = replacer.apply(match[2]);
+            builder.append(sequence, position, match[0]).append((replacement == null) ? sequence.subSequence(match[0], match[1]) : replacement);
+            position = match[1];
+        } while (find(sequence, position, match, nexts));
+        return builder.append(sequence, position, sequence.length()).toString();
+    }
+
+    /**
+     * Returns a string that replaces each character of the matches in the given sequence with the given mask
+     *
+     * @param sequence the sequence to mask
+     * @param mask the character to mask with
+     *
+     * @return a string that replaces each character of the matches in the given sequence with the given mask
+     */
+    public String mask(@Nullable CharSequence sequence, char mask) {
+        if (sequence == null) {
+            return null;
+        }
+        char[] chars = sequence.toString().toCharArray();
+        int count = forEachMatch(sequence, (needle, start, end) -> Arrays.fill(chars, start, end, mask));
+        return (count == 0) ? sequence.toString() : new String(chars);
+    }
+
+    /**
+     * Finds the leftmost-longest match that starts at or after the given index
+     * <p>
+     * The scanning stops once an occurrence ends beyond the reach of the current candidate, as no later occurrence could start before it
+     *
+     * @param sequence the sequence to search
+     * @param from the index to start searching
+     * @param match the array that receives the start index, end index and needle index of the match
+     * @param nexts the array that caches the next start index of each needle across the successive searches, only for the linear searching
+     *
+     * @return whether any match is found
+     */
+    private boolean find(@Nonnull CharSequence sequence, int from, @Nonnull int[] match, @Nullable int[] nexts) {
+        if (automaton == null) {
+            return findLinear(sequence, from, match, nexts);
+        }
+        match[0] = -1;
+        automaton.scan(sequence, from, (literal, start, end) -> {
+            if (match[0] >= 0 && end - maxLength > match[0]) {
+                return false;
+            }
+            if (match[0] < 0 || start < match[0] || (start == match[0] && (end > match[1] || (end == match[1] && literal < match[2])))) {
+                match[0] = start;
+                match[1] = end;
+                match[2] = literal;
+            }
+            return true;
+        });
+        return match[0] >= 0;
+    }
+
+    /**
+     * Finds the leftmost-longest match that starts at or after the given index, by searching the needles one by one
+     * <p>
+     * The next start index of each needle is cached if possible, as an occurrence found by a previous search stays the first one until the searching passes it
+     */
+    private boolean findLinear(@Nonnull CharSequence sequence, int from, @Nonnull int[] match, @Nullable int[] nexts) {
+        match[0] = -1;
+        for (int i = 0; i < needles.length; i++) {
+            int start;
+            if (nexts != null && nexts[i] >= from) {
+                start = nexts[i];
+            } else {
+                start = indexOf(sequence, needles[i], from);
+                if (nexts != null) {
+                    nexts[i] = (start < 0) ? Integer.MAX_VALUE : start;
+                }
+            }
+            if (start < 0 || start == Integer.MAX_VALUE) {
+                continue;
+            }
+            int end = start + needles[i].length();
+            if (match[0] < 0 || start < match[0] || (start == match[0] && end > match[1])) {
+                match[0] = start;
+                match[1] = end;
+                match[2] = i;
+            }
+        }
+        return match[0] >= 0;
+    }
+
+    private int indexOf(@Nonnull CharSequence sequence, @Nonnull String needle, int from) {
+        if (!ignoreCase && sequence instanceof String text) {
+            return text.indexOf(needle, from);
+        }
+        for (int i = from, last = sequence.length() - needle.length(); i <= last; i++) {
+            int j = 0;
+            while (j < needle.length() && (ignoreCase ? LiteralAutomaton.fold(sequence.charAt(i + j)) == LiteralAutomaton.fold(needle.charAt(j)) : sequence.charAt(i + j) == needle.charAt(j))) {
+                j++;
+            }
+            if (j == needle.length()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Nullable
+    private int[] newNexts() {
+        if (automaton != null) {
+            return null;
+        }
+        int[] result = new int[needles.length];
+        Arrays.fill(result, -1);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(needles);
+    }
+
+    /**
+     * Consumer of a match
+     */
+    @FunctionalInterface
+    public interface MatchConsumer {
+        void accept(int needle, int start, int end);
+    }
+}
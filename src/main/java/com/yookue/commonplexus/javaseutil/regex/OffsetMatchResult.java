@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.regex;
+
+
+import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+
+/**
+ * Immutable {@link java.util.regex.MatchResult}, whose offsets are relative to the start of the entire input, rather than the window
+ * <p>
+ * The offsets of the large inputs could exceed {@link java.lang.Integer#MAX_VALUE}, use the {@code long} methods such as {@link #getStartOffset()} for them,
+ * the {@code int} methods such as {@link #start()} throw {@link java.lang.ArithmeticException} on overflow
+ *
+ * @author David Hsing
+ * @see com.yookue.commonplexus.javaseutil.regex.StreamingMatcher
+ */
+@SuppressWarnings("unused")
+public final class OffsetMatchResult implements MatchResult {
+    private final long[] starts;
+    private final long[] ends;
+    private final String[] groups;
+
+    OffsetMatchResult(@Nonnull Matcher matcher, @Nonnull char[] buffer, long offset) {
+        int count = matcher.groupCount() + 1;
+        this.starts = new long[count];
+        this.ends = new long[count];
+        this.groups = new String[count];
+        for (int i = 0; i < count; i++) {
+            int start = matcher.start(i);
+            if (start < 0) {
+                starts[i] = -1L;
+                ends[i] = -1L;
+                continue;
+            }
+            int end = matcher.end(i);
+            starts[i] = offset + start;
+            ends[i] = offset + end;
+            groups[i] = new String(buffer, start, end - start);
+        }
+    }
+
+    public long getStartOffset() {
+        return starts[0];
+    }
+
+    public long getStartOffset(int group) {
+        checkGroup(group);
+        return starts[group];
+    }
+
+    public long getEndOffset() {
+        return ends[0];
+    }
+
+    public long getEndOffset(int group) {
+        checkGroup(group);
+        return ends[group];
+    }
+
+    @Override
+    public int start() {
+        return Math.toIntExact(starts[0]);
+    }
+
+    @Override
+    public int start(int group) {
+        return Math.toIntExact(getStartOffset(group));
+    }
+
+    @Override
+    public int end() {
+        return Math.toIntExact(ends[0]);
+    }
+
+    @Override
+    public int end(int group) {
+        return Math.toIntExact(getEndOffset(group));
+    }
+
+    @Nonnull
+    @Override
+    public String group() {
+        return groups[0];
+    }
+
+    @Nullable
+    @Override
+    public String group(int group) {
+        checkGroup(group);
+        return groups[group];
+    }
+
+    @Override
+    public int groupCount() {
+        return groups.length - 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("OffsetMatchResult[range=[%d,%d), match=%s]", starts[0], ends[0], groups[0]);    // $NON-NLS-1$
+    }
+
+    private void checkGroup(int group) {
+        if (group < 0 || group >= groups.length) {
+            throw new IndexOutOfBoundsException("No group " + group);
+        }
+    }
+}
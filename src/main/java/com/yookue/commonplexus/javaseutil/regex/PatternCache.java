@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.regex;
+
+
+import java.util.regex.Pattern;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+
+/**
+ * Cache of the compiled {@link java.util.regex.Pattern}s, keyed by the regular expressions and the flags
+ * <p>
+ * The default cache is used by {@link com.yookue.commonplexus.javaseutil.util.RegexUtilsWraps}, which could be replaced by another implementation,
+ * or disabled by {@link #disabled()}
+ *
+ * @author David Hsing
+ * @see com.yookue.commonplexus.javaseutil.regex.BoundedPatternCache
+ */
+@SuppressWarnings("unused")
+public interface PatternCache {
+    /**
+     * The maximum size of the default cache
+     */
+    int DEFAULT_MAXIMUM_SIZE = 1024;
+
+    /**
+     * Returns the compiled pattern of the given regular expression and flags, compiles and caches it if absent
+     *
+     * @param regex the expression to be compiled
+     * @param flags match flags, a bit mask such as {@code Pattern.CASE_INSENSITIVE}
+     *
+     * @return the compiled pattern of the given regular expression and flags
+     *
+     * @throws java.util.regex.PatternSyntaxException if the expression's syntax is invalid
+     */
+    @Nonnull
+    Pattern compile(@Nonnull String regex, int flags);
+
+    @Nonnull
+    default Pattern compile(@Nonnull String regex) {
+        return compile(regex, 0);
+    }
+
+    long getHitCount();
+
+    long getMissCount();
+
+    long getEvictionCount();
+
+    /**
+     * Returns the ratio of the hit count to the request count, or {@code 1.0} if there are no requests
+     *
+     * @return the ratio of the hit count to the request count
+     */
+    default double getHitRate() {
+        long hits = getHitCount(), requests = hits + getMissCount();
+        return (requests == 0L) ? 1.0D : (double) hits / requests;
+    }
+
+    int size();
+
+    void clear();
+
+    /**
+     * Returns a bounded cache with the given maximum size
+     *
+     * @param maximumSize the maximum count of the cached patterns
+     *
+     * @return a bounded cache with the given maximum size
+     */
+    @Nonnull
+    static PatternCache bounded(int maximumSize) {
+        return new BoundedPatternCache(maximumSize);
+    }
+
+    /**
+     * Returns a cache that caches nothing, which compiles the patterns on every call
+     *
+     * @return a cache that caches nothing
+     */
+    @Nonnull
+    static PatternCache disabled() {
+        return new BoundedPatternCache(0);
+    }
+
+    /**
+     * Returns the default cache that used by {@link com.yookue.commonplexus.javaseutil.util.RegexUtilsWraps}
+     *
+     * @return the default cache that used by {@link com.yookue.commonplexus.javaseutil.util.RegexUtilsWraps}
+     */
+    @Nonnull
+    static PatternCache getDefault() {
+        return PatternCacheHolder.instance;
+    }
+
+    /**
+     * Replaces the default cache that used by {@link com.yookue.commonplexus.javaseutil.util.RegexUtilsWraps}
+     *
+     * @param cache the new default cache, or null to disable caching
+     */
+    static void setDefault(@Nullable PatternCache cache) {
+        PatternCacheHolder.instance = (cache != null) ? cache : disabled();
+    }
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.regex;
+
+
+/**
+ * Holder of the default {@link com.yookue.commonplexus.javaseutil.regex.PatternCache}
+ *
+ * @author David Hsing
+ */
+abstract class PatternCacheHolder {
+    static volatile PatternCache instance = PatternCache.bounded(PatternCache.DEFAULT_MAXIMUM_SIZE);
+}
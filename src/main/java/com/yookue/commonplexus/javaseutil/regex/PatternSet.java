@@ -0,0 +1,559 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.regex;
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.apache.commons.lang3.StringUtils;
+
+
+/**
+ * Set of the compiled {@link java.util.regex.Pattern}s, which tests a sequence against all the patterns in a single pass
+ * <p>
+ * On compiling, the required literal of each expression is extracted, such as {@code "example.com"} in {@code ^(www\.)?example\.com$},
+ * all the literals are searched by an Aho-Corasick automaton at once, and only the patterns whose literals occur in the sequence are evaluated.
+ * The patterns that are pure literals are decided by the automaton directly, and the patterns without any literals are always evaluated
+ * <p>
+ * The indexes of the patterns are the orders of the non-empty expressions on compiling
+ *
+ * @author David Hsing
+ * @see com.yookue.commonplexus.javaseutil.util.RegexUtilsWraps
+ */
+@SuppressWarnings("unused")
+public final class PatternSet {
+    private static final byte INNER = 0, PREFIX = 1, SUFFIX = 2, EXACT = PREFIX | SUFFIX;
+    private static final PatternSet EMPTY = new PatternSet(0, Collections.emptyList());
+
+    private final int flags;
+    private final String[] regexes;
+    private final Pattern[] patterns;
+    private final byte[] positions;
+    private final boolean[] anchors;
+    private final int[][] literalPatterns;
+    private final BitSet unfiltered = new BitSet();
+    private final LiteralAutomaton automaton;
+    private final boolean folded;
+
+    private PatternSet(int flags, @Nonnull List<String> expressions) {
+        this.flags = flags;
+        this.folded = (flags & Pattern.CASE_INSENSITIVE) != 0;
+        int size = expressions.size();
+        this.regexes = expressions.toArray(new String[0]);
+        this.patterns = new Pattern[size];
+        this.positions = new byte[size];
+        this.anchors = new boolean[size];
+        Map<String, List<Integer>> literals = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            patterns[i] = Pattern.compile(regexes[i], flags);
+            Literal literal = Literal.extract(regexes[i], flags);
+            if (literal == null) {
+                unfiltered.set(i);
+                continue;
+            }
+            positions[i] = literal.position;
+            anchors[i] = literal.anchored;
+            literals.computeIfAbsent(literal.text, key -> new ArrayList<>()).add(i);
+        }
+        this.literalPatterns = literals.values().stream().map(element -> element.stream().mapToInt(Integer::intValue).toArray()).toArray(int[][]::new);
+        this.automaton = literals.isEmpty() ? null : new LiteralAutomaton(new ArrayList<>(literals.keySet()), folded);
+    }
+
+    @Nonnull
+    public static PatternSet compile(@Nullable String... regexes) {
+        return compileWithFlags(0, regexes);
+    }
+
+    @Nonnull
+    public static PatternSet compile(@Nullable Collection<String> regexes) {
+        return compileWithFlags(0, regexes);
+    }
+
+    @Nonnull
+    public static PatternSet compileIgnoreCase(@Nullable String... regexes) {
+        return compileWithFlags(Pattern.CASE_INSENSITIVE, regexes);
+    }
+
+    @Nonnull
+    public static PatternSet compileIgnoreCase(@Nullable Collection<String> regexes) {
+        return compileWithFlags(Pattern.CASE_INSENSITIVE, regexes);
+    }
+
+    @Nonnull
+    public static PatternSet compileWithFlags(int flags, @Nullable String... regexes) {
+        return compileWithFlags(flags, (regexes == null) ? null : Arrays.asList(regexes));
+    }
+
+    /**
+     * Returns a set of the given regular expressions compiled with the given flags, the empty expressions are ignored
+     *
+     * @param flags match flags, a bit mask such as {@code Pattern.CASE_INSENSITIVE}
+     * @param regexes the expressions to be compiled
+     *
+     * @return a set of the given regular expressions compiled with the given flags
+     *
+     * @throws java.util.regex.PatternSyntaxException if any expression's syntax is invalid
+     */
+    @Nonnull
+    public static PatternSet compileWithFlags(int flags, @Nullable Collection<String> regexes) {
+        if (regexes == null || regexes.isEmpty()) {
+            return (flags == 0) ? EMPTY : new PatternSet(flags, Collections.emptyList());
+        }
+        return new PatternSet(flags, regexes.stream().filter(StringUtils::isNotEmpty).toList());
+    }
+
+    public int getFlags() {
+        return flags;
+    }
+
+    public int size() {
+        return regexes.length;
+    }
+
+    public boolean isEmpty() {
+        return regexes.length == 0;
+    }
+
+    @Nonnull
+    public String getRegex(int index) {
+        return regexes[index];
+    }
+
+    @Nonnull
+    public Pattern getPattern(int index) {
+        return patterns[index];
+    }
+
+    @Nonnull
+    public List<String> getRegexes() {
+        return List.of(regexes);
+    }
+
+    /**
+     * Returns the count of the patterns that could be skipped by their literals
+     *
+     * @return the count of the patterns that could be skipped by their literals
+     */
+    public int getFilteredCount() {
+        return regexes.length - unfiltered.cardinality();
+    }
+
+    /**
+     * Returns whether the entire sequence matches any pattern
+     *
+     * @param sequence the character sequence to be matched
+     *
+     * @return whether the entire sequence matches any pattern
+     */
+    public boolean matchesAny(@Nullable CharSequence sequence) {
+        return sequence != null && evaluateAny(sequence, new Evaluator(true));
+    }
+
+    /**
+     * Returns whether the entire sequence matches all the patterns, false if this set is empty
+     *
+     * @param sequence the character sequence to be matched
+     *
+     * @return whether the entire sequence matches all the patterns
+     */
+    public boolean matchesAll(@Nullable CharSequence sequence) {
+        return sequence != null && evaluateAll(sequence, true);
+    }
+
+    /**
+     * Returns the indexes of the patterns that the entire sequence matches
+     *
+     * @param sequence the character sequence to be matched
+     *
+     * @return the indexes of the patterns that the entire sequence matches
+     */
+    @Nonnull
+    public BitSet matchIndices(@Nullable CharSequence sequence) {
+        return (sequence == null) ? new BitSet() : evaluate(sequence, true);
+    }
+
+    /**
+     * Returns whether any pattern could be found in the sequence
+     *
+     * @param sequence the character sequence to be matched
+     *
+     * @return whether any pattern could be found in the sequence
+     */
+    public boolean findAny(@Nullable CharSequence sequence) {
+        return sequence != null && evaluateAny(sequence, new Evaluator(false));
+    }
+
+    /**
+     * Returns whether all the patterns could be found in the sequence, false if this set is empty
+     *
+     * @param sequence the character sequence to be matched
+     *
+     * @return whether all the patterns could be found in the sequence
+     */
+    public boolean findAll(@Nullable CharSequence sequence) {
+        return sequence != null && evaluateAll(sequence, false);
+    }
+
+    /**
+     * Returns the indexes of the patterns that could be found in the sequence
+     *
+     * @param sequence the character sequence to be matched
+     *
+     * @return the indexes of the patterns that could be found in the sequence
+     */
+    @Nonnull
+    public BitSet findIndices(@Nullable CharSequence sequence) {
+        return (sequence == null) ? new BitSet() : evaluate(sequence, false);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PatternSet[size=%d, filtered=%d, flags=%d]", size(), getFilteredCount(), flags);    // $NON-NLS-1$
+    }
+
+    /**
+     * Returns whether any pattern is matched, with the given evaluator that could be reused for the sequences
+     */
+    boolean evaluateAny(@Nonnull CharSequence sequence, @Nonnull Evaluator evaluator) {
+        BitSet confirmed = new BitSet();
+        BitSet candidates = candidates(sequence, evaluator.entire, confirmed);
+        if (!confirmed.isEmpty()) {
+            return true;
+        }
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            if (evaluator.test(patterns[i], sequence)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean evaluateAll(@Nonnull CharSequence sequence, boolean entire) {
+        if (isEmpty()) {
+            return false;
+        }
+        BitSet confirmed = new BitSet();
+        BitSet candidates = candidates(sequence, entire, confirmed);
+        if (candidates.cardinality() < regexes.length) {
+            return false;
+        }
+        Evaluator evaluator = new Evaluator(entire);
+        for (int i = 0; i < regexes.length; i++) {
+            if (!confirmed.get(i) && !evaluator.test(patterns[i], sequence)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Nonnull
+    private BitSet evaluate(@Nonnull CharSequence sequence, boolean entire) {
+        BitSet confirmed = new BitSet();
+        BitSet candidates = candidates(sequence, entire, confirmed);
+        Evaluator evaluator = new Evaluator(entire);
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            if (!confirmed.get(i) && !evaluator.test(patterns[i], sequence)) {
+                candidates.clear(i);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Returns the indexes of the patterns that worth evaluating, and marks the patterns that are matched by their literals already
+     */
+    @Nonnull
+    private BitSet candidates(@Nonnull CharSequence sequence, boolean entire, @Nonnull BitSet confirmed) {
+        BitSet result = (BitSet) unfiltered.clone();
+        if (automaton == null) {
+            return result;
+        }
+        int length = sequence.length();
+        automaton.scan(sequence, (literal, start, end) -> {
+            for (int index : literalPatterns[literal]) {
+                byte position = positions[index];
+                if (entire && (((position & PREFIX) != 0 && start != 0) || ((position & SUFFIX) != 0 && end != length))) {
+                    continue;
+                }
+                result.set(index);
+                if (!folded && position == EXACT && (entire || !anchors[index])) {
+                    confirmed.set(index);
+                }
+            }
+            return true;
+        });
+        return result;
+    }
+
+    /**
+     * Evaluator that reuses a {@link java.util.regex.Matcher} for the patterns and the sequences, not thread-safe
+     */
+    static final class Evaluator {
+        private final boolean entire;
+        private Matcher matcher;
+
+        Evaluator(boolean entire) {
+            this.entire = entire;
+        }
+
+        private boolean test(@Nonnull Pattern pattern, @Nonnull CharSequence sequence) {
+            matcher = (matcher == null) ? pattern.matcher(sequence) : matcher.usePattern(pattern).reset(sequence);
+            return entire ? matcher.matches() : matcher.find();
+        }
+    }
+
+    /**
+     * Required literal of a regular expression, which must occur in any sequence that matched by the expression
+     */
+    private record Literal(@Nonnull String text, byte position, boolean anchored) {
+        private static final int META = -1;
+
+        /**
+         * Returns the longest literal at the top level of the expression, or null if there is no such literal or the expression is too complex
+         * <p>
+         * The parsing is conservative, any construct that could not be proved literal is regarded as a meta token
+         */
+        @Nullable
+        private static Literal extract(@Nonnull String regex, int flags) {
+            if ((flags & (Pattern.COMMENTS | Pattern.CANON_EQ)) != 0) {
+                return null;
+            }
+            boolean folded = (flags & Pattern.CASE_INSENSITIVE) != 0;
+            List<Integer> tokens = new ArrayList<>();
+            boolean leadingAnchor = false, trailingAnchor = false;
+            if ((flags & Pattern.LITERAL) != 0) {
+                regex.chars().forEach(ch -> addChar(tokens, (char) ch, folded));
+            } else {
+                int depth = 0, length = regex.length();
+                for (int i = 0; i < length; ) {
+                    char ch = regex.charAt(i);
+                    if (ch == '\\') {
+                        if (i + 1 >= length) {
+                            return null;
+                        }
+                        char next = regex.charAt(i + 1);
+                        if (next == 'Q') {
+                            int end = regex.indexOf("\\E", i + 2);    // $NON-NLS-1$
+                            String quoted = (end < 0) ? regex.substring(i + 2) : regex.substring(i + 2, end);
+                            if (depth == 0) {
+                                quoted.chars().forEach(element -> addChar(tokens, (char) element, folded));
+                            }
+                            i = (end < 0) ? length : end + 2;
+                            continue;
+                        }
+                        if (Character.isLetterOrDigit(next)) {
+                            i = skipEscape(regex, i + 1);
+                            if (i < 0) {
+                                return null;
+                            }
+                            if (depth == 0) {
+                                tokens.add(META);
+                            }
+                            continue;
+                        }
+                        if (depth == 0) {
+                            addChar(tokens, next, folded);
+                        }
+                        i += 2;
+                        continue;
+                    }
+                    switch (ch) {
+                        case '[' -> {
+                            i = skipClass(regex, i);
+                            if (i < 0) {
+                                return null;
+                            }
+                            if (depth == 0) {
+                                tokens.add(META);
+                            }
+                            continue;
+                        }
+                        case '(' -> {
+                            if (i + 2 < length && regex.charAt(i + 1) == '?' && (Character.isLetter(regex.charAt(i + 2)) || regex.charAt(i + 2) == '-')) {
+                                // Inline flags change the meanings of the following literals
+                                return null;
+                            }
+                            if (depth++ == 0) {
+                                tokens.add(META);
+                            }
+                        }
+                        case ')' -> {
+                            if (--depth < 0) {
+                                return null;
+                            }
+                        }
+                        case '|' -> {
+                            if (depth == 0) {
+                                return null;
+                            }
+                        }
+                        case '?', '*', '{' -> {
+                            if (depth == 0) {
+                                if (!tokens.isEmpty()) {
+                                    tokens.set(tokens.size() - 1, META);
+                                }
+                                tokens.add(META);
+                            }
+                            if (ch == '{') {
+                                int end = regex.indexOf('}', i);
+                                if (end < 0) {
+                                    return null;
+                                }
+                                i = end;
+                            }
+                        }
+                        case '^' -> {
+                            if (depth == 0) {
+                                if (i == 0) {
+                                    leadingAnchor = true;
+                                } else {
+                                    tokens.add(META);
+                                }
+                            }
+                        }
+                        case '$' -> {
+                            if (depth == 0) {
+                                if (i == length - 1) {
+                                    trailingAnchor = true;
+                                } else {
+                                    tokens.add(META);
+                                }
+                            }
+                        }
+                        case '+', '.' -> {
+                            if (depth == 0) {
+                                tokens.add(META);
+                            }
+                        }
+                        default -> {
+                            if (depth == 0) {
+                                addChar(tokens, ch, folded);
+                            }
+                        }
+                    }
+                    i++;
+                }
+                if (depth != 0) {
+                    return null;
+                }
+            }
+            int bestStart = -1, bestEnd = -1;
+            for (int start = 0; start < tokens.size(); ) {
+                if (tokens.get(start) == META) {
+                    start++;
+                    continue;
+                }
+                int end = start;
+                while (end < tokens.size() && tokens.get(end) != META) {
+                    end++;
+                }
+                if (end - start > bestEnd - bestStart) {
+                    bestStart = start;
+                    bestEnd = end;
+                }
+                start = end;
+            }
+            if (bestStart < 0) {
+                return null;
+            }
+            StringBuilder builder = new StringBuilder(bestEnd - bestStart);
+            tokens.subList(bestStart, bestEnd).forEach(element -> builder.append((char) element.intValue()));
+            byte position = (byte) ((bestStart == 0 ? PREFIX : INNER) | (bestEnd == tokens.size() ? SUFFIX : INNER));
+            return new Literal(builder.toString(), position, leadingAnchor || trailingAnchor);
+        }
+
+        private static void addChar(@Nonnull List<Integer> tokens, char ch, boolean folded) {
+            // Only the ASCII literals are folded safely, regardless of Pattern.UNICODE_CASE
+            tokens.add((folded && ch >= 128) ? META : (int) ch);
+        }
+
+        /**
+         * Returns the index after the escape sequence that starts with a letter or digit, or -1 if it is malformed
+         */
+        private static int skipEscape(@Nonnull String regex, int index) {
+            char ch = regex.charAt(index);
+            int next = index + 1, length = regex.length();
+            switch (ch) {
+                case 'x', 'p', 'P', 'N' -> {
+                    if (next < length && regex.charAt(next) == '{') {
+                        int end = regex.indexOf('}', next);
+                        return (end < 0) ? -1 : end + 1;
+                    }
+                    return Math.min(next + ((ch == 'x') ? 2 : 1), length);
+                }
+                case 'k' -> {
+                    int end = regex.indexOf('>', next);
+                    return (end < 0) ? -1 : end + 1;
+                }
+                case 'u' -> {
+                    return Math.min(next + 4, length);
+                }
+                case 'c' -> {
+                    return Math.min(next + 1, length);
+                }
+                default -> {
+                    if (Character.isDigit(ch)) {
+                        while (next < length && Character.isDigit(regex.charAt(next))) {
+                            next++;
+                        }
+                    }
+                    return next;
+                }
+            }
+        }
+
+        /**
+         * Returns the index after the character class that starts at the given index, or -1 if it is malformed
+         */
+        private static int skipClass(@Nonnull String regex, int index) {
+            int next = index + 1, length = regex.length(), depth = 1;
+            if (next < length && regex.charAt(next) == '^') {
+                next++;
+            }
+            if (next < length && regex.charAt(next) == ']') {
+                next++;
+            }
+            while (next < length && depth > 0) {
+                char ch = regex.charAt(next);
+                if (ch == '\\') {
+                    if (next + 1 < length && regex.charAt(next + 1) == 'Q') {
+                        return -1;
+                    }
+                    next += 2;
+                    continue;
+                }
+                if (ch == '[') {
+                    depth++;
+                } else if (ch == ']') {
+                    depth--;
+                }
+                next++;
+            }
+            return (depth > 0) ? -1 : next;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.regex;
+
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+
+/**
+ * Matcher that finds the matches of a {@link java.util.regex.Pattern} in the character streams, with a bounded sliding window
+ * <p>
+ * The input is read in chunks, and only the unsettled tail of the window is retained between the chunks,
+ * so the memory is bounded by the maximum match length and the chunk size, no matter how large the input is.
+ * The matches are the same as {@link java.util.regex.Matcher#find()} over the entire input, except that:
+ * <ul>
+ *     <li>A match longer than the maximum match length may be missed or truncated</li>
+ *     <li>A lookbehind could see at most {@value #LOOKBEHIND_LENGTH} characters before the window</li>
+ * </ul>
+ *
+ * @author David Hsing
+ * @see com.yookue.commonplexus.javaseutil.util.RegexUtilsWraps
+ */
+@SuppressWarnings("unused")
+public final class StreamingMatcher {
+    /**
+     * The default maximum length of a match
+     */
+    public static final int DEFAULT_MAXIMUM_MATCH_LENGTH = 8192;
+
+    /**
+     * The count of the characters that retained before the window, for lookbehinds and boundaries
+     */
+    public static final int LOOKBEHIND_LENGTH = 64;
+
+    private static final int MINIMUM_CHUNK_SIZE = 8192;
+
+    private final Pattern pattern;
+    private final int maximumMatchLength;
+
+    private StreamingMatcher(@Nonnull Pattern pattern, int maximumMatchLength) {
+        this.pattern = pattern;
+        this.maximumMatchLength = maximumMatchLength;
+    }
+
+    @Nonnull
+    public static StreamingMatcher of(@Nonnull Pattern pattern) {
+        return of(pattern, DEFAULT_MAXIMUM_MATCH_LENGTH);
+    }
+
+    /**
+     * Returns a matcher of the given pattern and maximum match length
+     *
+     * @param pattern the pattern to find
+     * @param maximumMatchLength the maximum length of a match, the window retains such count of characters at most
+     *
+     * @return a matcher of the given pattern and maximum match length
+     *
+     * @throws IllegalArgumentException if the maximum match length is not positive
+     */
+    @Nonnull
+    public static StreamingMatcher of(@Nonnull Pattern pattern, int maximumMatchLength) {
+        if (maximumMatchLength <= 0) {
+            throw new IllegalArgumentException("Maximum match length must be positive");
+        }
+        return new StreamingMatcher(pattern, maximumMatchLength);
+    }
+
+    @Nonnull
+    public Pattern getPattern() {
+        return pattern;
+    }
+
+    public int getMaximumMatchLength() {
+        return maximumMatchLength;
+    }
+
+    /**
+     * Performs the given action for each match in the reader, the reader is not closed
+     *
+     * @param reader the reader to scan
+     * @param action the action for each match
+     *
+     * @return the count of the matches
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public long scan(@Nonnull Reader reader, @Nonnull Consumer<? super OffsetMatchResult> action) throws IOException {
+        Window window = new Window(reader);
+        long count = 0L;
+        for (OffsetMatchResult result = window.next(); result != null; result = window.next()) {
+            action.accept(result);
+            count++;
+        }
+        return count;
+    }
+
+    public long scan(@Nonnull Path path, @Nonnull Charset charset, @Nonnull Consumer<? super OffsetMatchResult> action) throws IOException {
+        try (Reader reader = Files.newBufferedReader(path, charset)) {
+            return scan(reader, action);
+        }
+    }
+
+    /**
+     * Performs the given action for each match in the channel, the channel is not closed
+     *
+     * @param channel the channel to scan
+     * @param charset the charset to decode the channel
+     * @param action the action for each match
+     *
+     * @return the count of the matches
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public long scan(@Nonnull ReadableByteChannel channel, @Nonnull Charset charset, @Nonnull Consumer<? super OffsetMatchResult> action) throws IOException {
+        return scan(Channels.newReader(channel, charset.newDecoder(), -1), action);
+    }
+
+    /**
+     * Returns whether the pattern could be found in the reader, reads until the first match only
+     *
+     * @param reader the reader to scan
+     *
+     * @return whether the pattern could be found in the reader
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public boolean find(@Nonnull Reader reader) throws IOException {
+        return new Window(reader).next() != null;
+    }
+
+    /**
+     * Returns a lazy stream of the matches in the reader, the reader is not closed
+     * <p>
+     * The I/O errors are thrown as {@link java.io.UncheckedIOException}s on traversing
+     *
+     * @param reader the reader to scan
+     *
+     * @return a lazy stream of the matches in the reader
+     */
+    @Nonnull
+    public Stream<OffsetMatchResult> stream(@Nonnull Reader reader) {
+        Window window = new Window(reader);
+        Spliterator<OffsetMatchResult> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(@Nonnull Consumer<? super OffsetMatchResult> action) {
+                OffsetMatchResult result;
+                try {
+                    result = window.next();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                if (result == null) {
+                    return false;
+                }
+                action.accept(result);
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * Returns a lazy stream of the matches in the file, the file is closed when the stream is closed
+     *
+     * @param path the file to scan
+     * @param charset the charset to decode the file
+     *
+     * @return a lazy stream of the matches in the file
+     *
+     * @throws IOException if the file could not be opened
+     */
+    @Nonnull
+    public Stream<OffsetMatchResult> stream(@Nonnull Path path, @Nonnull Charset charset) throws IOException {
+        Reader reader = Files.newBufferedReader(path, charset);
+        return stream(reader).onClose(() -> {
+            try {
+                reader.close();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    /**
+     * Returns a lazy stream of the matches in the channel, the channel is not closed
+     *
+     * @param channel the channel to scan
+     * @param charset the charset to decode the channel
+     *
+     * @return a lazy stream of the matches in the channel
+     */
+    @Nonnull
+    public Stream<OffsetMatchResult> stream(@Nonnull ReadableByteChannel channel, @Nonnull Charset charset) {
+        return stream(Channels.newReader(channel, charset.newDecoder(), -1));
+    }
+
+    /**
+     * Sliding window over a reader
+     */
+    private final class Window {
+        private final Reader reader;
+        private final char[] buffer;
+        private final CharBuffer sequence;
+        private final Matcher matcher;
+        private long offset;
+        private int length;
+        private int position;
+        private boolean exhausted;
+
+        private Window(@Nonnull Reader reader) {
+            this.reader = reader;
+            int chunkSize = Math.max(maximumMatchLength, MINIMUM_CHUNK_SIZE);
+            this.buffer = new char[LOOKBEHIND_LENGTH + maximumMatchLength + chunkSize];
+            this.sequence = CharBuffer.wrap(buffer);
+            this.matcher = pattern.matcher("").useTransparentBounds(true).useAnchoringBounds(false);    // $NON-NLS-1$
+        }
+
+        @Nullable
+        private OffsetMatchResult next() throws IOException {
+            while (true) {
+                if (position <= length) {
+                    matcher.region(position, length);
+                    boolean found = matcher.find();
+                    if (found && (exhausted || (!matcher.hitEnd() && !matcher.requireEnd()))) {
+                        OffsetMatchResult result = new OffsetMatchResult(matcher, buffer, offset);
+                        position = (matcher.end() == matcher.start()) ? matcher.end() + 1 : matcher.end();
+                        return result;
+                    }
+                }
+                if (exhausted) {
+                    return null;
+                }
+                slide();
+            }
+        }
+
+        /**
+         * Discards the settled head of the window, and reads the next chunk
+         */
+        private void slide() throws IOException {
+            // A match that starts before the tail would be longer than the maximum
+            int keep = Math.min(Math.max(position, length - maximumMatchLength), length);
+            int retain = Math.max(keep - LOOKBEHIND_LENGTH, 0);
+            if (retain > 0) {
+                System.arraycopy(buffer, retain, buffer, 0, length - retain);
+                offset += retain;
+                length -= retain;
+                position = Math.max(keep - retain, 0);
+            } else {
+                position = keep;
+            }
+            while (length < buffer.length) {
+                int count = reader.read(buffer, length, buffer.length - length);
+                if (count < 0) {
+                    exhausted = true;
+                    break;
+                }
+                length += count;
+            }
+            sequence.limit(length);
+            matcher.reset(sequence.position(0));
+        }
+    }
+}
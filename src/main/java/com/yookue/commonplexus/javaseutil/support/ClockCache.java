@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.support;
+
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.Getter;
+
+
+/**
+ * Size bounded and concurrent cache, which evicts the entries in the second-chance (CLOCK) order
+ * <p>
+ * The lookups are lock-free, and mark the entries as referenced.
+ * When the size exceeds the maximum, the entries are evicted in the second-chance (CLOCK) order, an approximation of LRU,
+ * the referenced entries are given another round, and the others are evicted
+ *
+ * @author David Hsing
+ * @see com.yookue.commonplexus.javaseutil.regex.BoundedPatternCache
+ * @see com.yookue.commonplexus.javaseutil.bean.PropertyPath
+ */
+@SuppressWarnings("unused")
+public class ClockCache<K, V> {
+    @Getter
+    private final int maximumSize;
+
+    private final ConcurrentMap<K, CacheEntry<V>> entries = new ConcurrentHashMap<>();
+    private final Queue<K> clock = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructs a new cache with the given maximum size
+     *
+     * @param maximumSize the maximum count of the cached entries, zero or negative to cache nothing
+     */
+    public ClockCache(int maximumSize) {
+        this.maximumSize = Math.max(maximumSize, 0);
+    }
+
+    /**
+     * Returns the cached value of the given key, and marks it as referenced
+     *
+     * @param key the key to look up
+     *
+     * @return the cached value of the given key, or {@code null} if absent
+     */
+    @Nullable
+    public V get(@Nonnull K key) {
+        CacheEntry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        entry.referenced = true;
+        return entry.value;
+    }
+
+    /**
+     * Caches the given value if the given key is absent, evicts the entries beyond the maximum size
+     *
+     * @param key the key to cache
+     * @param value the value to cache
+     *
+     * @return the value that cached by another thread in the meantime, or {@code null} if the given value is cached or the cache caches nothing
+     */
+    @Nullable
+    public V putIfAbsent(@Nonnull K key, @Nonnull V value) {
+        if (maximumSize == 0) {
+            return null;
+        }
+        CacheEntry<V> existing = entries.putIfAbsent(key, new CacheEntry<>(value));
+        if (existing != null) {
+            return existing.value;
+        }
+        clock.offer(key);
+        if (entries.size() > maximumSize) {
+            evict();
+        }
+        return null;
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        evictionLock.lock();
+        try {
+            entries.clear();
+            clock.clear();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Evicts the entries until the size does not exceed the maximum, skips if another thread is evicting
+     */
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            while (entries.size() > maximumSize) {
+                K key = clock.poll();
+                if (key == null) {
+                    break;
+                }
+                CacheEntry<V> entry = entries.get(key);
+                if (entry == null) {
+                    continue;
+                }
+                if (entry.referenced) {
+                    entry.referenced = false;
+                    clock.offer(key);
+                } else if (entries.remove(key, entry)) {
+                    evictions.increment();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static class CacheEntry<V> {
+        private final V value;
+        private volatile boolean referenced;
+
+        private CacheEntry(@Nonnull V value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.text;
+
+
+import java.util.Objects;
+import jakarta.annotation.Nonnull;
+
+
+/**
+ * View of a range of a {@link java.lang.CharSequence}, without copying the characters
+ * <p>
+ * The slices are equal to each other if they have the same characters, and the hash code is the same as the equivalent {@link java.lang.String}
+ *
+ * @author David Hsing
+ * @see com.yookue.commonplexus.javaseutil.text.Tokenizer
+ */
+@SuppressWarnings("unused")
+public final class CharSlice implements CharSequence, Comparable<CharSlice> {
+    private final CharSequence source;
+    private final int start;
+    private final int end;
+    private int hash;
+
+    private CharSlice(@Nonnull CharSequence source, int start, int end) {
+        this.source = source;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Returns a view of the given range of the source
+     *
+     * @param source the source sequence
+     * @param start the start index, inclusive
+     * @param end the end index, exclusive
+     *
+     * @return a view of the given range of the source
+     *
+     * @throws IndexOutOfBoundsException if the range is out of the source
+     */
+    @Nonnull
+    public static CharSlice of(@Nonnull CharSequence source, int start, int end) {
+        Objects.checkFromToIndex(start, end, source.length());
+        if (source instanceof CharSlice slice) {
+            return new CharSlice(slice.source, slice.start + start, slice.start + end);
+        }
+        return new CharSlice(source, start, end);
+    }
+
+    @Nonnull
+    public CharSequence getSource() {
+        return source;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getEnd() {
+        return end;
+    }
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        Objects.checkIndex(index, end - start);
+        return source.charAt(start + index);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return start == end;
+    }
+
+    @Nonnull
+    @Override
+    public CharSlice subSequence(int start, int end) {
+        Objects.checkFromToIndex(start, end, this.end - this.start);
+        return new CharSlice(source, this.start + start, this.start + end);
+    }
+
+    /**
+     * Returns whether the characters of this slice are the same as the given sequence
+     *
+     * @param sequence the sequence to compare
+     *
+     * @return whether the characters of this slice are the same as the given sequence
+     */
+    public boolean contentEquals(@Nonnull CharSequence sequence) {
+        int length = end - start;
+        if (sequence.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (source.charAt(start + i) != sequence.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int compareTo(@Nonnull CharSlice other) {
+        return CharSequence.compare(this, other);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof CharSlice slice && contentEquals(slice));
+    }
+
+    @Override
+    public int hashCode() {
+        int result = hash;
+        if (result == 0) {
+            for (int i = start; i < end; i++) {
+                result = 31 * result + source.charAt(i);
+            }
+            hash = result;
+        }
+        return result;
+    }
+
+    @Nonnull
+    @Override
+    public String toString() {
+        if (source instanceof String text) {
+            return text.substring(start, end);
+        }
+        return source.subSequence(start, end).toString();
+    }
+}
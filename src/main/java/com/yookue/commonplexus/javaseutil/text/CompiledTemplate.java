@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.text;
+
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.text.StringSubstitutor;
+import org.apache.commons.text.lookup.StringLookup;
+import org.apache.commons.text.lookup.StringLookupFactory;
+
+
+/**
+ * Template that parsed into the literal and placeholder segments once, and renders with different variables repeatedly
+ * <p>
+ * The rendering follows the defaults of {@link org.apache.commons.text.StringSubstitutor}:
+ * the prefix after the escape character {@code '$'} is literal, the default value of a placeholder follows {@code ":-"},
+ * the unresolved placeholders are kept as they are, and the placeholders in the resolved values are substituted recursively
+ * <p>
+ * The templates compiled by {@link #compile(CharSequence, CharSequence, CharSequence)} are cached by the text and delimiters, the least recently used ones are evicted beyond the capacity.
+ * The templates parsed by {@link #parse(CharSequence, CharSequence, CharSequence)}, including the recursive values, are never cached
+ *
+ * @author David Hsing
+ * @see org.apache.commons.text.StringSubstitutor
+ * @see com.yookue.commonplexus.javaseutil.util.StringSubstitutorWraps
+ */
+@SuppressWarnings("unused")
+public final class CompiledTemplate {
+    /**
+     * The maximum count of the cached templates
+     */
+    public static final int CACHE_CAPACITY = 512;
+
+    private static final char ESCAPE = StringSubstitutor.DEFAULT_ESCAPE;
+    private static final String VALUE_DELIMITER = StringSubstitutor.DEFAULT_VAR_DEFAULT;
+    private static final int ESTIMATED_VALUE_LENGTH = 16;
+    private static final Map<Key, CompiledTemplate> CACHE = Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, CompiledTemplate> eldest) {
+            return size() > CACHE_CAPACITY;
+        }
+    });
+
+    private final String template;
+    private final String prefix;
+    private final String suffix;
+    private final Object[] segments;
+    private final int literalLength;
+    private final int placeholderCount;
+    private final String constant;
+
+    private CompiledTemplate(@Nonnull String template, @Nonnull String prefix, @Nonnull String suffix) {
+        this.template = template;
+        this.prefix = prefix;
+        this.suffix = suffix;
+        List<Object> parts = new ArrayList<>();
+        int length = 0, count = 0;
+        int literalStart = 0, position = 0;
+        while (position < template.length()) {
+            if (!template.startsWith(prefix, position)) {
+                position++;
+                continue;
+            }
+            int end = template.indexOf(suffix, position + prefix.length());
+            if (end < 0) {
+                // Neither a placeholder nor an escape without a suffix
+                break;
+            }
+            if (position > literalStart && template.charAt(position - 1) == ESCAPE) {
+                // The escape character is dropped, and the prefix is kept as literal
+                length += addLiteral(parts, template, literalStart, position - 1);
+                literalStart = position;
+                position++;
+                continue;
+            }
+            length += addLiteral(parts, template, literalStart, position);
+            parts.add(new Placeholder(template.substring(position + prefix.length(), end), template.substring(position, end + suffix.length())));
+            count++;
+            position = end + suffix.length();
+            literalStart = position;
+        }
+        length += addLiteral(parts, template, literalStart, template.length());
+        this.segments = parts.toArray();
+        this.literalLength = length;
+        this.placeholderCount = count;
+        if (count == 0) {
+            // The escape characters have been dropped from the literals
+            StringBuilder builder = new StringBuilder(length);
+            parts.forEach(builder::append);
+            this.constant = builder.toString();
+        } else {
+            this.constant = null;
+        }
+    }
+
+    /**
+     * Returns a compiled template of the given text and delimiters, from the cache if possible
+     *
+     * @param template the text of the template
+     * @param prefix the prefix of the placeholders
+     * @param suffix the suffix of the placeholders
+     *
+     * @return a compiled template of the given text and delimiters
+     *
+     * @throws IllegalArgumentException if the prefix or suffix is empty
+     */
+    @Nonnull
+    public static CompiledTemplate compile(@Nullable CharSequence template, @Nullable CharSequence prefix, @Nullable CharSequence suffix) {
+        Key key = new Key(Objects.toString(template, StringUtils.EMPTY), Objects.toString(prefix, StringUtils.EMPTY), Objects.toString(suffix, StringUtils.EMPTY));
+        CompiledTemplate result = CACHE.get(key);
+        if (result == null) {
+            result = parse(key.template, key.prefix, key.suffix);
+            CACHE.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a compiled template of the given text and delimiters, without caching
+     *
+     * @param template the text of the template
+     * @param prefix the prefix of the placeholders
+     * @param suffix the suffix of the placeholders
+     *
+     * @return a compiled template of the given text and delimiters
+     *
+     * @throws IllegalArgumentException if the prefix or suffix is empty
+     */
+    @Nonnull
+    public static CompiledTemplate parse(@Nullable CharSequence template, @Nullable CharSequence prefix, @Nullable CharSequence suffix) {
+        if (StringUtils.isAnyEmpty(prefix, suffix)) {
+            throw new IllegalArgumentException("Prefix and suffix must not be empty");
+        }
+        return new CompiledTemplate(Objects.toString(template, StringUtils.EMPTY), prefix.toString(), suffix.toString());
+    }
+
+    public static void clearCache() {
+        CACHE.clear();
+    }
+
+    @Nonnull
+    public String getTemplate() {
+        return template;
+    }
+
+    @Nonnull
+    public String getPrefix() {
+        return prefix;
+    }
+
+    @Nonnull
+    public String getSuffix() {
+        return suffix;
+    }
+
+    /**
+     * Returns the names of the placeholders, in the order of occurrences
+     *
+     * @return the names of the placeholders, in the order of occurrences
+     */
+    @Nonnull
+    public List<String> getVariableNames() {
+        List<String> result = new ArrayList<>(placeholderCount);
+        for (Object segment : segments) {
+            if (segment instanceof Placeholder placeholder) {
+                result.add(placeholder.name);
+            }
+        }
+        return result;
+    }
+
+    public boolean isConstant() {
+        return placeholderCount == 0;
+    }
+
+    @Nonnull
+    public <V> String render(@Nullable Map<String, V> mappings) {
+        return render(StringLookupFactory.INSTANCE.mapStringLookup(mappings));
+    }
+
+    @Nonnull
+    public String render(@Nullable Properties mappings) {
+        return render((mappings == null) ? StringLookupFactory.INSTANCE.nullStringLookup() : mappings::getProperty);
+    }
+
+    /**
+     * Returns the rendered string that substituted the placeholders by the given lookup
+     *
+     * @param lookup the lookup of the variables
+     *
+     * @return the rendered string that substituted the placeholders by the given lookup
+     *
+     * @throws IllegalStateException if the values refer to each other cyclically
+     */
+    @Nonnull
+    public String render(@Nonnull StringLookup lookup) {
+        if (constant != null) {
+            return constant;
+        }
+        return appendTo(new StringBuilder(literalLength + placeholderCount * ESTIMATED_VALUE_LENGTH), lookup).toString();
+    }
+
+    @Nonnull
+    public StringBuilder appendTo(@Nonnull StringBuilder builder, @Nonnull StringLookup lookup) {
+        try {
+            render(builder, lookup, null);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return builder;
+    }
+
+    /**
+     * Appends the rendered string that substituted the placeholders by the given lookup to the given appendable
+     *
+     * @param appendable the appendable to append to
+     * @param lookup the lookup of the variables
+     *
+     * @return the given appendable
+     *
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalStateException if the values refer to each other cyclically
+     */
+    @Nonnull
+    public <A extends Appendable> A appendTo(@Nonnull A appendable, @Nonnull StringLookup lookup) throws IOException {
+        render(appendable, lookup, null);
+        return appendable;
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+
+    /**
+     * Appends the value of a placeholder, or the placeholder itself if unresolved
+     *
+     * @param appendable the appendable to append to
+     * @param expression the expression between the prefix and suffix
+     * @param raw the placeholder with the prefix and suffix
+     * @param prefix the prefix of the placeholders
+     * @param suffix the suffix of the placeholders
+     * @param lookup the lookup of the variables
+     *
+     * @return whether the placeholder is resolved
+     *
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalStateException if the values refer to each other cyclically
+     */
+    static boolean appendPlaceholder(@Nonnull Appendable appendable, @Nonnull String expression, @Nonnull String raw, @Nonnull String prefix, @Nonnull String suffix, @Nonnull StringLookup lookup) throws IOException {
+        return appendPlaceholder(appendable, new Placeholder(expression, raw), prefix, suffix, lookup, null);
+    }
+
+    private void render(@Nonnull Appendable appendable, @Nonnull StringLookup lookup, @Nullable Deque<String> path) throws IOException {
+        for (Object segment : segments) {
+            if (segment instanceof Placeholder placeholder) {
+                appendPlaceholder(appendable, placeholder, prefix, suffix, lookup, path);
+            } else {
+                appendable.append((String) segment);
+            }
+        }
+    }
+
+    private static boolean appendPlaceholder(@Nonnull Appendable appendable, @Nonnull Placeholder placeholder, @Nonnull String prefix, @Nonnull String suffix, @Nonnull StringLookup lookup, @Nullable Deque<String> path) throws IOException {
+        String value = lookup.lookup(placeholder.name);
+        if (value == null) {
+            value = placeholder.defaultValue;
+        }
+        if (value == null) {
+            appendable.append(placeholder.raw);
+            return false;
+        }
+        if (!value.contains(prefix)) {
+            appendable.append(value);
+            return true;
+        }
+        Deque<String> chain = (path == null) ? new ArrayDeque<>() : path;
+        if (chain.contains(placeholder.name)) {
+            chain.addLast(placeholder.name);
+            throw new IllegalStateException(String.format("Infinite loop in property interpolation of %s: %s", placeholder.raw, String.join("->", chain)));    // $NON-NLS-1$
+        }
+        chain.addLast(placeholder.name);
+        parse(value, prefix, suffix).render(appendable, lookup, chain);
+        chain.removeLast();
+        return true;
+    }
+
+    private static int addLiteral(@Nonnull List<Object> parts, @Nonnull String template, int start, int end) {
+        if (end > start) {
+            parts.add(template.substring(start, end));
+        }
+        return end - start;
+    }
+
+    private record Key(@Nonnull String template, @Nonnull String prefix, @Nonnull String suffix) {
+    }
+
+    private static final class Placeholder {
+        private final String name;
+        private final String defaultValue;
+        private final String raw;
+
+        private Placeholder(@Nonnull String expression, @Nonnull String raw) {
+            int index = expression.indexOf(VALUE_DELIMITER);
+            this.name = (index < 0) ? expression : expression.substring(0, index);
+            this.defaultValue = (index < 0) ? null : expression.substring(index + VALUE_DELIMITER.length());
+            this.raw = raw;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.text;
+
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Properties;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.text.StringSubstitutor;
+import org.apache.commons.text.lookup.StringLookup;
+import org.apache.commons.text.lookup.StringLookupFactory;
+
+
+/**
+ * Substitutor that replaces the placeholders from a reader to a writer, with a bounded lookahead buffer
+ * <p>
+ * The substitution follows {@link com.yookue.commonplexus.javaseutil.text.CompiledTemplate},
+ * except that a placeholder longer than the maximum placeholder length (including the prefix and suffix) is written as literal,
+ * and so is an escaped prefix without a suffix within that length, so that the memory stays bounded regardless of the size of the source
+ *
+ * @author David Hsing
+ * @see com.yookue.commonplexus.javaseutil.text.CompiledTemplate
+ * @see com.yookue.commonplexus.javaseutil.util.StringSubstitutorWraps
+ */
+@SuppressWarnings("unused")
+public final class StreamingSubstitutor {
+    /**
+     * The default maximum length of a placeholder, including the prefix and suffix
+     */
+    public static final int DEFAULT_MAXIMUM_PLACEHOLDER_LENGTH = 1024;
+
+    private static final char ESCAPE = StringSubstitutor.DEFAULT_ESCAPE;
+    private static final int MINIMUM_BUFFER_SIZE = 8192;
+
+    private final String prefix;
+    private final String suffix;
+    private final int maxPlaceholderLength;
+
+    private StreamingSubstitutor(@Nonnull String prefix, @Nonnull String suffix, int maxPlaceholderLength) {
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.maxPlaceholderLength = maxPlaceholderLength;
+    }
+
+    @Nonnull
+    public static StreamingSubstitutor of(@Nullable CharSequence prefix, @Nullable CharSequence suffix) {
+        return of(prefix, suffix, DEFAULT_MAXIMUM_PLACEHOLDER_LENGTH);
+    }
+
+    /**
+     * Returns a substitutor of the given delimiters
+     *
+     * @param prefix the prefix of the placeholders
+     * @param suffix the suffix of the placeholders
+     * @param maxPlaceholderLength the maximum length of a placeholder, including the prefix and suffix
+     *
+     * @return a substitutor of the given delimiters
+     *
+     * @throws IllegalArgumentException if the prefix or suffix is empty, or the maximum length is shorter than the delimiters
+     */
+    @Nonnull
+    public static StreamingSubstitutor of(@Nullable CharSequence prefix, @Nullable CharSequence suffix, int maxPlaceholderLength) {
+        if (StringUtils.isAnyEmpty(prefix, suffix)) {
+            throw new IllegalArgumentException("Prefix and suffix must not be empty");
+        }
+        if (maxPlaceholderLength < prefix.length() + suffix.length()) {
+            throw new IllegalArgumentException("Maximum placeholder length must not be shorter than the prefix and suffix");
+        }
+        return new StreamingSubstitutor(prefix.toString(), suffix.toString(), maxPlaceholderLength);
+    }
+
+    @Nonnull
+    public String getPrefix() {
+        return prefix;
+    }
+
+    @Nonnull
+    public String getSuffix() {
+        return suffix;
+    }
+
+    public int getMaxPlaceholderLength() {
+        return maxPlaceholderLength;
+    }
+
+    public <V> long replace(@Nonnull Reader reader, @Nonnull Writer writer, @Nullable Map<String, V> mappings) throws IOException {
+        return replace(reader, writer, StringLookupFactory.INSTANCE.mapStringLookup(mappings));
+    }
+
+    public long replace(@Nonnull Reader reader, @Nonnull Writer writer, @Nullable Properties mappings) throws IOException {
+        return replace(reader, writer, (mappings == null) ? StringLookupFactory.INSTANCE.nullStringLookup() : mappings::getProperty);
+    }
+
+    /**
+     * Reads the source from the reader, and writes it to the writer with the placeholders substituted by the given lookup
+     * <p>
+     * Neither the reader nor the writer is closed or flushed
+     *
+     * @param reader the reader of the source
+     * @param writer the writer of the result
+     * @param lookup the lookup of the variables
+     *
+     * @return the count of the resolved placeholders
+     *
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalStateException if the values refer to each other cyclically
+     */
+    public long replace(@Nonnull Reader reader, @Nonnull Writer writer, @Nonnull StringLookup lookup) throws IOException {
+        char[] buffer = new char[Math.max(MINIMUM_BUFFER_SIZE, maxPlaceholderLength * 2)];
+        // The chars in [start, from) are pending literals, the search of the prefix restarts at from,
+        // and the escape character is recognized only after literalStart, which is the end of the last placeholder or escape
+        int start = 0, from = 0, end = 0, literalStart = 0;
+        boolean eof = false;
+        long count = 0L;
+        while (true) {
+            if (!eof && end - from < maxPlaceholderLength) {
+                if (start > 0) {
+                    System.arraycopy(buffer, start, buffer, 0, end - start);
+                    from -= start;
+                    end -= start;
+                    literalStart -= start;
+                    start = 0;
+                }
+                while (!eof && end - from < maxPlaceholderLength) {
+                    if (end == buffer.length) {
+                        buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                    }
+                    int read = reader.read(buffer, end, buffer.length - end);
+                    if (read < 0) {
+                        eof = true;
+                    } else {
+                        end += read;
+                    }
+                }
+            }
+            int position = indexOf(buffer, from, end, prefix);
+            if (position < 0) {
+                if (eof) {
+                    writer.write(buffer, start, end - start);
+                    return count;
+                }
+                // Keeps a possible partial prefix, together with the escape character before it
+                int safe = Math.max(start, end - prefix.length());
+                writer.write(buffer, start, safe - start);
+                start = safe;
+                from = Math.max(from, safe);
+                continue;
+            }
+            int limit = Math.min(end, position + maxPlaceholderLength);
+            if (!eof && limit < position + maxPlaceholderLength) {
+                // Reads more before deciding, keeping the possible escape character before the prefix
+                int keep = Math.max(start, position - 1);
+                writer.write(buffer, start, keep - start);
+                start = keep;
+                from = position;
+                continue;
+            }
+            int close = indexOf(buffer, position + prefix.length(), limit, suffix);
+            if (close < 0) {
+                // Not a placeholder, the prefix is literal
+                writer.write(buffer, start, position - start);
+                start = position;
+                from = position + 1;
+                continue;
+            }
+            if (position > literalStart && buffer[position - 1] == ESCAPE) {
+                // The escape character is dropped, and the prefix is kept as literal
+                writer.write(buffer, start, position - 1 - start);
+                start = position;
+                from = position + 1;
+                literalStart = position;
+                continue;
+            }
+            writer.write(buffer, start, position - start);
+            String expression = new String(buffer, position + prefix.length(), close - position - prefix.length());
+            String raw = new String(buffer, position, close + suffix.length() - position);
+            if (CompiledTemplate.appendPlaceholder(writer, expression, raw, prefix, suffix, lookup)) {
+                count++;
+            }
+            start = close + suffix.length();
+            from = start;
+            literalStart = start;
+        }
+    }
+
+    private static int indexOf(@Nonnull char[] buffer, int from, int to, @Nonnull String pattern) {
+        char first = pattern.charAt(0);
+        int last = to - pattern.length();
+        outer:
+        for (int i = from; i <= last; i++) {
+            if (buffer[i] != first) {
+                continue;
+            }
+            for (int j = 1; j < pattern.length(); j++) {
+                if (buffer[i + j] != pattern.charAt(j)) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.text;
+
+
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+
+/**
+ * Bounded concurrent pool of strings, which deduplicates the equal strings to a shared instance
+ * <p>
+ * The pool is split into stripes by the hash codes of the strings, each stripe is locked separately and holds at most its share of the capacity.
+ * In LRU mode, the least recently used strings are evicted from a full stripe;
+ * in weak mode, the strings are held weakly and reclaimed by the garbage collector, and the new strings pass through a full stripe without pooling
+ * <p>
+ * The pool counts the requests and the hits, the saved bytes are estimated by the compact layout of {@link java.lang.String}
+ *
+ * @author David Hsing
+ * @see java.lang.String#intern()
+ */
+@SuppressWarnings("unused")
+public final class StringPool {
+    private static final int STRING_OVERHEAD = 40;
+
+    private final boolean weak;
+    private final int capacity;
+    private final Stripe[] stripes;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder savedBytes = new LongAdder();
+
+    private StringPool(boolean weak, int capacity, int concurrency) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        // Round the stripe count down to a power of two, and split the remainder of the capacity exactly, so the shares sum to the capacity
+        int count = Integer.highestOneBit(Math.max(Math.min(concurrency, capacity), 1));
+        this.weak = weak;
+        this.capacity = capacity;
+        this.stripes = new Stripe[count];
+        int share = capacity / count, remainder = capacity % count;
+        for (int i = 0; i < count; i++) {
+            int limit = (i < remainder) ? share + 1 : share;
+            stripes[i] = weak ? new WeakStripe(limit) : new LruStripe(limit);
+        }
+    }
+
+    /**
+     * Returns a pool that evicts the least recently used strings
+     *
+     * @param capacity the maximum count of the strings
+     *
+     * @return a pool that evicts the least recently used strings
+     */
+    @Nonnull
+    public static StringPool lru(int capacity) {
+        return lru(capacity, defaultConcurrency());
+    }
+
+    @Nonnull
+    public static StringPool lru(int capacity, int concurrency) {
+        return new StringPool(false, capacity, concurrency);
+    }
+
+    /**
+     * Returns a pool that holds the strings weakly
+     *
+     * @param capacity the maximum count of the strings
+     *
+     * @return a pool that holds the strings weakly
+     */
+    @Nonnull
+    public static StringPool weak(int capacity) {
+        return weak(capacity, defaultConcurrency());
+    }
+
+    @Nonnull
+    public static StringPool weak(int capacity, int concurrency) {
+        return new StringPool(true, capacity, concurrency);
+    }
+
+    /**
+     * Returns the pooled instance that equals to the given string, the given string is pooled if absent
+     *
+     * @param text the string to deduplicate
+     *
+     * @return the pooled instance that equals to the given string
+     */
+    public String intern(@Nullable String text) {
+        if (text == null) {
+            return null;
+        }
+        requests.increment();
+        int hash = text.hashCode();
+        String result = stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)].intern(text);
+        if (result != text) {
+            hits.increment();
+            savedBytes.add(estimateBytes(result));
+        }
+        return result;
+    }
+
+    public boolean isWeak() {
+        return weak;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int size() {
+        int result = 0;
+        for (Stripe stripe : stripes) {
+            result += stripe.size();
+        }
+        return result;
+    }
+
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    @Nonnull
+    public Statistics getStatistics() {
+        return new Statistics(requests.sum(), hits.sum(), savedBytes.sum());
+    }
+
+    public void resetStatistics() {
+        requests.reset();
+        hits.reset();
+        savedBytes.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[mode=%s, capacity=%d, size=%d, %s]", getClass().getSimpleName(), weak ? "weak" : "lru", capacity, size(), getStatistics());    // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$
+    }
+
+    private static int defaultConcurrency() {
+        return Runtime.getRuntime().availableProcessors() * 4;
+    }
+
+    private static long estimateBytes(@Nonnull String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0xFF) {
+                return STRING_OVERHEAD + 2L * text.length();
+            }
+        }
+        return STRING_OVERHEAD + text.length();
+    }
+
+    /**
+     * Statistics of a pool
+     *
+     * @param requests the count of the interning requests
+     * @param hits the count of the requests that returned a pooled instance
+     * @param savedBytes the estimated bytes of the duplicate strings that could be reclaimed
+     */
+    public record Statistics(long requests, long hits, long savedBytes) {
+        /**
+         * Returns the ratio of the hits to the requests
+         *
+         * @return the ratio of the hits to the requests, or zero if no requests
+         */
+        public double dedupRatio() {
+            return (requests == 0L) ? 0.0D : (double) hits / requests;
+        }
+    }
+
+    private interface Stripe {
+        String intern(@Nonnull String text);
+
+        int size();
+
+        void clear();
+    }
+
+    private static final class LruStripe extends LinkedHashMap<String, String> implements Stripe {
+        private static final long serialVersionUID = 1L;
+
+        private final int limit;
+
+        private LruStripe(int limit) {
+            super(16, 0.75F, true);
+            this.limit = limit;
+        }
+
+        @Override
+        public synchronized String intern(@Nonnull String text) {
+            String result = get(text);
+            if (result == null) {
+                put(text, text);
+                return text;
+            }
+            return result;
+        }
+
+        @Override
+        public synchronized int size() {
+            return super.size();
+        }
+
+        @Override
+        public synchronized void clear() {
+            super.clear();
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return super.size() > limit;
+        }
+    }
+
+    private static final class WeakStripe implements Stripe {
+        private final int limit;
+        private final Map<String, WeakReference<String>> map = new WeakHashMap<>();
+
+        private WeakStripe(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public synchronized String intern(@Nonnull String text) {
+            WeakReference<String> reference = map.get(text);
+            String result = (reference == null) ? null : reference.get();
+            if (result != null) {
+                return result;
+            }
+            if (map.size() < limit) {
+                map.put(text, new WeakReference<>(text));
+            }
+            return text;
+        }
+
+        @Override
+        public synchronized int size() {
+            return map.size();
+        }
+
+        @Override
+        public synchronized void clear() {
+            map.clear();
+        }
+    }
+}
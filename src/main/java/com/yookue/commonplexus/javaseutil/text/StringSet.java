@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.text;
+
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+
+/**
+ * Immutable set of strings, which tests the membership of a sequence exactly or case-insensitively by hashing
+ * <p>
+ * The exact and case-folded hash tables are built once on constructing, so that each test costs a single lookup rather than comparing with all the elements.
+ * The lookups hash the characters of the sequence in place, the prefixes and suffixes of a sequence are tested without copying them, one lookup per distinct element length.
+ * The case-insensitive comparison is the same as {@link java.lang.String#equalsIgnoreCase(String)}
+ *
+ * @author David Hsing
+ * @see com.yookue.commonplexus.javaseutil.util.StringUtilsWraps
+ */
+@SuppressWarnings("unused")
+public final class StringSet implements Iterable<String> {
+    private static final StringSet EMPTY = new StringSet(Collections.emptySet());
+
+    private final String[] elements;
+    private final int[] lengths;
+    private final int[] exactTable;
+    private final int[] foldedTable;
+    private final int mask;
+
+    private StringSet(@Nonnull Set<String> elements) {
+        this.elements = elements.toArray(new String[0]);
+        this.lengths = elements.stream().mapToInt(String::length).distinct().sorted().toArray();
+        int capacity = Integer.highestOneBit(Math.max(this.elements.length, 1) * 2 - 1) << 1;
+        this.mask = capacity - 1;
+        this.exactTable = new int[capacity];
+        this.foldedTable = new int[capacity];
+        for (int i = 0; i < this.elements.length; i++) {
+            String element = this.elements[i];
+            put(exactTable, hash(element, 0, element.length(), false), i);
+            if (indexOf(foldedTable, element, 0, element.length(), true) < 0) {
+                put(foldedTable, hash(element, 0, element.length(), true), i);
+            }
+        }
+    }
+
+    @Nonnull
+    public static StringSet of(@Nullable CharSequence... elements) {
+        return (elements == null || elements.length == 0) ? EMPTY : of(Arrays.asList(elements));
+    }
+
+    /**
+     * Returns a set of the given elements, the null elements are ignored
+     *
+     * @param elements the elements of the set
+     *
+     * @return a set of the given elements
+     */
+    @Nonnull
+    public static StringSet of(@Nullable Collection<? extends CharSequence> elements) {
+        if (elements == null || elements.isEmpty()) {
+            return EMPTY;
+        }
+        Set<String> result = new LinkedHashSet<>(elements.size());
+        for (CharSequence element : elements) {
+            if (element != null) {
+                result.add(element.toString());
+            }
+        }
+        return result.isEmpty() ? EMPTY : new StringSet(result);
+    }
+
+    public int size() {
+        return elements.length;
+    }
+
+    public boolean isEmpty() {
+        return elements.length == 0;
+    }
+
+    public boolean contains(@Nullable CharSequence sequence) {
+        return sequence != null && indexOf(exactTable, sequence, 0, sequence.length(), false) >= 0;
+    }
+
+    public boolean containsIgnoreCase(@Nullable CharSequence sequence) {
+        return sequence != null && indexOf(foldedTable, sequence, 0, sequence.length(), true) >= 0;
+    }
+
+    /**
+     * Returns whether the given sequence starts with any element
+     *
+     * @param sequence the sequence to check
+     *
+     * @return whether the given sequence starts with any element
+     */
+    public boolean isPrefixOf(@Nullable CharSequence sequence) {
+        return matchesAffix(sequence, true, false);
+    }
+
+    public boolean isPrefixOfIgnoreCase(@Nullable CharSequence sequence) {
+        return matchesAffix(sequence, true, true);
+    }
+
+    /**
+     * Returns whether the given sequence ends with any element
+     *
+     * @param sequence the sequence to check
+     *
+     * @return whether the given sequence ends with any element
+     */
+    public boolean isSuffixOf(@Nullable CharSequence sequence) {
+        return matchesAffix(sequence, false, false);
+    }
+
+    public boolean isSuffixOfIgnoreCase(@Nullable CharSequence sequence) {
+        return matchesAffix(sequence, false, true);
+    }
+
+    @Nonnull
+    public List<String> toList() {
+        return List.of(elements);
+    }
+
+    @Nonnull
+    @Override
+    public Iterator<String> iterator() {
+        return toList().iterator();
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(elements);
+    }
+
+    private boolean matchesAffix(@Nullable CharSequence sequence, boolean prefix, boolean ignoreCase) {
+        if (sequence == null) {
+            return false;
+        }
+        int total = sequence.length();
+        int[] table = ignoreCase ? foldedTable : exactTable;
+        for (int length : lengths) {
+            if (length > total) {
+                break;
+            }
+            int from = prefix ? 0 : total - length;
+            if (indexOf(table, sequence, from, from + length, ignoreCase) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int indexOf(@Nonnull int[] table, @Nonnull CharSequence sequence, int from, int to, boolean ignoreCase) {
+        for (int slot = hash(sequence, from, to, ignoreCase) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            int index = table[slot] - 1;
+            if (regionEquals(elements[index], sequence, from, to, ignoreCase)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private void put(@Nonnull int[] table, int hash, int index) {
+        int slot = hash & mask;
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = index + 1;
+    }
+
+    private static int hash(@Nonnull CharSequence sequence, int from, int to, boolean ignoreCase) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            result = 31 * result + (ignoreCase ? fold(sequence.charAt(i)) : sequence.charAt(i));
+        }
+        return result ^ (result >>> 16);
+    }
+
+    private static boolean regionEquals(@Nonnull String element, @Nonnull CharSequence sequence, int from, int to, boolean ignoreCase) {
+        if (element.length() != to - from) {
+            return false;
+        }
+        if (!ignoreCase && sequence instanceof String text) {
+            return element.regionMatches(0, text, from, to - from);
+        }
+        for (int i = 0; i < element.length(); i++) {
+            char left = element.charAt(i), right = sequence.charAt(from + i);
+            if (left != right && (!ignoreCase || fold(left) != fold(right))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char fold(char ch) {
+        return Character.toLowerCase(Character.toUpperCase(ch));
+    }
+}
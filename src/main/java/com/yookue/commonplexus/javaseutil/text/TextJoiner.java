@@ -0,0 +1,384 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.text;
+
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Predicate;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.apache.commons.lang3.StringUtils;
+import com.yookue.commonplexus.javaseutil.util.ObjectUtilsWraps;
+
+
+/**
+ * Joiner that joins the elements with a delimiter, and a prefix and suffix for each element
+ * <p>
+ * The constant parts are resolved once on constructing, the capacity of the output is estimated up front by sampling the elements,
+ * and the primitive arrays are appended without boxing.
+ * The elements are converted by {@link com.yookue.commonplexus.javaseutil.util.ObjectUtilsWraps#toString(Object, String)},
+ * the null elements are treated as empty strings
+ *
+ * @author David Hsing
+ * @see com.yookue.commonplexus.javaseutil.util.StringUtilsWraps
+ */
+@SuppressWarnings("unused")
+public final class TextJoiner {
+    private static final int SAMPLE_SIZE = 16;
+    private static final int DEFAULT_ELEMENT_LENGTH = 16;
+    private static final int MAXIMUM_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private final String delimiter;
+    private final String prefix;
+    private final String suffix;
+
+    private TextJoiner(@Nonnull String delimiter, @Nonnull String prefix, @Nonnull String suffix) {
+        this.delimiter = delimiter;
+        this.prefix = prefix;
+        this.suffix = suffix;
+    }
+
+    @Nonnull
+    public static TextJoiner of(char delimiter) {
+        return new TextJoiner(String.valueOf(delimiter), StringUtils.EMPTY, StringUtils.EMPTY);
+    }
+
+    @Nonnull
+    public static TextJoiner of(@Nullable CharSequence delimiter) {
+        return of(delimiter, null, null);
+    }
+
+    /**
+     * Returns a joiner with the given delimiter, prefix and suffix, null treated as empty string
+     *
+     * @param delimiter the delimiter between the elements
+     * @param prefix the prefix for each element
+     * @param suffix the suffix for each element
+     *
+     * @return a joiner with the given delimiter, prefix and suffix
+     */
+    @Nonnull
+    public static TextJoiner of(@Nullable CharSequence delimiter, @Nullable CharSequence prefix, @Nullable CharSequence suffix) {
+        return new TextJoiner(Objects.toString(delimiter, StringUtils.EMPTY), Objects.toString(prefix, StringUtils.EMPTY), Objects.toString(suffix, StringUtils.EMPTY));
+    }
+
+    @Nonnull
+    public String getDelimiter() {
+        return delimiter;
+    }
+
+    @Nonnull
+    public String getPrefix() {
+        return prefix;
+    }
+
+    @Nonnull
+    public String getSuffix() {
+        return suffix;
+    }
+
+    /**
+     * Returns the joined elements, or null if the collection is null or empty
+     *
+     * @param collection the elements to join
+     *
+     * @return the joined elements, or null if the collection is null or empty
+     */
+    @Nullable
+    public String join(@Nullable Collection<?> collection) {
+        return (collection == null || collection.isEmpty()) ? null : appendTo(new StringBuilder(), collection).toString();
+    }
+
+    /**
+     * Returns the joined elements that accepted by the filter, or null if there are no such elements
+     *
+     * @param collection the elements to join
+     * @param filter the filter of the elements
+     *
+     * @return the joined elements that accepted by the filter, or null if there are no such elements
+     */
+    @Nullable
+    public <T> String join(@Nullable Collection<T> collection, @Nonnull Predicate<? super T> filter) {
+        if (collection == null || collection.isEmpty()) {
+            return null;
+        }
+        StringBuilder builder = new StringBuilder(estimateCapacity(collection.size(), sampleLength(collection)));
+        int count = 0;
+        for (T element : collection) {
+            if (filter.test(element)) {
+                if (count++ > 0) {
+                    builder.append(delimiter);
+                }
+                appendElement(builder, element);
+            }
+        }
+        return (count == 0) ? null : builder.toString();
+    }
+
+    @Nullable
+    public String join(@Nullable Object[] objects) {
+        return (objects == null || objects.length == 0) ? null : appendTo(new StringBuilder(), objects).toString();
+    }
+
+    @Nullable
+    public <T> String join(@Nullable T[] objects, @Nonnull Predicate<? super T> filter) {
+        if (objects == null || objects.length == 0) {
+            return null;
+        }
+        StringBuilder builder = new StringBuilder(estimateCapacity(objects.length, sampleLength(objects)));
+        int count = 0;
+        for (T element : objects) {
+            if (filter.test(element)) {
+                if (count++ > 0) {
+                    builder.append(delimiter);
+                }
+                appendElement(builder, element);
+            }
+        }
+        return (count == 0) ? null : builder.toString();
+    }
+
+    @Nullable
+    public String join(@Nullable long[] values) {
+        return (values == null || values.length == 0) ? null : appendTo(new StringBuilder(), values).toString();
+    }
+
+    @Nullable
+    public String join(@Nullable int[] values) {
+        return (values == null || values.length == 0) ? null : appendTo(new StringBuilder(), values).toString();
+    }
+
+    /**
+     * Appends the joined elements to the builder, which is enlarged to the estimated capacity first
+     *
+     * @param builder the builder to append to
+     * @param collection the elements to join
+     *
+     * @return the given builder
+     */
+    @Nonnull
+    public StringBuilder appendTo(@Nonnull StringBuilder builder, @Nullable Collection<?> collection) {
+        if (collection == null || collection.isEmpty()) {
+            return builder;
+        }
+        builder.ensureCapacity(builder.length() + estimateCapacity(collection.size(), sampleLength(collection)));
+        boolean first = true;
+        for (Object element : collection) {
+            if (!first) {
+                builder.append(delimiter);
+            }
+            appendElement(builder, element);
+            first = false;
+        }
+        return builder;
+    }
+
+    @Nonnull
+    public StringBuilder appendTo(@Nonnull StringBuilder builder, @Nullable Object[] objects) {
+        if (objects == null || objects.length == 0) {
+            return builder;
+        }
+        builder.ensureCapacity(builder.length() + estimateCapacity(objects.length, sampleLength(objects)));
+        for (int i = 0; i < objects.length; i++) {
+            if (i > 0) {
+                builder.append(delimiter);
+            }
+            appendElement(builder, objects[i]);
+        }
+        return builder;
+    }
+
+    @Nonnull
+    public StringBuilder appendTo(@Nonnull StringBuilder builder, @Nullable long[] values) {
+        if (values == null || values.length == 0) {
+            return builder;
+        }
+        int length = 0, step = Math.max(values.length / SAMPLE_SIZE, 1), samples = 0;
+        for (int i = 0; i < values.length; i += step, samples++) {
+            length += stringSize(values[i]);
+        }
+        builder.ensureCapacity(builder.length() + estimateCapacity(values.length, length / samples + 1));
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                builder.append(delimiter);
+            }
+            builder.append(prefix).append(values[i]).append(suffix);
+        }
+        return builder;
+    }
+
+    @Nonnull
+    public StringBuilder appendTo(@Nonnull StringBuilder builder, @Nullable int[] values) {
+        if (values == null || values.length == 0) {
+            return builder;
+        }
+        int length = 0, step = Math.max(values.length / SAMPLE_SIZE, 1), samples = 0;
+        for (int i = 0; i < values.length; i += step, samples++) {
+            length += stringSize(values[i]);
+        }
+        builder.ensureCapacity(builder.length() + estimateCapacity(values.length, length / samples + 1));
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                builder.append(delimiter);
+            }
+            builder.append(prefix).append(values[i]).append(suffix);
+        }
+        return builder;
+    }
+
+    /**
+     * Appends the joined elements to the appendable, such as a {@link java.io.Writer}
+     *
+     * @param appendable the appendable to append to
+     * @param collection the elements to join
+     *
+     * @return the given appendable
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Nonnull
+    public <A extends Appendable> A appendTo(@Nonnull A appendable, @Nullable Collection<?> collection) throws IOException {
+        if (appendable instanceof StringBuilder builder) {
+            appendTo(builder, collection);
+            return appendable;
+        }
+        if (collection == null || collection.isEmpty()) {
+            return appendable;
+        }
+        boolean first = true;
+        for (Object element : collection) {
+            if (!first) {
+                appendable.append(delimiter);
+            }
+            appendable.append(prefix).append(toSequence(element)).append(suffix);
+            first = false;
+        }
+        return appendable;
+    }
+
+    @Nonnull
+    public <A extends Appendable> A appendTo(@Nonnull A appendable, @Nullable Object[] objects) throws IOException {
+        if (appendable instanceof StringBuilder builder) {
+            appendTo(builder, objects);
+            return appendable;
+        }
+        if (objects == null) {
+            return appendable;
+        }
+        for (int i = 0; i < objects.length; i++) {
+            if (i > 0) {
+                appendable.append(delimiter);
+            }
+            appendable.append(prefix).append(toSequence(objects[i])).append(suffix);
+        }
+        return appendable;
+    }
+
+    @Nonnull
+    public <A extends Appendable> A appendTo(@Nonnull A appendable, @Nullable long[] values) throws IOException {
+        if (appendable instanceof StringBuilder builder) {
+            appendTo(builder, values);
+            return appendable;
+        }
+        if (values == null) {
+            return appendable;
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                appendable.append(delimiter);
+            }
+            appendable.append(prefix).append(Long.toString(values[i])).append(suffix);
+        }
+        return appendable;
+    }
+
+    @Nonnull
+    public <A extends Appendable> A appendTo(@Nonnull A appendable, @Nullable int[] values) throws IOException {
+        if (appendable instanceof StringBuilder builder) {
+            appendTo(builder, values);
+            return appendable;
+        }
+        if (values == null) {
+            return appendable;
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                appendable.append(delimiter);
+            }
+            appendable.append(prefix).append(Integer.toString(values[i])).append(suffix);
+        }
+        return appendable;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TextJoiner[delimiter=%s, prefix=%s, suffix=%s]", delimiter, prefix, suffix);    // $NON-NLS-1$
+    }
+
+    private void appendElement(@Nonnull StringBuilder builder, @Nullable Object element) {
+        builder.append(prefix);
+        if (element instanceof CharSequence sequence) {
+            builder.append(sequence);
+        } else if (element != null) {
+            builder.append(ObjectUtilsWraps.toString(element, StringUtils.EMPTY));
+        }
+        builder.append(suffix);
+    }
+
+    @Nonnull
+    private static CharSequence toSequence(@Nullable Object element) {
+        return (element instanceof CharSequence sequence) ? sequence : ObjectUtilsWraps.toString(element, StringUtils.EMPTY);
+    }
+
+    private int estimateCapacity(int count, int elementLength) {
+        long capacity = (long) count * (elementLength + prefix.length() + suffix.length()) + (long) (count - 1) * delimiter.length();
+        return (int) Math.min(capacity, MAXIMUM_CAPACITY);
+    }
+
+    /**
+     * Returns the average length of the leading character sequences, or a default length for the other objects
+     */
+    private static int sampleLength(@Nonnull Iterable<?> elements) {
+        int length = 0, samples = 0;
+        for (Object element : elements) {
+            if (samples == SAMPLE_SIZE) {
+                break;
+            }
+            length += (element instanceof CharSequence sequence) ? sequence.length() : DEFAULT_ELEMENT_LENGTH;
+            samples++;
+        }
+        return (samples == 0) ? DEFAULT_ELEMENT_LENGTH : length / samples + 1;
+    }
+
+    private static int sampleLength(@Nonnull Object[] elements) {
+        int length = 0, samples = Math.min(elements.length, SAMPLE_SIZE);
+        for (int i = 0; i < samples; i++) {
+            length += (elements[i] instanceof CharSequence sequence) ? sequence.length() : DEFAULT_ELEMENT_LENGTH;
+        }
+        return (samples == 0) ? DEFAULT_ELEMENT_LENGTH : length / samples + 1;
+    }
+
+    private static int stringSize(long value) {
+        int size = (value < 0L) ? 2 : 1;
+        for (long remain = Math.abs(value / 10L); remain > 0L; remain /= 10L) {
+            size++;
+        }
+        return size;
+    }
+}
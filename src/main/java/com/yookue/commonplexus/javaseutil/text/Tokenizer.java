@@ -0,0 +1,394 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.text;
+
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.apache.commons.lang3.StringUtils;
+import com.yookue.commonplexus.javaseutil.regex.CharClass;
+
+
+/**
+ * Tokenizer that splits a text into {@link com.yookue.commonplexus.javaseutil.text.CharSlice} views lazily, without copying the characters
+ * <p>
+ * The splitting follows {@link org.apache.commons.lang3.StringUtils#split(String, String, int)}:
+ * each character of the delimiter is a separator, null delimiter means whitespaces, adjacent separators are treated as one,
+ * and the last token contains the remaining text once the maximum count is reached.
+ * If trimming is enabled, each token is trimmed as {@link java.lang.String#trim()}
+ *
+ * @author David Hsing
+ * @see org.apache.commons.lang3.StringUtils#split(String, String, int)
+ * @see com.yookue.commonplexus.javaseutil.util.StringUtilsWraps#splitBy(String, CharSequence, boolean, int)
+ */
+@SuppressWarnings("unused")
+public final class Tokenizer implements Iterable<CharSequence> {
+    private static final CharClass WHITESPACE = CharClass.of(Character::isWhitespace);
+
+    private final CharSequence text;
+    private final char separator;
+    private final CharClass separators;
+    private final boolean trim;
+    private final int max;
+    private final StringPool pool;
+
+    private Tokenizer(@Nonnull CharSequence text, char separator, @Nullable CharClass separators, boolean trim, int max, @Nullable StringPool pool) {
+        this.text = text;
+        this.separator = separator;
+        this.separators = separators;
+        this.trim = trim;
+        this.max = max;
+        this.pool = pool;
+    }
+
+    /**
+     * Returns a tokenizer of the given text, split by the given separator
+     *
+     * @param text the text to split, null treated as empty
+     * @param separator the separator character
+     *
+     * @return a tokenizer of the given text, split by the given separator
+     */
+    @Nonnull
+    public static Tokenizer of(@Nullable CharSequence text, char separator) {
+        return new Tokenizer(StringUtils.defaultIfEmpty(text, StringUtils.EMPTY), separator, null, false, 0, null);
+    }
+
+    /**
+     * Returns a tokenizer of the given text, split by any character of the given delimiter
+     *
+     * @param text the text to split, null treated as empty
+     * @param delimiter the separator characters, null means whitespaces
+     *
+     * @return a tokenizer of the given text, split by any character of the given delimiter
+     */
+    @Nonnull
+    public static Tokenizer of(@Nullable CharSequence text, @Nullable CharSequence delimiter) {
+        CharSequence source = StringUtils.defaultIfEmpty(text, StringUtils.EMPTY);
+        if (delimiter == null) {
+            return new Tokenizer(source, Character.MIN_VALUE, WHITESPACE, false, 0, null);
+        }
+        if (delimiter.length() == 1) {
+            return new Tokenizer(source, delimiter.charAt(0), null, false, 0, null);
+        }
+        String chars = delimiter.toString();
+        return new Tokenizer(source, Character.MIN_VALUE, CharClass.of(ch -> chars.indexOf(ch) >= 0), false, 0, null);
+    }
+
+    /**
+     * Returns a tokenizer that trims each token or not
+     *
+     * @param trim whether to trim each token
+     *
+     * @return a tokenizer that trims each token or not
+     */
+    @Nonnull
+    public Tokenizer withTrim(boolean trim) {
+        return (trim == this.trim) ? this : new Tokenizer(text, separator, separators, trim, max, pool);
+    }
+
+    /**
+     * Returns a tokenizer that splits at most the given count of tokens
+     *
+     * @param max the maximum count of tokens, zero or negative means no limit
+     *
+     * @return a tokenizer that splits at most the given count of tokens
+     */
+    @Nonnull
+    public Tokenizer withMax(int max) {
+        int limit = Math.max(max, 0);
+        return (limit == this.max) ? this : new Tokenizer(text, separator, separators, trim, limit, pool);
+    }
+
+    /**
+     * Returns a tokenizer that deduplicates the string tokens by the given pool, for {@link #toArray()}, {@link #toList()} and {@link #toSet()}
+     *
+     * @param pool the pool of the string tokens, null means no deduplication
+     *
+     * @return a tokenizer that deduplicates the string tokens by the given pool
+     */
+    @Nonnull
+    public Tokenizer withPool(@Nullable StringPool pool) {
+        return (pool == this.pool) ? this : new Tokenizer(text, separator, separators, trim, max, pool);
+    }
+
+    @Nonnull
+    public CharSequence getText() {
+        return text;
+    }
+
+    public boolean isTrim() {
+        return trim;
+    }
+
+    public int getMax() {
+        return max;
+    }
+
+    @Nonnull
+    @Override
+    public Iterator<CharSequence> iterator() {
+        Cursor cursor = new Cursor();
+        return new Iterator<>() {
+            private boolean advanced;
+            private boolean available;
+
+            @Override
+            public boolean hasNext() {
+                if (!advanced) {
+                    available = cursor.advance();
+                    advanced = true;
+                }
+                return available;
+            }
+
+            @Override
+            public CharSequence next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                advanced = false;
+                return cursor.slice();
+            }
+        };
+    }
+
+    @Nonnull
+    @Override
+    public Spliterator<CharSequence> spliterator() {
+        Cursor cursor = new Cursor();
+        return new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE) {
+            @Override
+            public boolean tryAdvance(Consumer<? super CharSequence> action) {
+                if (!cursor.advance()) {
+                    return false;
+                }
+                action.accept(cursor.slice());
+                return true;
+            }
+
+            @Override
+            public void forEachRemaining(Consumer<? super CharSequence> action) {
+                while (cursor.advance()) {
+                    action.accept(cursor.slice());
+                }
+            }
+        };
+    }
+
+    @Nonnull
+    public Stream<CharSequence> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a stream of the token offsets, each token contributes its start index (inclusive) and end index (exclusive) in turn
+     *
+     * @return a stream of the token offsets
+     */
+    @Nonnull
+    public IntStream offsets() {
+        Cursor cursor = new Cursor();
+        Spliterator.OfInt spliterator = new Spliterators.AbstractIntSpliterator(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE) {
+            private boolean pending;
+
+            @Override
+            public boolean tryAdvance(IntConsumer action) {
+                if (pending) {
+                    pending = false;
+                    action.accept(cursor.end);
+                    return true;
+                }
+                if (!cursor.advance()) {
+                    return false;
+                }
+                pending = true;
+                action.accept(cursor.start);
+                return true;
+            }
+        };
+        return StreamSupport.intStream(spliterator, false);
+    }
+
+    @Override
+    public void forEach(@Nonnull Consumer<? super CharSequence> action) {
+        Cursor cursor = new Cursor();
+        while (cursor.advance()) {
+            action.accept(cursor.slice());
+        }
+    }
+
+    /**
+     * Performs the given action for each token range
+     *
+     * @param action the action that accepts the start index (inclusive) and end index (exclusive) of each token
+     */
+    public void forEachRange(@Nonnull RangeConsumer action) {
+        Cursor cursor = new Cursor();
+        while (cursor.advance()) {
+            action.accept(cursor.start, cursor.end);
+        }
+    }
+
+    public int count() {
+        Cursor cursor = new Cursor();
+        int result = 0;
+        while (cursor.advance()) {
+            result++;
+        }
+        return result;
+    }
+
+    @Nonnull
+    public String[] toArray() {
+        return toList().toArray(String[]::new);
+    }
+
+    /**
+     * Returns a modifiable list of the tokens
+     *
+     * @return a modifiable list of the tokens
+     */
+    @Nonnull
+    public List<String> toList() {
+        List<String> result = new ArrayList<>();
+        Cursor cursor = new Cursor();
+        while (cursor.advance()) {
+            result.add(cursor.string());
+        }
+        return result;
+    }
+
+    /**
+     * Returns an unmodifiable set of the tokens, in encounter order
+     *
+     * @return an unmodifiable set of the tokens, in encounter order
+     */
+    @Nonnull
+    public Set<String> toSet() {
+        Set<String> result = new LinkedHashSet<>();
+        Cursor cursor = new Cursor();
+        while (cursor.advance()) {
+            result.add(cursor.string());
+        }
+        return Collections.unmodifiableSet(result);
+    }
+
+    /**
+     * Performs the given action for each token of the given text
+     *
+     * @param text the text to split
+     * @param delimiter the separator characters, null means whitespaces
+     * @param trim whether to trim each token
+     * @param action the action for each token
+     */
+    public static void forEachToken(@Nullable CharSequence text, @Nullable CharSequence delimiter, boolean trim, @Nonnull Consumer<? super CharSequence> action) {
+        if (StringUtils.isNotEmpty(text)) {
+            of(text, delimiter).withTrim(trim).forEach(action);
+        }
+    }
+
+    /**
+     * Performs the given action for each token of the given text
+     *
+     * @param text the text to split
+     * @param separator the separator character
+     * @param trim whether to trim each token
+     * @param action the action for each token
+     */
+    public static void forEachToken(@Nullable CharSequence text, char separator, boolean trim, @Nonnull Consumer<? super CharSequence> action) {
+        if (StringUtils.isNotEmpty(text)) {
+            of(text, separator).withTrim(trim).forEach(action);
+        }
+    }
+
+    private boolean isSeparator(char ch) {
+        return (separators == null) ? ch == separator : separators.contains(ch);
+    }
+
+    /**
+     * Consumer of a token range
+     */
+    @FunctionalInterface
+    public interface RangeConsumer {
+        void accept(int start, int end);
+    }
+
+    /**
+     * Forward-only scanning state of a traversal
+     */
+    private final class Cursor {
+        private int position;
+        private int count;
+        private int start;
+        private int end;
+
+        private boolean advance() {
+            int length = text.length();
+            while (position < length && isSeparator(text.charAt(position))) {
+                position++;
+            }
+            if (position >= length) {
+                return false;
+            }
+            start = position;
+            if (max > 0 && count == max - 1) {
+                position = length;
+            } else {
+                while (position < length && !isSeparator(text.charAt(position))) {
+                    position++;
+                }
+            }
+            end = position;
+            count++;
+            if (trim) {
+                while (start < end && text.charAt(start) <= ' ') {
+                    start++;
+                }
+                while (end > start && text.charAt(end - 1) <= ' ') {
+                    end--;
+                }
+            }
+            return true;
+        }
+
+        @Nonnull
+        private CharSlice slice() {
+            return CharSlice.of(text, start, end);
+        }
+
+        @Nonnull
+        private String string() {
+            String result = (text instanceof String string) ? string.substring(start, end) : text.subSequence(start, end).toString();
+            return (pool == null) ? result : pool.intern(result);
+        }
+    }
+}
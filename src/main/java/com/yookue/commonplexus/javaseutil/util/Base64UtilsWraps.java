@@ -44,6 +44,8 @@ import com.yookue.commonplexus.javaseutil.constant.RegexVariantConst;
  */
 @SuppressWarnings({"unused", "BooleanMethodIsAlwaysInverted", "UnusedReturnValue"})
 public abstract class Base64UtilsWraps {
+    private static final Pattern BASE64_IMAGE = Pattern.compile(RegexVariantConst.BASE64_IMAGE, Pattern.CASE_INSENSITIVE);
+
     public static String decodeToString(@Nullable String text, @Nullable Charset charset) {
         return StringUtils.isEmpty(text) ? text : StringUtils.toEncodedString(Base64.decodeBase64(text), charset);
     }
@@ -130,8 +132,7 @@ public abstract class Base64UtilsWraps {
         if (StringUtils.isBlank(base64) || stream == null || NumberUtilsWraps.anyNotPositive(width, height)) {
             return false;
         }
-        Pattern pattern = Pattern.compile(RegexVariantConst.BASE64_IMAGE, Pattern.CASE_INSENSITIVE);
-        Matcher matcher = pattern.matcher(base64);
+        Matcher matcher = BASE64_IMAGE.matcher(base64);
         if (!matcher.matches() || matcher.end() >= base64.length()) {
             return false;
         }
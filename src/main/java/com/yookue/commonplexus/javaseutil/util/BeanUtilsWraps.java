@@ -18,23 +18,33 @@ package com.yookue.commonplexus.javaseutil.util;
 
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
-import org.apache.commons.beanutils2.BeanMap;
-import org.apache.commons.beanutils2.BeanUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import com.yookue.commonplexus.javaseutil.annotation.BeanCopyIgnore;
 import com.yookue.commonplexus.javaseutil.annotation.ViewSubmitIgnore;
+import com.yookue.commonplexus.javaseutil.bean.BeanCopier;
+import com.yookue.commonplexus.javaseutil.bean.BeanMapView;
+import com.yookue.commonplexus.javaseutil.bean.MapBinder;
+import com.yookue.commonplexus.javaseutil.bean.PropertyPath;
 import com.yookue.commonplexus.javaseutil.constant.JavaKeywordConst;
 import com.yookue.commonplexus.javaseutil.exception.BeanInvocationException;
 import com.yookue.commonplexus.javaseutil.structure.BooleanDataStruct;
+import com.yookue.commonplexus.javaseutil.text.StringSet;
 
 
 /**
@@ -44,10 +54,16 @@ import com.yookue.commonplexus.javaseutil.structure.BooleanDataStruct;
  * @reference "https://gitbox.apache.org/repos/asf?p=commons-beanutils.git;a=tree"
  * @see org.apache.commons.beanutils2.BeanUtils
  * @see org.apache.commons.beanutils2.BeanUtilsBean
- * @see org.apache.commons.beanutils2.BeanMap
+ * @see com.yookue.commonplexus.javaseutil.bean.BeanMapView
+ * @see com.yookue.commonplexus.javaseutil.bean.BeanCopier
  */
 @SuppressWarnings({"unused", "BooleanMethodIsAlwaysInverted", "UnusedReturnValue", "JavadocDeclaration", "JavadocLinkAsPlainText"})
 public abstract class BeanUtilsWraps {
+    /**
+     * The default max size of the elements that processed sequentially by the parallel methods
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1024;
+
     static {
         BeanIntrospectorWraps.initPropertyIntrospectors();
     }
@@ -56,21 +72,21 @@ public abstract class BeanUtilsWraps {
         if (ObjectUtils.anyNull(target, source)) {
             return;
         }
-        mapToBean(target, new BeanMap(source));
+        BeanCopier.of(source.getClass(), target.getClass()).copy(target, source);
     }
 
     public static void copyProperties(@Nullable Object target, @Nullable Object source, BiPredicate<String, Object> filter) throws BeanInvocationException {
-        if (ObjectUtils.anyNull(target, source)) {
+        if (ObjectUtils.anyNull(target, source, filter)) {
             return;
         }
-        mapToBean(target, new BeanMap(source), filter);
+        BeanCopier.of(source.getClass(), target.getClass()).copy(target, source, filter);
     }
 
     public static void copyProperties(@Nullable Object target, @Nullable Object source, BiFunction<String, Object, BooleanDataStruct<Object>> action) throws BeanInvocationException {
-        if (ObjectUtils.anyNull(target, source)) {
+        if (ObjectUtils.anyNull(target, source, action)) {
             return;
         }
-        mapToBean(target, new BeanMap(source), action);
+        BeanCopier.of(source.getClass(), target.getClass()).copy(target, source, action);
     }
 
     public static void copyPropertiesExclusive(@Nullable Object target, @Nullable Object source, @Nullable String... fields) throws BeanInvocationException {
@@ -85,7 +101,7 @@ public abstract class BeanUtilsWraps {
         if (ObjectUtils.anyNull(target, source)) {
             return;
         }
-        mapToBeanExclusive(target, new BeanMap(source), fields, allowEmptyValue);
+        BeanCopier.of(source.getClass(), target.getClass()).copyExclusive(target, source, fields, allowEmptyValue);
     }
 
     public static void copyPropertiesInclusive(@Nullable Object target, @Nullable Object source, @Nullable String... fields) throws BeanInvocationException {
@@ -100,7 +116,7 @@ public abstract class BeanUtilsWraps {
         if (ObjectUtils.anyNull(target, source) || CollectionPlainWraps.isEmpty(fields)) {
             return;
         }
-        mapToBeanInclusive(target, new BeanMap(source), fields, allowEmptyValue);
+        BeanCopier.of(source.getClass(), target.getClass()).copyInclusive(target, source, fields, allowEmptyValue);
     }
 
     public static void copyPropertiesQuietly(@Nullable Object target, @Nullable Object source) {
@@ -166,6 +182,120 @@ public abstract class BeanUtilsWraps {
         }
     }
 
+    /**
+     * Returns a list of beans that copied from the given sources, with the property plan resolved once per class pair
+     *
+     * @param sources the source beans
+     * @param supplier the supplier to create the target beans
+     *
+     * @return a list of beans that copied from the given sources, with the same size and order of the sources
+     */
+    @Nullable
+    public static <S, T> List<T> copyAll(@Nullable Collection<S> sources, @Nullable Supplier<T> supplier) throws BeanInvocationException {
+        return copyAllParallel(sources, supplier, Integer.MAX_VALUE, null);
+    }
+
+    @Nullable
+    public static <S, T> List<T> copyAllParallel(@Nullable Collection<S> sources, @Nullable Supplier<T> supplier) throws BeanInvocationException {
+        return copyAllParallel(sources, supplier, DEFAULT_PARALLEL_THRESHOLD, null);
+    }
+
+    /**
+     * Returns a list of beans that copied from the given sources, with the property plan resolved once per class pair
+     *
+     * @param sources the source beans
+     * @param supplier the supplier to create the target beans
+     * @param threshold the max size of the sources that copied sequentially, larger sources will be split across the pool
+     * @param pool the pool to execute the split tasks, defaults to {@link java.util.concurrent.ForkJoinPool#commonPool()}
+     *
+     * @return a list of beans that copied from the given sources, with the same size and order of the sources
+     */
+    @Nullable
+    public static <S, T> List<T> copyAllParallel(@Nullable Collection<S> sources, @Nullable Supplier<T> supplier, int threshold, @Nullable ForkJoinPool pool) throws BeanInvocationException {
+        if (sources == null || supplier == null) {
+            return null;
+        }
+        if (sources.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // Resolve the copier of the leading class pair before forking, the probe target is handed to the first element that claims it
+        S first = sources.iterator().next();
+        T probe = supplier.get();
+        BeanCopier copier = ObjectUtils.anyNull(first, probe) ? null : BeanCopier.of(first.getClass(), probe.getClass());
+        AtomicReference<T> spare = new AtomicReference<>(probe);
+        return mapAll(sources, source -> {
+            T target = (spare.get() != null) ? spare.getAndSet(null) : null;
+            if (target == null) {
+                target = supplier.get();
+            }
+            copyProperties(copier, target, source);
+            return target;
+        }, threshold, pool);
+    }
+
+    private static void copyProperties(@Nullable BeanCopier copier, @Nullable Object target, @Nullable Object source) throws BeanInvocationException {
+        if (ObjectUtils.anyNull(target, source)) {
+            return;
+        }
+        if (copier != null && copier.getSourceClass() == source.getClass() && copier.getTargetClass() == target.getClass()) {
+            copier.copy(target, source);
+        } else {
+            BeanCopier.of(source.getClass(), target.getClass()).copy(target, source);
+        }
+    }
+
+    @Nullable
+    public static <T> List<T> mapToBeanAll(@Nullable Collection<? extends Map<String, ?>> maps, @Nullable Supplier<T> supplier) throws BeanInvocationException {
+        return mapToBeanAllParallel(maps, supplier, Integer.MAX_VALUE, null);
+    }
+
+    @Nullable
+    public static <T> List<T> mapToBeanAllParallel(@Nullable Collection<? extends Map<String, ?>> maps, @Nullable Supplier<T> supplier) throws BeanInvocationException {
+        return mapToBeanAllParallel(maps, supplier, DEFAULT_PARALLEL_THRESHOLD, null);
+    }
+
+    @Nullable
+    public static <T> List<T> mapToBeanAllParallel(@Nullable Collection<? extends Map<String, ?>> maps, @Nullable Supplier<T> supplier, int threshold, @Nullable ForkJoinPool pool) throws BeanInvocationException {
+        if (maps == null || supplier == null) {
+            return null;
+        }
+        return mapAll(maps, map -> {
+            T bean = supplier.get();
+            mapToBean(bean, map);
+            return bean;
+        }, threshold, pool);
+    }
+
+    @Nullable
+    public static List<Map<String, ?>> beanToMapAll(@Nullable Collection<?> beans) {
+        return beanToMapAllParallel(beans, Integer.MAX_VALUE, null);
+    }
+
+    @Nullable
+    public static List<Map<String, ?>> beanToMapAllParallel(@Nullable Collection<?> beans) {
+        return beanToMapAllParallel(beans, DEFAULT_PARALLEL_THRESHOLD, null);
+    }
+
+    @Nullable
+    public static List<Map<String, ?>> beanToMapAllParallel(@Nullable Collection<?> beans, int threshold, @Nullable ForkJoinPool pool) {
+        return (beans == null) ? null : mapAll(beans, BeanUtilsWraps::beanToMap, threshold, pool);
+    }
+
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    private static <E, R> List<R> mapAll(@Nonnull Collection<E> elements, @Nonnull Function<E, R> mapper, int threshold, @Nullable ForkJoinPool pool) {
+        if (elements.size() <= Math.max(threshold, 1)) {
+            List<R> result = new ArrayList<>(elements.size());
+            for (E element : elements) {
+                result.add(mapper.apply(element));
+            }
+            return result;
+        }
+        Object[] sources = elements.toArray(), targets = new Object[sources.length];
+        ObjectUtils.defaultIfNull(pool, ForkJoinPool.commonPool()).invoke(new MappingAction<>(sources, targets, 0, sources.length, Math.max(threshold, 1), mapper));
+        return new ArrayList<>((List<R>) Arrays.asList(targets));
+    }
+
     public static Map<String, ?> beanToMap(@Nullable Object bean) {
         return beanToMapExclusive(bean, (Collection<String>) null);
     }
@@ -225,6 +355,75 @@ public abstract class BeanUtilsWraps {
         return PropertyPlainWraps.toStringObjectMap(beanToPropertiesInclusive(bean, fields, allowClassKey, allowEmptyValue));
     }
 
+    /**
+     * Returns a read-only map view of the given bean, which reads the property values lazily only when they are asked
+     *
+     * @param bean the bean to view
+     *
+     * @return a read-only map view of the given bean
+     */
+    @Nullable
+    public static Map<String, ?> beanToMapView(@Nullable Object bean) {
+        return (bean == null) ? null : new BeanMapView(bean);
+    }
+
+    @Nullable
+    public static Map<String, ?> beanToMapView(@Nullable Object bean, @Nullable CharSequence keyPrefix, @Nullable CharSequence keySuffix) {
+        return beanToMapView(bean, keyPrefix, keySuffix, true);
+    }
+
+    @Nullable
+    public static Map<String, ?> beanToMapView(@Nullable Object bean, @Nullable CharSequence keyPrefix, @Nullable CharSequence keySuffix, boolean allowClassKey) {
+        if (bean == null) {
+            return null;
+        }
+        BeanMapView view = new BeanMapView(bean).withKeyAffixes(keyPrefix, keySuffix);
+        return allowClassKey ? view : view.withoutClassKey();
+    }
+
+    @Nullable
+    public static Map<String, ?> beanToMapView(@Nullable Object bean, @Nullable Map<String, String> keyMapping, @Nullable Map<Object, Object> valueMapping) {
+        return (bean == null) ? null : new BeanMapView(bean).withKeyMapping(keyMapping).withValueMapping(valueMapping);
+    }
+
+    @Nullable
+    public static Map<String, ?> beanToMapViewExclusive(@Nullable Object bean, @Nullable String... fields) {
+        return beanToMapViewExclusive(bean, ArrayUtilsWraps.asList(fields), true);
+    }
+
+    @Nullable
+    public static Map<String, ?> beanToMapViewExclusive(@Nullable Object bean, @Nullable Collection<String> fields) {
+        return beanToMapViewExclusive(bean, fields, true);
+    }
+
+    @Nullable
+    public static Map<String, ?> beanToMapViewExclusive(@Nullable Object bean, @Nullable Collection<String> fields, boolean allowClassKey) {
+        if (bean == null) {
+            return null;
+        }
+        BeanMapView view = new BeanMapView(bean).exclusive(fields);
+        return allowClassKey ? view : view.withoutClassKey();
+    }
+
+    @Nullable
+    public static Map<String, ?> beanToMapViewInclusive(@Nullable Object bean, @Nullable String... fields) {
+        return beanToMapViewInclusive(bean, ArrayUtilsWraps.asList(fields), true);
+    }
+
+    @Nullable
+    public static Map<String, ?> beanToMapViewInclusive(@Nullable Object bean, @Nullable Collection<String> fields) {
+        return beanToMapViewInclusive(bean, fields, true);
+    }
+
+    @Nullable
+    public static Map<String, ?> beanToMapViewInclusive(@Nullable Object bean, @Nullable Collection<String> fields, boolean allowClassKey) {
+        if (bean == null || CollectionPlainWraps.isEmpty(fields)) {
+            return null;
+        }
+        BeanMapView view = new BeanMapView(bean).inclusive(fields);
+        return allowClassKey ? view : view.withoutClassKey();
+    }
+
     @Nullable
     public static Properties beanToProperties(@Nullable Object bean) {
         return beanToPropertiesExclusive(bean, (Collection<String>) null);
@@ -245,7 +444,7 @@ public abstract class BeanUtilsWraps {
         if (bean == null) {
             return null;
         }
-        BeanMap map = new BeanMap(bean);
+        Map<String, Object> map = new BeanMapView(bean);
         if (MapUtils.isEmpty(map)) {
             return null;
         }
@@ -268,7 +467,7 @@ public abstract class BeanUtilsWraps {
         if (bean == null) {
             return null;
         }
-        BeanMap map = new BeanMap(bean);
+        Map<String, Object> map = new BeanMapView(bean);
         if (MapUtils.isEmpty(map)) {
             return null;
         }
@@ -303,16 +502,17 @@ public abstract class BeanUtilsWraps {
         if (bean == null) {
             return null;
         }
-        BeanMap map = new BeanMap(bean);
+        Map<String, Object> map = new BeanMapView(bean);
         if (MapUtils.isEmpty(map)) {
             return null;
         }
         Properties properties = new Properties();
+        StringSet names = StringSet.of(fields);
         for (Map.Entry<String, Object> entry : map.entrySet()) {
             if (entry.getKey() == null || (!allowClassKey && StringUtils.equals(entry.getKey(), JavaKeywordConst.CLASS)) || (!allowEmptyValue && ObjectUtils.isEmpty(entry.getValue()))) {
                 continue;
             }
-            if (!StringUtilsWraps.equalsAny(entry.getKey(), fields)) {
+            if (!StringUtilsWraps.equalsAny(entry.getKey(), names)) {
                 properties.put(entry.getKey(), entry.getValue());
             }
         }
@@ -334,29 +534,37 @@ public abstract class BeanUtilsWraps {
         if (bean == null || CollectionPlainWraps.isEmpty(fields)) {
             return null;
         }
-        BeanMap map = new BeanMap(bean);
+        Map<String, Object> map = new BeanMapView(bean);
         if (MapUtils.isEmpty(map)) {
             return null;
         }
         Properties properties = new Properties();
+        StringSet names = StringSet.of(fields);
         for (Map.Entry<String, Object> entry : map.entrySet()) {
             if (entry.getKey() == null || (!allowClassKey && StringUtils.equals(entry.getKey(), JavaKeywordConst.CLASS)) || (!allowEmptyValue && ObjectUtils.isEmpty(entry.getValue()))) {
                 continue;
             }
-            if (StringUtilsWraps.equalsAny(entry.getKey(), fields)) {
+            if (StringUtilsWraps.equalsAny(entry.getKey(), names)) {
                 properties.put(entry.getKey(), entry.getValue());
             }
         }
         return MapUtils.isEmpty(properties) ? null : properties;
     }
 
+    /**
+     * Sets the values of the given map to the properties of the given bean, excepts the fields that annotated with {@link BeanCopyIgnore} or {@link ViewSubmitIgnore}
+     *
+     * @param bean the target bean
+     * @param map the map that contains the property names and values
+     *
+     * @see com.yookue.commonplexus.javaseutil.bean.MapBinder#of
+     */
+    @SuppressWarnings("unchecked")
     public static void mapToBean(@Nullable Object bean, @Nullable Map<String, ?> map) throws BeanInvocationException {
         if (bean == null || MapUtils.isEmpty(map)) {
             return;
         }
-        List<String> excludes = new ArrayList<>();
-        FieldUtilsWraps.doWithNestedFields(bean.getClass(), field -> excludes.add(field.getName()), field -> AnnotationUtilsWraps.anyPresent(field, BeanCopyIgnore.class, ViewSubmitIgnore.class));
-        mapToBeanExclusive(bean, map, excludes);
+        ((MapBinder<Object>) MapBinder.of(bean.getClass())).bind(bean, map);
     }
 
     public static void mapToBean(@Nullable Object bean, @Nullable Map<String, ?> map, BiPredicate<String, Object> filter) throws BeanInvocationException {
@@ -394,19 +602,12 @@ public abstract class BeanUtilsWraps {
     /**
      * @reference "http://blog.csdn.net/q358543781/article/details/50176953"
      */
-    @SuppressWarnings({"JavadocDeclaration", "JavadocLinkAsPlainText"})
+    @SuppressWarnings({"unchecked", "JavadocDeclaration", "JavadocLinkAsPlainText"})
     public static void mapToBeanExclusive(@Nullable Object bean, @Nullable Map<String, ?> map, @Nullable Collection<String> fields, boolean allowEmptyValue) throws BeanInvocationException {
         if (bean == null || MapUtils.isEmpty(map)) {
             return;
         }
-        for (Map.Entry<String, ?> entry : map.entrySet()) {
-            if (StringUtils.isBlank(entry.getKey()) || StringUtils.equals(entry.getKey(), JavaKeywordConst.CLASS) || (!allowEmptyValue && ObjectUtils.isEmpty(entry.getValue()))) {
-                continue;
-            }
-            if (!StringUtilsWraps.equalsAny(entry.getKey(), fields)) {
-                setProperty(bean, entry.getKey(), entry.getValue());
-            }
-        }
+        ((MapBinder<Object>) MapBinder.exclusive(bean.getClass(), fields, allowEmptyValue)).bind(bean, map);
     }
 
     public static void mapToBeanInclusive(@Nullable Object bean, @Nullable Map<String, ?> map, @Nullable String... fields) throws BeanInvocationException {
@@ -420,19 +621,12 @@ public abstract class BeanUtilsWraps {
     /**
      * @reference "http://blog.csdn.net/q358543781/article/details/50176953"
      */
-    @SuppressWarnings({"JavadocDeclaration", "JavadocLinkAsPlainText"})
+    @SuppressWarnings({"unchecked", "JavadocDeclaration", "JavadocLinkAsPlainText"})
     public static void mapToBeanInclusive(@Nullable Object bean, @Nullable Map<String, ?> map, @Nullable Collection<String> fields, boolean allowEmptyValue) throws BeanInvocationException {
         if (bean == null || MapUtils.isEmpty(map) || CollectionPlainWraps.isEmpty(fields)) {
             return;
         }
-        for (Map.Entry<String, ?> entry : map.entrySet()) {
-            if (StringUtils.isBlank(entry.getKey()) || StringUtils.equals(entry.getKey(), JavaKeywordConst.CLASS) || (!allowEmptyValue && ObjectUtils.isEmpty(entry.getValue()))) {
-                continue;
-            }
-            if (StringUtilsWraps.equalsAny(entry.getKey(), fields)) {
-                setProperty(bean, entry.getKey(), entry.getValue());
-            }
-        }
+        ((MapBinder<Object>) MapBinder.inclusive(bean.getClass(), fields, allowEmptyValue)).bind(bean, map);
     }
 
     public static void mapToBeanQuietly(@Nullable Object bean, @Nullable Map<String, ?> map) {
@@ -498,20 +692,61 @@ public abstract class BeanUtilsWraps {
         }
     }
 
+    /**
+     * Returns the value of the property naming {@code property} of the given {@code bean} object, null-safe for the nested properties
+     *
+     * @param bean the bean to read
+     * @param property the property name, may be a nested, indexed or mapped expression, such as {@code a.b[2].c}
+     *
+     * @return the value of the property naming {@code property} of the given {@code bean} object
+     *
+     * @see com.yookue.commonplexus.javaseutil.bean.PropertyPath#get
+     */
+    @Nullable
+    public static Object getProperty(@Nullable Object bean, @Nullable String property) throws BeanInvocationException {
+        if (bean == null || StringUtils.isBlank(property)) {
+            return null;
+        }
+        try {
+            return PropertyPath.compile(property).get(bean);
+        } catch (Exception ex) {
+            throw new BeanInvocationException(String.format("Could not get property '%s' value of bean '%s'", property, bean.getClass().getName()));
+        }
+    }
+
+    @Nullable
+    public static Object getPropertyQuietly(@Nullable Object bean, @Nullable String property) {
+        try {
+            return getProperty(bean, property);
+        } catch (Exception ignored) {
+        }
+        return null;
+    }
+
+    public static boolean setProperty(@Nullable Object bean, @Nullable String property, @Nullable Object value) throws BeanInvocationException {
+        return setProperty(bean, property, value, false);
+    }
+
     /**
      * Sets the property naming {@code property} of the given {@code bean} object, with value {@code value}
      *
+     * @param bean the bean to write
+     * @param property the property name, may be a nested, indexed or mapped expression, such as {@code a.b[2].c}
+     * @param value the value to set
+     * @param createIntermediate whether to create the null intermediate values of the nested properties
+     *
      * @reference "https://stackoverflow.com/questions/22743765/beanutils-not-works-for-chain-setter"
      * @reference "https://blog.csdn.net/u014074757/article/details/106273150/"
      * @see org.apache.commons.beanutils2.BeanUtils#setProperty
+     * @see com.yookue.commonplexus.javaseutil.bean.PropertyPath#set
      * @see "org.springframework.beans.BeanUtils#copyProperties"
      */
-    public static boolean setProperty(@Nullable Object bean, @Nullable String property, @Nullable Object value) throws BeanInvocationException {
+    public static boolean setProperty(@Nullable Object bean, @Nullable String property, @Nullable Object value, boolean createIntermediate) throws BeanInvocationException {
         if (bean == null || StringUtils.isBlank(property)) {
             return false;
         }
         try {
-            BeanUtils.setProperty(bean, property, value);
+            PropertyPath.compile(property).set(bean, value, createIntermediate);
             return true;
         } catch (Exception ex) {
             throw new BeanInvocationException(String.format("Could not set property '%s' value of bean '%s'", property, bean.getClass().getName()));
@@ -519,10 +754,50 @@ public abstract class BeanUtilsWraps {
     }
 
     public static boolean setPropertyQuietly(@Nullable Object bean, @Nullable String property, @Nullable Object value) {
+        return setPropertyQuietly(bean, property, value, false);
+    }
+
+    public static boolean setPropertyQuietly(@Nullable Object bean, @Nullable String property, @Nullable Object value, boolean createIntermediate) {
         try {
-            return setProperty(bean, property, value);
+            return setProperty(bean, property, value, createIntermediate);
         } catch (Exception ignored) {
         }
         return false;
     }
+
+    /**
+     * Action that maps a range of elements, splits the range in halves until it is not larger than the threshold
+     */
+    @SuppressWarnings("unchecked")
+    private static class MappingAction<E, R> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] sources;
+        private final Object[] targets;
+        private final int from;
+        private final int to;
+        private final int threshold;
+        private final Function<E, R> mapper;
+
+        private MappingAction(@Nonnull Object[] sources, @Nonnull Object[] targets, int from, int to, int threshold, @Nonnull Function<E, R> mapper) {
+            this.sources = sources;
+            this.targets = targets;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.mapper = mapper;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                for (int i = from; i < to; i++) {
+                    targets[i] = mapper.apply((E) sources[i]);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new MappingAction<>(sources, targets, from, middle, threshold, mapper), new MappingAction<>(sources, targets, middle, to, threshold, mapper));
+        }
+    }
 }
@@ -17,19 +17,40 @@
 package com.yookue.commonplexus.javaseutil.util;
 
 
+import java.nio.CharBuffer;
 import java.util.Objects;
 import jakarta.annotation.Nullable;
 import org.apache.commons.lang3.StringUtils;
+import com.yookue.commonplexus.javaseutil.text.CharSlice;
 
 
 /**
  * Utilities for {@link java.lang.CharSequence}
+ * <p>
+ * The methods that return a part of a sequence inspect the characters in place, and return a view of the part rather than a copy,
+ * except that a {@link java.lang.String} returns a {@link java.lang.String}. The views of a mutable sequence reflect its later changes
  *
  * @author David Hsing
  * @see org.apache.commons.lang3.CharSequenceUtils
  */
 @SuppressWarnings({"unused", "BooleanMethodIsAlwaysInverted", "UnusedReturnValue"})
 public abstract class CharSequenceWraps {
+    /**
+     * Returns the sequence that appended the suffix if the sequence does not end with the suffix
+     *
+     * @param sequence the sequence to check
+     * @param append the suffix to append
+     *
+     * @return the sequence itself if it ends with the suffix, or a new string that appended the suffix
+     */
+    public static CharSequence appendIfMissing(@Nullable CharSequence sequence, @Nullable CharSequence append) {
+        return (sequence == null || StringUtils.isEmpty(append) || StringUtils.endsWith(sequence, append)) ? sequence : concat(sequence, append);
+    }
+
+    public static CharSequence appendIfMissingIgnoreCase(@Nullable CharSequence sequence, @Nullable CharSequence append) {
+        return (sequence == null || StringUtils.isEmpty(append) || StringUtils.endsWithIgnoreCase(sequence, append)) ? sequence : concat(sequence, append);
+    }
+
     public static CharSequence emptyIfEquals(@Nullable CharSequence sequence, @Nullable CharSequence comparison) {
         return StringUtils.equals(sequence, comparison) ? StringUtils.EMPTY : sequence;
     }
@@ -38,6 +59,76 @@ public abstract class CharSequenceWraps {
         return StringUtils.equalsIgnoreCase(sequence, comparison) ? StringUtils.EMPTY : sequence;
     }
 
+    public static CharSequence prependIfMissing(@Nullable CharSequence sequence, @Nullable CharSequence prepend) {
+        return (sequence == null || StringUtils.isEmpty(prepend) || StringUtils.startsWith(sequence, prepend)) ? sequence : concat(prepend, sequence);
+    }
+
+    public static CharSequence prependIfMissingIgnoreCase(@Nullable CharSequence sequence, @Nullable CharSequence prepend) {
+        return (sequence == null || StringUtils.isEmpty(prepend) || StringUtils.startsWithIgnoreCase(sequence, prepend)) ? sequence : concat(prepend, sequence);
+    }
+
+    /**
+     * Returns a view of the sequence that removed the suffix only if at the end of the sequence
+     *
+     * @param sequence the sequence to check
+     * @param remove the suffix to remove
+     *
+     * @return a view of the sequence that removed the suffix only if at the end of the sequence
+     *
+     * @see org.apache.commons.lang3.StringUtils#removeEnd(String, String)
+     */
+    public static CharSequence removeEnd(@Nullable CharSequence sequence, @Nullable CharSequence remove) {
+        return (StringUtils.isAnyEmpty(sequence, remove) || !StringUtils.endsWith(sequence, remove)) ? sequence : slice(sequence, 0, sequence.length() - remove.length());
+    }
+
+    public static CharSequence removeEndIgnoreCase(@Nullable CharSequence sequence, @Nullable CharSequence remove) {
+        return (StringUtils.isAnyEmpty(sequence, remove) || !StringUtils.endsWithIgnoreCase(sequence, remove)) ? sequence : slice(sequence, 0, sequence.length() - remove.length());
+    }
+
+    /**
+     * Returns a view of the sequence that removed the prefix only if at the start of the sequence
+     *
+     * @param sequence the sequence to check
+     * @param remove the prefix to remove
+     *
+     * @return a view of the sequence that removed the prefix only if at the start of the sequence
+     *
+     * @see org.apache.commons.lang3.StringUtils#removeStart(String, String)
+     */
+    public static CharSequence removeStart(@Nullable CharSequence sequence, @Nullable CharSequence remove) {
+        return (StringUtils.isAnyEmpty(sequence, remove) || !StringUtils.startsWith(sequence, remove)) ? sequence : slice(sequence, remove.length(), sequence.length());
+    }
+
+    public static CharSequence removeStartIgnoreCase(@Nullable CharSequence sequence, @Nullable CharSequence remove) {
+        return (StringUtils.isAnyEmpty(sequence, remove) || !StringUtils.startsWithIgnoreCase(sequence, remove)) ? sequence : slice(sequence, remove.length(), sequence.length());
+    }
+
+    /**
+     * Returns a view of the range of the sequence
+     * <p>
+     * A {@link java.lang.String} returns its substring, a {@link java.nio.CharBuffer} returns its sub buffer, the others return a {@link com.yookue.commonplexus.javaseutil.text.CharSlice}
+     *
+     * @param sequence the sequence to slice
+     * @param start the start index, inclusive
+     * @param end the end index, exclusive
+     *
+     * @return a view of the range of the sequence, or the sequence itself if the range is the whole sequence
+     *
+     * @throws IndexOutOfBoundsException if the range is out of the sequence
+     */
+    public static CharSequence slice(@Nullable CharSequence sequence, int start, int end) {
+        if (sequence == null || (start == 0 && end == sequence.length())) {
+            return sequence;
+        }
+        if (sequence instanceof String text) {
+            return text.substring(start, end);
+        }
+        if (sequence instanceof CharBuffer buffer) {
+            return buffer.subSequence(start, end);
+        }
+        return CharSlice.of(sequence, start, end);
+    }
+
     public static String toStringIgnoreNull(@Nullable CharSequence sequence) {
         return toStringIgnoreNull(sequence, null);
     }
@@ -61,4 +152,63 @@ public abstract class CharSequenceWraps {
     public static String toStringIgnoreBlank(@Nullable CharSequence sequence, @Nullable String blankString) {
         return StringUtils.isBlank(sequence) ? blankString : sequence.toString();
     }
+
+    /**
+     * Returns a view of the sequence that removed the control characters (char &lt;= 32) from both ends
+     *
+     * @param sequence the sequence to trim
+     *
+     * @return a view of the sequence that removed the control characters from both ends
+     *
+     * @see org.apache.commons.lang3.StringUtils#trim(String)
+     */
+    public static CharSequence trim(@Nullable CharSequence sequence) {
+        if (sequence == null) {
+            return null;
+        }
+        int start = 0, end = sequence.length();
+        while (start < end && sequence.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && sequence.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return slice(sequence, start, end);
+    }
+
+    public static CharSequence trimToNull(@Nullable CharSequence sequence) {
+        CharSequence result = trim(sequence);
+        return StringUtils.isEmpty(result) ? null : result;
+    }
+
+    /**
+     * Returns a view of the sequence that removed the delimiter from both ends, each end is removed independently
+     *
+     * @param sequence the sequence to unwrap
+     * @param delimiter the delimiter to remove
+     *
+     * @return a view of the sequence that removed the delimiter from both ends
+     */
+    public static CharSequence unwrapWith(@Nullable CharSequence sequence, @Nullable CharSequence delimiter) {
+        return removeEnd(removeStart(sequence, delimiter), delimiter);
+    }
+
+    public static CharSequence unwrapWith(@Nullable CharSequence sequence, char open, char close) {
+        if (StringUtils.isEmpty(sequence)) {
+            return sequence;
+        }
+        int start = (sequence.charAt(0) == open) ? 1 : 0, end = sequence.length();
+        if (end > start && sequence.charAt(end - 1) == close) {
+            end--;
+        }
+        return slice(sequence, start, end);
+    }
+
+    public static CharSequence unwrapWithIgnoreCase(@Nullable CharSequence sequence, @Nullable CharSequence delimiter) {
+        return removeStartIgnoreCase(removeEndIgnoreCase(sequence, delimiter), delimiter);
+    }
+
+    private static String concat(@Nullable CharSequence first, @Nullable CharSequence second) {
+        return new StringBuilder(StringUtils.length(first) + StringUtils.length(second)).append(first).append(second).toString();
+    }
 }
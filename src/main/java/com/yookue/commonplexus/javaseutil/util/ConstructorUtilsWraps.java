@@ -18,11 +18,13 @@ package com.yookue.commonplexus.javaseutil.util;
 
 
 import java.lang.reflect.Constructor;
+import java.util.List;
 import jakarta.annotation.Nullable;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.reflect.ConstructorUtils;
+import com.yookue.commonplexus.javaseutil.reflect.InstanceFactory;
 
 
 /**
@@ -84,14 +86,8 @@ public abstract class ConstructorUtilsWraps {
      * @return a new instance of the given class with the arguments of the specified parameter types
      */
     public static <T> T invokeConstructor(@Nullable Class<T> clazz, @Nullable Object[] args, @Nullable Class<?>[] paramTypes) {
-        if (clazz == null) {
-            return null;
-        }
-        try {
-            return ConstructorUtils.invokeConstructor(clazz, args, paramTypes);
-        } catch (Exception ignored) {
-        }
-        return null;
+        InstanceFactory<T> factory = InstanceFactory.of(clazz, paramTypes);
+        return (factory == null) ? null : factory.newInstanceQuietly(args);
     }
 
     /**
@@ -195,12 +191,8 @@ public abstract class ConstructorUtilsWraps {
         if (clazz == null) {
             return null;
         }
-        try {
-            Object instance = ConstructorUtils.invokeConstructor(clazz, args, paramTypes);
-            return ObjectUtilsWraps.castAs(instance, expectedType);
-        } catch (Exception ignored) {
-        }
-        return null;
+        InstanceFactory<?> factory = InstanceFactory.of(clazz, paramTypes);
+        return (factory == null) ? null : ObjectUtilsWraps.castAs(factory.newInstanceQuietly(args), expectedType);
     }
 
     /**
@@ -561,4 +553,47 @@ public abstract class ConstructorUtilsWraps {
         }
         return null;
     }
+
+    /**
+     * Returns the cached instance factory of the given class with the specified parameter types
+     *
+     * @param clazz the class to be constructed, not {@code null}
+     * @param paramTypes the array of parameter types, may be {@code null}
+     *
+     * @return the cached instance factory of the given class with the specified parameter types
+     */
+    @Nullable
+    public static <T> InstanceFactory<T> getInstanceFactory(@Nullable Class<T> clazz, @Nullable Class<?>... paramTypes) {
+        return InstanceFactory.of(clazz, paramTypes);
+    }
+
+    @Nullable
+    public static <T> List<T> newInstances(@Nullable Class<T> clazz, int count) {
+        return newInstances(clazz, count, ArrayUtils.EMPTY_OBJECT_ARRAY);
+    }
+
+    /**
+     * Returns a list of new instances of the given class with the arguments, for pre-warming the pools
+     *
+     * @param clazz the class to be constructed, not {@code null}
+     * @param count the count of the instances
+     * @param args the array of arguments, may be {@code null}
+     *
+     * @return a list of new instances of the given class with the arguments
+     */
+    @Nullable
+    public static <T> List<T> newInstances(@Nullable Class<T> clazz, int count, @Nullable Object... args) {
+        if (clazz == null || count < 0) {
+            return null;
+        }
+        InstanceFactory<T> factory = InstanceFactory.forArguments(clazz, args);
+        if (factory == null) {
+            return null;
+        }
+        try {
+            return factory.newInstances(count, args);
+        } catch (Exception ignored) {
+        }
+        return null;
+    }
 }
@@ -36,6 +36,8 @@ import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.reflect.FieldUtils;
+import com.yookue.commonplexus.javaseutil.reflect.ClassFieldIndex;
+import com.yookue.commonplexus.javaseutil.reflect.FieldAccessor;
 
 
 /**
@@ -43,6 +45,7 @@ import org.apache.commons.lang3.reflect.FieldUtils;
  *
  * @author David Hsing
  * @see org.apache.commons.lang3.reflect.FieldUtils
+ * @see com.yookue.commonplexus.javaseutil.reflect.ClassFieldIndex
  */
 @SuppressWarnings({"unused", "BooleanMethodIsAlwaysInverted", "UnusedReturnValue"})
 public abstract class FieldUtilsWraps {
@@ -55,15 +58,7 @@ public abstract class FieldUtilsWraps {
         if (ObjectUtils.anyNull(clazz, action)) {
             return;
         }
-        Field[] fields = clazz.getDeclaredFields();
-        if (ArrayUtils.isEmpty(fields)) {
-            return;
-        }
-        for (Field field : fields) {
-            if (filter == null || filter.test(field)) {
-                action.accept(field);
-            }
-        }
+        ClassFieldIndex.of(clazz).getDeclaredFields(filter).forEach(action);
     }
 
     public static void doWithNestedFields(@Nullable Class<?> clazz, @Nullable Consumer<Field> action) {
@@ -91,21 +86,14 @@ public abstract class FieldUtilsWraps {
             if (untilClass != null && untilClass == loopClass) {
                 break;
             }
-            Field[] fields = loopClass.getDeclaredFields();
-            if (ArrayUtils.isNotEmpty(fields)) {
-                for (Field field : fields) {
-                    if (filter == null || filter.test(field)) {
-                        action.accept(field);
-                    }
-                }
-            }
+            ClassFieldIndex.of(loopClass).getDeclaredFields(filter).forEach(action);
             loopClass = loopClass.getSuperclass();
         }
     }
 
     @Nullable
     public static Field[] getDeclaredFields(@Nullable Class<?> clazz) {
-        return (clazz == null) ? null : clazz.getDeclaredFields();
+        return (clazz == null) ? null : ClassFieldIndex.of(clazz).getDeclaredFields().toArray(ArrayUtils.EMPTY_FIELD_ARRAY);
     }
 
     @Nullable
@@ -121,9 +109,11 @@ public abstract class FieldUtilsWraps {
 
     @Nullable
     public static List<Field> getDeclaredFieldsToList(@Nullable Class<?> clazz, @Nullable Predicate<Field> filter) {
-        List<Field> result = new ArrayList<>();
-        doWithDeclaredFields(clazz, result::add, filter);
-        return CollectionPlainWraps.isEmpty(result) ? null : result;
+        if (clazz == null) {
+            return null;
+        }
+        List<Field> fields = ClassFieldIndex.of(clazz).getDeclaredFields(filter);
+        return fields.isEmpty() ? null : new ArrayList<>(fields);
     }
 
     @Nullable
@@ -165,9 +155,11 @@ public abstract class FieldUtilsWraps {
 
     @Nullable
     public static List<String> getDeclaredFieldNamesToList(@Nullable Class<?> clazz, @Nullable Predicate<Field> filter) {
-        List<String> result = new ArrayList<>();
-        doWithDeclaredFields(clazz, element -> result.add(element.getName()), filter);
-        return CollectionPlainWraps.isEmpty(result) ? null : result;
+        if (clazz == null) {
+            return null;
+        }
+        List<String> names = ClassFieldIndex.of(clazz).getDeclaredFieldNames(filter);
+        return names.isEmpty() ? null : new ArrayList<>(names);
     }
 
     @Nullable
@@ -199,9 +191,11 @@ public abstract class FieldUtilsWraps {
 
     @Nullable
     public static List<Field> getNestedFieldsToList(@Nullable Class<?> clazz, @Nullable Predicate<Field> filter) {
-        List<Field> result = new ArrayList<>();
-        doWithNestedFields(clazz, result::add, filter);
-        return CollectionPlainWraps.isEmpty(result) ? null : result;
+        if (clazz == null) {
+            return null;
+        }
+        List<Field> fields = ClassFieldIndex.of(clazz).getNestedFields(filter);
+        return fields.isEmpty() ? null : new ArrayList<>(fields);
     }
 
     @Nullable
@@ -243,9 +237,11 @@ public abstract class FieldUtilsWraps {
 
     @Nullable
     public static List<String> getNestedFieldNamesToList(@Nullable Class<?> clazz, @Nullable Predicate<Field> filter) {
-        List<String> result = new ArrayList<>();
-        doWithNestedFields(clazz, element -> result.add(element.getName()), filter);
-        return CollectionPlainWraps.isEmpty(result) ? null : result;
+        if (clazz == null) {
+            return null;
+        }
+        List<String> names = ClassFieldIndex.of(clazz).getNestedFieldNames(filter);
+        return names.isEmpty() ? null : new ArrayList<>(names);
     }
 
     @Nullable
@@ -279,14 +275,15 @@ public abstract class FieldUtilsWraps {
 
     /**
      * @see org.apache.commons.lang3.reflect.FieldUtils#getFieldsListWithAnnotation
+     * @see com.yookue.commonplexus.javaseutil.reflect.ClassFieldIndex#getFieldsWithAllAnnotations
      */
     @Nullable
     public static List<Field> getFieldsWithAllAnnotationsToList(@Nullable Class<?> clazz, @Nullable Collection<Class<? extends Annotation>> annotations) {
         if (clazz == null || CollectionPlainWraps.isEmpty(annotations)) {
             return null;
         }
-        List<Field> fields = FieldUtils.getAllFieldsList(clazz);
-        return CollectionPlainWraps.isEmpty(fields) ? null : fields.stream().filter(element -> AnnotationUtilsWraps.allPresent(element, annotations)).collect(Collectors.toList());
+        ClassFieldIndex index = ClassFieldIndex.of(clazz);
+        return index.hasNestedFields() ? new ArrayList<>(index.getFieldsWithAllAnnotations(annotations)) : null;
     }
 
     @Nullable
@@ -321,14 +318,15 @@ public abstract class FieldUtilsWraps {
 
     /**
      * @see org.apache.commons.lang3.reflect.FieldUtils#getFieldsListWithAnnotation
+     * @see com.yookue.commonplexus.javaseutil.reflect.ClassFieldIndex#getFieldsWithAnyAnnotations
      */
     @Nullable
     public static List<Field> getFieldsWithAnyAnnotationsToList(@Nullable Class<?> clazz, @Nullable Collection<Class<? extends Annotation>> annotations) {
         if (clazz == null || CollectionPlainWraps.isEmpty(annotations)) {
             return null;
         }
-        List<Field> fields = FieldUtils.getAllFieldsList(clazz);
-        return CollectionPlainWraps.isEmpty(fields) ? null : fields.stream().filter(element -> AnnotationUtilsWraps.anyPresent(element, annotations)).collect(Collectors.toList());
+        ClassFieldIndex index = ClassFieldIndex.of(clazz);
+        return index.hasNestedFields() ? new ArrayList<>(index.getFieldsWithAnyAnnotations(annotations)) : null;
     }
 
     @Nullable
@@ -459,11 +457,7 @@ public abstract class FieldUtilsWraps {
         if (clazz == null || StringUtils.isBlank(fieldName)) {
             return null;
         }
-        try {
-            return FieldUtils.readField(clazz, fieldName, forceAccess);
-        } catch (Exception ignored) {
-        }
-        return null;
+        return readField((Object) clazz, fieldName, forceAccess);
     }
 
     @Nullable
@@ -485,11 +479,7 @@ public abstract class FieldUtilsWraps {
         if (field == null) {
             return null;
         }
-        try {
-            return FieldUtils.readField(field, target, forceAccess);
-        } catch (Exception ignored) {
-        }
-        return null;
+        return readAccessor(FieldAccessor.of(field, forceAccess), target, false);
     }
 
     @Nullable
@@ -502,11 +492,7 @@ public abstract class FieldUtilsWraps {
         if (target == null || StringUtils.isBlank(fieldName)) {
             return null;
         }
-        try {
-            return FieldUtils.readField(target, fieldName, forceAccess);
-        } catch (Exception ignored) {
-        }
-        return null;
+        return readAccessor(FieldAccessor.of(target.getClass(), fieldName, forceAccess), target, false);
     }
 
     @Nullable
@@ -568,11 +554,7 @@ public abstract class FieldUtilsWraps {
         if (clazz == null || StringUtils.isBlank(fieldName)) {
             return null;
         }
-        try {
-            return FieldUtils.readDeclaredField(clazz, fieldName, forceAccess);
-        } catch (Exception ignored) {
-        }
-        return null;
+        return readDeclaredField((Object) clazz, fieldName, forceAccess);
     }
 
     @Nullable
@@ -585,11 +567,7 @@ public abstract class FieldUtilsWraps {
         if (target == null || StringUtils.isBlank(fieldName)) {
             return null;
         }
-        try {
-            return FieldUtils.readDeclaredField(target, fieldName, forceAccess);
-        } catch (Exception ignored) {
-        }
-        return null;
+        return readAccessor(FieldAccessor.ofDeclared(target.getClass(), fieldName, forceAccess), target, false);
     }
 
     @Nullable
@@ -628,11 +606,7 @@ public abstract class FieldUtilsWraps {
         if (clazz == null || StringUtils.isBlank(fieldName)) {
             return null;
         }
-        try {
-            return FieldUtils.readDeclaredStaticField(clazz, fieldName, forceAccess);
-        } catch (Exception ignored) {
-        }
-        return null;
+        return readAccessor(FieldAccessor.ofDeclared(clazz, fieldName, forceAccess), null, true);
     }
 
     @Nullable
@@ -658,11 +632,7 @@ public abstract class FieldUtilsWraps {
         if (clazz == null || StringUtils.isBlank(fieldName)) {
             return null;
         }
-        try {
-            return FieldUtils.readStaticField(clazz, fieldName, forceAccess);
-        } catch (Exception ignored) {
-        }
-        return null;
+        return readAccessor(FieldAccessor.of(clazz, fieldName, forceAccess), null, true);
     }
 
     @Nullable
@@ -675,11 +645,7 @@ public abstract class FieldUtilsWraps {
         if (field == null) {
             return null;
         }
-        try {
-            return FieldUtils.readStaticField(field, forceAccess);
-        } catch (Exception ignored) {
-        }
-        return null;
+        return readAccessor(FieldAccessor.of(field, forceAccess), null, true);
     }
 
     @Nullable
@@ -794,4 +760,16 @@ public abstract class FieldUtilsWraps {
         } catch (Exception ignored) {
         }
     }
+
+    @Nullable
+    private static Object readAccessor(@Nullable FieldAccessor accessor, @Nullable Object target, boolean staticOnly) {
+        if (accessor == null || !accessor.isReadable() || (staticOnly && !accessor.isStaticField())) {
+            return null;
+        }
+        try {
+            return accessor.get(target);
+        } catch (Exception ignored) {
+        }
+        return null;
+    }
 }
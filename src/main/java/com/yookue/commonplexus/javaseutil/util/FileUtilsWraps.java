@@ -43,6 +43,7 @@ import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import com.yookue.commonplexus.javaseutil.function.IgnorableFailable;
+import com.yookue.commonplexus.javaseutil.io.ChannelCopier;
 
 
 /**
@@ -151,7 +152,7 @@ public abstract class FileUtilsWraps {
             return 0L;
         }
         try {
-            return FileUtils.copyFile(src, dest);
+            return ChannelCopier.copy(src.toPath(), dest).bytes();
         } catch (Exception ignored) {
         }
         return 0L;
@@ -177,8 +178,8 @@ public abstract class FileUtilsWraps {
         if (ObjectUtils.anyNull(src, dest)) {
             return;
         }
-        try {
-            FileUtils.copyInputStreamToFile(src, dest);
+        try (InputStream input = src) {
+            ChannelCopier.copy(input, dest.toPath());
         } catch (Exception ignored) {
         }
     }
@@ -211,7 +212,7 @@ public abstract class FileUtilsWraps {
             return;
         }
         try {
-            FileUtils.copyToFile(src, dest);
+            ChannelCopier.copy(src, dest.toPath());
         } catch (Exception ignored) {
         }
     }
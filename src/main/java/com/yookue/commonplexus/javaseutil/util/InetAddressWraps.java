@@ -22,16 +22,16 @@ import java.net.NetworkInterface;
 import java.net.SocketException;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.List;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import com.yookue.commonplexus.javaseutil.constant.CharVariantConst;
 import com.yookue.commonplexus.javaseutil.constant.InetAddressConst;
-import com.yookue.commonplexus.javaseutil.constant.RegexVariantConst;
 
 
 /**
@@ -134,8 +134,47 @@ public abstract class InetAddressWraps {
         return null;
     }
 
+    /**
+     * Returns whether the address is a loopback or private address, without any regular expressions or name resolutions
+     * <p>
+     * The LAN addresses are {@code localhost}, the IPv4 ranges {@code 127.0.0.0/8}, {@code 10.0.0.0/8}, {@code 172.16.0.0/12}, {@code 192.168.0.0/16},
+     * and the IPv6 ranges {@code ::1/128}, {@code fc00::/7}, {@code fe80::/10}, or the IPv4-mapped IPv6 addresses of the IPv4 ranges
+     *
+     * @param ipAddress the textual ip address, such as '192.168.1.1' or 'fe80::1%eth0'
+     *
+     * @return whether the address is a loopback or private address
+     */
     public static boolean isLanAddress(@Nullable String ipAddress) {
-        return StringUtils.isNotBlank(ipAddress) && Pattern.matches(RegexVariantConst.LAN_ADDRESS_IPV4, ipAddress);
+        if (StringUtils.isBlank(ipAddress)) {
+            return false;
+        }
+        if (StringUtils.equals(ipAddress, InetAddressConst.LOCALHOST_NAME)) {
+            return true;
+        }
+        long inet4 = parseInet4(ipAddress, 0, ipAddress.length());
+        if (inet4 >= 0L) {
+            return isLanInet4((int) inet4);
+        }
+        int[] inet6 = parseInet6(ipAddress);
+        return inet6 != null && isLanInet6(inet6);
+    }
+
+    public static boolean isLanAddress(@Nullable InetAddress address) {
+        byte[] bytes = (address == null) ? null : address.getAddress();
+        if (bytes == null) {
+            return false;
+        }
+        if (bytes.length == 4) {
+            return isLanInet4(((bytes[0] & 0xFF) << 24) | ((bytes[1] & 0xFF) << 16) | ((bytes[2] & 0xFF) << 8) | (bytes[3] & 0xFF));
+        }
+        if (bytes.length == 16) {
+            int[] inet6 = new int[8];
+            for (int i = 0; i < inet6.length; i++) {
+                inet6[i] = ((bytes[i * 2] & 0xFF) << 8) | (bytes[i * 2 + 1] & 0xFF);
+            }
+            return isLanInet6(inet6);
+        }
+        return false;
     }
 
     /**
@@ -235,4 +274,129 @@ public abstract class InetAddressWraps {
         }
         return null;
     }
+
+    private static boolean isLanInet4(int inet4) {
+        int octet3 = inet4 >>> 24;
+        return octet3 == 127 || octet3 == 10 || (inet4 >>> 20) == 0xAC1 || (inet4 >>> 16) == 0xC0A8;
+    }
+
+    private static boolean isLanInet6(@Nonnull int[] hextets) {
+        if (hextets[0] == 0 && hextets[1] == 0 && hextets[2] == 0 && hextets[3] == 0 && hextets[4] == 0) {
+            if (hextets[5] == 0xFFFF) {
+                return isLanInet4((hextets[6] << 16) | hextets[7]);
+            }
+            return hextets[5] == 0 && hextets[6] == 0 && hextets[7] == 1;
+        }
+        return (hextets[0] & 0xFE00) == 0xFC00 || (hextets[0] & 0xFFC0) == 0xFE80;
+    }
+
+    /**
+     * Returns the unsigned value of the dotted IPv4 address in the given range, or -1 if it is malformed
+     */
+    private static long parseInet4(@Nonnull CharSequence text, int from, int to) {
+        long result = 0L;
+        int octets = 0, index = from;
+        while (index < to) {
+            int value = 0, digits = 0;
+            while (index < to && digits < 4) {
+                char ch = text.charAt(index);
+                if (ch < '0' || ch > '9') {
+                    break;
+                }
+                value = value * 10 + (ch - '0');
+                digits++;
+                index++;
+            }
+            if (digits == 0 || digits > 3 || value > 255 || ++octets > 4) {
+                return -1L;
+            }
+            result = (result << 8) | value;
+            if (index < to) {
+                if (text.charAt(index) != CharVariantConst.DOT || octets == 4 || index == to - 1) {
+                    return -1L;
+                }
+                index++;
+            }
+        }
+        return (octets == 4) ? result : -1L;
+    }
+
+    /**
+     * Returns the eight hextets of the IPv6 address, with the optional brackets and zone index, or null if it is malformed
+     */
+    @Nullable
+    private static int[] parseInet6(@Nonnull String text) {
+        int from = 0, to = text.length();
+        if (to > 1 && text.charAt(0) == CharVariantConst.SQUARE_BRACKET_LEFT && text.charAt(to - 1) == CharVariantConst.SQUARE_BRACKET_RIGHT) {
+            from++;
+            to--;
+        }
+        int zone = text.indexOf(CharVariantConst.PERCENT, from);
+        if (zone >= 0 && zone < to) {
+            to = zone;
+        }
+        if (to - from < 2) {
+            return null;
+        }
+        int[] result = new int[8];
+        int count = 0, compression = -1, index = from;
+        if (text.charAt(index) == CharVariantConst.COLON) {
+            if (text.charAt(index + 1) != CharVariantConst.COLON) {
+                return null;
+            }
+            compression = 0;
+            index += 2;
+        }
+        while (index < to) {
+            int end = text.indexOf(CharVariantConst.COLON, index);
+            if (end < 0 || end > to) {
+                end = to;
+            }
+            if (end == to && text.lastIndexOf(CharVariantConst.DOT, to - 1) >= index) {
+                long inet4 = parseInet4(text, index, to);
+                if (inet4 < 0L || count > 6) {
+                    return null;
+                }
+                result[count++] = (int) (inet4 >>> 16);
+                result[count++] = (int) (inet4 & 0xFFFF);
+                break;
+            }
+            if (end == index || end - index > 4 || count == 8) {
+                return null;
+            }
+            int value = 0;
+            for (int i = index; i < end; i++) {
+                int digit = Character.digit(text.charAt(i), 16);
+                if (digit < 0) {
+                    return null;
+                }
+                value = (value << 4) | digit;
+            }
+            result[count++] = value;
+            if (end == to) {
+                break;
+            }
+            if (end + 1 < to && text.charAt(end + 1) == CharVariantConst.COLON) {
+                if (compression >= 0) {
+                    return null;
+                }
+                compression = count;
+                index = end + 2;
+            } else if (end + 1 == to) {
+                return null;
+            } else {
+                index = end + 1;
+            }
+        }
+        if (compression < 0) {
+            return (count == 8) ? result : null;
+        }
+        if (count == 8) {
+            return null;
+        }
+        int moved = count - compression;
+        System.arraycopy(result, compression, result, 8 - moved, moved);
+        Arrays.fill(result, compression, 8 - moved, 0);
+        return result;
+    }
 }
@@ -30,6 +30,7 @@ import java.net.URLConnection;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.util.Collection;
 import java.util.List;
@@ -39,10 +40,13 @@ import org.apache.commons.io.function.IOConsumer;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
+import com.yookue.commonplexus.javaseutil.io.ChannelCopier;
 
 
 /**
  * Utilities for {@link org.apache.commons.io.IOUtils}
+ * <p>
+ * The byte copies between file streams are transferred by {@link com.yookue.commonplexus.javaseutil.io.ChannelCopier}, without passing through the heap
  *
  * @author David Hsing
  * @see org.apache.commons.io.IOUtils
@@ -82,7 +86,8 @@ public abstract class IoUtilsWraps {
             return 0;
         }
         try {
-            return IOUtils.copy(input, output);
+            long count = ChannelCopier.copy(input, output).bytes();
+            return (count > Integer.MAX_VALUE) ? -1 : (int) count;
         } catch (Exception ignored) {
         }
         return 0;
@@ -210,7 +215,7 @@ public abstract class IoUtilsWraps {
             return 0L;
         }
         try {
-            return IOUtils.copyLarge(input, output);
+            return ChannelCopier.copy(input, output).bytes();
         } catch (Exception ignored) {
         }
         return 0L;
@@ -837,6 +842,40 @@ public abstract class IoUtilsWraps {
         return null;
     }
 
+    /**
+     * Returns the result of copying the bytes from the input stream to the output stream, with the path taken
+     *
+     * @param input the stream to read from
+     * @param output the stream to write to
+     *
+     * @return the result of copying the bytes from the input stream to the output stream, with the path taken
+     */
+    @Nullable
+    @SuppressWarnings({"DataFlowIssue", "RedundantSuppression"})
+    public static ChannelCopier.Result transfer(@Nullable InputStream input, @Nullable OutputStream output) {
+        if (ObjectUtils.anyNull(input, output)) {
+            return null;
+        }
+        try {
+            return ChannelCopier.copy(input, output);
+        } catch (Exception ignored) {
+        }
+        return null;
+    }
+
+    @Nullable
+    @SuppressWarnings({"DataFlowIssue", "RedundantSuppression"})
+    public static ChannelCopier.Result transfer(@Nullable ReadableByteChannel input, @Nullable WritableByteChannel output) {
+        if (ObjectUtils.anyNull(input, output)) {
+            return null;
+        }
+        try {
+            return ChannelCopier.copy(input, output);
+        } catch (Exception ignored) {
+        }
+        return null;
+    }
+
     public static void write(@Nullable byte[] data, @Nullable OutputStream target) {
         if (ArrayUtils.isEmpty(data) || target == null) {
             return;
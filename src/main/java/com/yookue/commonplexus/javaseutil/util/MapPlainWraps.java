@@ -61,6 +61,7 @@ import com.yookue.commonplexus.javaseutil.constant.AssertMessageConst;
 import com.yookue.commonplexus.javaseutil.constant.JavaKeywordConst;
 import com.yookue.commonplexus.javaseutil.function.TriConsumer;
 import com.yookue.commonplexus.javaseutil.function.TriPredicate;
+import com.yookue.commonplexus.javaseutil.text.StringPool;
 
 
 /**
@@ -456,6 +457,21 @@ public abstract class MapPlainWraps {
         return getObjectAs(map, key, String.class, defaultValue);
     }
 
+    /**
+     * Returns the string value of the key in the map, deduplicated by the pool
+     *
+     * @param map the map to get from
+     * @param key the key of the value
+     * @param defaultValue the value to return if the value is absent or not a string
+     * @param pool the pool to deduplicate the value, {@code null} means no deduplication
+     *
+     * @return the string value of the key in the map, deduplicated by the pool
+     */
+    public static <K> String getString(@Nullable Map<? super K, ?> map, @Nullable K key, @Nullable String defaultValue, @Nullable StringPool pool) {
+        String result = getObjectAs(map, key, String.class, null);
+        return (result == null) ? defaultValue : ((pool == null) ? result : pool.intern(result));
+    }
+
     @Nullable
     public static <K, V> V getObject(@Nullable Map<? super K, V> map, @Nullable K key) {
         return isEmpty(map) ? null : map.get(key);
@@ -35,6 +35,7 @@ import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.reflect.MethodUtils;
 import org.apache.commons.lang3.reflect.TypeUtils;
+import com.yookue.commonplexus.javaseutil.reflect.MethodInvoker;
 
 
 /**
@@ -443,11 +444,7 @@ public abstract class MethodUtilsWraps {
         if (target == null || StringUtils.isBlank(methodName)) {
             return null;
         }
-        try {
-            return MethodUtils.invokeMethod(target, forceAccess, methodName, args);
-        } catch (Exception ignored) {
-        }
-        return null;
+        return invokeInvoker(MethodInvoker.forArguments(target.getClass(), forceAccess, methodName, args), target, args, false);
     }
 
     @Nullable
@@ -460,11 +457,7 @@ public abstract class MethodUtilsWraps {
         if (target == null || StringUtils.isBlank(methodName)) {
             return null;
         }
-        try {
-            return MethodUtils.invokeMethod(target, forceAccess, methodName, args, paramTypes);
-        } catch (Exception ignored) {
-        }
-        return null;
+        return invokeInvoker(MethodInvoker.of(target.getClass(), forceAccess, methodName, paramTypes), target, args, false);
     }
 
     @Nullable
@@ -508,11 +501,7 @@ public abstract class MethodUtilsWraps {
         if (clazz == null || StringUtils.isBlank(methodName)) {
             return null;
         }
-        try {
-            return MethodUtils.invokeStaticMethod(clazz, methodName, args);
-        } catch (Exception ignored) {
-        }
-        return null;
+        return invokeInvoker(MethodInvoker.forArguments(clazz, false, methodName, args), null, args, true);
     }
 
     @Nullable
@@ -520,11 +509,7 @@ public abstract class MethodUtilsWraps {
         if (clazz == null || StringUtils.isBlank(methodName)) {
             return null;
         }
-        try {
-            return MethodUtils.invokeStaticMethod(clazz, methodName, args, paramTypes);
-        } catch (Exception ignored) {
-        }
-        return null;
+        return invokeInvoker(MethodInvoker.of(clazz, false, methodName, paramTypes), null, args, true);
     }
 
     @Nullable
@@ -704,4 +689,16 @@ public abstract class MethodUtilsWraps {
     public static boolean returnVoid(@Nullable Method method) {
         return method != null && method.getReturnType() == Void.TYPE;
     }
+
+    @Nullable
+    private static Object invokeInvoker(@Nullable MethodInvoker invoker, @Nullable Object target, @Nullable Object[] args, boolean staticOnly) {
+        if (invoker == null || (staticOnly && !invoker.isStaticMethod())) {
+            return null;
+        }
+        try {
+            return invoker.invoke(target, args);
+        } catch (Exception ignored) {
+        }
+        return null;
+    }
 }
@@ -17,22 +17,42 @@
 package com.yookue.commonplexus.javaseutil.util;
 
 
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Spliterator;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.CharUtils;
+import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.RegExUtils;
 import org.apache.commons.lang3.StringUtils;
 import com.yookue.commonplexus.javaseutil.constant.CharVariantConst;
+import com.yookue.commonplexus.javaseutil.constant.RegexPatternConst;
 import com.yookue.commonplexus.javaseutil.constant.RegexVariantCombo;
-import com.yookue.commonplexus.javaseutil.constant.RegexVariantConst;
 import com.yookue.commonplexus.javaseutil.constant.SymbolVariantConst;
+import com.yookue.commonplexus.javaseutil.regex.BatchMatcher;
+import com.yookue.commonplexus.javaseutil.regex.CharClass;
+import com.yookue.commonplexus.javaseutil.regex.OffsetMatchResult;
+import com.yookue.commonplexus.javaseutil.regex.PatternCache;
+import com.yookue.commonplexus.javaseutil.regex.PatternSet;
+import com.yookue.commonplexus.javaseutil.regex.StreamingMatcher;
 
 
 /**
@@ -46,13 +66,15 @@ import com.yookue.commonplexus.javaseutil.constant.SymbolVariantConst;
  */
 @SuppressWarnings({"unused", "BooleanMethodIsAlwaysInverted", "UnusedReturnValue", "JavadocDeclaration", "JavadocLinkAsPlainText"})
 public abstract class RegexUtilsWraps {
+    private static final CharClass POSITIVE_DIGIT = CharClass.ofRange('1', '9');
+
     @SafeVarargs
     public static <T extends CharSequence> boolean allAlphabetic(@Nullable T... sequences) {
         return allAlphabetic(ArrayUtilsWraps.asList(sequences));
     }
 
     public static <T extends CharSequence> boolean allAlphabetic(@Nullable Collection<T> sequences) {
-        return CollectionPlainWraps.isNotEmpty(sequences) && sequences.stream().allMatch(RegexUtilsWraps::isAlphabetic);
+        return allMatch(sequences, RegexUtilsWraps::isAlphabetic);
     }
 
     @SafeVarargs
@@ -61,7 +83,7 @@ public abstract class RegexUtilsWraps {
     }
 
     public static <T extends CharSequence> boolean anyAlphabetic(@Nullable Collection<T> sequences) {
-        return CollectionPlainWraps.isNotEmpty(sequences) && sequences.stream().anyMatch(RegexUtilsWraps::isAlphabetic);
+        return anyMatch(sequences, RegexUtilsWraps::isAlphabetic);
     }
 
     @SafeVarargs
@@ -70,7 +92,7 @@ public abstract class RegexUtilsWraps {
     }
 
     public static <T extends CharSequence> boolean allAlphanumeric(@Nullable Collection<T> sequences) {
-        return CollectionPlainWraps.isNotEmpty(sequences) && sequences.stream().allMatch(RegexUtilsWraps::isAlphanumeric);
+        return allMatch(sequences, RegexUtilsWraps::isAlphanumeric);
     }
 
     @SafeVarargs
@@ -79,7 +101,7 @@ public abstract class RegexUtilsWraps {
     }
 
     public static <T extends CharSequence> boolean anyAlphanumeric(@Nullable Collection<T> sequences) {
-        return CollectionPlainWraps.isNotEmpty(sequences) && sequences.stream().anyMatch(RegexUtilsWraps::isAlphanumeric);
+        return anyMatch(sequences, RegexUtilsWraps::isAlphanumeric);
     }
 
     @SafeVarargs
@@ -88,7 +110,7 @@ public abstract class RegexUtilsWraps {
     }
 
     public static <T extends CharSequence> boolean allNumeric(@Nullable Collection<T> sequences) {
-        return CollectionPlainWraps.isNotEmpty(sequences) && sequences.stream().allMatch(RegexUtilsWraps::isNumeric);
+        return allMatch(sequences, RegexUtilsWraps::isNumeric);
     }
 
     @SafeVarargs
@@ -97,7 +119,7 @@ public abstract class RegexUtilsWraps {
     }
 
     public static <T extends CharSequence> boolean anyNumeric(@Nullable Collection<T> sequences) {
-        return CollectionPlainWraps.isNotEmpty(sequences) && sequences.stream().anyMatch(RegexUtilsWraps::isNumeric);
+        return anyMatch(sequences, RegexUtilsWraps::isNumeric);
     }
 
     @SafeVarargs
@@ -106,7 +128,7 @@ public abstract class RegexUtilsWraps {
     }
 
     public static <T extends CharSequence> boolean allWord(@Nullable Collection<T> sequences) {
-        return CollectionPlainWraps.isNotEmpty(sequences) && sequences.stream().allMatch(RegexUtilsWraps::isWord);
+        return allMatch(sequences, RegexUtilsWraps::isWord);
     }
 
     @SafeVarargs
@@ -115,7 +137,7 @@ public abstract class RegexUtilsWraps {
     }
 
     public static <T extends CharSequence> boolean anyWord(@Nullable Collection<T> sequences) {
-        return CollectionPlainWraps.isNotEmpty(sequences) && sequences.stream().anyMatch(RegexUtilsWraps::isWord);
+        return anyMatch(sequences, RegexUtilsWraps::isWord);
     }
 
     @SafeVarargs
@@ -124,7 +146,7 @@ public abstract class RegexUtilsWraps {
     }
 
     public static <T extends CharSequence> boolean allWordHyphen(@Nullable Collection<T> sequences) {
-        return CollectionPlainWraps.isNotEmpty(sequences) && sequences.stream().allMatch(RegexUtilsWraps::isWordHyphen);
+        return allMatch(sequences, RegexUtilsWraps::isWordHyphen);
     }
 
     @SafeVarargs
@@ -133,7 +155,7 @@ public abstract class RegexUtilsWraps {
     }
 
     public static <T extends CharSequence> boolean anyWordHyphen(@Nullable Collection<T> sequences) {
-        return CollectionPlainWraps.isNotEmpty(sequences) && sequences.stream().anyMatch(RegexUtilsWraps::isWordHyphen);
+        return anyMatch(sequences, RegexUtilsWraps::isWordHyphen);
     }
 
     @SafeVarargs
@@ -142,7 +164,7 @@ public abstract class RegexUtilsWraps {
     }
 
     public static <T extends CharSequence> boolean allStartsWithAlphabetic(@Nullable Collection<T> sequences) {
-        return CollectionPlainWraps.isNotEmpty(sequences) && sequences.stream().allMatch(RegexUtilsWraps::startsWithAlphabetic);
+        return allMatch(sequences, RegexUtilsWraps::startsWithAlphabetic);
     }
 
     @SafeVarargs
@@ -151,7 +173,7 @@ public abstract class RegexUtilsWraps {
     }
 
     public static <T extends CharSequence> boolean anyStartsWithAlphabetic(@Nullable Collection<T> sequences) {
-        return CollectionPlainWraps.isNotEmpty(sequences) && sequences.stream().anyMatch(RegexUtilsWraps::startsWithAlphabetic);
+        return anyMatch(sequences, RegexUtilsWraps::startsWithAlphabetic);
     }
 
     @SafeVarargs
@@ -160,7 +182,7 @@ public abstract class RegexUtilsWraps {
     }
 
     public static <T extends CharSequence> boolean allStartsWithAlphanumeric(@Nullable Collection<T> sequences) {
-        return CollectionPlainWraps.isNotEmpty(sequences) && sequences.stream().allMatch(RegexUtilsWraps::startsWithAlphanumeric);
+        return allMatch(sequences, RegexUtilsWraps::startsWithAlphanumeric);
     }
 
     @SafeVarargs
@@ -169,7 +191,7 @@ public abstract class RegexUtilsWraps {
     }
 
     public static <T extends CharSequence> boolean anyStartsWithAlphanumeric(@Nullable Collection<T> sequences) {
-        return CollectionPlainWraps.isNotEmpty(sequences) && sequences.stream().anyMatch(RegexUtilsWraps::startsWithAlphanumeric);
+        return anyMatch(sequences, RegexUtilsWraps::startsWithAlphanumeric);
     }
 
     @SafeVarargs
@@ -178,7 +200,7 @@ public abstract class RegexUtilsWraps {
     }
 
     public static <T extends CharSequence> boolean allStartsWithNumeric(@Nullable Collection<T> sequences) {
-        return CollectionPlainWraps.isNotEmpty(sequences) && sequences.stream().allMatch(RegexUtilsWraps::startsWithNumeric);
+        return allMatch(sequences, RegexUtilsWraps::startsWithNumeric);
     }
 
     @SafeVarargs
@@ -187,7 +209,7 @@ public abstract class RegexUtilsWraps {
     }
 
     public static <T extends CharSequence> boolean anyStartsWithNumeric(@Nullable Collection<T> sequences) {
-        return CollectionPlainWraps.isNotEmpty(sequences) && sequences.stream().anyMatch(RegexUtilsWraps::startsWithNumeric);
+        return anyMatch(sequences, RegexUtilsWraps::startsWithNumeric);
     }
 
     @SafeVarargs
@@ -196,7 +218,7 @@ public abstract class RegexUtilsWraps {
     }
 
     public static <T extends CharSequence> boolean allEndsWithAlphabetic(@Nullable Collection<T> sequences) {
-        return CollectionPlainWraps.isNotEmpty(sequences) && sequences.stream().allMatch(RegexUtilsWraps::endsWithAlphabetic);
+        return allMatch(sequences, RegexUtilsWraps::endsWithAlphabetic);
     }
 
     @SafeVarargs
@@ -205,7 +227,7 @@ public abstract class RegexUtilsWraps {
     }
 
     public static <T extends CharSequence> boolean anyEndsWithAlphabetic(@Nullable Collection<T> sequences) {
-        return CollectionPlainWraps.isNotEmpty(sequences) && sequences.stream().anyMatch(RegexUtilsWraps::endsWithAlphabetic);
+        return anyMatch(sequences, RegexUtilsWraps::endsWithAlphabetic);
     }
 
     @SafeVarargs
@@ -214,7 +236,7 @@ public abstract class RegexUtilsWraps {
     }
 
     public static <T extends CharSequence> boolean allEndsWithAlphanumeric(@Nullable Collection<T> sequences) {
-        return CollectionPlainWraps.isNotEmpty(sequences) && sequences.stream().allMatch(RegexUtilsWraps::endsWithAlphanumeric);
+        return allMatch(sequences, RegexUtilsWraps::endsWithAlphanumeric);
     }
 
     @SafeVarargs
@@ -223,7 +245,7 @@ public abstract class RegexUtilsWraps {
     }
 
     public static <T extends CharSequence> boolean anyEndsWithAlphanumeric(@Nullable Collection<T> sequences) {
-        return CollectionPlainWraps.isNotEmpty(sequences) && sequences.stream().anyMatch(RegexUtilsWraps::endsWithAlphanumeric);
+        return anyMatch(sequences, RegexUtilsWraps::endsWithAlphanumeric);
     }
 
     @SafeVarargs
@@ -232,7 +254,7 @@ public abstract class RegexUtilsWraps {
     }
 
     public static <T extends CharSequence> boolean allEndsWithNumeric(@Nullable Collection<T> sequences) {
-        return CollectionPlainWraps.isNotEmpty(sequences) && sequences.stream().allMatch(RegexUtilsWraps::endsWithNumeric);
+        return allMatch(sequences, RegexUtilsWraps::endsWithNumeric);
     }
 
     @SafeVarargs
@@ -241,7 +263,7 @@ public abstract class RegexUtilsWraps {
     }
 
     public static <T extends CharSequence> boolean anyEndsWithNumeric(@Nullable Collection<T> sequences) {
-        return CollectionPlainWraps.isNotEmpty(sequences) && sequences.stream().anyMatch(RegexUtilsWraps::endsWithNumeric);
+        return anyMatch(sequences, RegexUtilsWraps::endsWithNumeric);
     }
 
     public static boolean matchAllPatterns(@Nullable CharSequence sequence, @Nullable String... regexes) {
@@ -266,7 +288,19 @@ public abstract class RegexUtilsWraps {
 
     @SuppressWarnings("MagicConstant")
     public static boolean matchAllPatternsWithFlags(@Nullable CharSequence sequence, int flags, @Nullable Collection<String> regexes) {
-        return StringUtils.isNotEmpty(sequence) && CollectionPlainWraps.isNotEmpty(regexes) && regexes.stream().allMatch(regex -> StringUtils.isNotEmpty(regex) && Pattern.compile(regex, flags).matcher(sequence).matches());
+        return StringUtils.isNotEmpty(sequence) && CollectionPlainWraps.isNotEmpty(regexes) && regexes.stream().allMatch(regex -> StringUtils.isNotEmpty(regex) && getPattern(regex, flags).matcher(sequence).matches());
+    }
+
+    /**
+     * Returns whether the entire sequence matches all the patterns in the given set
+     *
+     * @param sequence the character sequence to be matched
+     * @param patterns the compiled set of patterns
+     *
+     * @return whether the entire sequence matches all the patterns in the given set
+     */
+    public static boolean matchAllPatterns(@Nullable CharSequence sequence, @Nullable PatternSet patterns) {
+        return StringUtils.isNotEmpty(sequence) && patterns != null && patterns.matchesAll(sequence);
     }
 
     public static boolean matchAnyPatterns(@Nullable CharSequence sequence, @Nullable String... regexes) {
@@ -291,7 +325,21 @@ public abstract class RegexUtilsWraps {
 
     @SuppressWarnings("MagicConstant")
     public static boolean matchAnyPatternsWithFlags(@Nullable CharSequence sequence, int flags, @Nullable Collection<String> regexes) {
-        return StringUtils.isNotEmpty(sequence) && CollectionPlainWraps.isNotEmpty(regexes) && regexes.stream().filter(StringUtils::isNotEmpty).anyMatch(regex -> Pattern.compile(regex, flags).matcher(sequence).matches());
+        return StringUtils.isNotEmpty(sequence) && CollectionPlainWraps.isNotEmpty(regexes) && regexes.stream().filter(StringUtils::isNotEmpty).anyMatch(regex -> getPattern(regex, flags).matcher(sequence).matches());
+    }
+
+    /**
+     * Returns whether the entire sequence matches any pattern in the given set
+     *
+     * @param sequence the character sequence to be matched
+     * @param patterns the compiled set of patterns
+     *
+     * @return whether the entire sequence matches any pattern in the given set
+     *
+     * @see com.yookue.commonplexus.javaseutil.regex.PatternSet#matchIndices(CharSequence)
+     */
+    public static boolean matchAnyPatterns(@Nullable CharSequence sequence, @Nullable PatternSet patterns) {
+        return StringUtils.isNotEmpty(sequence) && patterns != null && patterns.matchesAny(sequence);
     }
 
     public static boolean matchAllSequences(@Nullable String regex, @Nullable CharSequence... sequences) {
@@ -319,8 +367,25 @@ public abstract class RegexUtilsWraps {
         if (StringUtils.isEmpty(regex) || CollectionPlainWraps.isEmpty(sequences)) {
             return false;
         }
-        Pattern pattern = Pattern.compile(regex, flags);
-        return sequences.stream().allMatch(element -> pattern.matcher(element).matches());
+        return BatchMatcher.matching(getPattern(regex, flags)).allMatch(sequences);
+    }
+
+    /**
+     * Returns whether all the entire sequences match the pattern, evaluated in parallel for the large collections
+     *
+     * @param pattern the compiled pattern
+     * @param sequences the character sequences to be matched
+     *
+     * @return whether all the entire sequences match the pattern
+     *
+     * @see com.yookue.commonplexus.javaseutil.regex.BatchMatcher
+     */
+    public static boolean matchAllSequences(@Nullable Pattern pattern, @Nullable Collection<? extends CharSequence> sequences) {
+        return pattern != null && BatchMatcher.matching(pattern).allMatch(sequences);
+    }
+
+    public static boolean matchAllSequences(@Nullable PatternSet patterns, @Nullable Collection<? extends CharSequence> sequences) {
+        return patterns != null && BatchMatcher.matching(patterns).allMatch(sequences);
     }
 
     public static boolean matchAnySequences(@Nullable String regex, @Nullable CharSequence... sequences) {
@@ -348,8 +413,63 @@ public abstract class RegexUtilsWraps {
         if (StringUtils.isEmpty(regex) || CollectionPlainWraps.isEmpty(sequences)) {
             return false;
         }
-        Pattern pattern = Pattern.compile(regex, flags);
-        return sequences.stream().anyMatch(element -> pattern.matcher(element).matches());
+        return BatchMatcher.matching(getPattern(regex, flags)).anyMatch(sequences);
+    }
+
+    /**
+     * Returns whether any entire sequence matches the pattern, evaluated in parallel for the large collections
+     *
+     * @param pattern the compiled pattern
+     * @param sequences the character sequences to be matched
+     *
+     * @return whether any entire sequence matches the pattern
+     *
+     * @see com.yookue.commonplexus.javaseutil.regex.BatchMatcher
+     */
+    public static boolean matchAnySequences(@Nullable Pattern pattern, @Nullable Collection<? extends CharSequence> sequences) {
+        return pattern != null && BatchMatcher.matching(pattern).anyMatch(sequences);
+    }
+
+    public static boolean matchAnySequences(@Nullable PatternSet patterns, @Nullable Collection<? extends CharSequence> sequences) {
+        return patterns != null && BatchMatcher.matching(patterns).anyMatch(sequences);
+    }
+
+    /**
+     * Returns the indexes of the entire sequences that match the pattern, evaluated in parallel for the large collections
+     *
+     * @param pattern the compiled pattern
+     * @param sequences the character sequences to be matched
+     *
+     * @return the indexes of the entire sequences that match the pattern, in the iteration order of the collection
+     *
+     * @see com.yookue.commonplexus.javaseutil.regex.BatchMatcher
+     */
+    @Nonnull
+    public static BitSet matchSequenceIndices(@Nullable Pattern pattern, @Nullable Collection<? extends CharSequence> sequences) {
+        return (pattern == null) ? new BitSet() : BatchMatcher.matching(pattern).matchIndices(sequences);
+    }
+
+    @Nonnull
+    public static BitSet matchSequenceIndices(@Nullable PatternSet patterns, @Nullable Collection<? extends CharSequence> sequences) {
+        return (patterns == null) ? new BitSet() : BatchMatcher.matching(patterns).matchIndices(sequences);
+    }
+
+    /**
+     * Returns the count of the entire sequences that match the pattern, evaluated in parallel as far as the spliterator could be split
+     *
+     * @param pattern the compiled pattern
+     * @param sequences the character sequences to be matched
+     *
+     * @return the count of the entire sequences that match the pattern
+     *
+     * @see com.yookue.commonplexus.javaseutil.regex.BatchMatcher
+     */
+    public static long countMatchedSequences(@Nullable Pattern pattern, @Nullable Spliterator<? extends CharSequence> sequences) {
+        return (pattern == null) ? 0L : BatchMatcher.matching(pattern).countMatches(sequences);
+    }
+
+    public static long countMatchedSequences(@Nullable PatternSet patterns, @Nullable Spliterator<? extends CharSequence> sequences) {
+        return (patterns == null) ? 0L : BatchMatcher.matching(patterns).countMatches(sequences);
     }
 
     @Nullable
@@ -374,7 +494,7 @@ public abstract class RegexUtilsWraps {
             return null;
         }
         try {
-            return Pattern.compile(regex, flags);
+            return PatternCache.getDefault().compile(regex, flags);
         } catch (Exception ignored) {
         }
         return null;
@@ -420,7 +540,7 @@ public abstract class RegexUtilsWraps {
             if (StringUtils.isEmpty(regex)) {
                 continue;
             }
-            Pattern pattern = Pattern.compile(regex, flags);
+            Pattern pattern = getPattern(regex, flags);
             Matcher matcher = pattern.matcher(sequence);
             while (matcher.find()) {
                 result.add(matcher.group());
@@ -429,6 +549,118 @@ public abstract class RegexUtilsWraps {
         return result.isEmpty() ? null : result;
     }
 
+    /**
+     * Returns a list that containing the result that matched the pattern in the reader, with a bounded window, the reader is not closed
+     *
+     * @param reader the input reader
+     * @param pattern the compiled pattern
+     *
+     * @return a list that containing the result that matched the pattern in the reader
+     *
+     * @see com.yookue.commonplexus.javaseutil.regex.StreamingMatcher
+     */
+    @Nullable
+    public static List<String> extractMatched(@Nullable Reader reader, @Nullable Pattern pattern) {
+        List<String> result = new ArrayList<>();
+        scanMatched(reader, pattern, element -> result.add(element.group()));
+        return result.isEmpty() ? null : result;
+    }
+
+    /**
+     * Performs the given action for each match of the pattern in the reader, with a bounded window, the reader is not closed
+     *
+     * @param reader the input reader
+     * @param pattern the compiled pattern
+     * @param action the action for each match
+     *
+     * @return the count of the matches before any I/O error
+     *
+     * @see com.yookue.commonplexus.javaseutil.regex.StreamingMatcher
+     */
+    @SuppressWarnings({"DataFlowIssue", "RedundantSuppression"})
+    public static long scanMatched(@Nullable Reader reader, @Nullable Pattern pattern, @Nullable Consumer<? super OffsetMatchResult> action) {
+        if (ObjectUtils.anyNull(reader, pattern, action)) {
+            return 0L;
+        }
+        long[] count = new long[1];
+        try {
+            StreamingMatcher.of(pattern).scan(reader, element -> {
+                action.accept(element);
+                count[0]++;
+            });
+        } catch (IOException ignored) {
+        }
+        return count[0];
+    }
+
+    @SuppressWarnings({"DataFlowIssue", "RedundantSuppression"})
+    public static long scanMatched(@Nullable Path path, @Nullable Charset charset, @Nullable Pattern pattern, @Nullable Consumer<? super OffsetMatchResult> action) {
+        if (ObjectUtils.anyNull(path, pattern, action)) {
+            return 0L;
+        }
+        try (Reader reader = Files.newBufferedReader(path, CharsetPlainWraps.defaultCharset(charset))) {
+            return scanMatched(reader, pattern, action);
+        } catch (IOException ignored) {
+        }
+        return 0L;
+    }
+
+    @SuppressWarnings({"DataFlowIssue", "RedundantSuppression"})
+    public static long scanMatched(@Nullable ReadableByteChannel channel, @Nullable Charset charset, @Nullable Pattern pattern, @Nullable Consumer<? super OffsetMatchResult> action) {
+        if (ObjectUtils.anyNull(channel, pattern, action)) {
+            return 0L;
+        }
+        return scanMatched(Channels.newReader(channel, CharsetPlainWraps.defaultCharset(charset).newDecoder(), -1), pattern, action);
+    }
+
+    /**
+     * Returns a lazy stream of the matches of the pattern in the reader, with a bounded window, the reader is not closed
+     * <p>
+     * The I/O errors are thrown as {@link java.io.UncheckedIOException}s on traversing
+     *
+     * @param reader the input reader
+     * @param pattern the compiled pattern
+     *
+     * @return a lazy stream of the matches of the pattern in the reader
+     *
+     * @see com.yookue.commonplexus.javaseutil.regex.StreamingMatcher
+     */
+    @Nonnull
+    @SuppressWarnings({"DataFlowIssue", "RedundantSuppression"})
+    public static Stream<OffsetMatchResult> streamMatched(@Nullable Reader reader, @Nullable Pattern pattern) {
+        return ObjectUtils.anyNull(reader, pattern) ? Stream.empty() : StreamingMatcher.of(pattern).stream(reader);
+    }
+
+    /**
+     * Returns a lazy stream of the matches of the pattern in the file, with a bounded window, the file is closed when the stream is closed
+     *
+     * @param path the input file
+     * @param charset the charset to decode the file, or the default charset if null
+     * @param pattern the compiled pattern
+     *
+     * @return a lazy stream of the matches of the pattern in the file, or an empty stream if the file could not be opened
+     *
+     * @see com.yookue.commonplexus.javaseutil.regex.StreamingMatcher
+     */
+    @Nonnull
+    @SuppressWarnings({"DataFlowIssue", "RedundantSuppression"})
+    public static Stream<OffsetMatchResult> streamMatched(@Nullable Path path, @Nullable Charset charset, @Nullable Pattern pattern) {
+        if (ObjectUtils.anyNull(path, pattern)) {
+            return Stream.empty();
+        }
+        try {
+            return StreamingMatcher.of(pattern).stream(path, CharsetPlainWraps.defaultCharset(charset));
+        } catch (IOException ignored) {
+        }
+        return Stream.empty();
+    }
+
+    @Nonnull
+    @SuppressWarnings({"DataFlowIssue", "RedundantSuppression"})
+    public static Stream<OffsetMatchResult> streamMatched(@Nullable ReadableByteChannel channel, @Nullable Charset charset, @Nullable Pattern pattern) {
+        return ObjectUtils.anyNull(channel, pattern) ? Stream.empty() : StreamingMatcher.of(pattern).stream(channel, CharsetPlainWraps.defaultCharset(charset));
+    }
+
     @Nullable
     @SafeVarargs
     public static <T extends CharSequence> T firstStartsWithAlphabetic(@Nullable T... sequences) {
@@ -437,7 +669,7 @@ public abstract class RegexUtilsWraps {
 
     @Nullable
     public static <T extends CharSequence> T firstStartsWithAlphabetic(@Nullable Collection<T> sequences) {
-        return CollectionPlainWraps.isNotEmpty(sequences) ? sequences.stream().filter(RegexUtilsWraps::startsWithAlphabetic).findFirst().orElse(null) : null;
+        return firstMatch(sequences, RegexUtilsWraps::startsWithAlphabetic);
     }
 
     @Nullable
@@ -448,7 +680,7 @@ public abstract class RegexUtilsWraps {
 
     @Nullable
     public static <T extends CharSequence> T firstStartsWithAlphanumeric(@Nullable Collection<T> sequences) {
-        return CollectionPlainWraps.isNotEmpty(sequences) ? sequences.stream().filter(RegexUtilsWraps::startsWithAlphanumeric).findFirst().orElse(null) : null;
+        return firstMatch(sequences, RegexUtilsWraps::startsWithAlphanumeric);
     }
 
     @Nullable
@@ -459,7 +691,7 @@ public abstract class RegexUtilsWraps {
 
     @Nullable
     public static <T extends CharSequence> T firstStartsWithNumeric(@Nullable Collection<T> sequences) {
-        return CollectionPlainWraps.isNotEmpty(sequences) ? sequences.stream().filter(RegexUtilsWraps::startsWithNumeric).findFirst().orElse(null) : null;
+        return firstMatch(sequences, RegexUtilsWraps::startsWithNumeric);
     }
 
     @Nullable
@@ -470,7 +702,7 @@ public abstract class RegexUtilsWraps {
 
     @Nullable
     public static <T extends CharSequence> T firstEndsWithAlphabetic(@Nullable Collection<T> sequences) {
-        return CollectionPlainWraps.isNotEmpty(sequences) ? sequences.stream().filter(RegexUtilsWraps::endsWithAlphabetic).findFirst().orElse(null) : null;
+        return firstMatch(sequences, RegexUtilsWraps::endsWithAlphabetic);
     }
 
     @Nullable
@@ -481,7 +713,7 @@ public abstract class RegexUtilsWraps {
 
     @Nullable
     public static <T extends CharSequence> T firstEndsWithAlphanumeric(@Nullable Collection<T> sequences) {
-        return CollectionPlainWraps.isNotEmpty(sequences) ? sequences.stream().filter(RegexUtilsWraps::endsWithAlphanumeric).findFirst().orElse(null) : null;
+        return firstMatch(sequences, RegexUtilsWraps::endsWithAlphanumeric);
     }
 
     @Nullable
@@ -492,7 +724,7 @@ public abstract class RegexUtilsWraps {
 
     @Nullable
     public static <T extends CharSequence> T firstEndsWithNumeric(@Nullable Collection<T> sequences) {
-        return CollectionPlainWraps.isNotEmpty(sequences) ? sequences.stream().filter(RegexUtilsWraps::endsWithNumeric).findFirst().orElse(null) : null;
+        return firstMatch(sequences, RegexUtilsWraps::endsWithNumeric);
     }
 
     public static boolean isEscapeChar(char character) {
@@ -515,7 +747,7 @@ public abstract class RegexUtilsWraps {
             return text;
         }
         AtomicReference<String> result = new AtomicReference<>(text);
-        regexes.stream().filter(StringUtils::isNotEmpty).forEach(regex -> result.set(RegExUtils.removeAll(result.get(), regex)));
+        regexes.stream().filter(StringUtils::isNotEmpty).forEach(regex -> result.set(RegExUtils.removeAll(result.get(), getPattern(regex, 0))));
         return result.get();
     }
 
@@ -528,12 +760,12 @@ public abstract class RegexUtilsWraps {
             return text;
         }
         AtomicReference<String> result = new AtomicReference<>(text);
-        regexes.stream().filter(StringUtils::isNotEmpty).forEach(regex -> result.set(RegExUtils.removeAll(result.get(), Pattern.compile(regex, Pattern.CASE_INSENSITIVE))));
+        regexes.stream().filter(StringUtils::isNotEmpty).forEach(regex -> result.set(RegExUtils.removeAll(result.get(), getPattern(regex, Pattern.CASE_INSENSITIVE))));
         return result.get();
     }
 
     public static String removeLineSeparator(@Nullable String text) {
-        return StringUtils.isEmpty(text) ? text : RegExUtils.removeAll(text, RegexVariantConst.LINE_SEPARATOR);
+        return StringUtils.isEmpty(text) ? text : RegExUtils.removeAll(text, RegexPatternConst.LINE_SEPARATOR);
     }
 
     public static String removeStart(@Nullable String text, char character) {
@@ -541,7 +773,7 @@ public abstract class RegexUtilsWraps {
             return text;
         }
         String regex = StringUtils.join(CharVariantConst.CARET, (isEscapeChar(character) ? SymbolVariantConst.DOUBLE_BACKSLASHES : null), character, CharVariantConst.CROSS);
-        return RegExUtils.removeAll(text, regex);
+        return RegExUtils.removeAll(text, getPattern(regex, 0));
     }
 
     public static String removeStart(@Nullable String text, @Nullable String... regexes) {
@@ -553,7 +785,7 @@ public abstract class RegexUtilsWraps {
             return text;
         }
         AtomicReference<String> result = new AtomicReference<>(text);
-        regexes.stream().filter(StringUtils::isNotEmpty).forEach(regex -> result.set(RegExUtils.removeAll(result.get(), StringUtilsWraps.prependIfMissing(regex, CharVariantConst.CARET))));
+        regexes.stream().filter(StringUtils::isNotEmpty).forEach(regex -> result.set(RegExUtils.removeAll(result.get(), getPattern(StringUtilsWraps.prependIfMissing(regex, CharVariantConst.CARET), 0))));
         return result.get();
     }
 
@@ -572,7 +804,7 @@ public abstract class RegexUtilsWraps {
             return text;
         }
         AtomicReference<String> result = new AtomicReference<>(text);
-        regexes.stream().filter(StringUtils::isNotEmpty).forEach(regex -> result.set(RegExUtils.removeAll(result.get(), Pattern.compile(StringUtilsWraps.prependIfMissing(regex, CharVariantConst.CARET), Pattern.CASE_INSENSITIVE))));
+        regexes.stream().filter(StringUtils::isNotEmpty).forEach(regex -> result.set(RegExUtils.removeAll(result.get(), getPattern(StringUtilsWraps.prependIfMissing(regex, CharVariantConst.CARET), Pattern.CASE_INSENSITIVE))));
         return result.get();
     }
 
@@ -581,7 +813,7 @@ public abstract class RegexUtilsWraps {
             return text;
         }
         String regex = StringUtils.join((isEscapeChar(character) ? SymbolVariantConst.DOUBLE_BACKSLASHES : null), character, CharVariantConst.CROSS, CharVariantConst.DOLLAR);
-        return RegExUtils.removeAll(text, regex);
+        return RegExUtils.removeAll(text, getPattern(regex, 0));
     }
 
     public static String removeEnd(@Nullable String text, @Nullable String... regexes) {
@@ -593,7 +825,7 @@ public abstract class RegexUtilsWraps {
             return text;
         }
         AtomicReference<String> result = new AtomicReference<>(text);
-        regexes.stream().filter(StringUtils::isNotEmpty).forEach(regex -> result.set(RegExUtils.removeAll(result.get(), StringUtilsWraps.appendIfMissing(regex, CharVariantConst.DOLLAR))));
+        regexes.stream().filter(StringUtils::isNotEmpty).forEach(regex -> result.set(RegExUtils.removeAll(result.get(), getPattern(StringUtilsWraps.appendIfMissing(regex, CharVariantConst.DOLLAR), 0))));
         return result.get();
     }
 
@@ -612,7 +844,7 @@ public abstract class RegexUtilsWraps {
             return text;
         }
         AtomicReference<String> result = new AtomicReference<>(text);
-        regexes.stream().filter(StringUtils::isNotEmpty).forEach(regex -> result.set(RegExUtils.removeAll(result.get(), Pattern.compile(StringUtilsWraps.appendIfMissing(regex, CharVariantConst.DOLLAR), Pattern.CASE_INSENSITIVE))));
+        regexes.stream().filter(StringUtils::isNotEmpty).forEach(regex -> result.set(RegExUtils.removeAll(result.get(), getPattern(StringUtilsWraps.appendIfMissing(regex, CharVariantConst.DOLLAR), Pattern.CASE_INSENSITIVE))));
         return result.get();
     }
 
@@ -627,7 +859,7 @@ public abstract class RegexUtilsWraps {
         if (StringUtils.isEmpty(text) || StringUtils.isBlank(regex)) {
             return text;
         }
-        Pattern pattern = Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
+        Pattern pattern = getPattern(regex, Pattern.CASE_INSENSITIVE);
         return RegExUtils.replaceAll(text, pattern, StringUtils.defaultString(replacement));
     }
 
@@ -642,69 +874,95 @@ public abstract class RegexUtilsWraps {
         if (StringUtils.isEmpty(text) || StringUtils.isBlank(regex)) {
             return text;
         }
-        Pattern pattern = Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
+        Pattern pattern = getPattern(regex, Pattern.CASE_INSENSITIVE);
         return RegExUtils.replaceFirst(text, pattern, StringUtils.defaultString(replacement));
     }
 
     public static String reserveAlphabetic(@Nullable String text) {
-        return StringUtils.isEmpty(text) ? text : RegExUtils.removeAll(text, "[^A-Za-z]");    // $NON-NLS-1$
+        return CharClass.ALPHABETIC.retain(text);
     }
 
     public static String reserveAlphanumeric(@Nullable String text) {
-        return StringUtils.isEmpty(text) ? text : RegExUtils.removeAll(text, "[^A-Za-z0-9]");    // $NON-NLS-1$
+        return CharClass.ALPHANUMERIC.retain(text);
     }
 
     public static String reserveWord(@Nullable String text) {
-        return StringUtils.isEmpty(text) ? text : RegExUtils.removeAll(text, "\\W");    // $NON-NLS-1$
+        return CharClass.WORD.retain(text);
     }
 
     public static String reserveWordHyphen(@Nullable String text) {
-        return StringUtils.isEmpty(text) ? text : RegExUtils.removeAll(text, "[^A-Za-z0-9_\\-]");    // $NON-NLS-1$
+        return CharClass.WORD_HYPHEN.retain(text);
     }
 
     /**
      * @see org.apache.commons.lang3.StringUtils#getDigits(String)
      */
     public static String reserveNumeric(@Nullable String text) {
-        return StringUtils.isEmpty(text) ? text : RegExUtils.removeAll(text, "\\D");    // $NON-NLS-1$
+        return CharClass.NUMERIC.retain(text);
     }
 
     public static String reserveNumericHyphen(@Nullable String text) {
-        return StringUtils.isEmpty(text) ? text : RegExUtils.removeAll(text, "[^0-9\\-]");    // $NON-NLS-1$
+        return CharClass.NUMERIC_HYPHEN.retain(text);
     }
 
     public static boolean isAlphabetic(@Nullable CharSequence sequence) {
-        return matches(sequence, "^[A-Za-z]+$");    // $NON-NLS-1$
+        return CharClass.ALPHABETIC.matchesAll(sequence);
     }
 
     public static boolean isAlphanumeric(@Nullable CharSequence sequence) {
-        return matches(sequence, "^[A-Za-z\\d]+$");    // $NON-NLS-1$
+        return CharClass.ALPHANUMERIC.matchesAll(sequence);
     }
 
     public static boolean isNumeric(@Nullable CharSequence sequence) {
-        return matches(sequence, "^\\d+$");    // $NON-NLS-1$
+        return CharClass.NUMERIC.matchesAll(sequence);
     }
 
     public static boolean isNegateNumeric(@Nullable CharSequence sequence) {
-        return matches(sequence, "^-\\d+$");    // $NON-NLS-1$
+        return sequence != null && sequence.length() > 1 && sequence.charAt(0) == CharVariantConst.HYPHEN && CharClass.NUMERIC.matchesRange(sequence, 1, sequence.length());
     }
 
     public static boolean isPositiveNumeric(@Nullable CharSequence sequence) {
-        return matches(sequence, "^\\+?[1-9]+$");    // $NON-NLS-1$
+        if (sequence == null) {
+            return false;
+        }
+        int start = (sequence.length() > 0 && sequence.charAt(0) == CharVariantConst.CROSS) ? 1 : 0;
+        return sequence.length() > start && POSITIVE_DIGIT.matchesRange(sequence, start, sequence.length());
     }
 
     public static boolean isWord(@Nullable CharSequence sequence) {
-        return matches(sequence, "^\\w+$");    // $NON-NLS-1$
+        return CharClass.WORD.matchesAll(sequence);
     }
 
     public static boolean isWordHyphen(@Nullable CharSequence sequence) {
-        return matches(sequence, "^[\\w\\-]+$");    // $NON-NLS-1$
+        return CharClass.WORD_HYPHEN.matchesAll(sequence);
     }
 
     public static boolean find(@Nullable CharSequence sequence, @Nullable Pattern pattern) {
         return StringUtils.isNotEmpty(sequence) && pattern != null && pattern.matcher(sequence).find();
     }
 
+    /**
+     * Returns whether the pattern could be found in the reader, with a bounded window, reads until the first match only
+     *
+     * @param reader the input reader
+     * @param pattern the compiled pattern
+     *
+     * @return whether the pattern could be found in the reader
+     *
+     * @see com.yookue.commonplexus.javaseutil.regex.StreamingMatcher
+     */
+    @SuppressWarnings({"DataFlowIssue", "RedundantSuppression"})
+    public static boolean find(@Nullable Reader reader, @Nullable Pattern pattern) {
+        if (ObjectUtils.anyNull(reader, pattern)) {
+            return false;
+        }
+        try {
+            return StreamingMatcher.of(pattern).find(reader);
+        } catch (IOException ignored) {
+        }
+        return false;
+    }
+
     /**
      * Attempts to find the next subsequence of the input sequence that matches the pattern
      *
@@ -717,7 +975,7 @@ public abstract class RegexUtilsWraps {
      */
     @SuppressWarnings({"DataFlowIssue", "RedundantSuppression"})
     public static boolean find(@Nullable CharSequence sequence, @Nullable String regex) {
-        return StringUtils.isNoneEmpty(sequence, regex) && Pattern.compile(regex).matcher(sequence).find();
+        return StringUtils.isNoneEmpty(sequence, regex) && getPattern(regex, 0).matcher(sequence).find();
     }
 
     public static boolean findAny(@Nullable CharSequence sequence, @Nullable String... regexes) {
@@ -728,6 +986,20 @@ public abstract class RegexUtilsWraps {
         return StringUtils.isNotEmpty(sequence) && CollectionPlainWraps.isNotEmpty(regexes) && regexes.stream().filter(StringUtils::isNotEmpty).anyMatch(element -> find(sequence, element));
     }
 
+    /**
+     * Returns whether any pattern in the given set could be found in the sequence
+     *
+     * @param sequence the character sequence to be matched
+     * @param patterns the compiled set of patterns
+     *
+     * @return whether any pattern in the given set could be found in the sequence
+     *
+     * @see com.yookue.commonplexus.javaseutil.regex.PatternSet#findIndices(CharSequence)
+     */
+    public static boolean findAny(@Nullable CharSequence sequence, @Nullable PatternSet patterns) {
+        return StringUtils.isNotEmpty(sequence) && patterns != null && patterns.findAny(sequence);
+    }
+
     /**
      * Attempts to find the next subsequence of the input sequence that matches the pattern, case-insensitive
      *
@@ -740,7 +1012,7 @@ public abstract class RegexUtilsWraps {
      */
     @SuppressWarnings({"DataFlowIssue", "RedundantSuppression"})
     public static boolean findIgnoreCase(@Nullable CharSequence sequence, @Nullable String regex) {
-        return StringUtils.isNoneEmpty(sequence, regex) && Pattern.compile(regex, Pattern.CASE_INSENSITIVE).matcher(sequence).find();
+        return StringUtils.isNoneEmpty(sequence, regex) && getPattern(regex, Pattern.CASE_INSENSITIVE).matcher(sequence).find();
     }
 
     public static boolean findAnyIgnoreCase(@Nullable CharSequence sequence, @Nullable String... regexes) {
@@ -763,7 +1035,7 @@ public abstract class RegexUtilsWraps {
      */
     @SuppressWarnings({"DataFlowIssue", "MagicConstant"})
     public static boolean findWithFlags(@Nullable CharSequence sequence, @Nullable String regex, int flags) {
-        return StringUtils.isNoneEmpty(sequence, regex) && Pattern.compile(regex, flags).matcher(sequence).find();
+        return StringUtils.isNoneEmpty(sequence, regex) && getPattern(regex, flags).matcher(sequence).find();
     }
 
     public static boolean findAnyWithFlags(@Nullable CharSequence sequence, int flags, @Nullable String... regexes) {
@@ -790,7 +1062,7 @@ public abstract class RegexUtilsWraps {
      */
     @SuppressWarnings({"DataFlowIssue", "RedundantSuppression"})
     public static boolean matches(@Nullable CharSequence sequence, @Nullable String regex) {
-        return StringUtils.isNoneEmpty(sequence, regex) && Pattern.matches(regex, sequence);
+        return StringUtils.isNoneEmpty(sequence, regex) && getPattern(regex, 0).matcher(sequence).matches();
     }
 
     /**
@@ -805,7 +1077,7 @@ public abstract class RegexUtilsWraps {
      */
     @SuppressWarnings({"DataFlowIssue", "RedundantSuppression"})
     public static boolean matchesIgnoreCase(@Nullable CharSequence sequence, @Nullable String regex) {
-        return StringUtils.isNoneEmpty(sequence, regex) && Pattern.compile(regex, Pattern.CASE_INSENSITIVE).matcher(sequence).matches();
+        return StringUtils.isNoneEmpty(sequence, regex) && getPattern(regex, Pattern.CASE_INSENSITIVE).matcher(sequence).matches();
     }
 
     /**
@@ -820,46 +1092,85 @@ public abstract class RegexUtilsWraps {
      */
     @SuppressWarnings({"DataFlowIssue", "MagicConstant"})
     public static boolean matchesWithFlags(@Nullable CharSequence sequence, @Nullable String regex, int flags) {
-        return StringUtils.isNoneEmpty(sequence, regex) && Pattern.compile(regex, flags).matcher(sequence).matches();
+        return StringUtils.isNoneEmpty(sequence, regex) && getPattern(regex, flags).matcher(sequence).matches();
     }
 
     public static boolean startsWithAlphabetic(@Nullable CharSequence sequence) {
-        return matches(sequence, "^[A-Za-z]+");    // $NON-NLS-1$
+        return CharClass.ALPHABETIC.matchesAll(sequence);
     }
 
     public static boolean startsWithAlphanumeric(@Nullable CharSequence sequence) {
-        return matches(sequence, "^[A-Za-z\\d]+");    // $NON-NLS-1$
+        return CharClass.ALPHANUMERIC.matchesAll(sequence);
     }
 
     public static boolean startsWithNumeric(@Nullable CharSequence sequence) {
-        return matches(sequence, "^\\d+");    // $NON-NLS-1$
+        return CharClass.NUMERIC.matchesAll(sequence);
     }
 
     public static boolean startsWithWord(@Nullable CharSequence sequence) {
-        return matches(sequence, "^\\w+");    // $NON-NLS-1$
+        return CharClass.WORD.matchesAll(sequence);
     }
 
     public static boolean startsWithWordHyphen(@Nullable CharSequence sequence) {
-        return matches(sequence, "^[\\w\\-]+");    // $NON-NLS-1$
+        return CharClass.WORD_HYPHEN.matchesAll(sequence);
     }
 
     public static boolean endsWithAlphabetic(@Nullable CharSequence sequence) {
-        return StringUtils.isNotBlank(sequence) && Pattern.matches("[A-Za-z]+$", sequence);    // $NON-NLS-1$
+        return CharClass.ALPHABETIC.matchesAll(sequence);
     }
 
     public static boolean endsWithAlphanumeric(@Nullable CharSequence sequence) {
-        return StringUtils.isNotBlank(sequence) && Pattern.matches("[A-Za-z\\d]+$", sequence);    // $NON-NLS-1$
+        return CharClass.ALPHANUMERIC.matchesAll(sequence);
     }
 
     public static boolean endsWithNumeric(@Nullable CharSequence sequence) {
-        return StringUtils.isNotBlank(sequence) && Pattern.matches("\\d+$", sequence);    // $NON-NLS-1$
+        return CharClass.NUMERIC.matchesAll(sequence);
     }
 
     public static boolean endsWithWord(@Nullable CharSequence sequence) {
-        return matches(sequence, "\\w+$");    // $NON-NLS-1$
+        return CharClass.WORD.matchesAll(sequence);
     }
 
     public static boolean endsWithWordHyphen(@Nullable CharSequence sequence) {
-        return matches(sequence, "[\\w\\-]+$");    // $NON-NLS-1$
+        return CharClass.WORD_HYPHEN.matchesAll(sequence);
+    }
+
+    /**
+     * Returns the compiled pattern from the default {@link com.yookue.commonplexus.javaseutil.regex.PatternCache}
+     *
+     * @throws java.util.regex.PatternSyntaxException if the expression's syntax is invalid
+     */
+    @Nonnull
+    private static Pattern getPattern(@Nonnull String regex, int flags) {
+        return PatternCache.getDefault().compile(regex, flags);
+    }
+
+    private static <T extends CharSequence> boolean allMatch(@Nullable Collection<T> sequences, @Nonnull Predicate<? super T> predicate) {
+        if (CollectionPlainWraps.isEmpty(sequences)) {
+            return false;
+        }
+        for (T sequence : sequences) {
+            if (!predicate.test(sequence)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static <T extends CharSequence> boolean anyMatch(@Nullable Collection<T> sequences, @Nonnull Predicate<? super T> predicate) {
+        return firstMatch(sequences, predicate) != null;
+    }
+
+    @Nullable
+    private static <T extends CharSequence> T firstMatch(@Nullable Collection<T> sequences, @Nonnull Predicate<? super T> predicate) {
+        if (CollectionPlainWraps.isEmpty(sequences)) {
+            return null;
+        }
+        for (T sequence : sequences) {
+            if (predicate.test(sequence)) {
+                return sequence;
+            }
+        }
+        return null;
     }
 }
@@ -17,6 +17,9 @@
 package com.yookue.commonplexus.javaseutil.util;
 
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.util.Map;
 import java.util.Properties;
 import jakarta.annotation.Nullable;
@@ -24,11 +27,19 @@ import org.apache.commons.lang3.CharUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.text.StringSubstitutor;
 import org.apache.commons.text.lookup.StringLookup;
+import org.apache.commons.text.lookup.StringLookupFactory;
 import com.yookue.commonplexus.javaseutil.constant.CharVariantConst;
+import com.yookue.commonplexus.javaseutil.text.CompiledTemplate;
+import com.yookue.commonplexus.javaseutil.text.StreamingSubstitutor;
 
 
 /**
  * Utilities for {@link org.apache.commons.text.StringSubstitutor}
+ * <p>
+ * The sources are parsed into {@link com.yookue.commonplexus.javaseutil.text.CompiledTemplate}s without caching, as they may be arbitrary texts;
+ * the templates to render repeatedly should be compiled by {@link com.yookue.commonplexus.javaseutil.text.CompiledTemplate#compile(CharSequence, CharSequence, CharSequence)} instead
+ * <p>
+ * The methods with a {@link java.io.Reader} and a {@link java.io.Writer} substitute by {@link com.yookue.commonplexus.javaseutil.text.StreamingSubstitutor}, without holding the whole source in memory
  *
  * @author David Hsing
  * @see org.apache.commons.text.StringSubstitutor
@@ -59,11 +70,7 @@ public abstract class StringSubstitutorWraps {
         if (MapPlainWraps.isEmpty(mappings) || StringUtils.isAnyEmpty(prefix, suffix)) {
             return source.toString();
         }
-        StringSubstitutor substitutor = new StringSubstitutor(mappings, prefix.toString(), suffix.toString());
-        if (lookup != null) {
-            substitutor.setVariableResolver(lookup);
-        }
-        return substitutor.replace(source);
+        return CompiledTemplate.parse(source.toString(), prefix, suffix).render((lookup != null) ? lookup : StringLookupFactory.INSTANCE.mapStringLookup(mappings));
     }
 
     @Nullable
@@ -86,6 +93,57 @@ public abstract class StringSubstitutorWraps {
         return replace(source, PropertyPlainWraps.toStringStringMap(mappings), prefix, suffix, lookup);
     }
 
+    public static <V> long replace(@Nullable Reader reader, @Nullable Writer writer, @Nullable Map<String, V> mappings, char prefix, char suffix) {
+        return replace(reader, writer, mappings, prefix, suffix, null);
+    }
+
+    public static <V> long replace(@Nullable Reader reader, @Nullable Writer writer, @Nullable Map<String, V> mappings, char prefix, char suffix, @Nullable StringLookup lookup) {
+        return replace(reader, writer, mappings, CharUtils.toString(prefix), CharUtils.toString(suffix), lookup);
+    }
+
+    public static <V> long replace(@Nullable Reader reader, @Nullable Writer writer, @Nullable Map<String, V> mappings, @Nullable CharSequence prefix, @Nullable CharSequence suffix) {
+        return replace(reader, writer, mappings, prefix, suffix, null);
+    }
+
+    /**
+     * Reads the source from the reader, and writes it to the writer with the variables substituted
+     * <p>
+     * The placeholders longer than {@link com.yookue.commonplexus.javaseutil.text.StreamingSubstitutor#DEFAULT_MAXIMUM_PLACEHOLDER_LENGTH} are written as literal.
+     * Neither the reader nor the writer is closed
+     *
+     * @param reader the reader of the source text containing the variables to substitute
+     * @param writer the writer of the replacing text
+     * @param mappings the map that contains the variables and values
+     * @param prefix the prefix of the variables
+     * @param suffix the suffix of the variables
+     * @param lookup the string variable resolver
+     *
+     * @return the count of the substituted variables, or {@code -1} if an I/O error occurs
+     */
+    @SuppressWarnings({"DataFlowIssue", "RedundantSuppression"})
+    public static <V> long replace(@Nullable Reader reader, @Nullable Writer writer, @Nullable Map<String, V> mappings, @Nullable CharSequence prefix, @Nullable CharSequence suffix, @Nullable StringLookup lookup) {
+        if (reader == null || writer == null) {
+            return 0L;
+        }
+        try {
+            if (MapPlainWraps.isEmpty(mappings) || StringUtils.isAnyEmpty(prefix, suffix)) {
+                reader.transferTo(writer);
+                return 0L;
+            }
+            return StreamingSubstitutor.of(prefix, suffix).replace(reader, writer, (lookup != null) ? lookup : StringLookupFactory.INSTANCE.mapStringLookup(mappings));
+        } catch (IOException ignored) {
+        }
+        return -1L;
+    }
+
+    public static long replace(@Nullable Reader reader, @Nullable Writer writer, @Nullable Properties mappings, @Nullable CharSequence prefix, @Nullable CharSequence suffix) {
+        return replace(reader, writer, mappings, prefix, suffix, null);
+    }
+
+    public static long replace(@Nullable Reader reader, @Nullable Writer writer, @Nullable Properties mappings, @Nullable CharSequence prefix, @Nullable CharSequence suffix, @Nullable StringLookup lookup) {
+        return replace(reader, writer, PropertyPlainWraps.toStringStringMap(mappings), prefix, suffix, lookup);
+    }
+
     @Nullable
     public static <V> String replaceAngleBrackets(@Nullable Object source, @Nullable Map<String, V> mappings) {
         return replaceAngleBrackets(source, mappings, null);
@@ -105,6 +163,14 @@ public abstract class StringSubstitutorWraps {
         return replace(source, mappings, CharVariantConst.ANGLE_BRACKET_LEFT, CharVariantConst.ANGLE_BRACKET_RIGHT, lookup);
     }
 
+    public static <V> long replaceAngleBrackets(@Nullable Reader reader, @Nullable Writer writer, @Nullable Map<String, V> mappings) {
+        return replaceAngleBrackets(reader, writer, mappings, null);
+    }
+
+    public static <V> long replaceAngleBrackets(@Nullable Reader reader, @Nullable Writer writer, @Nullable Map<String, V> mappings, @Nullable StringLookup lookup) {
+        return replace(reader, writer, mappings, CharVariantConst.ANGLE_BRACKET_LEFT, CharVariantConst.ANGLE_BRACKET_RIGHT, lookup);
+    }
+
     @Nullable
     public static <V> String replaceDollarAngleBrackets(@Nullable Object source, @Nullable Map<String, V> mappings) {
         return replaceDollarAngleBrackets(source, mappings, null);
@@ -124,6 +190,14 @@ public abstract class StringSubstitutorWraps {
         return replace(source, mappings, StringUtils.join(CharVariantConst.DOLLAR, CharVariantConst.ANGLE_BRACKET_LEFT), CharUtils.toString(CharVariantConst.ANGLE_BRACKET_RIGHT), lookup);
     }
 
+    public static <V> long replaceDollarAngleBrackets(@Nullable Reader reader, @Nullable Writer writer, @Nullable Map<String, V> mappings) {
+        return replaceDollarAngleBrackets(reader, writer, mappings, null);
+    }
+
+    public static <V> long replaceDollarAngleBrackets(@Nullable Reader reader, @Nullable Writer writer, @Nullable Map<String, V> mappings, @Nullable StringLookup lookup) {
+        return replace(reader, writer, mappings, StringUtils.join(CharVariantConst.DOLLAR, CharVariantConst.ANGLE_BRACKET_LEFT), CharUtils.toString(CharVariantConst.ANGLE_BRACKET_RIGHT), lookup);
+    }
+
     @Nullable
     public static <V> String replaceCurlyBrackets(@Nullable Object source, @Nullable Map<String, V> mappings) {
         return replaceCurlyBrackets(source, mappings, null);
@@ -143,6 +217,14 @@ public abstract class StringSubstitutorWraps {
         return replace(source, mappings, CharVariantConst.CURLY_BRACKET_LEFT, CharVariantConst.CURLY_BRACKET_RIGHT, lookup);
     }
 
+    public static <V> long replaceCurlyBrackets(@Nullable Reader reader, @Nullable Writer writer, @Nullable Map<String, V> mappings) {
+        return replaceCurlyBrackets(reader, writer, mappings, null);
+    }
+
+    public static <V> long replaceCurlyBrackets(@Nullable Reader reader, @Nullable Writer writer, @Nullable Map<String, V> mappings, @Nullable StringLookup lookup) {
+        return replace(reader, writer, mappings, CharVariantConst.CURLY_BRACKET_LEFT, CharVariantConst.CURLY_BRACKET_RIGHT, lookup);
+    }
+
     @Nullable
     public static <V> String replaceDollarCurlyBrackets(@Nullable Object source, @Nullable Map<String, V> mappings) {
         return replaceDollarCurlyBrackets(source, mappings, null);
@@ -162,6 +244,14 @@ public abstract class StringSubstitutorWraps {
         return replace(source, mappings, StringSubstitutor.DEFAULT_VAR_START, StringSubstitutor.DEFAULT_VAR_END, lookup);
     }
 
+    public static <V> long replaceDollarCurlyBrackets(@Nullable Reader reader, @Nullable Writer writer, @Nullable Map<String, V> mappings) {
+        return replaceDollarCurlyBrackets(reader, writer, mappings, null);
+    }
+
+    public static <V> long replaceDollarCurlyBrackets(@Nullable Reader reader, @Nullable Writer writer, @Nullable Map<String, V> mappings, @Nullable StringLookup lookup) {
+        return replace(reader, writer, mappings, StringSubstitutor.DEFAULT_VAR_START, StringSubstitutor.DEFAULT_VAR_END, lookup);
+    }
+
     @Nullable
     public static <V> String replaceSquareBrackets(@Nullable Object source, @Nullable Map<String, V> mappings) {
         return replaceSquareBrackets(source, mappings, null);
@@ -181,6 +271,14 @@ public abstract class StringSubstitutorWraps {
         return replace(source, mappings, CharVariantConst.SQUARE_BRACKET_LEFT, CharVariantConst.SQUARE_BRACKET_RIGHT, lookup);
     }
 
+    public static <V> long replaceSquareBrackets(@Nullable Reader reader, @Nullable Writer writer, @Nullable Map<String, V> mappings) {
+        return replaceSquareBrackets(reader, writer, mappings, null);
+    }
+
+    public static <V> long replaceSquareBrackets(@Nullable Reader reader, @Nullable Writer writer, @Nullable Map<String, V> mappings, @Nullable StringLookup lookup) {
+        return replace(reader, writer, mappings, CharVariantConst.SQUARE_BRACKET_LEFT, CharVariantConst.SQUARE_BRACKET_RIGHT, lookup);
+    }
+
     @Nullable
     public static <V> String replaceDollarSquareBrackets(@Nullable Object source, @Nullable Map<String, V> mappings) {
         return replaceDollarSquareBrackets(source, mappings, null);
@@ -200,6 +298,14 @@ public abstract class StringSubstitutorWraps {
         return replace(source, mappings, StringUtils.join(CharVariantConst.DOLLAR, CharVariantConst.SQUARE_BRACKET_LEFT), CharUtils.toString(CharVariantConst.SQUARE_BRACKET_RIGHT), lookup);
     }
 
+    public static <V> long replaceDollarSquareBrackets(@Nullable Reader reader, @Nullable Writer writer, @Nullable Map<String, V> mappings) {
+        return replaceDollarSquareBrackets(reader, writer, mappings, null);
+    }
+
+    public static <V> long replaceDollarSquareBrackets(@Nullable Reader reader, @Nullable Writer writer, @Nullable Map<String, V> mappings, @Nullable StringLookup lookup) {
+        return replace(reader, writer, mappings, StringUtils.join(CharVariantConst.DOLLAR, CharVariantConst.SQUARE_BRACKET_LEFT), CharUtils.toString(CharVariantConst.SQUARE_BRACKET_RIGHT), lookup);
+    }
+
     @Nullable
     public static <V> String replaceParenthesis(@Nullable Object source, @Nullable Map<String, V> mappings) {
         return replaceParenthesis(source, mappings, null);
@@ -219,6 +325,14 @@ public abstract class StringSubstitutorWraps {
         return replace(source, mappings, CharVariantConst.PARENTHESIS_LEFT, CharVariantConst.PARENTHESIS_RIGHT, lookup);
     }
 
+    public static <V> long replaceParenthesis(@Nullable Reader reader, @Nullable Writer writer, @Nullable Map<String, V> mappings) {
+        return replaceParenthesis(reader, writer, mappings, null);
+    }
+
+    public static <V> long replaceParenthesis(@Nullable Reader reader, @Nullable Writer writer, @Nullable Map<String, V> mappings, @Nullable StringLookup lookup) {
+        return replace(reader, writer, mappings, CharVariantConst.PARENTHESIS_LEFT, CharVariantConst.PARENTHESIS_RIGHT, lookup);
+    }
+
     @Nullable
     public static <V> String replaceDollarParenthesis(@Nullable Object source, @Nullable Map<String, V> mappings) {
         return replaceDollarParenthesis(source, mappings, null);
@@ -237,4 +351,12 @@ public abstract class StringSubstitutorWraps {
     public static <V> String replaceDollarParenthesis(@Nullable Object source, @Nullable Map<String, V> mappings, @Nullable StringLookup lookup) {
         return replace(source, mappings, StringUtils.join(CharVariantConst.DOLLAR, CharVariantConst.PARENTHESIS_LEFT), CharUtils.toString(CharVariantConst.PARENTHESIS_RIGHT), lookup);
     }
+
+    public static <V> long replaceDollarParenthesis(@Nullable Reader reader, @Nullable Writer writer, @Nullable Map<String, V> mappings) {
+        return replaceDollarParenthesis(reader, writer, mappings, null);
+    }
+
+    public static <V> long replaceDollarParenthesis(@Nullable Reader reader, @Nullable Writer writer, @Nullable Map<String, V> mappings, @Nullable StringLookup lookup) {
+        return replace(reader, writer, mappings, StringUtils.join(CharVariantConst.DOLLAR, CharVariantConst.PARENTHESIS_LEFT), CharUtils.toString(CharVariantConst.PARENTHESIS_RIGHT), lookup);
+    }
 }
@@ -17,9 +17,11 @@
 package com.yookue.commonplexus.javaseutil.util;
 
 
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedHashSet;
@@ -27,7 +29,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.StringJoiner;
 import java.util.function.BiConsumer;
 import java.util.function.BiPredicate;
 import java.util.function.Consumer;
@@ -42,6 +43,11 @@ import org.apache.commons.lang3.RegExUtils;
 import org.apache.commons.lang3.StringUtils;
 import com.yookue.commonplexus.javaseutil.constant.CharVariantConst;
 import com.yookue.commonplexus.javaseutil.constant.SymbolVariantConst;
+import com.yookue.commonplexus.javaseutil.regex.MultiNeedle;
+import com.yookue.commonplexus.javaseutil.text.StringPool;
+import com.yookue.commonplexus.javaseutil.text.StringSet;
+import com.yookue.commonplexus.javaseutil.text.TextJoiner;
+import com.yookue.commonplexus.javaseutil.text.Tokenizer;
 
 
 /**
@@ -137,7 +143,7 @@ public abstract class StringUtilsWraps {
      * @return a string that appends the suffix to the end of the string if the string does not already end with the suffix
      */
     public static String appendIfMissing(@Nullable CharSequence sequence, @Nullable CharSequence append) {
-        return StringUtils.appendIfMissing(CharSequenceWraps.toStringIgnoreNull(sequence), append, append);
+        return CharSequenceWraps.toStringIgnoreNull(CharSequenceWraps.appendIfMissing(sequence, append));
     }
 
     public static void appendIfMissing(@Nullable Collection<String> collection, char append, char... suffixes) {
@@ -196,7 +202,7 @@ public abstract class StringUtilsWraps {
      * @return a string that appends the suffix to the end of the string if the string does not already end with the suffix
      */
     public static String appendIfMissingIgnoreCase(@Nullable CharSequence sequence, @Nullable CharSequence append) {
-        return StringUtils.appendIfMissingIgnoreCase(CharSequenceWraps.toStringIgnoreNull(sequence), append, append);
+        return CharSequenceWraps.toStringIgnoreNull(CharSequenceWraps.appendIfMissingIgnoreCase(sequence, append));
     }
 
     public static void appendIfMissingIgnoreCase(@Nullable Collection<String> collection, @Nullable CharSequence append) {
@@ -294,6 +300,18 @@ public abstract class StringUtilsWraps {
         return StringUtils.isNotEmpty(sequence) && CollectionPlainWraps.isNotEmpty(comparisons) && comparisons.stream().anyMatch(element -> StringUtils.contains(sequence, element));
     }
 
+    /**
+     * Returns whether any needle of the matcher occurs in the sequence, in a single pass
+     *
+     * @param sequence the sequence to search
+     * @param needles the prebuilt matcher of the needles
+     *
+     * @return whether any needle of the matcher occurs in the sequence
+     */
+    public static boolean containsAny(@Nullable CharSequence sequence, @Nullable MultiNeedle needles) {
+        return needles != null && needles.containsAny(sequence);
+    }
+
     public static boolean containsAnyIgnoreCase(@Nullable CharSequence sequence, char... comparisons) {
         return StringUtils.containsAnyIgnoreCase(sequence, CharUtilsWraps.toStringArray(comparisons));
     }
@@ -303,7 +321,10 @@ public abstract class StringUtilsWraps {
     }
 
     public static boolean containsAnyIgnoreCase(@Nullable CharSequence sequence, @Nullable Collection<? extends CharSequence> comparisons) {
-        return StringUtils.isNotEmpty(sequence) && CollectionPlainWraps.isNotEmpty(comparisons) && comparisons.stream().anyMatch(element -> StringUtils.containsIgnoreCase(sequence, element));
+        if (StringUtils.isEmpty(sequence) || CollectionPlainWraps.isEmpty(comparisons)) {
+            return false;
+        }
+        return comparisons.stream().anyMatch(element -> element != null && element.length() == 0) || MultiNeedle.ofIgnoreCase(comparisons).containsAny(sequence);
     }
 
     public static <T extends CharSequence> T defaultIfEquals(@Nullable T sequence, @Nullable CharSequence comparison, @Nullable T defaultValue) {
@@ -422,6 +443,18 @@ public abstract class StringUtilsWraps {
         return sequence != null && CollectionPlainWraps.isNotEmpty(comparisons) && comparisons.stream().anyMatch(element -> StringUtils.equals(sequence, element));
     }
 
+    /**
+     * Returns whether the sequence equals to any element of the set, by a single hash lookup
+     *
+     * @param sequence the sequence to check
+     * @param comparisons the prebuilt set of the comparisons
+     *
+     * @return whether the sequence equals to any element of the set
+     */
+    public static boolean equalsAny(@Nullable CharSequence sequence, @Nullable StringSet comparisons) {
+        return sequence != null && comparisons != null && comparisons.contains(sequence);
+    }
+
     public static boolean equalsAnyIgnoreCase(@Nullable CharSequence sequence, char... comparisons) {
         return StringUtils.equalsAnyIgnoreCase(sequence, CharUtilsWraps.toStringArray(comparisons));
     }
@@ -434,6 +467,10 @@ public abstract class StringUtilsWraps {
         return sequence != null && CollectionPlainWraps.isNotEmpty(comparisons) && comparisons.stream().anyMatch(element -> StringUtils.equalsIgnoreCase(sequence, element));
     }
 
+    public static boolean equalsAnyIgnoreCase(@Nullable CharSequence sequence, @Nullable StringSet comparisons) {
+        return sequence != null && comparisons != null && comparisons.containsIgnoreCase(sequence);
+    }
+
     public static String encodeToString(@Nullable String text, @Nonnull Charset ofCharset, @Nonnull Charset toCharset) {
         return StringUtils.isEmpty(text) ? text : StringUtils.toEncodedString(text.getBytes(ofCharset), toCharset);
     }
@@ -482,6 +519,10 @@ public abstract class StringUtilsWraps {
         return StringUtils.endsWithAny(sequence, CharUtilsWraps.toStringArray(comparisons));
     }
 
+    public static boolean endsWithAny(@Nullable CharSequence sequence, @Nullable StringSet comparisons) {
+        return StringUtils.isNotEmpty(sequence) && comparisons != null && comparisons.isSuffixOf(sequence);
+    }
+
     public static boolean endsWithAnyIgnoreCase(@Nullable CharSequence sequence, char... comparisons) {
         return endsWithAnyIgnoreCase(sequence, CharUtilsWraps.toStringArray(comparisons));
     }
@@ -502,6 +543,10 @@ public abstract class StringUtilsWraps {
         return StringUtils.isNotEmpty(sequence) && CollectionPlainWraps.isNotEmpty(comparisons) && comparisons.stream().anyMatch(element -> StringUtils.endsWithIgnoreCase(sequence, element));
     }
 
+    public static boolean endsWithAnyIgnoreCase(@Nullable CharSequence sequence, @Nullable StringSet comparisons) {
+        return StringUtils.isNotEmpty(sequence) && comparisons != null && comparisons.isSuffixOfIgnoreCase(sequence);
+    }
+
     @Nullable
     public static <T extends CharSequence> T firstNonBlank(@Nullable Collection<T> texts) {
         return CollectionPlainWraps.isEmpty(texts) ? null : texts.stream().filter(StringUtils::isNotBlank).findFirst().orElse(null);
@@ -542,6 +587,36 @@ public abstract class StringUtilsWraps {
         }
     }
 
+    public static void forEachToken(@Nullable CharSequence sequence, char delimiter, @Nullable Consumer<? super CharSequence> action) {
+        forEachToken(sequence, delimiter, false, action);
+    }
+
+    public static void forEachToken(@Nullable CharSequence sequence, char delimiter, boolean trim, @Nullable Consumer<? super CharSequence> action) {
+        if (action != null) {
+            Tokenizer.forEachToken(sequence, delimiter, trim, action);
+        }
+    }
+
+    public static void forEachToken(@Nullable CharSequence sequence, @Nullable CharSequence delimiter, @Nullable Consumer<? super CharSequence> action) {
+        forEachToken(sequence, delimiter, false, action);
+    }
+
+    /**
+     * Performs the given action for each token of the sequence, as the elements of {@link #splitBy(String, CharSequence, boolean, int)}
+     * <p>
+     * The tokens are {@link com.yookue.commonplexus.javaseutil.text.CharSlice} views of the sequence, call {@code toString()} to retain them
+     *
+     * @param sequence the sequence to split
+     * @param delimiter the separate characters, {@code null} means use whitespace
+     * @param trim indicates whether trim the tokens or not
+     * @param action the action for each token
+     */
+    public static void forEachToken(@Nullable CharSequence sequence, @Nullable CharSequence delimiter, boolean trim, @Nullable Consumer<? super CharSequence> action) {
+        if (action != null) {
+            Tokenizer.forEachToken(sequence, delimiter, trim, action);
+        }
+    }
+
     public static <T extends CharSequence> void ifBlank(@Nullable T sequence, @Nullable Consumer<? super T> action) {
         ifBlankOrElse(sequence, action, null);
     }
@@ -642,7 +717,14 @@ public abstract class StringUtilsWraps {
         if (StringUtils.isEmpty(sequence) || CollectionPlainWraps.isEmpty(searches)) {
             return -1;
         }
-        return StringUtils.indexOfAny(sequence, searches.toArray(ArrayUtilsWraps.EMPTY_CHAR_SEQUENCE_ARRAY));
+        if (searches.stream().anyMatch(element -> element != null && element.length() == 0)) {
+            return 0;
+        }
+        return MultiNeedle.of(searches).indexOfAny(sequence);
+    }
+
+    public static int indexOfAny(@Nullable CharSequence sequence, @Nullable MultiNeedle searches) {
+        return (searches == null) ? -1 : searches.indexOfAny(sequence);
     }
 
     public static boolean isDistinctIgnoreNull(@Nullable String... texts) {
@@ -710,15 +792,23 @@ public abstract class StringUtilsWraps {
     }
 
     public static <T> String joinWith(@Nullable T[] objects, char delimiter) {
-        return joinWith(ArrayUtilsWraps.asList(objects), delimiter);
+        return TextJoiner.of(delimiter).join(objects);
     }
 
     public static String joinWith(@Nullable Collection<?> collection, char delimiter) {
-        return joinWith(collection, CharUtils.toString(delimiter), null, null);
+        return TextJoiner.of(delimiter).join(collection);
+    }
+
+    public static String joinWith(@Nullable long[] values, char delimiter) {
+        return TextJoiner.of(delimiter).join(values);
+    }
+
+    public static String joinWith(@Nullable int[] values, char delimiter) {
+        return TextJoiner.of(delimiter).join(values);
     }
 
     public static <T> String joinWith(@Nullable T[] objects, char delimiter, char prefix, char suffix) {
-        return joinWith(ArrayUtilsWraps.asList(objects), delimiter, prefix, suffix);
+        return joinWith(objects, CharUtils.toString(delimiter), CharUtils.toString(prefix), CharUtils.toString(suffix));
     }
 
     public static String joinWith(@Nullable Collection<?> collection, char delimiter, char prefix, char suffix) {
@@ -726,15 +816,23 @@ public abstract class StringUtilsWraps {
     }
 
     public static <T> String joinWith(@Nullable T[] objects, @Nullable CharSequence delimiter) {
-        return joinWith(ArrayUtilsWraps.asList(objects), delimiter);
+        return TextJoiner.of(delimiter).join(objects);
     }
 
     public static String joinWith(@Nullable Collection<?> collection, @Nullable CharSequence delimiter) {
-        return joinWith(collection, delimiter, null, null);
+        return TextJoiner.of(delimiter).join(collection);
+    }
+
+    public static String joinWith(@Nullable long[] values, @Nullable CharSequence delimiter) {
+        return TextJoiner.of(delimiter).join(values);
+    }
+
+    public static String joinWith(@Nullable int[] values, @Nullable CharSequence delimiter) {
+        return TextJoiner.of(delimiter).join(values);
     }
 
     public static <T> String joinWith(@Nullable T[] objects, @Nullable CharSequence delimiter, char prefix, char suffix) {
-        return joinWith(ArrayUtilsWraps.asList(objects), delimiter, prefix, suffix);
+        return joinWith(objects, delimiter, CharUtils.toString(prefix), CharUtils.toString(suffix));
     }
 
     public static String joinWith(@Nullable Collection<?> collection, @Nullable CharSequence delimiter, char prefix, char suffix) {
@@ -742,7 +840,7 @@ public abstract class StringUtilsWraps {
     }
 
     public static <T> String joinWith(@Nullable T[] objects, @Nullable CharSequence delimiter, @Nullable CharSequence prefix, @Nullable CharSequence suffix) {
-        return joinWith(ArrayUtilsWraps.asList(objects), delimiter, prefix, suffix);
+        return TextJoiner.of(delimiter, prefix, suffix).join(objects);
     }
 
     /**
@@ -762,27 +860,63 @@ public abstract class StringUtilsWraps {
      * @return the joined elements into a String containing the provided elements, with delimiter, prefix and suffix
      *
      * @see org.apache.commons.lang3.StringUtils#joinWith
+     * @see com.yookue.commonplexus.javaseutil.text.TextJoiner
      */
     @Nullable
     public static <T> String joinWith(@Nullable Collection<T> collection, @Nullable CharSequence delimiter, @Nullable CharSequence prefix, @Nullable CharSequence suffix) {
-        if (CollectionPlainWraps.isEmpty(collection)) {
-            return null;
-        }
-        StringBuilder builder = new StringBuilder();
-        int index = 0, size = collection.size();
-        for (T element : collection) {
-            builder.append(defaultString(prefix)).append(ObjectUtilsWraps.toString(element, StringUtils.EMPTY)).append(defaultString(suffix));
-            if (index < size - 1) {
-                builder.append(defaultString(delimiter));
-            }
-            index++;
-        }
-        return builder.toString();
+        return TextJoiner.of(delimiter, prefix, suffix).join(collection);
+    }
+
+    /**
+     * Appends the joined elements to the builder, with delimiter, prefix and suffix
+     *
+     * @param builder the builder to append to
+     * @param collection the elements to join together
+     * @param delimiter the separator character to use, null treated as empty string
+     * @param prefix the prefix for each element in the collection, null treated as empty string
+     * @param suffix the suffix for each element in the collection, null treated as empty string
+     *
+     * @return the given builder
+     *
+     * @see com.yookue.commonplexus.javaseutil.text.TextJoiner
+     */
+    @Nonnull
+    public static StringBuilder appendJoinWith(@Nonnull StringBuilder builder, @Nullable Collection<?> collection, @Nullable CharSequence delimiter, @Nullable CharSequence prefix, @Nullable CharSequence suffix) {
+        return TextJoiner.of(delimiter, prefix, suffix).appendTo(builder, collection);
+    }
+
+    @Nonnull
+    public static StringBuilder appendJoinWith(@Nonnull StringBuilder builder, @Nullable Collection<?> collection, @Nullable CharSequence delimiter) {
+        return TextJoiner.of(delimiter).appendTo(builder, collection);
+    }
+
+    /**
+     * Appends the joined elements to the appendable, such as a {@link java.io.Writer}, with delimiter, prefix and suffix
+     *
+     * @param appendable the appendable to append to
+     * @param collection the elements to join together
+     * @param delimiter the separator character to use, null treated as empty string
+     * @param prefix the prefix for each element in the collection, null treated as empty string
+     * @param suffix the suffix for each element in the collection, null treated as empty string
+     *
+     * @return the given appendable
+     *
+     * @throws IOException if an I/O error occurs
+     * @see com.yookue.commonplexus.javaseutil.text.TextJoiner
+     */
+    @Nonnull
+    public static <A extends Appendable> A appendJoinWith(@Nonnull A appendable, @Nullable Collection<?> collection, @Nullable CharSequence delimiter, @Nullable CharSequence prefix, @Nullable CharSequence suffix) throws IOException {
+        return TextJoiner.of(delimiter, prefix, suffix).appendTo(appendable, collection);
+    }
+
+    @Nonnull
+    public static <A extends Appendable> A appendJoinWith(@Nonnull A appendable, @Nullable Collection<?> collection, @Nullable CharSequence delimiter) throws IOException {
+        return TextJoiner.of(delimiter).appendTo(appendable, collection);
     }
 
     @SafeVarargs
     public static <T> String joinWithColon(@Nullable T... objects) {
-        return joinWithColon(ArrayUtilsWraps.asList(objects));
+        return joinWith(objects, CharVariantConst.COLON);
     }
 
     public static String joinWithColon(@Nullable Collection<?> collection) {
@@ -791,25 +925,41 @@ public abstract class StringUtilsWraps {
 
     @SafeVarargs
     public static <T> String joinWithComma(@Nullable T... objects) {
-        return joinWithComma(ArrayUtilsWraps.asList(objects));
+        return joinWith(objects, CharVariantConst.COMMA);
     }
 
     public static String joinWithComma(@Nullable Collection<?> collection) {
         return joinWith(collection, CharVariantConst.COMMA);
     }
 
+    public static String joinWithComma(@Nullable long[] values) {
+        return joinWith(values, CharVariantConst.COMMA);
+    }
+
+    public static String joinWithComma(@Nullable int[] values) {
+        return joinWith(values, CharVariantConst.COMMA);
+    }
+
     @SafeVarargs
     public static <T> String joinWithCommaSpace(@Nullable T... objects) {
-        return joinWithCommaSpace(ArrayUtilsWraps.asList(objects));
+        return joinWith(objects, SymbolVariantConst.COMMA_SPACE);
     }
 
     public static String joinWithCommaSpace(@Nullable Collection<?> collection) {
         return joinWith(collection, SymbolVariantConst.COMMA_SPACE);
     }
 
+    public static String joinWithCommaSpace(@Nullable long[] values) {
+        return joinWith(values, SymbolVariantConst.COMMA_SPACE);
+    }
+
+    public static String joinWithCommaSpace(@Nullable int[] values) {
+        return joinWith(values, SymbolVariantConst.COMMA_SPACE);
+    }
+
     @SafeVarargs
     public static <T> String joinWithSemicolon(@Nullable T... objects) {
-        return joinWithSemicolon(ArrayUtilsWraps.asList(objects));
+        return joinWith(objects, CharVariantConst.SEMICOLON);
     }
 
     public static String joinWithSemicolon(@Nullable Collection<?> collection) {
@@ -818,7 +968,7 @@ public abstract class StringUtilsWraps {
 
     @SafeVarargs
     public static <T> String joinWithSemicolonSpace(@Nullable T... objects) {
-        return joinWithSemicolonSpace(ArrayUtilsWraps.asList(objects));
+        return joinWith(objects, SymbolVariantConst.SEMICOLON_SPACE);
     }
 
     public static String joinWithSemicolonSpace(@Nullable Collection<?> collection) {
@@ -827,7 +977,7 @@ public abstract class StringUtilsWraps {
 
     @SafeVarargs
     public static <T> String joinWithVertical(@Nullable T... objects) {
-        return joinWithVertical(ArrayUtilsWraps.asList(objects));
+        return joinWith(objects, CharVariantConst.VERTICAL);
     }
 
     public static String joinWithVertical(@Nullable Collection<?> collection) {
@@ -835,37 +985,37 @@ public abstract class StringUtilsWraps {
     }
 
     public static String joinWithIgnoreBlank(char delimiter, @Nullable CharSequence... sequences) {
-        return joinWithIgnoreBlank(delimiter, ArrayUtilsWraps.asList(sequences));
+        return TextJoiner.of(delimiter).join(sequences, StringUtils::isNotBlank);
     }
 
     public static String joinWithIgnoreBlank(char delimiter, @Nullable Collection<? extends CharSequence> sequences) {
-        return joinWithIgnoreBlank(CharUtils.toString(delimiter), sequences);
+        return TextJoiner.of(delimiter).join(sequences, StringUtils::isNotBlank);
     }
 
     public static String joinWithIgnoreBlank(@Nullable CharSequence delimiter, @Nullable CharSequence... sequences) {
-        return joinWithIgnoreBlank(delimiter, ArrayUtilsWraps.asList(sequences));
+        return TextJoiner.of(delimiter).join(sequences, StringUtils::isNotBlank);
     }
 
     @Nullable
     public static String joinWithIgnoreBlank(@Nullable CharSequence delimiter, @Nullable Collection<? extends CharSequence> sequences) {
-        return CollectionPlainWraps.isEmpty(sequences) ? null : joinWith(removeBlankSequence(sequences), delimiter);
+        return TextJoiner.of(delimiter).join(sequences, StringUtils::isNotBlank);
     }
 
     public static String joinWithIgnoreEmpty(char delimiter, @Nullable CharSequence... sequences) {
-        return joinWithIgnoreEmpty(delimiter, ArrayUtilsWraps.asList(sequences));
+        return TextJoiner.of(delimiter).join(sequences, StringUtils::isNotEmpty);
     }
 
     public static String joinWithIgnoreEmpty(char delimiter, @Nullable Collection<? extends CharSequence> sequences) {
-        return joinWithIgnoreEmpty(CharUtils.toString(delimiter), sequences);
+        return TextJoiner.of(delimiter).join(sequences, StringUtils::isNotEmpty);
     }
 
     public static String joinWithIgnoreEmpty(@Nullable CharSequence delimiter, @Nullable CharSequence... sequences) {
-        return joinWithIgnoreEmpty(delimiter, ArrayUtilsWraps.asList(sequences));
+        return TextJoiner.of(delimiter).join(sequences, StringUtils::isNotEmpty);
     }
 
     @Nullable
     public static String joinWithIgnoreEmpty(@Nullable CharSequence delimiter, @Nullable Collection<? extends CharSequence> sequences) {
-        return CollectionPlainWraps.isEmpty(sequences) ? null : joinWith(removeEmptySequences(sequences), delimiter);
+        return TextJoiner.of(delimiter).join(sequences, StringUtils::isNotEmpty);
     }
 
     public static String joinOnce(char delimiter, @Nullable CharSequence... sequences) {
@@ -901,23 +1051,7 @@ public abstract class StringUtilsWraps {
      */
     @Nullable
     public static String joinOnce(@Nullable CharSequence delimiter, @Nullable Collection<? extends CharSequence> sequences) {
-        if (CollectionPlainWraps.isEmpty(sequences)) {
-            return null;
-        }
-        if (StringUtils.isEmpty(delimiter)) {
-            return sequences.stream().map(StringUtilsWraps::defaultString).collect(Collectors.joining());
-        }
-        StringJoiner joiner = new StringJoiner(delimiter);
-        int index = 0, size = sequences.size();
-        for (CharSequence sequence : sequences) {
-            if (index == 0) {
-                joiner.add(defaultString(size == 1 ? sequence : removeEnd(sequence, delimiter)));
-            } else {
-                joiner.add(defaultString(removeStart(sequence, delimiter)));
-            }
-            index++;
-        }
-        return joiner.toString();
+        return joinOnce(delimiter, sequences, false, null);
     }
 
     public static String joinOnceIgnoreCase(char delimiter, @Nullable CharSequence... sequences) {
@@ -934,23 +1068,7 @@ public abstract class StringUtilsWraps {
 
     @Nullable
     public static String joinOnceIgnoreCase(@Nullable CharSequence delimiter, @Nullable Collection<? extends CharSequence> sequences) {
-        if (CollectionPlainWraps.isEmpty(sequences)) {
-            return null;
-        }
-        if (StringUtils.isEmpty(delimiter)) {
-            return sequences.stream().map(StringUtilsWraps::defaultString).collect(Collectors.joining());
-        }
-        StringJoiner joiner = new StringJoiner(delimiter);
-        int index = 0, size = sequences.size();
-        for (CharSequence sequence : sequences) {
-            if (index == 0) {
-                joiner.add(defaultString(size == 1 ? sequence : removeEndIgnoreCase(sequence, delimiter)));
-            } else {
-                joiner.add(defaultString(removeStartIgnoreCase(sequence, delimiter)));
-            }
-            index++;
-        }
-        return joiner.toString();
+        return joinOnce(delimiter, sequences, true, null);
     }
 
     public static String joinOnceIgnoreBlank(char delimiter, @Nullable CharSequence... sequences) {
@@ -967,27 +1085,7 @@ public abstract class StringUtilsWraps {
 
     @Nullable
     public static String joinOnceIgnoreBlank(@Nullable CharSequence delimiter, @Nullable Collection<? extends CharSequence> sequences) {
-        if (CollectionPlainWraps.isEmpty(sequences)) {
-            return null;
-        }
-        if (StringUtils.isEmpty(delimiter)) {
-            return sequences.stream().map(StringUtilsWraps::defaultString).collect(Collectors.joining());
-        }
-        StringJoiner joiner = new StringJoiner(delimiter);
-        int index = 0, size = sequences.size();
-        for (CharSequence sequence : sequences) {
-            String alias;
-            if (index == 0) {
-                alias = defaultString(size == 1 ? sequence : removeEnd(sequence, delimiter));
-            } else {
-                alias = defaultString(removeStart(sequence, delimiter));
-            }
-            if (StringUtils.isNotBlank(alias)) {
-                joiner.add(alias);
-            }
-            index++;
-        }
-        return joiner.toString();
+        return joinOnce(delimiter, sequences, false, StringUtils::isNotBlank);
     }
 
     public static String joinOnceIgnoreEmpty(char delimiter, @Nullable CharSequence... sequences) {
@@ -1004,31 +1102,11 @@ public abstract class StringUtilsWraps {
 
     @Nullable
     public static String joinOnceIgnoreEmpty(@Nullable CharSequence delimiter, @Nullable Collection<? extends CharSequence> sequences) {
-        if (CollectionPlainWraps.isEmpty(sequences)) {
-            return null;
-        }
-        if (StringUtils.isEmpty(delimiter)) {
-            return sequences.stream().map(StringUtilsWraps::defaultString).collect(Collectors.joining());
-        }
-        StringJoiner joiner = new StringJoiner(delimiter);
-        int index = 0, size = sequences.size();
-        for (CharSequence sequence : sequences) {
-            String alias;
-            if (index == 0) {
-                alias = defaultString(size == 1 ? sequence : removeEnd(sequence, delimiter));
-            } else {
-                alias = defaultString(removeStart(sequence, delimiter));
-            }
-            if (StringUtils.isNotEmpty(alias)) {
-                joiner.add(alias);
-            }
-            index++;
-        }
-        return joiner.toString();
+        return joinOnce(delimiter, sequences, false, StringUtils::isNotEmpty);
     }
 
     public static <T> String joinRoughly(@Nullable T[] objects) {
-        return joinRoughly(ArrayUtilsWraps.asList());
+        return joinWith(objects, StringUtils.EMPTY);
     }
 
     public static String joinRoughly(@Nullable Collection<?> collection) {
@@ -1368,7 +1446,7 @@ public abstract class StringUtilsWraps {
     }
 
     public static String removeEnd(@Nullable CharSequence sequence, @Nullable CharSequence remove) {
-        return StringUtils.removeEnd(CharSequenceWraps.toStringIgnoreNull(sequence), CharSequenceWraps.toStringIgnoreNull(remove));
+        return CharSequenceWraps.toStringIgnoreNull(CharSequenceWraps.removeEnd(sequence, remove));
     }
 
     public static String removeEnd(@Nullable CharSequence sequence, char... removes) {
@@ -1390,14 +1468,14 @@ public abstract class StringUtilsWraps {
      * @see org.apache.commons.lang3.StringUtils#removeEnd
      */
     public static String removeEnd(@Nullable CharSequence sequence, @Nullable Collection<? extends CharSequence> removes) {
-        String text = CharSequenceWraps.toStringIgnoreNull(sequence);
-        if (StringUtils.isEmpty(text) || CollectionPlainWraps.isEmpty(removes)) {
-            return text;
+        if (StringUtils.isEmpty(sequence) || CollectionPlainWraps.isEmpty(removes)) {
+            return CharSequenceWraps.toStringIgnoreNull(sequence);
         }
+        CharSequence result = sequence;
         for (CharSequence remove : removes) {
-            text = StringUtils.removeEnd(text, CharSequenceWraps.toStringIgnoreNull(remove));
+            result = CharSequenceWraps.removeEnd(result, remove);
         }
-        return text;
+        return result.toString();
     }
 
     public static void removeEnd(@Nullable Collection<String> collection, char remove) {
@@ -1427,7 +1505,7 @@ public abstract class StringUtilsWraps {
     }
 
     public static String removeEndIgnoreCase(@Nullable CharSequence sequence, @Nullable CharSequence remove) {
-        return StringUtils.removeEnd(CharSequenceWraps.toStringIgnoreNull(sequence), CharSequenceWraps.toStringIgnoreNull(remove));
+        return CharSequenceWraps.toStringIgnoreNull(CharSequenceWraps.removeEndIgnoreCase(sequence, remove));
     }
 
     public static String removeEndIgnoreCase(@Nullable CharSequence sequence, char... removes) {
@@ -1442,14 +1520,14 @@ public abstract class StringUtilsWraps {
      * @see org.apache.commons.lang3.StringUtils#removeEndIgnoreCase
      */
     public static String removeEndIgnoreCase(@Nullable CharSequence sequence, @Nullable Collection<? extends CharSequence> removes) {
-        String text = CharSequenceWraps.toStringIgnoreNull(sequence);
-        if (StringUtils.isEmpty(text) || CollectionPlainWraps.isEmpty(removes)) {
-            return text;
+        if (StringUtils.isEmpty(sequence) || CollectionPlainWraps.isEmpty(removes)) {
+            return CharSequenceWraps.toStringIgnoreNull(sequence);
         }
+        CharSequence result = sequence;
         for (CharSequence remove : removes) {
-            text = StringUtils.removeEndIgnoreCase(text, CharSequenceWraps.toStringIgnoreNull(remove));
+            result = CharSequenceWraps.removeEndIgnoreCase(result, remove);
         }
-        return text;
+        return result.toString();
     }
 
     public static void removeEndIgnoreCase(@Nullable Collection<String> collection, char remove) {
@@ -1487,7 +1565,7 @@ public abstract class StringUtilsWraps {
     }
 
     public static String removeStart(@Nullable CharSequence sequence, CharSequence remove) {
-        return StringUtils.removeStart(CharSequenceWraps.toStringIgnoreNull(sequence), CharSequenceWraps.toStringIgnoreNull(remove));
+        return CharSequenceWraps.toStringIgnoreNull(CharSequenceWraps.removeStart(sequence, remove));
     }
 
     public static String removeStart(@Nullable CharSequence sequence, char... removes) {
@@ -1509,14 +1587,14 @@ public abstract class StringUtilsWraps {
      * @see org.apache.commons.lang3.StringUtils#removeStart
      */
     public static String removeStart(@Nullable CharSequence sequence, @Nullable Collection<? extends CharSequence> removes) {
-        String text = CharSequenceWraps.toStringIgnoreNull(sequence);
-        if (StringUtils.isEmpty(text) || CollectionPlainWraps.isEmpty(removes)) {
-            return text;
+        if (StringUtils.isEmpty(sequence) || CollectionPlainWraps.isEmpty(removes)) {
+            return CharSequenceWraps.toStringIgnoreNull(sequence);
         }
+        CharSequence result = sequence;
         for (CharSequence remove : removes) {
-            text = StringUtils.removeStart(text, CharSequenceWraps.toStringIgnoreNull(remove));
+            result = CharSequenceWraps.removeStart(result, remove);
         }
-        return text;
+        return result.toString();
     }
 
     public static void removeStart(@Nullable Collection<String> collection, char remove) {
@@ -1542,7 +1620,11 @@ public abstract class StringUtilsWraps {
     }
 
     public static String removeStartIgnoreCase(@Nullable CharSequence sequence, char remove) {
-        return StringUtils.removeStartIgnoreCase(CharSequenceWraps.toStringIgnoreNull(sequence), CharUtils.toString(remove));
+        return removeStartIgnoreCase(sequence, CharUtils.toString(remove));
+    }
+
+    public static String removeStartIgnoreCase(@Nullable CharSequence sequence, @Nullable CharSequence remove) {
+        return CharSequenceWraps.toStringIgnoreNull(CharSequenceWraps.removeStartIgnoreCase(sequence, remove));
     }
 
     public static String removeStartIgnoreCase(@Nullable CharSequence sequence, @Nullable char... removes) {
@@ -1557,14 +1639,14 @@ public abstract class StringUtilsWraps {
      * @see org.apache.commons.lang3.StringUtils#removeStartIgnoreCase
      */
     public static String removeStartIgnoreCase(@Nullable CharSequence sequence, @Nullable Collection<? extends CharSequence> removes) {
-        String text = CharSequenceWraps.toStringIgnoreNull(sequence);
-        if (StringUtils.isEmpty(text) || CollectionPlainWraps.isEmpty(removes)) {
-            return text;
+        if (StringUtils.isEmpty(sequence) || CollectionPlainWraps.isEmpty(removes)) {
+            return CharSequenceWraps.toStringIgnoreNull(sequence);
         }
+        CharSequence result = sequence;
         for (CharSequence remove : removes) {
-            text = StringUtils.removeStartIgnoreCase(text, CharSequenceWraps.toStringIgnoreNull(remove));
+            result = CharSequenceWraps.removeStartIgnoreCase(result, remove);
         }
-        return text;
+        return result.toString();
     }
 
     public static void removeStartIgnoreCase(@Nullable Collection<String> collection, char remove) {
@@ -1614,7 +1696,7 @@ public abstract class StringUtilsWraps {
     }
 
     public static String replaceIgnoreCase(@Nullable String text, @Nullable CharSequence search, @Nullable CharSequence replacement) {
-        return replaceIgnoreCase(text, replacement, replacement, -1);
+        return replaceIgnoreCase(text, search, replacement, -1);
     }
 
     public static String replaceIgnoreCase(@Nullable String text, @Nullable CharSequence search, @Nullable CharSequence replacement, int max) {
@@ -1658,41 +1740,54 @@ public abstract class StringUtilsWraps {
         return result;
     }
 
+    public static String replaceAll(@Nullable String text, @Nullable CharSequence replacement, @Nullable MultiNeedle searches) {
+        return (StringUtils.isEmpty(text) || searches == null) ? text : searches.replaceAll(text, replacement);
+    }
+
     public static String replaceAllIgnoreCase(@Nullable String text, char replacement, char... searches) {
         if (StringUtils.isEmpty(text) || ArrayUtils.isEmpty(searches)) {
             return text;
         }
-        String result = text;
-        for (char search : searches) {
-            result = replaceIgnoreCase(result, search, replacement);
-        }
-        return result;
+        return replaceAllIgnoreCase(text, CharUtils.toString(replacement), CharUtilsWraps.toStringArray(searches));
     }
 
     public static String replaceAllIgnoreCase(@Nullable String text, @Nullable CharSequence replacement, @Nullable CharSequence... searches) {
         return replaceAllIgnoreCase(text, replacement, ArrayUtilsWraps.asList(searches));
     }
 
+    /**
+     * Returns a string that replaces all the searches in the text with the replacement case-insensitively, in a single pass
+     * <p>
+     * The matches are selected as leftmost-longest and non-overlapping, the replaced parts are not searched again
+     *
+     * @param text the text to replace
+     * @param replacement the replacement string, {@code null} means not to replace
+     * @param searches the strings to search
+     *
+     * @return a string that replaces all the searches in the text with the replacement case-insensitively
+     *
+     * @see com.yookue.commonplexus.javaseutil.regex.MultiNeedle
+     */
     public static String replaceAllIgnoreCase(@Nullable String text, @Nullable CharSequence replacement, @Nullable Collection<? extends CharSequence> searches) {
-        if (StringUtils.isEmpty(text) || CollectionPlainWraps.isEmpty(searches)) {
+        if (StringUtils.isEmpty(text) || CollectionPlainWraps.isEmpty(searches) || replacement == null) {
             return text;
         }
-        String result = text;
-        for (CharSequence search : searches) {
-            result = replaceIgnoreCase(result, search, replacement);
-        }
-        return result;
+        return MultiNeedle.ofIgnoreCase(searches).replaceAll(text, replacement);
     }
 
     public static <K extends CharSequence, V extends CharSequence> String replaceAllIgnoreCase(@Nullable String text, @Nullable Map<K, V> replacements) {
         if (StringUtils.isEmpty(text) || MapPlainWraps.isEmpty(replacements)) {
             return text;
         }
-        String result = text;
-        for (Map.Entry<K, V> entry : replacements.entrySet()) {
-            result = replaceIgnoreCase(result, entry.getKey(), entry.getValue());
-        }
-        return result;
+        List<CharSequence> searches = new ArrayList<>(replacements.size());
+        List<CharSequence> values = new ArrayList<>(replacements.size());
+        replacements.forEach((key, value) -> {
+            if (StringUtils.isNotEmpty(key) && value != null) {
+                searches.add(key);
+                values.add(value);
+            }
+        });
+        return searches.isEmpty() ? text : MultiNeedle.ofIgnoreCase(searches).replaceAll(text, values::get);
     }
 
     public static <T extends CharSequence> void reverseForEachChars(@Nullable T sequence, @Nullable Consumer<Character> action) {
@@ -1757,14 +1852,27 @@ public abstract class StringUtilsWraps {
      */
     @Nullable
     public static String[] splitBy(@Nullable String text, @Nullable CharSequence delimiter, boolean trim, int max) {
+        return splitBy(text, delimiter, trim, max, null);
+    }
+
+    /**
+     * Returns a split {@code String} array at the first occurrence of the delimiter, with the elements deduplicated by the pool
+     *
+     * @param text the string to split (potentially {@code null} or empty)
+     * @param delimiter the separate string, {@code null} means use whitespace
+     * @param trim indicates whether trim the split elements or not
+     * @param max the maximum number of elements to include in the array. A zero or negative value implies no limit
+     * @param pool the pool to deduplicate the elements, {@code null} means no deduplication
+     *
+     * @return a split {@code String} array at the first occurrence of the delimiter
+     */
+    @Nullable
+    public static String[] splitBy(@Nullable String text, @Nullable CharSequence delimiter, boolean trim, int max, @Nullable StringPool pool) {
         if (StringUtils.isEmpty(text)) {
             return null;
         }
-        String[] result = StringUtils.split(text, CharSequenceWraps.toStringIgnoreNull(delimiter), max);
-        if (ArrayUtils.isEmpty(result)) {
-            return null;
-        }
-        return trim ? trimStringArray(result) : result;
+        String[] result = Tokenizer.of(text, delimiter).withTrim(trim).withMax(max).withPool(pool).toArray();
+        return ArrayUtils.isEmpty(result) ? null : result;
     }
 
     public static List<String> splitByToList(@Nullable String text, char delimiter) {
@@ -1788,7 +1896,15 @@ public abstract class StringUtilsWraps {
     }
 
     public static List<String> splitByToList(@Nullable String text, @Nullable CharSequence delimiter, boolean trim, int max) {
-        return ArrayUtilsWraps.asList(true, splitBy(text, delimiter, trim, max));
+        return splitByToList(text, delimiter, trim, max, null);
+    }
+
+    public static List<String> splitByToList(@Nullable String text, @Nullable CharSequence delimiter, boolean trim, int max, @Nullable StringPool pool) {
+        if (StringUtils.isEmpty(text)) {
+            return null;
+        }
+        List<String> result = Tokenizer.of(text, delimiter).withTrim(trim).withMax(max).withPool(pool).toList();
+        return result.isEmpty() ? null : result;
     }
 
     public static Set<String> splitByToSet(@Nullable String text, char delimiter) {
@@ -1812,7 +1928,15 @@ public abstract class StringUtilsWraps {
     }
 
     public static Set<String> splitByToSet(@Nullable String text, @Nullable CharSequence delimiter, boolean trim, int max) {
-        return ArrayUtilsWraps.asSet(splitBy(text, delimiter, trim, max));
+        return splitByToSet(text, delimiter, trim, max, null);
+    }
+
+    public static Set<String> splitByToSet(@Nullable String text, @Nullable CharSequence delimiter, boolean trim, int max, @Nullable StringPool pool) {
+        if (StringUtils.isEmpty(text)) {
+            return null;
+        }
+        Set<String> result = Tokenizer.of(text, delimiter).withTrim(trim).withMax(max).withPool(pool).toSet();
+        return result.isEmpty() ? null : result;
     }
 
     public static String[] splitByComma(@Nullable String text) {
@@ -1836,7 +1960,7 @@ public abstract class StringUtilsWraps {
     }
 
     public static List<String> splitByCommaToList(@Nullable String text, boolean trim, int max) {
-        return ArrayUtilsWraps.asList(true, splitByComma(text, trim, max));
+        return splitByToList(text, CharVariantConst.COMMA, trim, max);
     }
 
     public static Set<String> splitByCommaToSet(@Nullable String text) {
@@ -1848,7 +1972,7 @@ public abstract class StringUtilsWraps {
     }
 
     public static Set<String> splitByCommaToSet(@Nullable String text, boolean trim, int max) {
-        return ArrayUtilsWraps.asSet(splitByComma(text, trim, max));
+        return splitByToSet(text, CharVariantConst.COMMA, trim, max);
     }
 
     public static boolean startsWith(@Nullable CharSequence sequence, char comparison) {
@@ -1859,6 +1983,10 @@ public abstract class StringUtilsWraps {
         return StringUtils.startsWithIgnoreCase(sequence, CharUtils.toString(comparison));
     }
 
+    public static boolean startsWithAny(@Nullable CharSequence sequence, @Nullable StringSet comparisons) {
+        return StringUtils.isNotEmpty(sequence) && comparisons != null && comparisons.isPrefixOf(sequence);
+    }
+
     public static boolean startsWithAnyIgnoreCase(@Nullable CharSequence sequence, char... comparisons) {
         return startsWithAnyIgnoreCase(sequence, CharUtilsWraps.toStringArray(comparisons));
     }
@@ -1879,6 +2007,10 @@ public abstract class StringUtilsWraps {
         return StringUtils.isNotEmpty(sequence) && CollectionPlainWraps.isNotEmpty(comparisons) && comparisons.stream().anyMatch(element -> StringUtils.startsWithIgnoreCase(sequence, element));
     }
 
+    public static boolean startsWithAnyIgnoreCase(@Nullable CharSequence sequence, @Nullable StringSet comparisons) {
+        return StringUtils.isNotEmpty(sequence) && comparisons != null && comparisons.isPrefixOfIgnoreCase(sequence);
+    }
+
     public static String substringAfter(@Nullable String text, char separator, int length) {
         return substringAfter(text, CharUtils.toString(separator), length);
     }
@@ -2147,6 +2279,35 @@ public abstract class StringUtilsWraps {
         return StringUtils.isEmpty(text) ? null : StringUtils.substringsBetween(text, CharUtils.toString(open), CharUtils.toString(close));
     }
 
+    @Nonnull
+    public static Tokenizer tokenize(@Nullable CharSequence sequence, char delimiter) {
+        return Tokenizer.of(sequence, delimiter);
+    }
+
+    @Nonnull
+    public static Tokenizer tokenize(@Nullable CharSequence sequence, char delimiter, boolean trim) {
+        return Tokenizer.of(sequence, delimiter).withTrim(trim);
+    }
+
+    @Nonnull
+    public static Tokenizer tokenize(@Nullable CharSequence sequence, @Nullable CharSequence delimiter) {
+        return Tokenizer.of(sequence, delimiter);
+    }
+
+    /**
+     * Returns a lazy tokenizer of the sequence, which splits as {@link #splitBy(String, CharSequence, boolean, int)} without copying the tokens
+     *
+     * @param sequence the sequence to split
+     * @param delimiter the separate characters, {@code null} means use whitespace
+     * @param trim indicates whether trim the tokens or not
+     *
+     * @return a lazy tokenizer of the sequence
+     */
+    @Nonnull
+    public static Tokenizer tokenize(@Nullable CharSequence sequence, @Nullable CharSequence delimiter, boolean trim) {
+        return Tokenizer.of(sequence, delimiter).withTrim(trim);
+    }
+
     /**
      * @see org.apache.commons.lang3.StringUtils#toRootLowerCase
      */
@@ -2180,7 +2341,7 @@ public abstract class StringUtilsWraps {
         if (CollectionPlainWraps.isEmpty(sequences)) {
             return emptyAsNull ? null : CollectionPlainWraps.toElementArray(sequences, CharSequence.class);
         }
-        return sequences.stream().map(CharSequenceWraps::toStringIgnoreNull).map(element -> emptyAsNull ? StringUtils.trimToNull(element) : StringUtils.trim(element)).toArray(CharSequence[]::new);
+        return sequences.stream().map(element -> emptyAsNull ? CharSequenceWraps.trimToNull(element) : CharSequenceWraps.trim(element)).toArray(CharSequence[]::new);
     }
 
     public static String[] trimStringArray(@Nullable String... texts) {
@@ -2200,10 +2361,24 @@ public abstract class StringUtilsWraps {
      */
     @Nullable
     public static String[] trimStringArray(boolean emptyAsNull, @Nullable Collection<String> texts) {
+        return trimStringArray(emptyAsNull, texts, null);
+    }
+
+    /**
+     * Returns an array of the trimmed strings, with the elements deduplicated by the pool
+     *
+     * @param emptyAsNull indicates whether convert the empty elements to {@code null} or not
+     * @param texts the strings to trim
+     * @param pool the pool to deduplicate the elements, {@code null} means no deduplication
+     *
+     * @return an array of the trimmed strings
+     */
+    @Nullable
+    public static String[] trimStringArray(boolean emptyAsNull, @Nullable Collection<String> texts, @Nullable StringPool pool) {
         if (CollectionPlainWraps.isEmpty(texts)) {
             return emptyAsNull ? null : CollectionPlainWraps.toElementArray(texts, String.class);
         }
-        return texts.stream().map(element -> emptyAsNull ? StringUtils.trimToNull(element) : StringUtils.trim(element)).toArray(String[]::new);
+        return texts.stream().map(element -> trimString(element, emptyAsNull, pool)).toArray(String[]::new);
     }
 
     public static void trimStringCollection(@Nullable Collection<String> texts) {
@@ -2211,12 +2386,16 @@ public abstract class StringUtilsWraps {
     }
 
     public static void trimStringCollection(boolean emptyAsNull, @Nullable Collection<String> texts) {
+        trimStringCollection(emptyAsNull, texts, null);
+    }
+
+    public static void trimStringCollection(boolean emptyAsNull, @Nullable Collection<String> texts, @Nullable StringPool pool) {
         if (CollectionPlainWraps.isEmpty(texts)) {
             return;
         }
         String[] elements = texts.toArray(ArrayUtils.EMPTY_STRING_ARRAY);
         texts.clear();
-        Arrays.stream(elements).map(element -> emptyAsNull ? StringUtils.trimToNull(element) : StringUtils.trim(element)).forEach(texts::add);
+        Arrays.stream(elements).map(element -> trimString(element, emptyAsNull, pool)).forEach(texts::add);
     }
 
     public static String unquote(@Nullable CharSequence sequence) {
@@ -2224,19 +2403,29 @@ public abstract class StringUtilsWraps {
     }
 
     public static String unwrapWith(@Nullable CharSequence sequence, char delimiter) {
-        return removeEnd(removeStart(sequence, delimiter), delimiter);
+        return unwrapWith(sequence, CharUtils.toString(delimiter));
     }
 
     public static String unwrapWith(@Nullable CharSequence sequence, @Nullable CharSequence delimiter) {
-        return removeEnd(removeStart(sequence, delimiter), delimiter);
+        return CharSequenceWraps.toStringIgnoreNull(CharSequenceWraps.unwrapWith(sequence, delimiter));
     }
 
     public static String unwrapWith(@Nullable CharSequence sequence, char... delimiters) {
-        return removeEnd(removeStart(sequence, delimiters), delimiters);
+        return unwrapWith(sequence, CharUtilsWraps.toStringArray(delimiters));
     }
 
     public static String unwrapWith(@Nullable CharSequence sequence, @Nullable CharSequence... delimiters) {
-        return removeEnd(removeStart(sequence, delimiters), delimiters);
+        if (StringUtils.isEmpty(sequence) || ArrayUtils.isEmpty(delimiters)) {
+            return CharSequenceWraps.toStringIgnoreNull(sequence);
+        }
+        CharSequence result = sequence;
+        for (CharSequence delimiter : delimiters) {
+            result = CharSequenceWraps.removeStart(result, delimiter);
+        }
+        for (CharSequence delimiter : delimiters) {
+            result = CharSequenceWraps.removeEnd(result, delimiter);
+        }
+        return result.toString();
     }
 
     public static void unwrapWith(@Nullable Collection<String> collection, char... delimiters) {
@@ -2250,11 +2439,21 @@ public abstract class StringUtilsWraps {
     }
 
     public static String unwrapWithIgnoreCase(@Nullable CharSequence sequence, char... delimiters) {
-        return removeStartIgnoreCase(removeEndIgnoreCase(sequence, delimiters), delimiters);
+        return unwrapWithIgnoreCase(sequence, CharUtilsWraps.toStringArray(delimiters));
     }
 
     public static String unwrapWithIgnoreCase(@Nullable CharSequence sequence, @Nullable CharSequence... delimiters) {
-        return removeStartIgnoreCase(removeEndIgnoreCase(sequence, delimiters), delimiters);
+        if (StringUtils.isEmpty(sequence) || ArrayUtils.isEmpty(delimiters)) {
+            return CharSequenceWraps.toStringIgnoreNull(sequence);
+        }
+        CharSequence result = sequence;
+        for (CharSequence delimiter : delimiters) {
+            result = CharSequenceWraps.removeEndIgnoreCase(result, delimiter);
+        }
+        for (CharSequence delimiter : delimiters) {
+            result = CharSequenceWraps.removeStartIgnoreCase(result, delimiter);
+        }
+        return result.toString();
     }
 
     public static void unwrapWithIgnoreCase(@Nullable Collection<String> collection, char... delimiters) {
@@ -2268,15 +2467,15 @@ public abstract class StringUtilsWraps {
     }
 
     public static String unwrapWithParentheses(@Nullable CharSequence sequence) {
-        return RegExUtils.replaceAll(CharSequenceWraps.toStringIgnoreNull(sequence), "^[\\(]|[\\)]$", StringUtils.EMPTY);    // $NON-NLS-1$
+        return CharSequenceWraps.toStringIgnoreNull(CharSequenceWraps.unwrapWith(sequence, CharVariantConst.PARENTHESIS_LEFT, CharVariantConst.PARENTHESIS_RIGHT));
     }
 
     public static String unwrapWithSquareBrackets(@Nullable CharSequence sequence) {
-        return RegExUtils.replaceAll(CharSequenceWraps.toStringIgnoreNull(sequence), "^[\\[]|[\\]]$", StringUtils.EMPTY);    // $NON-NLS-1$
+        return CharSequenceWraps.toStringIgnoreNull(CharSequenceWraps.unwrapWith(sequence, CharVariantConst.SQUARE_BRACKET_LEFT, CharVariantConst.SQUARE_BRACKET_RIGHT));
     }
 
     public static String unwrapWithCurlyBrackets(@Nullable CharSequence sequence) {
-        return RegExUtils.replaceAll(CharSequenceWraps.toStringIgnoreNull(sequence), "^[\\{]|[\\}]$", StringUtils.EMPTY);    // $NON-NLS-1$
+        return CharSequenceWraps.toStringIgnoreNull(CharSequenceWraps.unwrapWith(sequence, CharVariantConst.CURLY_BRACKET_LEFT, CharVariantConst.CURLY_BRACKET_RIGHT));
     }
 
     public static String wrapWith(@Nullable CharSequence sequence, char delimiter) {
@@ -2358,4 +2557,44 @@ public abstract class StringUtilsWraps {
     public static boolean isWrappedWithCurlyBrackets(@Nullable CharSequence sequence) {
         return startsWith(sequence, CharVariantConst.CURLY_BRACKET_LEFT) && endsWith(sequence, CharVariantConst.CURLY_BRACKET_RIGHT);
     }
+
+    /**
+     * Returns the joined elements with one single delimiter, into a builder that presized to the total length
+     */
+    @Nullable
+    private static String joinOnce(@Nullable CharSequence delimiter, @Nullable Collection<? extends CharSequence> sequences, boolean ignoreCase, @Nullable Predicate<String> filter) {
+        if (CollectionPlainWraps.isEmpty(sequences)) {
+            return null;
+        }
+        if (StringUtils.isEmpty(delimiter)) {
+            return TextJoiner.of(StringUtils.EMPTY).join(sequences);
+        }
+        String separator = delimiter.toString();
+        int capacity = separator.length() * (sequences.size() - 1);
+        for (CharSequence sequence : sequences) {
+            capacity += StringUtils.length(sequence);
+        }
+        StringBuilder builder = new StringBuilder(capacity);
+        int index = 0, count = 0, size = sequences.size();
+        for (CharSequence sequence : sequences) {
+            String alias;
+            if (index++ == 0) {
+                alias = defaultString(size == 1 ? sequence : (ignoreCase ? removeEndIgnoreCase(sequence, separator) : removeEnd(sequence, separator)));
+            } else {
+                alias = defaultString(ignoreCase ? removeStartIgnoreCase(sequence, separator) : removeStart(sequence, separator));
+            }
+            if (filter == null || filter.test(alias)) {
+                if (count++ > 0) {
+                    builder.append(separator);
+                }
+                builder.append(alias);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String trimString(@Nullable String text, boolean emptyAsNull, @Nullable StringPool pool) {
+        String result = emptyAsNull ? StringUtils.trimToNull(text) : StringUtils.trim(text);
+        return (pool == null) ? result : pool.intern(result);
+    }
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.introspector;
+
+
+import java.beans.IntrospectionException;
+import java.beans.PropertyDescriptor;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import jakarta.annotation.Nonnull;
+import org.apache.commons.beanutils2.IntrospectionContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import com.yookue.commonplexus.javaseutil.util.StackTraceWraps;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Tests for {@link com.yookue.commonplexus.javaseutil.introspector.LombokPropertyBeanIntrospector}
+ *
+ * @author David Hsing
+ */
+@Slf4j
+class LombokPropertyBeanIntrospectorTest {
+    @Test
+    void introspectCached() throws IntrospectionException {
+        LombokPropertyBeanIntrospector introspector = new LombokPropertyBeanIntrospector();
+        PropertyDescriptor first = introspect(introspector, FluentName.class, "name");    // $NON-NLS-1$
+        PropertyDescriptor second = introspect(introspector, FluentName.class, "name");    // $NON-NLS-1$
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), second);
+        Assertions.assertNotNull(first.getReadMethod());
+        Assertions.assertNotNull(first.getWriteMethod());
+        Assertions.assertSame(first.getReadMethod(), second.getReadMethod());
+        Assertions.assertSame(first.getWriteMethod(), second.getWriteMethod());
+        Assertions.assertEquals(1L, introspector.getCacheMissCount());
+        Assertions.assertEquals(1L, introspector.getCacheHitCount());
+        PropertyDescriptor other = introspect(introspector, FluentCount.class, "count");    // $NON-NLS-1$
+        Assertions.assertEquals(FluentCount.class, other.getWriteMethod().getDeclaringClass());
+        Assertions.assertEquals(Integer.TYPE, other.getPropertyType());
+        Assertions.assertEquals(2L, introspector.getCacheMissCount());
+        Assertions.assertSame(first.getWriteMethod(), introspect(introspector, FluentName.class, "name").getWriteMethod());    // $NON-NLS-1$
+        Assertions.assertEquals(2L, introspector.getCacheMissCount());
+        Assertions.assertEquals(2L, introspector.getCacheHitCount());
+    }
+
+    @Nonnull
+    private PropertyDescriptor introspect(@Nonnull LombokPropertyBeanIntrospector introspector, @Nonnull Class<?> targetClass, @Nonnull String property) throws IntrospectionException {
+        SimpleContext context = new SimpleContext(targetClass);
+        context.addPropertyDescriptor(new PropertyDescriptor(property, null, null));
+        introspector.introspect(context);
+        return context.getPropertyDescriptor(property);
+    }
+
+    @Getter
+    @Setter
+    @Accessors(fluent = true)
+    public static class FluentName {
+        private String name;
+    }
+
+    @Getter
+    @Setter
+    @Accessors(fluent = true)
+    public static class FluentCount {
+        private int count;
+    }
+
+    private static class SimpleContext implements IntrospectionContext {
+        private final Class<?> targetClass;
+        private final Map<String, PropertyDescriptor> descriptors = new LinkedHashMap<>();
+
+        private SimpleContext(@Nonnull Class<?> targetClass) {
+            this.targetClass = targetClass;
+        }
+
+        @Override
+        public void addPropertyDescriptor(PropertyDescriptor descriptor) {
+            descriptors.put(descriptor.getName(), descriptor);
+        }
+
+        @Override
+        public void addPropertyDescriptors(PropertyDescriptor[] descriptors) {
+            for (PropertyDescriptor descriptor : descriptors) {
+                addPropertyDescriptor(descriptor);
+            }
+        }
+
+        @Override
+        public PropertyDescriptor getPropertyDescriptor(String name) {
+            return descriptors.get(name);
+        }
+
+        @Override
+        public Class<?> getTargetClass() {
+            return targetClass;
+        }
+
+        @Override
+        public boolean hasProperty(String name) {
+            return descriptors.containsKey(name);
+        }
+
+        @Override
+        public Set<String> propertyNames() {
+            return descriptors.keySet();
+        }
+
+        @Override
+        public void removePropertyDescriptor(String name) {
+            descriptors.remove(name);
+        }
+    }
+}
@@ -17,10 +17,24 @@
 package com.yookue.commonplexus.javaseutil.util;
 
 
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.apache.commons.beanutils2.BeanMap;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import com.yookue.commonplexus.javaseutil.bean.MapBinder;
+import com.yookue.commonplexus.javaseutil.bean.PropertyPath;
 import com.yookue.commonplexus.javaseutil.exception.BeanInvocationException;
+import com.yookue.commonplexus.javaseutil.structure.StatusDataStruct;
 import com.yookue.commonplexus.javaseutil.structure.StatusTextStruct;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
 import lombok.extern.slf4j.Slf4j;
 
 
@@ -31,6 +45,115 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 class BeanUtilsWrapsTest {
+    @Test
+    void beanToMapView() {
+        StatusDataStruct<String> bean = new StatusDataStruct<>(200, "foo");    // $NON-NLS-1$
+        Map<String, ?> view = BeanUtilsWraps.beanToMapView(bean, "x_", null, false);    // $NON-NLS-1$
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), view);
+        Assertions.assertNotNull(view);
+        Assertions.assertEquals(200, view.get("x_status"));    // $NON-NLS-1$
+        Assertions.assertFalse(view.containsKey("status"));    // $NON-NLS-1$
+        Assertions.assertFalse(view.containsKey("class"));    // $NON-NLS-1$
+        bean.setStatus(404);
+        Assertions.assertEquals(404, view.get("x_status"));    // $NON-NLS-1$
+    }
+
+    @Test
+    void beanToMapViewKeys() {
+        StatusDataStruct<String> bean = new StatusDataStruct<>(200, "foo", "bar");    // $NON-NLS-1$
+        Map<String, ?> view = BeanUtilsWraps.beanToMapView(bean);
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), view);
+        Assertions.assertNotNull(view);
+        Assertions.assertEquals(new BeanMap(bean).keySet(), view.keySet());
+        FluentStruct fluent = new FluentStruct().name("foo");    // $NON-NLS-1$
+        Assertions.assertEquals(new BeanMap(fluent).keySet(), Objects.requireNonNull(BeanUtilsWraps.beanToMapView(fluent)).keySet());
+        Properties properties = BeanUtilsWraps.beanToProperties(fluent);
+        Assertions.assertNotNull(properties);
+        Assertions.assertEquals(Set.of("class"), properties.keySet());    // $NON-NLS-1$
+    }
+
+    @Test
+    void beanToMapViewDuplicateKeys() {
+        StatusDataStruct<String> bean = new StatusDataStruct<>(200, "foo");    // $NON-NLS-1$
+        Map<String, ?> view = BeanUtilsWraps.beanToMapView(bean, Map.of("status", "data"), null);    // $NON-NLS-1$
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), view);
+        Assertions.assertNotNull(view);
+        Assertions.assertEquals(200, view.get("data"));    // $NON-NLS-1$
+        Assertions.assertFalse(view.containsKey("status"));    // $NON-NLS-1$
+        Assertions.assertEquals(view.size(), view.entrySet().size());
+        Assertions.assertEquals(view.size(), view.keySet().size());
+        for (Map.Entry<String, ?> entry : view.entrySet()) {
+            Assertions.assertEquals(view.get(entry.getKey()), entry.getValue());
+        }
+        Map<String, ?> merged = BeanUtilsWraps.beanToMapView(bean, Map.of("status", "code", "data", "code"), null);    // $NON-NLS-1$
+        Assertions.assertNotNull(merged);
+        Assertions.assertEquals(view.size(), merged.size());
+        Assertions.assertEquals(merged.size(), merged.entrySet().size());
+    }
+
+    @Test
+    void copyProperties() throws BeanInvocationException {
+        StatusDataStruct<String> source = new StatusDataStruct<>(200, "foo");    // $NON-NLS-1$
+        StatusDataStruct<?> target = new StatusDataStruct<>();
+        BeanUtilsWraps.copyProperties(target, source);
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), target);
+        Assertions.assertEquals(200, target.getStatus());
+        Assertions.assertEquals("foo", target.getData());    // $NON-NLS-1$
+    }
+
+    @Test
+    void copyPropertiesExclusive() throws BeanInvocationException {
+        StatusDataStruct<String> source = new StatusDataStruct<>(200, "foo");    // $NON-NLS-1$
+        StatusDataStruct<?> target = new StatusDataStruct<>();
+        BeanUtilsWraps.copyPropertiesExclusive(target, source, "data");    // $NON-NLS-1$
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), target);
+        Assertions.assertEquals(200, target.getStatus());
+        Assertions.assertNull(target.getData());
+    }
+
+    @Test
+    void copyAllParallel() throws BeanInvocationException {
+        List<StatusDataStruct<Integer>> sources = IntStream.range(0, 100).mapToObj(i -> new StatusDataStruct<>(200, i)).toList();
+        List<StatusDataStruct<?>> targets = BeanUtilsWraps.copyAllParallel(sources, StatusDataStruct::new, 10, null);
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), CollectionPlainWraps.size(targets));
+        Assertions.assertNotNull(targets);
+        Assertions.assertEquals(sources.size(), targets.size());
+        Assertions.assertEquals(99, targets.get(99).getData());
+        AtomicInteger created = new AtomicInteger();
+        List<StatusDataStruct<?>> copies = BeanUtilsWraps.copyAll(sources, () -> {
+            created.incrementAndGet();
+            return new StatusDataStruct<>();
+        });
+        Assertions.assertNotNull(copies);
+        Assertions.assertEquals(sources.size(), created.get());
+        Assertions.assertEquals(0, copies.get(0).getData());
+        Assertions.assertEquals(99, copies.get(99).getData());
+    }
+
+    @Test
+    void mapToBean() throws BeanInvocationException {
+        StatusDataStruct<?> bean = new StatusDataStruct<>();
+        BeanUtilsWraps.mapToBean(bean, Map.of("status", "201", "data", "foo", "class", "bar"));    // $NON-NLS-1$
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), bean);
+        Assertions.assertEquals(201, bean.getStatus());
+        Assertions.assertEquals("foo", bean.getData());    // $NON-NLS-1$
+    }
+
+    @Test
+    void mapToBeanFiltered() throws BeanInvocationException {
+        StatusDataStruct<?> excluded = new StatusDataStruct<>();
+        BeanUtilsWraps.mapToBeanExclusive(excluded, Map.of("status", "201", "data", "foo", "class", "bar"), "data");    // $NON-NLS-1$
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), excluded);
+        Assertions.assertEquals(201, excluded.getStatus());
+        Assertions.assertNull(excluded.getData());
+        StatusDataStruct<?> included = new StatusDataStruct<>();
+        BeanUtilsWraps.mapToBeanInclusive(included, Map.of("status", "201", "data", ""), List.of("status", "data"), true);    // $NON-NLS-1$
+        Assertions.assertEquals(201, included.getStatus());
+        Assertions.assertEquals("", included.getData());
+        Assertions.assertSame(MapBinder.inclusive(StatusDataStruct.class, List.of("status", "data"), true), MapBinder.inclusive(StatusDataStruct.class, Set.of("data", "status"), true));    // $NON-NLS-1$
+        Assertions.assertNotSame(MapBinder.inclusive(StatusDataStruct.class, List.of("status")), MapBinder.exclusive(StatusDataStruct.class, List.of("status")));    // $NON-NLS-1$
+    }
+
     @Test
     void setProperty() throws BeanInvocationException {
         StatusTextStruct struct = new StatusTextStruct(500);
@@ -39,4 +162,58 @@ class BeanUtilsWrapsTest {
         log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), struct.getStatus());
         Assertions.assertEquals(200, struct.getStatus());
     }
+
+    @Test
+    void nestedProperty() throws BeanInvocationException {
+        StatusDataStruct<StatusDataStruct<String>> struct = new StatusDataStruct<>(200, new StatusDataStruct<>(null, "foo", "bar"));    // $NON-NLS-1$
+        BeanUtilsWraps.setProperty(struct, "data.status", "201");    // $NON-NLS-1$
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), struct);
+        Assertions.assertEquals(201, struct.getData().getStatus());
+        Assertions.assertEquals("bar", BeanUtilsWraps.getProperty(struct, "data.texts[0]"));    // $NON-NLS-1$
+        Assertions.assertNull(BeanUtilsWraps.getProperty(new StatusDataStruct<>(), "data.status"));    // $NON-NLS-1$
+        StatusDataStruct<Object> created = new StatusDataStruct<>();
+        BeanUtilsWraps.setProperty(created, "data.status", 7, true);    // $NON-NLS-1$
+        Assertions.assertEquals(7, BeanUtilsWraps.getProperty(created, "data(status)"));    // $NON-NLS-1$
+    }
+
+    @Test
+    void indexedProperty() throws BeanInvocationException {
+        IndexedStruct struct = new IndexedStruct();
+        BeanUtilsWraps.setProperty(struct, "counts[1]", "7");    // $NON-NLS-1$
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), struct.getCounts(1));
+        Assertions.assertEquals(7, struct.getCounts(1));
+        Assertions.assertEquals(7, BeanUtilsWraps.getProperty(struct, "counts[1]"));    // $NON-NLS-1$
+        Assertions.assertEquals(0, BeanUtilsWraps.getProperty(struct, "counts[0]"));    // $NON-NLS-1$
+    }
+
+    @Test
+    void propertyPathCache() {
+        PropertyPath path = PropertyPath.compile("data.status");    // $NON-NLS-1$
+        for (int i = 0; i < PropertyPath.CACHE_CAPACITY * 2; i++) {
+            PropertyPath.compile("junk" + i);    // $NON-NLS-1$
+            Assertions.assertSame(path, PropertyPath.compile("data.status"));    // $NON-NLS-1$
+        }
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), PropertyPath.getCacheSize());
+        Assertions.assertTrue(PropertyPath.getCacheSize() <= PropertyPath.CACHE_CAPACITY);
+    }
+
+    @SuppressWarnings("unused")
+    public static class IndexedStruct {
+        private final int[] counts = new int[2];
+
+        public int getCounts(int index) {
+            return counts[index];
+        }
+
+        public void setCounts(int index, int count) {
+            counts[index] = count;
+        }
+    }
+
+    @Getter
+    @Setter
+    @Accessors(fluent = true)
+    public static class FluentStruct {
+        private String name;
+    }
 }
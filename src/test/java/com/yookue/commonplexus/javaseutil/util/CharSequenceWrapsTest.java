@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.util;
+
+
+import java.nio.CharBuffer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import com.yookue.commonplexus.javaseutil.text.CharSlice;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Tests for {@link com.yookue.commonplexus.javaseutil.util.CharSequenceWraps}
+ *
+ * @author David Hsing
+ */
+@Slf4j
+class CharSequenceWrapsTest {
+    @Test
+    void appendIfMissing() {
+        StringBuilder builder = new StringBuilder("path/");    // $NON-NLS-1$
+        Assertions.assertSame(builder, CharSequenceWraps.appendIfMissing(builder, "/"));    // $NON-NLS-1$
+        Assertions.assertSame(builder, CharSequenceWraps.prependIfMissingIgnoreCase(builder, "PATH"));    // $NON-NLS-1$
+        Assertions.assertEquals("path/x", CharSequenceWraps.appendIfMissing(builder, "x").toString());    // $NON-NLS-1$ // $NON-NLS-2$
+        Assertions.assertEquals("/path/", CharSequenceWraps.prependIfMissing(builder, "/").toString());    // $NON-NLS-1$ // $NON-NLS-2$
+    }
+
+    @Test
+    void removeStartEnd() {
+        StringBuilder builder = new StringBuilder("[Value]");    // $NON-NLS-1$
+        CharSequence result = CharSequenceWraps.removeEnd(CharSequenceWraps.removeStart(builder, "["), "]");    // $NON-NLS-1$ // $NON-NLS-2$
+        Assertions.assertInstanceOf(CharSlice.class, result);
+        Assertions.assertEquals("Value", result.toString());    // $NON-NLS-1$
+        Assertions.assertEquals("al", CharSequenceWraps.removeStartIgnoreCase(CharSequenceWraps.removeEndIgnoreCase(result, "UE"), "v").toString());    // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$
+        Assertions.assertEquals("a-b", StringUtilsWraps.removeEndIgnoreCase("a-bC", "c"));    // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$
+        Assertions.assertNull(CharSequenceWraps.removeStart(null, "x"));    // $NON-NLS-1$
+    }
+
+    @Test
+    void trim() {
+        CharBuffer buffer = CharBuffer.wrap(" \tkey = value \n");    // $NON-NLS-1$
+        CharSequence result = CharSequenceWraps.trim(buffer);
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), result);
+        Assertions.assertInstanceOf(CharBuffer.class, result);
+        Assertions.assertEquals("key = value", result.toString());    // $NON-NLS-1$
+        Assertions.assertEquals("key", CharSequenceWraps.trim(CharSequenceWraps.slice(result, 0, 4)).toString());    // $NON-NLS-1$
+        Assertions.assertNull(CharSequenceWraps.trimToNull(new StringBuilder("  ")));    // $NON-NLS-1$
+        Assertions.assertEquals("x", CharSequenceWraps.trim(" x "));    // $NON-NLS-1$ // $NON-NLS-2$
+    }
+
+    @Test
+    void unwrapWith() {
+        Assertions.assertEquals("a", CharSequenceWraps.unwrapWith(new StringBuilder("(a)"), '(', ')').toString());    // $NON-NLS-1$ // $NON-NLS-2$
+        Assertions.assertEquals("a", CharSequenceWraps.unwrapWithIgnoreCase(new StringBuilder("QaQ"), "q").toString());    // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$
+        Assertions.assertEquals("b", StringUtilsWraps.unwrapWith(new StringBuilder("'b'"), '\''));    // $NON-NLS-1$ // $NON-NLS-2$
+        Assertions.assertEquals("", StringUtilsWraps.unwrapWithCurlyBrackets("{}"));    // $NON-NLS-1$ // $NON-NLS-2$
+    }
+}
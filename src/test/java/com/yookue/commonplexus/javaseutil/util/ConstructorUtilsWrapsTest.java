@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.util;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import com.yookue.commonplexus.javaseutil.reflect.InstanceFactory;
+import com.yookue.commonplexus.javaseutil.structure.StatusDataStruct;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Tests for {@link com.yookue.commonplexus.javaseutil.util.ConstructorUtilsWraps}
+ *
+ * @author David Hsing
+ */
+@Slf4j
+@SuppressWarnings("rawtypes")
+class ConstructorUtilsWrapsTest {
+    @Test
+    void invokeConstructor() {
+        StatusDataStruct result = ConstructorUtilsWraps.invokeConstructor(StatusDataStruct.class, 200, "data");    // $NON-NLS-1$
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), result);
+        Assertions.assertNotNull(result);
+        Assertions.assertEquals("data", result.getData());    // $NON-NLS-1$
+        StatusDataStruct texts = ConstructorUtilsWraps.invokeConstructor(StatusDataStruct.class, 200, "data", "foo", "bar");    // $NON-NLS-1$
+        Assertions.assertNotNull(texts);
+        Assertions.assertEquals(2, texts.getTexts().size());
+    }
+
+    @Test
+    void instanceFactory() {
+        InstanceFactory<StringBuilder> factory = ConstructorUtilsWraps.getInstanceFactory(StringBuilder.class, Integer.class);
+        Assertions.assertNotNull(factory);
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), factory.isGenerated());
+        Assertions.assertTrue(factory.isGenerated());
+        Assertions.assertEquals(32, factory.newInstanceQuietly(32).capacity());
+    }
+
+    @Test
+    void inaccessibleArgument() {
+        HiddenList hidden = new HiddenList();
+        hidden.add("foo");    // $NON-NLS-1$
+        ArrayList result = ConstructorUtilsWraps.invokeConstructor(ArrayList.class, hidden);
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), result);
+        Assertions.assertNotNull(result);
+        Assertions.assertEquals(hidden, result);
+        InstanceFactory<ArrayList> factory = ConstructorUtilsWraps.getInstanceFactory(ArrayList.class, HiddenList.class);
+        Assertions.assertNotNull(factory);
+        Assertions.assertTrue(factory.isGenerated());
+        Assertions.assertEquals(hidden, factory.newInstanceQuietly(hidden));
+    }
+
+    @Test
+    void newInstances() {
+        List<StatusDataStruct> result = ConstructorUtilsWraps.newInstances(StatusDataStruct.class, 3);
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), result);
+        Assertions.assertNotNull(result);
+        Assertions.assertEquals(3, result.size());
+        Assertions.assertNotSame(result.get(0), result.get(1));
+    }
+
+    private static class HiddenList extends ArrayList<String> {
+    }
+}
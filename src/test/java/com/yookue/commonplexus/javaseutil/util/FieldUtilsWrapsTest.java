@@ -17,9 +17,15 @@
 package com.yookue.commonplexus.javaseutil.util;
 
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.List;
 import java.util.Set;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import com.yookue.commonplexus.javaseutil.annotation.BeanCopyIgnore;
+import com.yookue.commonplexus.javaseutil.annotation.ViewSubmitIgnore;
+import com.yookue.commonplexus.javaseutil.reflect.FieldAccessor;
 import com.yookue.commonplexus.javaseutil.structure.StatusDataStruct;
 import lombok.extern.slf4j.Slf4j;
 
@@ -38,10 +44,104 @@ class FieldUtilsWrapsTest {
         Assertions.assertNotNull(result);
     }
 
+    @Test
+    @SuppressWarnings("deprecation")
+    void declaredFieldsCopied() {
+        Field[] fields = FieldUtilsWraps.getDeclaredFields(CounterStruct.class);
+        Assertions.assertNotNull(fields);
+        for (Field field : fields) {
+            field.setAccessible(true);
+        }
+        Field[] result = FieldUtilsWraps.getDeclaredFields(CounterStruct.class);
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), result.length);
+        Assertions.assertArrayEquals(fields, result);
+        for (int i = 0; i < result.length; i++) {
+            Assertions.assertNotSame(fields[i], result[i]);
+            Assertions.assertFalse(result[i].isAccessible());
+        }
+        List<Field> nestedFields = FieldUtilsWraps.getNestedFieldsToList(CounterStruct.class);
+        Assertions.assertNotNull(nestedFields);
+        Assertions.assertTrue(nestedFields.stream().noneMatch(Field::isAccessible));
+        Assertions.assertNull(FieldUtilsWraps.readStaticField(CounterStruct.class, "total", false));    // $NON-NLS-1$
+        List<Field> instanceFields = FieldUtilsWraps.getDeclaredFieldsToList(CounterStruct.class, field -> !Modifier.isStatic(field.getModifiers()));
+        Assertions.assertNotNull(instanceFields);
+        Assertions.assertEquals(1, instanceFields.size());
+        Assertions.assertFalse(instanceFields.get(0).isAccessible());
+        Assertions.assertEquals(List.of("count"), FieldUtilsWraps.getDeclaredFieldNamesToList(CounterStruct.class, field -> !Modifier.isStatic(field.getModifiers())));    // $NON-NLS-1$
+        Assertions.assertEquals(List.of("total", "count"), FieldUtilsWraps.getNestedFieldNamesToList(CounterStruct.class));    // $NON-NLS-1$
+    }
+
+    @Test
+    void fieldNamesWithAnyAnnotations() {
+        List<String> result = FieldUtilsWraps.getFieldNamesWithAnyAnnotationsToList(AnnotatedStruct.class, BeanCopyIgnore.class, ViewSubmitIgnore.class);
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), StringUtilsWraps.joinWithCommaSpace(result));
+        Assertions.assertEquals(List.of("secret", "token"), result);    // $NON-NLS-1$
+    }
+
+    @Test
+    void fieldAccessor() {
+        CounterStruct struct = new CounterStruct();
+        FieldAccessor accessor = FieldAccessor.of(CounterStruct.class, "count", true);    // $NON-NLS-1$
+        Assertions.assertNotNull(accessor);
+        accessor.set(struct, 5);
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), accessor.getInt(struct));
+        Assertions.assertEquals(5L, accessor.getLong(struct));
+        Assertions.assertSame(accessor, FieldAccessor.of(CounterStruct.class, "count", true));    // $NON-NLS-1$
+        Assertions.assertNull(FieldAccessor.of(CounterStruct.class, "count", false));    // $NON-NLS-1$
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void readPreaccessedField() throws NoSuchFieldException {
+        CounterStruct struct = new CounterStruct();
+        struct.count = 3;
+        Field field = CounterStruct.class.getDeclaredField("count");    // $NON-NLS-1$
+        Assertions.assertNull(FieldUtilsWraps.readField(field, struct, false));
+        field.setAccessible(true);
+        Object result = FieldUtilsWraps.readField(field, struct, false);
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), result);
+        Assertions.assertEquals(3, result);
+        Field staticField = CounterStruct.class.getDeclaredField("total");    // $NON-NLS-1$
+        staticField.setAccessible(true);
+        Assertions.assertEquals(9L, FieldUtilsWraps.readStaticField(staticField, false));
+        FieldAccessor accessor = FieldAccessor.of(field, false);
+        Assertions.assertNotNull(accessor);
+        Assertions.assertFalse(accessor.getField().isAccessible());
+    }
+
+    @Test
+    void readFieldAs() {
+        StatusDataStruct<String> struct = new StatusDataStruct<>(200, "data");    // $NON-NLS-1$
+        Integer result = FieldUtilsWraps.readFieldAs(struct, "status", true, Integer.class);    // $NON-NLS-1$
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), result);
+        Assertions.assertEquals(200, result);
+        Assertions.assertEquals("data", FieldUtilsWraps.readFieldAs(struct, "data", true, String.class));    // $NON-NLS-1$
+        Assertions.assertNull(FieldUtilsWraps.readFieldAs(struct, "status", Integer.class));    // $NON-NLS-1$
+        Assertions.assertEquals(9L, FieldUtilsWraps.readStaticFieldAs(CounterStruct.class, "total", true, Long.class));    // $NON-NLS-1$
+    }
+
     @Test
     void nestedFieldNames() {
         Set<String> result = FieldUtilsWraps.getNestedFieldNamesToSet(StatusDataStruct.class);
         log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), StringUtilsWraps.joinWithCommaSpace(result));
         Assertions.assertNotNull(result);
     }
+
+    @SuppressWarnings("unused")
+    private static class AnnotatedStruct extends StatusDataStruct<String> {
+        @BeanCopyIgnore
+        private String secret;
+
+        @ViewSubmitIgnore
+        private String token;
+
+        private String remark;
+    }
+
+    @SuppressWarnings({"unused", "FieldMayBeFinal"})
+    private static class CounterStruct {
+        private static long total = 9L;
+
+        private int count;
+    }
 }
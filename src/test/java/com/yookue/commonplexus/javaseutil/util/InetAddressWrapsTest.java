@@ -30,6 +30,18 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 class InetAddressWrapsTest {
+    @Test
+    void lanAddress() {
+        List<String> lans = List.of("localhost", "127.0.0.1", "10.1.2.3", "172.16.0.1", "172.31.255.255", "192.168.1.1", "::1", "0:0:0:0:0:0:0:1", "[::1]", "fe80::1%eth0", "fd12:3456::1", "::ffff:192.168.0.1");    // $NON-NLS-1$
+        List<String> wans = List.of("", "8.8.8.8", "172.32.0.1", "172.15.0.1", "192.169.0.1", "10.0.0.256", "10.0.0", "10.0.0.1.", "1.2.3.4.5", "2001:db8::1", "::ffff:8.8.8.8", "fe80::1::1", "example.com", "::");    // $NON-NLS-1$
+        lans.forEach(element -> Assertions.assertTrue(InetAddressWraps.isLanAddress(element), element));
+        wans.forEach(element -> Assertions.assertFalse(InetAddressWraps.isLanAddress(element), element));
+        Assertions.assertTrue(InetAddressWraps.isLanAddress(InetAddressWraps.getByName("192.168.0.1")));    // $NON-NLS-1$
+        Assertions.assertTrue(InetAddressWraps.isLanAddress(InetAddressWraps.getByName("fc00::1")));    // $NON-NLS-1$
+        Assertions.assertFalse(InetAddressWraps.isLanAddress(InetAddressWraps.getByName("2001:db8::1")));    // $NON-NLS-1$
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), lans.size() + wans.size());
+    }
+
     @Test
     void localIpAddress() {
         String result = InetAddressWraps.getLocalIpAddressQuietly();
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2016 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.commonplexus.javaseutil.util;
+
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.Pipe;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import com.yookue.commonplexus.javaseutil.io.ChannelCopier;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Tests for {@link com.yookue.commonplexus.javaseutil.util.IoUtilsWraps}
+ *
+ * @author David Hsing
+ */
+@Slf4j
+class IoUtilsWrapsTest {
+    @Test
+    void transfer(@TempDir Path directory) throws IOException {
+        byte[] data = new byte[300 * 1024];
+        new Random(42L).nextBytes(data);
+        Path source = Files.write(directory.resolve("source.bin"), data);
+        Path target = directory.resolve("target.bin");
+        try (InputStream input = new FileInputStream(source.toFile()); OutputStream output = new FileOutputStream(target.toFile())) {
+            Assertions.assertEquals(7, input.skip(7L));
+            ChannelCopier.Result result = IoUtilsWraps.transfer(input, output);
+            log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), result);
+            Assertions.assertNotNull(result);
+            Assertions.assertEquals(ChannelCopier.Mode.TRANSFER_TO, result.mode());
+            Assertions.assertEquals(data.length - 7L, result.bytes());
+            Assertions.assertEquals(-1, input.read());
+        }
+        Assertions.assertEquals(data.length - 7L, Files.size(target));
+        File copied = directory.resolve("nested/copied.bin").toFile();
+        FileUtilsWraps.copyInputStreamToFile(new ByteArrayInputStream(data), copied);
+        Assertions.assertArrayEquals(data, Files.readAllBytes(copied.toPath()));
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        Assertions.assertEquals(data.length, FileUtilsWraps.copyFile(source.toFile(), buffer));
+        Assertions.assertArrayEquals(data, buffer.toByteArray());
+        Pipe pipe = Pipe.open();
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            Thread writer = new Thread(() -> {
+                IoUtilsWraps.transfer(channel, pipe.sink());
+                IoUtilsWraps.close(pipe.sink());
+            });
+            writer.start();
+            try (FileChannel output = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ChannelCopier.Result result = IoUtilsWraps.transfer(pipe.source(), output);
+                Assertions.assertNotNull(result);
+                Assertions.assertEquals(ChannelCopier.Mode.TRANSFER_FROM, result.mode());
+                Assertions.assertEquals(data.length, result.bytes());
+            }
+            writer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        Assertions.assertArrayEquals(data, Files.readAllBytes(target));
+    }
+
+    @Test
+    void transferPseudoFile(@TempDir Path directory) throws IOException {
+        Path source = Path.of("/proc/self/status");    // $NON-NLS-1$
+        Assumptions.assumeTrue(Files.isReadable(source));
+        Path target = directory.resolve("status.txt");
+        try (InputStream input = new FileInputStream(source.toFile()); OutputStream output = new FileOutputStream(target.toFile())) {
+            ChannelCopier.Result result = IoUtilsWraps.transfer(input, output);
+            log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), result);
+            Assertions.assertNotNull(result);
+            Assertions.assertEquals(ChannelCopier.Mode.STREAM, result.mode());
+            Assertions.assertTrue(result.bytes() > 0L);
+            output.flush();
+            Assertions.assertEquals(result.bytes(), Files.size(target));
+        }
+        try (InputStream input = new FileInputStream(source.toFile()); OutputStream output = new FileOutputStream(target.toFile())) {
+            Assertions.assertTrue(IoUtilsWraps.copyLarge(input, output) > 0L);
+        }
+        try (FileChannel input = FileChannel.open(source, StandardOpenOption.READ); FileChannel output = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ChannelCopier.Result result = IoUtilsWraps.transfer(input, output);
+            Assertions.assertNotNull(result);
+            Assertions.assertEquals(ChannelCopier.Mode.DIRECT_BUFFER, result.mode());
+            Assertions.assertTrue(result.bytes() > 0L);
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        Assertions.assertTrue(FileUtilsWraps.copyFile(source.toFile(), buffer) > 0L);
+        Assertions.assertTrue(buffer.size() > 0);
+    }
+}
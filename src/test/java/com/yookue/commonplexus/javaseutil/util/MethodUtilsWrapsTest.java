@@ -17,8 +17,13 @@
 package com.yookue.commonplexus.javaseutil.util;
 
 
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import com.yookue.commonplexus.javaseutil.reflect.MethodInvoker;
 import com.yookue.commonplexus.javaseutil.structure.StatusDataStruct;
 import lombok.extern.slf4j.Slf4j;
 
@@ -36,6 +41,47 @@ class MethodUtilsWrapsTest {
         log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), StringUtilsWraps.joinWithCommaSpace(names));
     }
 
+    @Test
+    void invokeMethod() {
+        Object result = MethodUtilsWraps.invokeMethod("plexus", "substring", 1);    // $NON-NLS-1$
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), result);
+        Assertions.assertEquals("lexus", result);    // $NON-NLS-1$
+        Assertions.assertEquals(5L, MethodUtilsWraps.invokeStaticMethod(Long.class, "valueOf", 5));    // $NON-NLS-1$
+        Assertions.assertEquals("a-b", MethodUtilsWraps.invokeStaticMethod(String.class, "format", "%s-%s", "a", "b"));    // $NON-NLS-1$
+    }
+
+    @Test
+    void methodInvoker() throws InvocationTargetException {
+        StatusDataStruct<String> struct = new StatusDataStruct<>();
+        MethodInvoker invoker = MethodInvoker.forArguments(StatusDataStruct.class, false, "setStatus", 200);    // $NON-NLS-1$
+        Assertions.assertNotNull(invoker);
+        Assertions.assertTrue(invoker.upgrade());
+        invoker.invoke(struct, 200);
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), invoker.getInvocationCount());
+        Assertions.assertEquals(200, struct.getStatus());
+        Assertions.assertTrue(MethodInvoker.getInvocationCounts().get(invoker.getMethod()) > 0L);
+        MethodInvoker widening = MethodInvoker.forArguments(Long.class, false, "valueOf", 5);    // $NON-NLS-1$
+        Assertions.assertNotNull(widening);
+        Assertions.assertTrue(widening.upgrade());
+        Assertions.assertEquals(5L, widening.invoke(null, 5));
+    }
+
+    @Test
+    void upgradeInaccessibleArgument() throws InvocationTargetException {
+        List<Object> list = new ArrayList<>();
+        Object element = new Object() {
+        };
+        MethodInvoker invoker = MethodInvoker.forArguments(ArrayList.class, false, "add", element);    // $NON-NLS-1$
+        Assertions.assertNotNull(invoker);
+        for (int i = 0; i <= MethodInvoker.UPGRADE_THRESHOLD; i++) {
+            Assertions.assertEquals(Boolean.TRUE, invoker.invoke(list, element));
+        }
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), invoker.isUpgraded());
+        Assertions.assertTrue(invoker.isUpgraded());
+        Assertions.assertEquals(MethodInvoker.UPGRADE_THRESHOLD + 1, list.size());
+        Assertions.assertEquals(Boolean.TRUE, MethodUtilsWraps.invokeMethod(list, "add", element));    // $NON-NLS-1$
+    }
+
     @Test
     void nestedMethodNames() {
         Set<String> names = MethodUtilsWraps.getNestedMethodNamesToSet(StatusDataStruct.class);
@@ -17,10 +17,26 @@
 package com.yookue.commonplexus.javaseutil.util;
 
 
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import com.yookue.commonplexus.javaseutil.constant.RegexVariantConst;
+import com.yookue.commonplexus.javaseutil.regex.BatchMatcher;
+import com.yookue.commonplexus.javaseutil.regex.BoundedPatternCache;
+import com.yookue.commonplexus.javaseutil.regex.CharClass;
+import com.yookue.commonplexus.javaseutil.regex.PatternCache;
+import com.yookue.commonplexus.javaseutil.regex.PatternSet;
+import com.yookue.commonplexus.javaseutil.regex.StreamingMatcher;
 import lombok.extern.slf4j.Slf4j;
 
 
@@ -31,6 +47,49 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 class RegexUtilsWrapsTest {
+    @Test
+    void batchMatcher() {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            values.add((i % 1000 == 0) ? null : ((i % 3 == 0) ? "item-" + i : "value" + i));    // $NON-NLS-1$
+        }
+        Pattern pattern = Pattern.compile("item-\\d+");    // $NON-NLS-1$
+        BitSet expected = new BitSet();
+        for (int i = 0; i < values.size(); i++) {
+            expected.set(i, values.get(i) != null && pattern.matcher(values.get(i)).matches());
+        }
+        BatchMatcher matcher = BatchMatcher.matching(pattern);
+        Assertions.assertEquals(expected, matcher.matchIndices(values));
+        Assertions.assertEquals(expected, matcher.withMinimumRangeSize(100).matchIndices(new LinkedList<>(values)));
+        Assertions.assertEquals(expected.cardinality(), matcher.countMatches(values.parallelStream().spliterator()));
+        Assertions.assertEquals(expected, RegexUtilsWraps.matchSequenceIndices(PatternSet.compile("item-\\d+", "nothing"), values));    // $NON-NLS-1$
+        Assertions.assertTrue(RegexUtilsWraps.matchAnySequences(pattern, values));
+        Assertions.assertFalse(RegexUtilsWraps.matchAllSequences(pattern, values));
+        Assertions.assertTrue(BatchMatcher.finding(Pattern.compile("\\d")).allMatch(values.subList(1, 1000)));    // $NON-NLS-1$
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), expected.cardinality());
+    }
+
+    @Test
+    void charClass() {
+        List<String> samples = List.of("", "abc", "ABC123", "abc_123", "abc-123", "123", "-123", "+123", "a b", "\u00e9t\u00e9", "_");    // $NON-NLS-1$
+        for (String sample : samples) {
+            Assertions.assertEquals(Pattern.matches("[A-Za-z]+", sample), RegexUtilsWraps.isAlphabetic(sample), sample);    // $NON-NLS-1$
+            Assertions.assertEquals(Pattern.matches("[A-Za-z\\d]+", sample), RegexUtilsWraps.isAlphanumeric(sample), sample);    // $NON-NLS-1$
+            Assertions.assertEquals(Pattern.matches("\\d+", sample), RegexUtilsWraps.isNumeric(sample), sample);    // $NON-NLS-1$
+            Assertions.assertEquals(Pattern.matches("-\\d+", sample), RegexUtilsWraps.isNegateNumeric(sample), sample);    // $NON-NLS-1$
+            Assertions.assertEquals(Pattern.matches("\\+?[1-9]+", sample), RegexUtilsWraps.isPositiveNumeric(sample), sample);    // $NON-NLS-1$
+            Assertions.assertEquals(Pattern.matches("\\w+", sample), RegexUtilsWraps.isWord(sample), sample);    // $NON-NLS-1$
+            Assertions.assertEquals(Pattern.matches("[\\w\\-]+", sample), RegexUtilsWraps.isWordHyphen(sample), sample);    // $NON-NLS-1$
+            Assertions.assertEquals(Pattern.matches("^\\d+", sample), RegexUtilsWraps.startsWithNumeric(sample), sample);    // $NON-NLS-1$
+            Assertions.assertEquals(Pattern.matches("[A-Za-z]+$", sample), RegexUtilsWraps.endsWithAlphabetic(sample), sample);    // $NON-NLS-1$
+            Assertions.assertEquals(Pattern.matches("[\\w\\-]+$", sample), RegexUtilsWraps.endsWithWordHyphen(sample), sample);    // $NON-NLS-1$
+        }
+        Assertions.assertTrue(CharClass.of(Character::isLetter).matchesAll("\u00e9t\u00e9"));    // $NON-NLS-1$
+        Assertions.assertEquals("abc123", RegexUtilsWraps.reserveAlphanumeric("abc_-123"));    // $NON-NLS-1$
+        Assertions.assertEquals("123", RegexUtilsWraps.firstStartsWithNumeric("1bc", "123"));    // $NON-NLS-1$
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), RegexUtilsWraps.allWord(samples.subList(1, 4)));
+    }
+
     @Test
     void findIgnoreCase() {
         String methodName = StackTraceWraps.getExecutingMethodName();
@@ -49,6 +108,49 @@ class RegexUtilsWrapsTest {
         Assertions.assertTrue(result);
     }
 
+    @Test
+    void patternCache() {
+        PatternCache cache = new BoundedPatternCache(2);
+        cache.compile("a+");    // $NON-NLS-1$
+        cache.compile("b+");    // $NON-NLS-1$
+        cache.compile("a+");    // $NON-NLS-1$
+        cache.compile("c+");    // $NON-NLS-1$
+        log.info("{}: hitRate = {}, evictions = {}", StackTraceWraps.getExecutingMethodName(), cache.getHitRate(), cache.getEvictionCount());
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(1L, cache.getHitCount());
+        Assertions.assertEquals(1L, cache.getEvictionCount());
+        cache.compile("a+");    // $NON-NLS-1$
+        Assertions.assertEquals(2L, cache.getHitCount());
+        Assertions.assertTrue(RegexUtilsWraps.matchAnyPatternsIgnoreCase("ABC", "a.c", "x+"));    // $NON-NLS-1$
+    }
+
+    @Test
+    void patternSet() {
+        List<String> regexes = List.of("example.com", "^(www\\.)?example\\.com$", "https://[^/]+/api/.*", ".*\\.png", "\\Qa+b\\E", "ab?c", "x{2}yz", "\\x41BC", "(?i)foo", "foo|bar", "[a-z]+-\\d+", "sub\\.example\\.org/.*", "\\d+");    // $NON-NLS-1$
+        List<String> samples = List.of("", "example.com", "www.example.com", "exampleXcom", "https://host/api/v1", "logo.png", "a+b", "ac", "abc", "xxyz", "ABC", "FOO", "bar", "abc-123", "sub.example.org/x", "12345", "see example.com here");    // $NON-NLS-1$
+        for (int flags : new int[]{0, Pattern.CASE_INSENSITIVE}) {
+            PatternSet patterns = PatternSet.compileWithFlags(flags, regexes);
+            Assertions.assertTrue(patterns.getFilteredCount() > 0);
+            for (String sample : samples) {
+                BitSet matched = new BitSet(), found = new BitSet();
+                for (int i = 0; i < regexes.size(); i++) {
+                    matched.set(i, Pattern.compile(regexes.get(i), flags).matcher(sample).matches());
+                    found.set(i, Pattern.compile(regexes.get(i), flags).matcher(sample).find());
+                }
+                Assertions.assertEquals(matched, patterns.matchIndices(sample), sample);
+                Assertions.assertEquals(found, patterns.findIndices(sample), sample);
+                Assertions.assertEquals(!matched.isEmpty(), patterns.matchesAny(sample), sample);
+                Assertions.assertEquals(!found.isEmpty(), patterns.findAny(sample), sample);
+            }
+        }
+        PatternSet literals = PatternSet.compile("alpha", "beta", "", null);    // $NON-NLS-1$
+        Assertions.assertEquals(2, literals.size());
+        Assertions.assertTrue(RegexUtilsWraps.matchAnyPatterns("beta", literals));    // $NON-NLS-1$
+        Assertions.assertFalse(RegexUtilsWraps.matchAllPatterns("beta", literals));    // $NON-NLS-1$
+        Assertions.assertTrue(RegexUtilsWraps.findAny("alphabet", literals));    // $NON-NLS-1$
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), literals);
+    }
+
     @Test
     void reserveNumeric() {
         String text = RegexUtilsWraps.reserveNumeric("ABC_123_456-DEF");    // $NON-NLS-1$
@@ -80,4 +182,39 @@ class RegexUtilsWrapsTest {
         log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), result);
         Assertions.assertTrue(result);
     }
+
+    @Test
+    void streamMatched() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; builder.length() < 50000; i++) {
+            builder.append("line ").append(i).append(" foo").append((i % 7 == 0) ? "bar xy" : " x").append('\n');    // $NON-NLS-1$
+        }
+        String text = builder.toString();
+        for (Pattern pattern : List.of(Pattern.compile("\\d+"), Pattern.compile("\\bfoo\\b"), Pattern.compile("(?<=x)y"), Pattern.compile("^line \\d*0$", Pattern.MULTILINE), Pattern.compile("o*"))) {    // $NON-NLS-1$
+            List<String> expected = new ArrayList<>();
+            Matcher matcher = pattern.matcher(text);
+            while (matcher.find()) {
+                expected.add(matcher.start() + ":" + matcher.group());    // $NON-NLS-1$
+            }
+            List<String> actual = StreamingMatcher.of(pattern, 32).stream(new ChunkedReader(new StringReader(text))).map(element -> element.start() + ":" + element.group()).toList();    // $NON-NLS-1$
+            Assertions.assertEquals(expected, actual, pattern.pattern());
+        }
+        Assertions.assertTrue(RegexUtilsWraps.find(new StringReader(text), Pattern.compile("foobar")));    // $NON-NLS-1$
+        Assertions.assertEquals(3, RegexUtilsWraps.extractMatched(new StringReader("a1b22c333"), Pattern.compile("\\d+")).size());    // $NON-NLS-1$
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), RegexUtilsWraps.streamMatched(new StringReader(text), Pattern.compile("\\d+")).count());    // $NON-NLS-1$
+    }
+
+    /**
+     * Reader that returns a few characters on each read, to split the matches across the windows
+     */
+    private static class ChunkedReader extends FilterReader {
+        private ChunkedReader(Reader reader) {
+            super(reader);
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            return super.read(buffer, offset, Math.min(length, 7));
+        }
+    }
 }
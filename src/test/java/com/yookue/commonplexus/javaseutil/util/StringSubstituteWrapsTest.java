@@ -17,9 +17,21 @@
 package com.yookue.commonplexus.javaseutil.util;
 
 
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.Properties;
+import org.apache.commons.text.StringSubstitutor;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import com.yookue.commonplexus.javaseutil.text.CompiledTemplate;
 import com.yookue.commonplexus.javaseutil.text.MapStringLookup;
+import com.yookue.commonplexus.javaseutil.text.StreamingSubstitutor;
 import lombok.extern.slf4j.Slf4j;
 
 
@@ -30,6 +42,26 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 class StringSubstituteWrapsTest {
+    @Test
+    void compiledTemplate() {
+        Map<String, String> mappings = MapPlainWraps.newLinkedHashMapWithin("name", "Alice", "greeting", "Hello ${name}", "empty", "");
+        String[] templates = {"${greeting}, ${missing}! $${name} ${missing:-none} ${empty}${name", "no placeholders", "${greeting}${greeting}", "", "Cost: $${amount}", "${name}$${x", "$${a} $${b", "$${a $${b}"};
+        for (String template : templates) {
+            Assertions.assertEquals(new StringSubstitutor(mappings).replace(template), StringSubstitutorWraps.replaceDollarCurlyBrackets(template, mappings));
+        }
+        CompiledTemplate template = CompiledTemplate.compile("Dear {name}, your order {order} is {status}.", "{", "}");
+        Assertions.assertSame(template, CompiledTemplate.compile("Dear {name}, your order {order} is {status}.", "{", "}"));
+        Assertions.assertEquals(List.of("name", "order", "status"), template.getVariableNames());
+        Properties properties = new Properties();
+        properties.setProperty("name", "Bob");
+        properties.setProperty("order", "#42");
+        String result = template.render(properties);
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), result);
+        Assertions.assertEquals("Dear Bob, your order #42 is {status}.", result);
+        Map<String, String> cyclic = MapPlainWraps.newLinkedHashMapWithin("a", "${b}", "b", "${a}");
+        Assertions.assertThrows(IllegalStateException.class, () -> StringSubstitutorWraps.replaceDollarCurlyBrackets("${a}", cyclic));
+    }
+
     @Test
     void replaceDollarCurlyBrackets1() {
         String template = "The quick brown ${dog} jumped over the lazy ${fox}";
@@ -50,4 +82,48 @@ class StringSubstituteWrapsTest {
         Map<String, String> mappings = MapPlainWraps.newLinkedHashMapWithin("quick", "quick");
         log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), StringSubstitutorWraps.replaceDollarCurlyBrackets(template, mappings, new MapStringLookup<>(mappings, true, true)));
     }
+
+    @Test
+    void replaceStreaming() throws IOException {
+        Map<String, String> mappings = MapPlainWraps.newLinkedHashMapWithin("name", "Alice", "greeting", "Hello ${name}", "empty", "");
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            builder.append("${greeting}, ${missing}! $${name} ${missing:-none} ${empty}$").append(i).append('\n');
+        }
+        builder.append("${name");
+        String template = builder.toString();
+        StringWriter writer = new StringWriter();
+        long count = StringSubstitutorWraps.replaceDollarCurlyBrackets(new ChunkedReader(template), writer, mappings);
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), count);
+        Assertions.assertEquals(StringSubstitutorWraps.replaceDollarCurlyBrackets(template, mappings), writer.toString());
+        Assertions.assertEquals(6000L, count);
+        writer = new StringWriter();
+        StringSubstitutorWraps.replaceSquareBrackets(new ChunkedReader("[name] [[name]] [name"), writer, mappings);
+        Assertions.assertEquals(StringSubstitutorWraps.replaceSquareBrackets("[name] [[name]] [name", mappings), writer.toString());
+        writer = new StringWriter();
+        StreamingSubstitutor.of("${", "}", 8).replace(new ChunkedReader("${name} ${greeting}"), writer, mappings);
+        Assertions.assertEquals("Alice ${greeting}", writer.toString());
+        for (String escaped : new String[]{"Cost: $${amount}", "${name}$${x", "$${a} $${b", "$${a $${b}"}) {
+            writer = new StringWriter();
+            StringSubstitutorWraps.replaceDollarCurlyBrackets(new ChunkedReader(escaped), writer, mappings);
+            Assertions.assertEquals(new StringSubstitutor(mappings).replace(escaped), writer.toString());
+        }
+        String unclosed = "{".repeat(20000), dangling = "${".repeat(10000) + "${name}";
+        StringWriter unclosedWriter = new StringWriter(), danglingWriter = new StringWriter();
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10L), () -> StreamingSubstitutor.of("{", "}").replace(new StringReader(unclosed), unclosedWriter, mappings));
+        Assertions.assertEquals(unclosed, unclosedWriter.toString());
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10L), () -> StringSubstitutorWraps.replaceDollarCurlyBrackets(new StringReader(dangling), danglingWriter, mappings));
+        Assertions.assertEquals(new StringSubstitutor(mappings).replace(dangling), danglingWriter.toString());
+    }
+
+    private static final class ChunkedReader extends FilterReader {
+        private ChunkedReader(String text) {
+            super(new StringReader(text));
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            return super.read(buffer, offset, Math.min(length, 3));
+        }
+    }
 }
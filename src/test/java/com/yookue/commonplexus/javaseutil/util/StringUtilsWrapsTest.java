@@ -17,8 +17,20 @@
 package com.yookue.commonplexus.javaseutil.util;
 
 
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import com.yookue.commonplexus.javaseutil.regex.MultiNeedle;
+import com.yookue.commonplexus.javaseutil.text.CharSlice;
+import com.yookue.commonplexus.javaseutil.text.StringPool;
+import com.yookue.commonplexus.javaseutil.text.StringSet;
+import com.yookue.commonplexus.javaseutil.text.Tokenizer;
 import lombok.extern.slf4j.Slf4j;
 
 
@@ -36,6 +48,151 @@ class StringUtilsWrapsTest {
         Assertions.assertEquals("[a]*[b]*[c]", result);
     }
 
+    @Test
+    void joinWithVariants() {
+        StringWriter writer = new StringWriter();
+        Assertions.assertEquals("1,2,3", StringUtilsWraps.joinWithComma(new long[]{1L, 2L, 3L}));    // $NON-NLS-1$
+        Assertions.assertEquals("'-1','2'", StringUtilsWraps.joinWith(Arrays.asList(-1, 2), ",", "'", "'"));    // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$
+        Assertions.assertEquals("a:b", StringUtilsWraps.joinWithIgnoreBlank(':', "a", " ", null, "b"));    // $NON-NLS-1$
+        Assertions.assertNull(StringUtilsWraps.joinWithIgnoreEmpty(':', "", null));    // $NON-NLS-1$
+        Assertions.assertEquals("a:b:c:", StringUtilsWraps.joinOnce(':', "a:", ":b", ":c:"));    // $NON-NLS-1$
+        Assertions.assertEquals("ab", StringUtilsWraps.joinRoughly(new String[]{"a", "b"}));    // $NON-NLS-1$
+        Assertions.assertDoesNotThrow(() -> StringUtilsWraps.appendJoinWith(writer, List.of("x", "y"), "|"));    // $NON-NLS-1$
+        Assertions.assertEquals("x|y", writer.toString());    // $NON-NLS-1$
+        String result = StringUtilsWraps.appendJoinWith(new StringBuilder("IN ("), List.of(1, 2), ", ").append(')').toString();    // $NON-NLS-1$
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), result);
+        Assertions.assertEquals("IN (1, 2)", result);    // $NON-NLS-1$
+    }
+
+    @Test
+    void multiNeedle() {
+        MultiNeedle needles = MultiNeedle.ofIgnoreCase("bad", "badly", "worse", "");    // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$ // $NON-NLS-4$
+        Assertions.assertEquals(3, needles.size());
+        Assertions.assertTrue(StringUtilsWraps.containsAny("It went BADLY", needles));    // $NON-NLS-1$
+        Assertions.assertEquals("It went ***** and ***", needles.mask("It went BADLY and Bad", '*'));    // $NON-NLS-1$
+        Assertions.assertEquals("x, x or x", StringUtilsWraps.replaceAll("bad, Badly or WORSE", "x", needles));    // $NON-NLS-1$ // $NON-NLS-2$
+        Assertions.assertEquals("XX", StringUtilsWraps.replaceAllIgnoreCase("aBcD", "X", "b", "Ab", "cd"));    // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$ // $NON-NLS-4$ // $NON-NLS-5$
+        Assertions.assertEquals("1-2", StringUtilsWraps.replaceAllIgnoreCase("A-b", Map.of("a", "1", "B", "2")));    // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$ // $NON-NLS-4$ // $NON-NLS-5$ // $NON-NLS-6$
+        Assertions.assertEquals("a-c", StringUtilsWraps.replaceIgnoreCase("a-B", "b", "c"));    // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$ // $NON-NLS-4$
+        Assertions.assertFalse(StringUtilsWraps.containsAnyIgnoreCase("abc", List.of("x", "y")));    // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$
+        Assertions.assertTrue(StringUtilsWraps.containsAnyIgnoreCase("abc", List.of("x", "BC")));    // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$
+        String text = "she sells seashells by the seashore";    // $NON-NLS-1$
+        List<List<String>> searches = List.of(List.of("ells", "sea"), List.of("hore", "by", "shell"), List.of("zz"), List.of("s", "she"));    // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$ // $NON-NLS-4$ // $NON-NLS-5$ // $NON-NLS-6$ // $NON-NLS-7$ // $NON-NLS-8$
+        for (List<String> search : searches) {
+            Assertions.assertEquals(StringUtils.indexOfAny(text, search.toArray(new String[0])), StringUtilsWraps.indexOfAny(text, search));
+        }
+        String result = StringUtilsWraps.replaceAllIgnoreCase(text, "#", "SEA", "seashell", "she");    // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$ // $NON-NLS-4$
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), result);
+        Assertions.assertEquals("# sells #s by the #shore", result);    // $NON-NLS-1$
+    }
+
+    @Test
+    void multiNeedleLinear() {
+        String text = "She sells SEASHELLS by the seashore";    // $NON-NLS-1$
+        List<List<String>> searches = List.of(List.of("ells", "sea"), List.of("hore", "BY", "shell"), List.of("zz"), List.of("s", "she", "seas"));    // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$ // $NON-NLS-4$ // $NON-NLS-5$ // $NON-NLS-6$ // $NON-NLS-7$ // $NON-NLS-8$ // $NON-NLS-9$
+        List<String> paddings = List.of("#1", "#2", "#3", "#4", "#5");    // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$ // $NON-NLS-4$ // $NON-NLS-5$
+        for (List<String> search : searches) {
+            List<String> padded = new ArrayList<>(search);
+            padded.addAll(paddings);
+            for (boolean ignoreCase : new boolean[]{false, true}) {
+                MultiNeedle linear = MultiNeedle.of(ignoreCase, search), automaton = MultiNeedle.of(ignoreCase, padded);
+                Assertions.assertEquals(automaton.containsAny(text), linear.containsAny(text));
+                Assertions.assertEquals(automaton.indexOfAny(text), linear.indexOfAny(text));
+                Assertions.assertEquals(automaton.mask(text, '*'), linear.mask(text, '*'));
+                Assertions.assertEquals(automaton.replaceAll(text, index -> "<" + automaton.getNeedle(index) + ">"), linear.replaceAll(text, index -> "<" + linear.getNeedle(index) + ">"));    // $NON-NLS-1$ // $NON-NLS-2$
+            }
+        }
+        String result = StringUtilsWraps.replaceAllIgnoreCase(text, "#", "SEA", "seashell", "she");    // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$ // $NON-NLS-4$
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), result);
+        Assertions.assertEquals("# sells #S by the #shore", result);    // $NON-NLS-1$
+    }
+
+    @Test
+    void splitBy() {
+        String[] samples = {"a,b,,c,", ",,a, b ,c", " a  b\tc ", "a;b,c", "abc", ",,,"};    // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$ // $NON-NLS-4$ // $NON-NLS-5$ // $NON-NLS-6$
+        String[] delimiters = {",", null, ";,", ""};    // $NON-NLS-1$ // $NON-NLS-2$
+        for (String sample : samples) {
+            for (String delimiter : delimiters) {
+                for (int max = -1; max <= 3; max++) {
+                    String[] expected = StringUtils.split(sample, delimiter, max);
+                    Assertions.assertArrayEquals(ArrayUtils.isEmpty(expected) ? null : expected, StringUtilsWraps.splitBy(sample, delimiter, false, max));
+                    Assertions.assertArrayEquals(ArrayUtils.isEmpty(expected) ? null : StringUtils.stripAll(expected, null), StringUtilsWraps.splitBy(sample, delimiter, true, max));
+                }
+            }
+        }
+        Assertions.assertEquals(List.of("a", "b", "c,b"), StringUtilsWraps.splitByCommaToList(" a, b ,c,b", true, 3));    // $NON-NLS-1$
+        Assertions.assertEquals(3, StringUtilsWraps.splitByCommaToSet("a,b,a,c", true).size());    // $NON-NLS-1$
+    }
+
+    @Test
+    void stringPool() {
+        StringPool pool = StringPool.lru(64, 4);
+        String[] first = StringUtilsWraps.splitBy("CN, US ,CN", ",", true, -1, pool);    // $NON-NLS-1$ // $NON-NLS-2$
+        String[] second = StringUtilsWraps.trimStringArray(false, List.of(" US", "CN "), pool);    // $NON-NLS-1$ // $NON-NLS-2$
+        Assertions.assertNotNull(first);
+        Assertions.assertNotNull(second);
+        Assertions.assertSame(first[0], first[2]);
+        Assertions.assertSame(first[1], second[0]);
+        Assertions.assertSame(first[0], second[1]);
+        Assertions.assertSame(first[0], MapPlainWraps.getString(Map.of("country", new String("CN")), "country", null, pool));    // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$
+        Assertions.assertEquals(2, pool.size());
+        StringPool.Statistics statistics = pool.getStatistics();
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), pool);
+        Assertions.assertEquals(6L, statistics.requests());
+        Assertions.assertEquals(4L, statistics.hits());
+        Assertions.assertEquals(4.0D / 6.0D, statistics.dedupRatio());
+        Assertions.assertTrue(statistics.savedBytes() > 0L);
+        StringPool bounded = StringPool.lru(1, 1);
+        bounded.intern("a");    // $NON-NLS-1$
+        bounded.intern("b");    // $NON-NLS-1$
+        Assertions.assertEquals(1, bounded.size());
+        StringPool striped = StringPool.lru(10, 6);
+        for (int i = 0; i < 1000; i++) {
+            striped.intern("key" + i);    // $NON-NLS-1$
+        }
+        Assertions.assertTrue(striped.size() <= striped.getCapacity());
+        StringPool weak = StringPool.weak(1, 1);
+        String value = weak.intern(new String("x"));    // $NON-NLS-1$
+        Assertions.assertSame(value, weak.intern(new String("x")));    // $NON-NLS-1$
+        String other = weak.intern(new String("y"));    // $NON-NLS-1$
+        Assertions.assertNotSame(other, weak.intern(new String("y")));    // $NON-NLS-1$
+    }
+
+    @Test
+    void stringSet() {
+        List<String> fields = List.of("id", "userName", "createdAt", "Id", "\u00df");    // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$ // $NON-NLS-4$ // $NON-NLS-5$
+        StringSet set = StringSet.of(fields);
+        Assertions.assertEquals(5, set.size());
+        for (String sample : new String[]{"id", "ID", "username", "userName", "created", "", "\u00df", "SS"}) {    // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$ // $NON-NLS-4$ // $NON-NLS-5$ // $NON-NLS-6$ // $NON-NLS-7$ // $NON-NLS-8$
+            Assertions.assertEquals(StringUtilsWraps.equalsAny(sample, fields), StringUtilsWraps.equalsAny(sample, set));
+            Assertions.assertEquals(StringUtilsWraps.equalsAnyIgnoreCase(sample, fields), StringUtilsWraps.equalsAnyIgnoreCase(sample, set));
+            Assertions.assertEquals(StringUtilsWraps.startsWithAnyIgnoreCase(sample, fields), StringUtilsWraps.startsWithAnyIgnoreCase(sample, set));
+            Assertions.assertEquals(StringUtilsWraps.endsWithAnyIgnoreCase(sample, fields), StringUtilsWraps.endsWithAnyIgnoreCase(sample, set));
+        }
+        StringSet suffixes = StringSet.of(".tar.gz", ".zip");    // $NON-NLS-1$ // $NON-NLS-2$
+        Assertions.assertTrue(StringUtilsWraps.endsWithAny("backup.tar.gz", suffixes));    // $NON-NLS-1$
+        Assertions.assertFalse(StringUtilsWraps.endsWithAny("backup.ZIP", suffixes));    // $NON-NLS-1$
+        Assertions.assertTrue(StringUtilsWraps.endsWithAnyIgnoreCase(new StringBuilder("backup.ZIP"), suffixes));    // $NON-NLS-1$
+        Assertions.assertTrue(StringUtilsWraps.startsWithAny("userNameX", set));    // $NON-NLS-1$
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), set);
+    }
+
+    @Test
+    void tokenize() {
+        String text = "Accept: text/html, application/json ;q=0.9";    // $NON-NLS-1$
+        Tokenizer tokenizer = StringUtilsWraps.tokenize(text, ",;", true);    // $NON-NLS-1$
+        Assertions.assertEquals(3, tokenizer.count());
+        Assertions.assertArrayEquals(new int[]{0, 17, 19, 35, 37, 42}, tokenizer.offsets().toArray());
+        CharSequence first = tokenizer.iterator().next();
+        Assertions.assertInstanceOf(CharSlice.class, first);
+        Assertions.assertEquals("Accept: text/html", first.toString());    // $NON-NLS-1$
+        Assertions.assertEquals("application/json", tokenizer.stream().skip(1L).findFirst().map(CharSequence::toString).orElse(null));    // $NON-NLS-1$
+        StringBuilder builder = new StringBuilder();
+        StringUtilsWraps.forEachToken(text, ' ', builder::append);
+        log.info("{}: {}", StackTraceWraps.getExecutingMethodName(), builder);
+        Assertions.assertEquals("Accept:text/html,application/json;q=0.9", builder.toString());    // $NON-NLS-1$
+    }
+
     @Test
     void unwrapWithParentheses() {
         String result = StringUtilsWraps.unwrapWithParentheses("(StringUtilsWraps)");